@@ -0,0 +1,208 @@
+package com.ai.dev.platform.common;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 异步批量写入器
+ *
+ * <p>调用方把待写入的数据放入有界内存队列后立即返回，由后台线程按批次刷写：
+ * <ul>
+ *   <li>队列达到批大小或距上次刷写超过间隔时触发刷写</li>
+ *   <li>相同键的数据在刷写前合并，只保留最新一条，适合同一行的多次原地更新</li>
+ *   <li>队列已满时丢弃新数据并计数，调用方永远不会因为写库而阻塞</li>
+ *   <li>刷写失败只记录日志，不影响后续批次</li>
+ * </ul>
+ *
+ * @param <T> 待写入的数据类型
+ */
+public class AsyncBatchWriter<T> implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncBatchWriter.class);
+
+    private final String name;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final Function<T, Object> keyFunction;
+    private final Consumer<List<T>> flusher;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition drained = lock.newCondition();
+    private Map<Object, T> pending = new LinkedHashMap<>();
+    private boolean flushing;
+    private boolean flushRequested;
+    private volatile boolean closed;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final Thread worker;
+
+    /**
+     * @param name 写入器名称，用于线程名和日志
+     * @param capacity 队列容量（按合并后的键计）
+     * @param batchSize 单次刷写的最大条数
+     * @param flushIntervalMs 最长刷写间隔
+     * @param keyFunction 合并键，为null时不合并
+     * @param flusher 批量写入逻辑，在后台线程中调用
+     */
+    public AsyncBatchWriter(String name, int capacity, int batchSize, long flushIntervalMs,
+                            Function<T, Object> keyFunction, Consumer<List<T>> flusher) {
+        this.name = name;
+        this.capacity = Math.max(1, capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+        this.keyFunction = keyFunction;
+        this.flusher = flusher;
+        this.worker = new Thread(this::runLoop, name + "-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * 放入一条数据，不阻塞
+     *
+     * @return 是否已接收；写入器已关闭或队列已满时返回false
+     */
+    public boolean offer(T item) {
+        if (closed) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        Object key = keyFunction != null ? keyFunction.apply(item) : new Object();
+        lock.lock();
+        try {
+            if (pending.size() >= capacity && !pending.containsKey(key)) {
+                long count = dropped.incrementAndGet();
+                if (count == 1 || count % 1000 == 0) {
+                    logger.warn("{}写入队列已满，累计丢弃{}条", name, count);
+                }
+                return false;
+            }
+            pending.put(key, item);
+            if (pending.size() >= batchSize) {
+                notEmpty.signal();
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 等待当前已接收的数据全部刷写完成
+     */
+    public void flush(long timeoutMs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        lock.lock();
+        try {
+            flushRequested = true;
+            notEmpty.signal();
+            while (!pending.isEmpty() || flushing) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return;
+                }
+                drained.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    /**
+     * 停止接收新数据，并把已接收的数据刷写完毕
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runLoop() {
+        while (true) {
+            List<T> batch;
+            lock.lock();
+            try {
+                // 标记位避免信号早于等待发出时丢失
+                if (pending.size() < batchSize && !closed && !flushRequested) {
+                    notEmpty.await(flushIntervalMs, TimeUnit.MILLISECONDS);
+                }
+                flushRequested = false;
+                if (pending.isEmpty()) {
+                    drained.signalAll();
+                    if (closed) {
+                        return;
+                    }
+                    continue;
+                }
+                batch = new ArrayList<>(pending.values());
+                pending = new LinkedHashMap<>();
+                flushing = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                for (int from = 0; from < batch.size(); from += batchSize) {
+                    List<T> chunk = batch.subList(from, Math.min(from + batchSize, batch.size()));
+                    try {
+                        flusher.accept(chunk);
+                        written.addAndGet(chunk.size());
+                    } catch (Exception e) {
+                        logger.error("{}批量写入失败，丢弃{}条", name, chunk.size(), e);
+                    }
+                }
+            } finally {
+                lock.lock();
+                try {
+                    flushing = false;
+                    drained.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+}
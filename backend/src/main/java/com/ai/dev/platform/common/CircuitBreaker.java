@@ -0,0 +1,258 @@
+package com.ai.dev.platform.common;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 单个远程主机的熔断器与舱壁
+ *
+ * <p>最近windowSize次调用组成滑动窗口：
+ * <ul>
+ *   <li>窗口内至少有minimumCalls次调用，且失败率或慢调用率达到阈值时打开熔断</li>
+ *   <li>打开期间所有调用直接失败，openMs后进入半开状态</li>
+ *   <li>半开状态只放行halfOpenCalls次试探调用，全部成功则关闭，任一失败重新打开</li>
+ * </ul>
+ * 同一主机的并发调用数受舱壁限制，超出时最多等待maxWaitMs，防止一个慢主机占满调用方线程。
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * 熔断与舱壁参数
+     *
+     * @param windowSize 滑动窗口调用数
+     * @param minimumCalls 计算失败率所需的最少调用数
+     * @param failureRateThreshold 失败率阈值（百分比）
+     * @param slowCallRateThreshold 慢调用率阈值（百分比）
+     * @param slowCallMs 慢调用耗时阈值，不大于0时不按耗时判定慢调用
+     * @param openMs 打开状态持续时间
+     * @param halfOpenCalls 半开状态的试探调用数
+     * @param maxConcurrent 舱壁：最大并发调用数
+     * @param maxWaitMs 舱壁已满时的最长等待时间
+     */
+    public record Settings(int windowSize, int minimumCalls, int failureRateThreshold, int slowCallRateThreshold,
+                           long slowCallMs, long openMs, int halfOpenCalls, int maxConcurrent, long maxWaitMs) {
+
+        /**
+         * 只替换慢调用耗时阈值，其余参数不变
+         */
+        public Settings withSlowCallMs(long slowCallMs) {
+            return new Settings(windowSize, minimumCalls, failureRateThreshold, slowCallRateThreshold, slowCallMs,
+                    openMs, halfOpenCalls, maxConcurrent, maxWaitMs);
+        }
+    }
+
+    /**
+     * 对外展示的状态快照
+     */
+    public record Snapshot(State state, int bufferedCalls, double failureRate, double slowCallRate,
+                           int inFlight, int waiting, long openUntilMs) {
+    }
+
+    private final String name;
+    private final Settings settings;
+    private final LongSupplier clock;
+    private final Semaphore bulkhead;
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int index;
+    private int buffered;
+    private int failureCount;
+    private int slowCount;
+    private State state = State.CLOSED;
+    private long openUntil;
+    private int halfOpenPermitted;
+    private int halfOpenSucceeded;
+    private volatile long lastUsed;
+
+    public CircuitBreaker(String name, Settings settings) {
+        this(name, settings, System::currentTimeMillis);
+    }
+
+    CircuitBreaker(String name, Settings settings, LongSupplier clock) {
+        this.name = name;
+        this.settings = settings;
+        this.clock = clock;
+        this.bulkhead = new Semaphore(Math.max(1, settings.maxConcurrent()), true);
+        this.failed = new boolean[Math.max(1, settings.windowSize())];
+        this.slow = new boolean[failed.length];
+        this.lastUsed = clock.getAsLong();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 获取一次调用许可，先检查熔断状态再占用舱壁；成功后必须调用{@link #onComplete}或{@link #release}
+     *
+     * @throws HostUnavailableException 熔断打开或舱壁已满
+     */
+    public void acquirePermission() {
+        lastUsed = clock.getAsLong();
+        permitByState();
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire(settings.maxWaitMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            releaseHalfOpenPermit();
+            throw new HostUnavailableException(name, HostUnavailableException.Reason.BULKHEAD_FULL,
+                    "外部服务" + name + "并发调用已达上限" + settings.maxConcurrent() + "，请稍后再试");
+        }
+    }
+
+    /**
+     * 记录一次调用结果并归还舱壁
+     *
+     * @param durationMs 调用耗时
+     * @param failure 是否失败（网络异常、超时或5xx）
+     */
+    public void onComplete(long durationMs, boolean failure) {
+        bulkhead.release();
+        boolean slowCall = settings.slowCallMs() > 0 && durationMs >= settings.slowCallMs();
+        synchronized (this) {
+            if (state == State.HALF_OPEN) {
+                if (failure || slowCall) {
+                    transitionToOpen();
+                } else if (++halfOpenSucceeded >= settings.halfOpenCalls()) {
+                    transitionToClosed();
+                }
+                return;
+            }
+            if (state == State.OPEN) {
+                // 打开前已经发出的调用，结果不再影响状态
+                return;
+            }
+            record(failure, slowCall);
+            if (buffered >= settings.minimumCalls()
+                    && (failureRate() >= settings.failureRateThreshold()
+                    || slowCallRate() >= settings.slowCallRateThreshold())) {
+                transitionToOpen();
+            }
+        }
+    }
+
+    /**
+     * 调用未完成（如请求被取消）时只归还许可，不计入窗口
+     */
+    public void release() {
+        bulkhead.release();
+        releaseHalfOpenPermit();
+    }
+
+    /**
+     * 在熔断和舱壁保护下执行一次调用，抛出异常视为失败
+     */
+    public <T> T execute(Supplier<T> call) {
+        acquirePermission();
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            onComplete(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), false);
+            return result;
+        } catch (RuntimeException e) {
+            onComplete(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), true);
+            throw e;
+        }
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && clock.getAsLong() >= openUntil) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /**
+     * 熔断关闭、没有占用和排队的调用，且至少idleMs没有新调用
+     */
+    public synchronized boolean isIdle(long idleMs) {
+        return getState() == State.CLOSED && bulkhead.availablePermits() == Math.max(1, settings.maxConcurrent())
+                && !bulkhead.hasQueuedThreads() && clock.getAsLong() - lastUsed >= idleMs;
+    }
+
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(getState(), buffered, failureRate(), slowCallRate(),
+                settings.maxConcurrent() - bulkhead.availablePermits(), bulkhead.getQueueLength(),
+                state == State.OPEN ? openUntil : 0);
+    }
+
+    private synchronized void permitByState() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() < openUntil) {
+                throw circuitOpen();
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermitted = 0;
+            halfOpenSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermitted >= settings.halfOpenCalls()) {
+                throw circuitOpen();
+            }
+            halfOpenPermitted++;
+        }
+    }
+
+    private synchronized void releaseHalfOpenPermit() {
+        if (state == State.HALF_OPEN && halfOpenPermitted > 0) {
+            halfOpenPermitted--;
+        }
+    }
+
+    private HostUnavailableException circuitOpen() {
+        return new HostUnavailableException(name, HostUnavailableException.Reason.CIRCUIT_OPEN,
+                "外部服务" + name + "暂时不可用（已熔断），请稍后再试");
+    }
+
+    private void record(boolean failure, boolean slowCall) {
+        if (buffered == failed.length) {
+            failureCount -= failed[index] ? 1 : 0;
+            slowCount -= slow[index] ? 1 : 0;
+        } else {
+            buffered++;
+        }
+        failed[index] = failure;
+        slow[index] = slowCall;
+        failureCount += failure ? 1 : 0;
+        slowCount += slowCall ? 1 : 0;
+        index = (index + 1) % failed.length;
+    }
+
+    private double failureRate() {
+        return buffered == 0 ? 0 : failureCount * 100.0 / buffered;
+    }
+
+    private double slowCallRate() {
+        return buffered == 0 ? 0 : slowCount * 100.0 / buffered;
+    }
+
+    private void transitionToOpen() {
+        state = State.OPEN;
+        openUntil = clock.getAsLong() + settings.openMs();
+        resetWindow();
+    }
+
+    private void transitionToClosed() {
+        state = State.CLOSED;
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        index = 0;
+        buffered = 0;
+        failureCount = 0;
+        slowCount = 0;
+        halfOpenPermitted = 0;
+        halfOpenSucceeded = 0;
+    }
+}
@@ -0,0 +1,30 @@
+package com.ai.dev.platform.common;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.Map;
+
+/**
+ * /actuator/circuitbreakers：各远程主机的熔断状态、窗口失败率、慢调用率和舱壁占用
+ */
+@Endpoint(id = "circuitbreakers")
+public class CircuitBreakerEndpoint {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    public CircuitBreakerEndpoint(CircuitBreakerRegistry circuitBreakerRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+    }
+
+    @ReadOperation
+    public Map<String, CircuitBreaker.Snapshot> circuitBreakers() {
+        return circuitBreakerRegistry.snapshot();
+    }
+
+    @ReadOperation
+    public CircuitBreaker.Snapshot circuitBreaker(@Selector String host) {
+        return circuitBreakerRegistry.snapshot().get(host.toLowerCase());
+    }
+}
@@ -0,0 +1,132 @@
+package com.ai.dev.platform.common;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * 按远程主机划分的熔断器集合，首次调用某主机时创建；单独配置过参数的主机使用自己的参数，其余主机使用统一参数
+ *
+ * <p>监控探测等场景的目标主机由用户配置，数量没有上限：
+ * <ul>
+ *   <li>只有指标主机列表中的主机单独打标签并注册状态、占用中和排队中的调用数指标，
+ *       其余主机的指标统一归入{@link #OTHER_HOST}</li>
+ *   <li>不在列表中的主机熔断关闭且空闲超过idleEvictMs后移除，下次调用时重新创建</li>
+ * </ul>
+ */
+public class CircuitBreakerRegistry {
+
+    /**
+     * 不在指标主机列表中的主机共用的标签
+     */
+    public static final String OTHER_HOST = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final CircuitBreaker.Settings settings;
+    private final Map<String, CircuitBreaker.Settings> hostSettings;
+    private final Set<String> meteredHosts;
+    private final long idleEvictMs;
+    private final LongSupplier clock;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final AtomicLong lastEviction;
+
+    public CircuitBreakerRegistry(MeterRegistry meterRegistry, CircuitBreaker.Settings settings,
+                                  Set<String> meteredHosts, long idleEvictMs) {
+        this(meterRegistry, settings, Map.of(), meteredHosts, idleEvictMs);
+    }
+
+    /**
+     * @param hostSettings 按主机覆盖的参数，如耗时本就较长的主机关闭慢调用判定
+     */
+    public CircuitBreakerRegistry(MeterRegistry meterRegistry, CircuitBreaker.Settings settings,
+                                  Map<String, CircuitBreaker.Settings> hostSettings, Set<String> meteredHosts,
+                                  long idleEvictMs) {
+        this(meterRegistry, settings, hostSettings, meteredHosts, idleEvictMs, System::currentTimeMillis);
+    }
+
+    CircuitBreakerRegistry(MeterRegistry meterRegistry, CircuitBreaker.Settings settings,
+                           Map<String, CircuitBreaker.Settings> hostSettings, Set<String> meteredHosts,
+                           long idleEvictMs, LongSupplier clock) {
+        this.meterRegistry = meterRegistry;
+        this.settings = settings;
+        this.hostSettings = hostSettings.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(e -> e.getKey().toLowerCase(), Map.Entry::getValue));
+        this.meteredHosts = meteredHosts.stream().map(String::toLowerCase).collect(Collectors.toUnmodifiableSet());
+        this.idleEvictMs = idleEvictMs;
+        this.clock = clock;
+        this.lastEviction = new AtomicLong(clock.getAsLong());
+    }
+
+    public CircuitBreaker get(String host) {
+        long now = clock.getAsLong();
+        long last = lastEviction.get();
+        // 每个空闲周期最多由一个调用方顺带清理一次
+        if (idleEvictMs > 0 && now - last >= idleEvictMs && lastEviction.compareAndSet(last, now)) {
+            evictIdle();
+        }
+        return breakers.computeIfAbsent(host.toLowerCase(), this::create);
+    }
+
+    /**
+     * 指标使用的主机标签，不在指标主机列表中的主机返回{@link #OTHER_HOST}
+     */
+    public String tagFor(String host) {
+        String key = host.toLowerCase();
+        return meteredHosts.contains(key) ? key : OTHER_HOST;
+    }
+
+    /**
+     * 移除不在指标主机列表中、熔断关闭且空闲超过idleEvictMs的熔断器
+     *
+     * @return 移除的数量
+     */
+    public int evictIdle() {
+        int before = breakers.size();
+        for (String host : breakers.keySet()) {
+            if (!meteredHosts.contains(host)) {
+                breakers.computeIfPresent(host, (key, breaker) -> breaker.isIdle(idleEvictMs) ? null : breaker);
+            }
+        }
+        return before - breakers.size();
+    }
+
+    public int size() {
+        return breakers.size();
+    }
+
+    /**
+     * 所有主机的状态快照，按主机名排序
+     */
+    public Map<String, CircuitBreaker.Snapshot> snapshot() {
+        Map<String, CircuitBreaker.Snapshot> result = new TreeMap<>();
+        breakers.forEach((host, breaker) -> result.put(host, breaker.snapshot()));
+        return result;
+    }
+
+    private CircuitBreaker create(String host) {
+        CircuitBreaker breaker = new CircuitBreaker(host, hostSettings.getOrDefault(host, settings), clock);
+        if (!meteredHosts.contains(host)) {
+            return breaker;
+        }
+        Gauge.builder("http.client.host.circuit.state", breaker, b -> b.getState().ordinal())
+                .description("熔断器状态：0关闭，1打开，2半开")
+                .tag("host", host)
+                .register(meterRegistry);
+        Gauge.builder("http.client.host.in-flight", breaker, b -> b.snapshot().inFlight())
+                .description("出站请求占用中的连接数")
+                .tag("host", host)
+                .register(meterRegistry);
+        Gauge.builder("http.client.host.pending", breaker, b -> b.snapshot().waiting())
+                .description("等待空闲连接的出站请求数")
+                .tag("host", host)
+                .register(meterRegistry);
+        return breaker;
+    }
+}
@@ -0,0 +1,26 @@
+package com.ai.dev.platform.common;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 全局异常处理
+ *
+ * <p>外部服务熔断或并发已满时请求不会发出，直接返回503和明确的错误信息，
+ * 避免调用方线程阻塞在不可用的依赖上。
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    @ExceptionHandler(HostUnavailableException.class)
+    public ResponseEntity<Result<Void>> handleHostUnavailable(HostUnavailableException e) {
+        logger.warn("外部服务{}快速失败：{}", e.getHost(), e.getReason());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Result.error(e.getMessage()));
+    }
+}
@@ -0,0 +1,33 @@
+package com.ai.dev.platform.common;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * 远程主机熔断或并发已满时快速失败抛出的异常，请求不会真正发出
+ */
+public class HostUnavailableException extends RestClientException {
+
+    public enum Reason {
+        /** 熔断器打开或半开试探名额已用完 */
+        CIRCUIT_OPEN,
+        /** 主机并发调用数已满且等待超时 */
+        BULKHEAD_FULL
+    }
+
+    private final String host;
+    private final Reason reason;
+
+    public HostUnavailableException(String host, Reason reason, String message) {
+        super(message);
+        this.host = host;
+        this.reason = reason;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,61 @@
+package com.ai.dev.platform.common;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.MappedJdbcTypes;
+import org.apache.ibatis.type.MappedTypes;
+
+import java.sql.Array;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * long[]与PostgreSQL bigint[]之间的转换
+ */
+@MappedTypes(long[].class)
+@MappedJdbcTypes(JdbcType.ARRAY)
+public class LongArrayTypeHandler extends BaseTypeHandler<long[]> {
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, long[] parameter, JdbcType jdbcType)
+            throws SQLException {
+        Long[] boxed = new Long[parameter.length];
+        for (int j = 0; j < parameter.length; j++) {
+            boxed[j] = parameter[j];
+        }
+        ps.setArray(i, ps.getConnection().createArrayOf("bigint", boxed));
+    }
+
+    @Override
+    public long[] getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return toLongArray(rs.getArray(columnName));
+    }
+
+    @Override
+    public long[] getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return toLongArray(rs.getArray(columnIndex));
+    }
+
+    @Override
+    public long[] getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return toLongArray(cs.getArray(columnIndex));
+    }
+
+    private static long[] toLongArray(Array array) throws SQLException {
+        if (array == null) {
+            return null;
+        }
+        try {
+            Object[] values = (Object[]) array.getArray();
+            long[] result = new long[values.length];
+            for (int i = 0; i < values.length; i++) {
+                result[i] = values[i] != null ? ((Number) values[i]).longValue() : 0;
+            }
+            return result;
+        } finally {
+            array.free();
+        }
+    }
+}
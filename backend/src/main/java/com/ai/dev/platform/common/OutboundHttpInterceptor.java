@@ -0,0 +1,283 @@
+package com.ai.dev.platform.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 共享出站HTTP客户端的拦截器
+ *
+ * <p>所有经共享RestTemplate发出的请求都会经过这里：
+ * <ul>
+ *   <li>按目标主机经{@link CircuitBreaker}放行：熔断打开或并发已满时抛出{@link HostUnavailableException}，不发出请求</li>
+ *   <li>从发出请求到响应体读完的总耗时超过totalTimeoutMs时强制关闭响应</li>
+ *   <li>请求未指定Accept-Encoding时声明gzip，并透明解压gzip响应体</li>
+ *   <li>按主机记录请求耗时，不在指标主机列表中的主机归入同一标签，标签数有上限</li>
+ * </ul>
+ * 连接在响应关闭时才归还，流式读取响应体期间一直计入主机占用；
+ * 网络异常、总超时和5xx响应计为失败，4xx是调用方的问题，不影响熔断。
+ */
+public class OutboundHttpInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final String GZIP = "gzip";
+
+    private final MeterRegistry meterRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final long totalTimeoutMs;
+    private final boolean gzip;
+    private final ScheduledExecutorService deadlines = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "outbound-http-deadline");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OutboundHttpInterceptor(MeterRegistry meterRegistry, CircuitBreakerRegistry circuitBreakerRegistry,
+                                   long totalTimeoutMs, boolean gzip) {
+        this.meterRegistry = meterRegistry;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.totalTimeoutMs = totalTimeoutMs;
+        this.gzip = gzip;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String host = hostKey(request);
+        CircuitBreaker breaker = circuitBreakerRegistry.get(host);
+        try {
+            breaker.acquirePermission();
+        } catch (HostUnavailableException e) {
+            record(host, e.getReason().name(), System.nanoTime());
+            throw e;
+        }
+        long start = System.nanoTime();
+        boolean decompress = gzip && !request.getHeaders().containsKey(HttpHeaders.ACCEPT_ENCODING);
+        if (decompress) {
+            request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, GZIP);
+        }
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            breaker.onComplete(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), true);
+            record(host, "IO_ERROR", start);
+            throw e;
+        }
+        return new TrackedResponse(response, breaker, host, start, decompress);
+    }
+
+    private void record(String host, String outcome, long startNanos) {
+        Timer.builder("http.client.host.requests")
+                .description("出站请求从发出到响应读完的耗时")
+                .tag("host", circuitBreakerRegistry.tagFor(host))
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String hostKey(HttpRequest request) {
+        String host = request.getURI().getHost();
+        return host != null ? host.toLowerCase() : "unknown";
+    }
+
+    /**
+     * 响应关闭时归还主机连接并记录耗时，超过总超时由定时器关闭
+     */
+    private final class TrackedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final CircuitBreaker breaker;
+        private final String host;
+        private final long start;
+        private final boolean decompress;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final ScheduledFuture<?> deadline;
+        private volatile boolean expired;
+        private Thread reader;
+        private HttpHeaders headers;
+        private InputStream body;
+
+        TrackedResponse(ClientHttpResponse delegate, CircuitBreaker breaker, String host, long start,
+                        boolean decompress) {
+            this.delegate = delegate;
+            this.breaker = breaker;
+            this.host = host;
+            this.start = start;
+            this.decompress = decompress;
+            long remainingMs = totalTimeoutMs - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            this.deadline = totalTimeoutMs > 0
+                    ? deadlines.schedule(this::expire, Math.max(0, remainingMs), TimeUnit.MILLISECONDS)
+                    : null;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            if (headers == null) {
+                HttpHeaders original = delegate.getHeaders();
+                if (isGzipped(original)) {
+                    // 解压后的长度与编码未知，去掉两个头避免调用方按压缩数据处理
+                    HttpHeaders copy = new HttpHeaders();
+                    copy.putAll(original);
+                    copy.remove(HttpHeaders.CONTENT_ENCODING);
+                    copy.remove(HttpHeaders.CONTENT_LENGTH);
+                    headers = HttpHeaders.readOnlyHttpHeaders(copy);
+                } else {
+                    headers = original;
+                }
+            }
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                InputStream raw = new DeadlineInputStream(delegate.getBody());
+                body = isGzipped(delegate.getHeaders()) ? new GZIPInputStream(raw) : raw;
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            if (deadline != null) {
+                deadline.cancel(false);
+            }
+            String outcome = outcome();
+            finish(outcome, !"SUCCESS".equals(outcome) && !outcome.startsWith("4"));
+            delegate.close();
+        }
+
+        /**
+         * 超时后先归还主机占用并记录，再关闭响应流并中断正在读取的线程：
+         * JDK客户端的响应流在阻塞读取时会忽略中断继续等待，只有流已关闭时才会退出
+         */
+        private void expire() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            finish("TIMEOUT", true);
+            expired = true;
+            try {
+                // delegate.close()会先读完剩余响应体，超时时直接关闭底层流
+                delegate.getBody().close();
+            } catch (IOException ignored) {
+                // 连接已经断开
+            }
+            synchronized (this) {
+                if (reader != null) {
+                    reader.interrupt();
+                }
+            }
+        }
+
+        private void finish(String outcome, boolean failure) {
+            record(host, outcome, start);
+            breaker.onComplete(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), failure);
+        }
+
+        private String outcome() {
+            try {
+                return delegate.getStatusCode().is2xxSuccessful() || delegate.getStatusCode().value() == 304
+                        ? "SUCCESS" : String.valueOf(delegate.getStatusCode().value());
+            } catch (IOException e) {
+                return "IO_ERROR";
+            }
+        }
+
+        private boolean isGzipped(HttpHeaders original) {
+            return decompress && GZIP.equalsIgnoreCase(original.getFirst(HttpHeaders.CONTENT_ENCODING));
+        }
+
+        /**
+         * 总超时后读取响应体抛出超时异常，而不是返回被截断的数据
+         */
+        private final class DeadlineInputStream extends FilterInputStream {
+
+            DeadlineInputStream(InputStream in) {
+                super(in);
+            }
+
+            @Override
+            public int read() throws IOException {
+                enter();
+                try {
+                    return super.read();
+                } catch (IOException | RuntimeException e) {
+                    check();
+                    throw e;
+                } finally {
+                    exit();
+                }
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                enter();
+                try {
+                    return super.read(b, off, len);
+                } catch (IOException | RuntimeException e) {
+                    // 超时中断或关闭导致的读取失败按超时报告
+                    check();
+                    throw e;
+                } finally {
+                    exit();
+                }
+            }
+
+            private void enter() throws SocketTimeoutException {
+                synchronized (TrackedResponse.this) {
+                    check();
+                    reader = Thread.currentThread();
+                }
+            }
+
+            /**
+             * 清除超时定时器设置的中断标记，不影响调用方线程后续的阻塞操作
+             */
+            private void exit() throws SocketTimeoutException {
+                synchronized (TrackedResponse.this) {
+                    reader = null;
+                    if (expired) {
+                        Thread.interrupted();
+                    }
+                }
+                check();
+            }
+
+            private void check() throws SocketTimeoutException {
+                if (expired) {
+                    throw new SocketTimeoutException("请求" + host + "超过总超时" + totalTimeoutMs + "ms");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.ai.dev.platform.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 分页拉取与批量写入的流水线
+ *
+ * <p>生产者在独立线程中逐页拉取并解析，页面放入有界队列；调用线程从队列取出并写库：
+ * <ul>
+ *   <li>拉取下一页与写入当前页同时进行，而不是交替等待</li>
+ *   <li>队列满时生产者阻塞，内存中最多积压capacity页，写库慢时自然对拉取形成背压</li>
+ *   <li>写入失败时通知生产者停止并排空队列；拉取失败时写完已入队的页面后抛出原异常</li>
+ * </ul>
+ *
+ * @param <T> 页面中的数据类型
+ */
+public class PagePipeline<T> {
+
+    private final String name;
+    private final int capacity;
+
+    /**
+     * @param name 流水线名称，用于异常信息
+     * @param capacity 队列中最多积压的页数
+     */
+    public PagePipeline(String name, int capacity) {
+        this.name = name;
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * 执行流水线，直到生产者结束且所有页面写入完成
+     *
+     * @param executor 执行生产者的线程池
+     * @param producer 拉取逻辑，每得到一页调用一次sink；sink返回false表示下游已停止，应结束拉取
+     * @param writer 写入逻辑，在调用线程中执行
+     * @return 写入的数据条数
+     */
+    public long run(Executor executor, Consumer<Predicate<List<T>>> producer, Consumer<List<T>> writer) {
+        BlockingQueue<List<T>> queue = new ArrayBlockingQueue<>(capacity);
+        List<T> end = new ArrayList<>(0);
+        AtomicReference<Throwable> producerError = new AtomicReference<>();
+        // 写入端停止后置位，生产者看到后不再入队
+        AtomicBoolean stopped = new AtomicBoolean();
+        AtomicBoolean produced = new AtomicBoolean();
+
+        executor.execute(() -> {
+            try {
+                producer.accept(page -> {
+                    if (stopped.get()) {
+                        return false;
+                    }
+                    if (!page.isEmpty()) {
+                        try {
+                            queue.put(page);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new IllegalStateException(name + "拉取线程被中断", e);
+                        }
+                    }
+                    return !stopped.get();
+                });
+            } catch (Throwable t) {
+                producerError.set(t);
+            } finally {
+                produced.set(true);
+                putQuietly(queue, end);
+            }
+        });
+
+        long written = 0;
+        RuntimeException writeError = null;
+        try {
+            while (true) {
+                List<T> page = queue.poll(1, TimeUnit.SECONDS);
+                if (page == null) {
+                    // 生产者结束但结束标记未能入队（线程被中断）时也要退出
+                    if (produced.get() && queue.isEmpty()) {
+                        break;
+                    }
+                    continue;
+                }
+                if (page == end) {
+                    break;
+                }
+                if (writeError != null) {
+                    // 已失败，只排空队列让生产者尽快退出
+                    continue;
+                }
+                try {
+                    writer.accept(page);
+                    written += page.size();
+                } catch (RuntimeException e) {
+                    writeError = e;
+                    stopped.set(true);
+                }
+            }
+        } catch (InterruptedException e) {
+            stopped.set(true);
+            queue.clear();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(name + "写入线程被中断", e);
+        }
+
+        if (writeError != null) {
+            throw writeError;
+        }
+        Throwable error = producerError.get();
+        if (error instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (error instanceof Error fatal) {
+            throw fatal;
+        }
+        if (error != null) {
+            throw new IllegalStateException(name + "拉取失败", error);
+        }
+        return written;
+    }
+
+    private static <T> void putQuietly(BlockingQueue<List<T>> queue, List<T> item) {
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
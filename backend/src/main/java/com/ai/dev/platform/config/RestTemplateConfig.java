@@ -1,23 +1,37 @@
 package com.ai.dev.platform.config;
 
+import com.ai.dev.platform.common.CircuitBreaker;
+import com.ai.dev.platform.common.CircuitBreakerEndpoint;
+import com.ai.dev.platform.common.CircuitBreakerRegistry;
+import com.ai.dev.platform.common.OutboundHttpInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  * RestTemplate配置类
  * 
- * <p>负责配置RestTemplate Bean，用于HTTP客户端请求：
+ * <p>负责配置全局共享的出站HTTP客户端，同步客户端、监控探测、
+ * 接口调试/测试执行和OAuth回调都使用同一个RestTemplate：
  * <ul>
- *   <li>配置默认的RestTemplate实例</li>
- *   <li>设置HTTP连接超时参数</li>
- *   <li>配置请求拦截器和错误处理器</li>
- *   <li>支持微服务间通信</li>
+ *   <li>底层为JDK HttpClient，复用keep-alive连接，优先协商HTTP/2</li>
+ *   <li>连接超时、读取超时和包含响应体读取的总超时</li>
+ *   <li>按主机熔断和限制并发调用数（舱壁），并透明处理gzip压缩</li>
+ *   <li>按主机的耗时、占用和排队指标通过actuator的metrics端点暴露，
+ *       熔断状态通过circuitbreakers端点暴露</li>
  * </ul>
  * 
- * <p>该配置类通过@Configuration注解标记为Spring配置类，
- * 提供全局可用的RestTemplate Bean实例。
- * 
  * @author AI开发平台团队
  * @version 1.0.0
  * @since 1.0.0
@@ -25,6 +39,228 @@ import org.springframework.web.client.RestTemplate;
 @Configuration
 public class RestTemplateConfig {
 
+    /**
+     * 建立连接的超时时间（毫秒）
+     * 
+     * @since 1.0.0
+     */
+    @Value("${http.client.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    /**
+     * 等待响应头的超时时间（毫秒）
+     * 
+     * @since 1.0.0
+     */
+    @Value("${http.client.read-timeout-ms:30000}")
+    private long readTimeoutMs;
+
+    /**
+     * 从发出请求到响应体读完的总超时（毫秒），0表示不限制
+     * 
+     * @since 1.0.0
+     */
+    @Value("${http.client.total-timeout-ms:120000}")
+    private long totalTimeoutMs;
+
+    /**
+     * 舱壁：每个目标主机的最大并发调用数
+     * 
+     * @since 1.0.0
+     */
+    @Value("${http.client.max-per-host:20}")
+    private int maxPerHost;
+
+    /**
+     * 主机并发已满时等待空闲名额的最长时间（毫秒），超时后快速失败
+     * 
+     * @since 1.0.0
+     */
+    @Value("${http.client.acquire-timeout-ms:1000}")
+    private long acquireTimeoutMs;
+
+    /**
+     * 熔断滑动窗口的调用数
+     * 
+     * @since 1.0.0
+     */
+    @Value("${http.client.circuit.window-size:20}")
+    private int windowSize;
+
+    /**
+     * 窗口内至少多少次调用才计算失败率
+     * 
+     * @since 1.0.0
+     */
+    @Value("${http.client.circuit.minimum-calls:10}")
+    private int minimumCalls;
+
+    /**
+     * 打开熔断的失败率阈值（百分比）
+     * 
+     * @since 1.0.0
+     */
+    @Value("${http.client.circuit.failure-rate-threshold:50}")
+    private int failureRateThreshold;
+
+    /**
+     * 打开熔断的慢调用率阈值（百分比）
+     * 
+     * @since 1.0.0
+     */
+    @Value("${http.client.circuit.slow-call-rate-threshold:80}")
+    private int slowCallRateThreshold;
+
+    /**
+     * 慢调用耗时阈值（毫秒）
+     * 
+     * @since 1.0.0
+     */
+    @Value("${http.client.circuit.slow-call-ms:5000}")
+    private long slowCallMs;
+
+    /**
+     * 不按耗时判定慢调用的主机
+     * 
+     * <p>大模型非流式补全正常就需要数秒到数十秒，套用统一的慢调用阈值会在正常使用中打开熔断。
+     * 
+     * @since 1.0.0
+     */
+    @Value("${http.client.circuit.slow-call-exempt-hosts:dashscope.aliyuncs.com}")
+    private Set<String> slowCallExemptHosts;
+
+    /**
+     * 监控探测的慢调用耗时阈值（毫秒），0表示探测不按耗时熔断
+     * 
+     * <p>响应慢但成功的被监控地址由基线判定是否变慢，不应被熔断判为不可达。
+     * 
+     * @since 1.0.0
+     */
+    @Value("${monitor.probe.circuit.slow-call-ms:0}")
+    private long probeSlowCallMs;
+
+    /**
+     * 熔断打开后多久进入半开试探（毫秒）
+     * 
+     * @since 1.0.0
+     */
+    @Value("${http.client.circuit.open-ms:30000}")
+    private long openMs;
+
+    /**
+     * 半开状态放行的试探调用数
+     * 
+     * @since 1.0.0
+     */
+    @Value("${http.client.circuit.half-open-calls:3}")
+    private int halfOpenCalls;
+
+    /**
+     * 空闲多久后移除不在指标主机列表中的熔断器（毫秒），0表示不移除
+     * 
+     * @since 1.0.0
+     */
+    @Value("${http.client.circuit.idle-evict-ms:600000}")
+    private long idleEvictMs;
+
+    /**
+     * 单独记录指标的主机，其余主机的指标归入other标签
+     * 
+     * @since 1.0.0
+     */
+    @Value("${http.client.metric-hosts:api.github.com,github.com,gitee.com,dashscope.aliyuncs.com}")
+    private Set<String> metricHosts;
+
+    /**
+     * 是否声明并解压gzip响应
+     * 
+     * @since 1.0.0
+     */
+    @Value("${http.client.gzip:true}")
+    private boolean gzip;
+
+    /**
+     * 共享的JDK HttpClient
+     * 
+     * <p>HttpClient内部维护连接池，同一主机的请求复用已建立的连接；
+     * 服务端支持时通过ALPN升级到HTTP/2，多个请求复用一条连接。
+     * 
+     * @return HttpClient 共享客户端
+     * @since 1.0.0
+     */
+    @Bean
+    public HttpClient outboundHttpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * 按远程主机划分的熔断器和舱壁
+     * 
+     * <p>RestTemplate之外的外部调用（如DashScope SDK）也通过它按主机保护。
+     * 
+     * @param meterRegistry 指标注册表
+     * @return CircuitBreakerRegistry 熔断器集合
+     * @since 1.0.0
+     */
+    @Bean
+    @Primary
+    public CircuitBreakerRegistry circuitBreakerRegistry(MeterRegistry meterRegistry) {
+        CircuitBreaker.Settings settings = breakerSettings();
+        Map<String, CircuitBreaker.Settings> hostSettings = slowCallExemptHosts.stream()
+                .collect(Collectors.toMap(Function.identity(), host -> settings.withSlowCallMs(0), (a, b) -> a));
+        return new CircuitBreakerRegistry(meterRegistry, settings, hostSettings, metricHosts, idleEvictMs);
+    }
+
+    /**
+     * 监控探测专用的熔断器集合
+     * 
+     * <p>被监控地址由用户配置，与同步、AI等调用分开熔断，互不影响；
+     * 探测默认不按耗时熔断，只有连续失败才快速判定不可达。不单独注册指标。
+     * 
+     * @return CircuitBreakerRegistry 探测熔断器集合
+     * @since 1.0.0
+     */
+    @Bean
+    public CircuitBreakerRegistry probeCircuitBreakerRegistry(MeterRegistry meterRegistry) {
+        return new CircuitBreakerRegistry(meterRegistry, breakerSettings().withSlowCallMs(probeSlowCallMs),
+                Set.of(), idleEvictMs);
+    }
+
+    private CircuitBreaker.Settings breakerSettings() {
+        return new CircuitBreaker.Settings(windowSize, minimumCalls, failureRateThreshold, slowCallRateThreshold,
+                slowCallMs, openMs, halfOpenCalls, maxPerHost, acquireTimeoutMs);
+    }
+
+    /**
+     * 熔断状态的actuator端点
+     * 
+     * @param circuitBreakerRegistry 熔断器集合
+     * @return CircuitBreakerEndpoint 端点
+     * @since 1.0.0
+     */
+    @Bean
+    public CircuitBreakerEndpoint circuitBreakerEndpoint(CircuitBreakerRegistry circuitBreakerRegistry) {
+        return new CircuitBreakerEndpoint(circuitBreakerRegistry);
+    }
+
+    /**
+     * 出站请求拦截器，负责熔断、舱壁、总超时、gzip和指标
+     * 
+     * @param meterRegistry 指标注册表
+     * @param circuitBreakerRegistry 熔断器集合
+     * @return OutboundHttpInterceptor 拦截器
+     * @since 1.0.0
+     */
+    @Bean
+    public OutboundHttpInterceptor outboundHttpInterceptor(MeterRegistry meterRegistry,
+                                                           CircuitBreakerRegistry circuitBreakerRegistry) {
+        return new OutboundHttpInterceptor(meterRegistry, circuitBreakerRegistry, totalTimeoutMs, gzip);
+    }
+
     /**
      * RestTemplate Bean配置
      * 
@@ -36,19 +272,20 @@ public class RestTemplateConfig {
      *   <li>自动处理JSON/XML数据转换</li>
      * </ul>
      * 
-     * <p>可根据需要进一步配置：
-     * <ul>
-     *   <li>连接超时和读取超时设置</li>
-     *   <li>SSL证书验证配置</li>
-     *   <li>请求头和拦截器添加</li>
-     *   <li>错误处理策略配置</li>
-     * </ul>
+     * <p>请求经共享HttpClient发出，响应体以流的形式交给调用方，
+     * 不会先在内存中缓冲完整响应。
      * 
+     * @param outboundHttpClient 共享HttpClient
+     * @param outboundHttpInterceptor 出站请求拦截器
      * @return RestTemplate 配置好的RestTemplate实例
      * @since 1.0.0
      */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(HttpClient outboundHttpClient, OutboundHttpInterceptor outboundHttpInterceptor) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(outboundHttpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(outboundHttpInterceptor);
+        return restTemplate;
     }
 }
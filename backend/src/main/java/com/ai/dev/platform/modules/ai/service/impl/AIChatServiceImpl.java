@@ -1,5 +1,8 @@
 package com.ai.dev.platform.modules.ai.service.impl;
 
+import com.ai.dev.platform.common.CircuitBreaker;
+import com.ai.dev.platform.common.CircuitBreakerRegistry;
+import com.ai.dev.platform.common.HostUnavailableException;
 import com.ai.dev.platform.modules.ai.service.AIChatService;
 import com.alibaba.dashscope.aigc.generation.Generation;
 import com.alibaba.dashscope.aigc.generation.GenerationParam;
@@ -11,16 +14,24 @@ import com.alibaba.dashscope.exception.InputRequiredException;
 import com.alibaba.dashscope.exception.NoApiKeyException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class AIChatServiceImpl implements AIChatService {
 
     private static final Logger logger = LoggerFactory.getLogger(AIChatServiceImpl.class);
+    private static final String DASHSCOPE_HOST = "dashscope.aliyuncs.com";
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
 
     @Value("${dashscope.api-key:}")
     private String apiKey;
@@ -48,7 +59,20 @@ public class AIChatServiceImpl implements AIChatService {
                     .resultFormat(GenerationParam.ResultFormat.MESSAGE)
                     .build();
 
-            GenerationResult result = gen.call(param);
+            // SDK不经过共享RestTemplate，单独按DashScope主机熔断和限制并发
+            CircuitBreaker breaker = circuitBreakerRegistry.get(DASHSCOPE_HOST);
+            breaker.acquirePermission();
+            long start = System.nanoTime();
+            boolean failed = false;
+            GenerationResult result;
+            try {
+                result = gen.call(param);
+            } catch (NoApiKeyException | InputRequiredException | RuntimeException e) {
+                failed = isServiceFailure(e);
+                throw e;
+            } finally {
+                breaker.onComplete(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), failed);
+            }
             
             if (result != null && result.getOutput() != null && 
                 result.getOutput().getChoices() != null && 
@@ -61,6 +85,8 @@ public class AIChatServiceImpl implements AIChatService {
                 return "抱歉，AI暂时无法回答这个问题。";
             }
             
+        } catch (HostUnavailableException e) {
+            throw e;
         } catch (NoApiKeyException e) {
             logger.error("No API key exception", e);
             return "抱歉，AI服务配置错误：缺少API密钥。";
@@ -75,4 +101,34 @@ public class AIChatServiceImpl implements AIChatService {
             return "抱歉，AI服务发生错误，请稍后再试。";
         }
     }
+
+    /**
+     * 只有网络异常、超时、5xx和429计为熔断失败；缺少密钥、参数错误和其他4xx是调用方的问题，不影响熔断
+     */
+    static boolean isServiceFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        if (!(error instanceof ApiException)) {
+            return false;
+        }
+        Integer statusCode = statusCode(error);
+        return statusCode != null && (statusCode >= 500 || statusCode == 429);
+    }
+
+    /**
+     * 读取ApiException携带的HTTP状态码（getStatus().getStatusCode()），
+     * SDK各版本的异常结构不同，按方法名读取，读不到时返回null
+     */
+    private static Integer statusCode(Throwable error) {
+        try {
+            Object status = error.getClass().getMethod("getStatus").invoke(error);
+            Object code = status != null ? status.getClass().getMethod("getStatusCode").invoke(status) : null;
+            return code instanceof Integer value ? value : null;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.ai.dev.platform.modules.api.service.impl;
 
+import com.ai.dev.platform.common.HostUnavailableException;
 import com.ai.dev.platform.modules.api.entity.ApiInfo;
 import com.ai.dev.platform.modules.api.mapper.ApiInfoMapper;
 import com.ai.dev.platform.modules.api.service.ApiInfoService;
@@ -70,6 +71,9 @@ public class ApiInfoServiceImpl extends ServiceImpl<ApiInfoMapper, ApiInfo> impl
             result.put("statusCode", response.getStatusCodeValue());
             result.put("body", response.getBody());
             
+        } catch (HostUnavailableException e) {
+            // 目标主机熔断中，交给全局异常处理返回错误
+            throw e;
         } catch (Exception e) {
             result.put("success", false);
             result.put("error", e.getMessage());
@@ -0,0 +1,69 @@
+package com.ai.dev.platform.modules.cluster.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@TableName("cluster_node")
+@Schema(description = "集群节点租约实体")
+public class ClusterNode {
+
+    @TableId(value = "node_id", type = IdType.INPUT)
+    @Schema(description = "节点ID")
+    private String nodeId;
+
+    @Schema(description = "节点主机名")
+    private String host;
+
+    @Schema(description = "节点启动时间")
+    private LocalDateTime startTime;
+
+    @Schema(description = "最近一次续约时间")
+    private LocalDateTime heartbeatTime;
+
+    @Schema(description = "租约到期时间")
+    private LocalDateTime leaseExpireTime;
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getHeartbeatTime() {
+        return heartbeatTime;
+    }
+
+    public void setHeartbeatTime(LocalDateTime heartbeatTime) {
+        this.heartbeatTime = heartbeatTime;
+    }
+
+    public LocalDateTime getLeaseExpireTime() {
+        return leaseExpireTime;
+    }
+
+    public void setLeaseExpireTime(LocalDateTime leaseExpireTime) {
+        this.leaseExpireTime = leaseExpireTime;
+    }
+}
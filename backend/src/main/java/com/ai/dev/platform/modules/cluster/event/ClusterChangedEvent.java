@@ -0,0 +1,36 @@
+package com.ai.dev.platform.modules.cluster.event;
+
+import java.util.Set;
+
+/**
+ * 集群成员变化事件
+ *
+ * <p>存活节点集合变化，或本节点的租约失效、恢复时发布，
+ * 按{@link com.ai.dev.platform.modules.cluster.service.ClusterService#owns(String)}分片的任务收到后重新计算归属。
+ *
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class ClusterChangedEvent {
+
+    private final Set<String> liveNodes;
+
+    private final boolean active;
+
+    public ClusterChangedEvent(Set<String> liveNodes, boolean active) {
+        this.liveNodes = liveNodes;
+        this.active = active;
+    }
+
+    public Set<String> getLiveNodes() {
+        return liveNodes;
+    }
+
+    /**
+     * 本节点当前是否持有有效租约
+     */
+    public boolean isActive() {
+        return active;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ai.dev.platform.modules.cluster.mapper;
+
+import com.ai.dev.platform.modules.cluster.entity.ClusterNode;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+@Mapper
+public interface ClusterNodeMapper extends BaseMapper<ClusterNode> {
+
+    /**
+     * 登记或续约节点，租约从数据库当前时间起算
+     */
+    @Insert({"INSERT INTO cluster_node (node_id, host, start_time, heartbeat_time, lease_expire_time)",
+            "VALUES (#{nodeId}, #{host}, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP,",
+            "CURRENT_TIMESTAMP + make_interval(secs => #{leaseSeconds}))",
+            "ON CONFLICT (node_id) DO UPDATE SET host = EXCLUDED.host, heartbeat_time = CURRENT_TIMESTAMP,",
+            "lease_expire_time = EXCLUDED.lease_expire_time"})
+    int renew(@Param("nodeId") String nodeId, @Param("host") String host,
+              @Param("leaseSeconds") double leaseSeconds);
+
+    /**
+     * 租约未过期的节点ID
+     */
+    @Select("SELECT node_id FROM cluster_node WHERE lease_expire_time > CURRENT_TIMESTAMP ORDER BY node_id")
+    List<String> findLiveNodeIds();
+
+    /**
+     * 删除租约过期超过指定时长的节点记录
+     *
+     * @return 删除的行数
+     */
+    @Delete("DELETE FROM cluster_node WHERE lease_expire_time < CURRENT_TIMESTAMP - make_interval(secs => #{graceSeconds})")
+    int deleteExpired(@Param("graceSeconds") double graceSeconds);
+}
@@ -0,0 +1,57 @@
+package com.ai.dev.platform.modules.cluster.service;
+
+import java.util.Set;
+
+/**
+ * 集群协调服务接口
+ *
+ * <p>基于数据库租约在多个后端实例之间分配工作：
+ * <ul>
+ *   <li>每个节点定期在cluster_node表续约，租约未过期的节点视为存活</li>
+ *   <li>存活节点组成一致性哈希环，每个键（监控、同步账号、单例任务名）只归属一个节点</li>
+ *   <li>节点宕机后租约过期，其余节点在下一次续约时发现并接管它的键</li>
+ *   <li>本节点未能按时续约时不再认领任何键，避免与接管者重复执行</li>
+ *   <li>未启用集群模式时本节点拥有所有键，与单实例部署的行为相同</li>
+ * </ul>
+ *
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public interface ClusterService {
+
+    /**
+     * 本节点ID
+     *
+     * @return String 节点ID
+     * @since 1.0.0
+     */
+    String getNodeId();
+
+    /**
+     * 键是否归属本节点
+     *
+     * <p>键的格式约定为"类型:ID"，例如"monitor:12"、"sync-config:3"；
+     * 集群内只需运行一次的任务使用"job:任务名"。
+     *
+     * @param key 键
+     * @return boolean 归属本节点时返回true
+     * @since 1.0.0
+     */
+    boolean owns(String key);
+
+    /**
+     * 当前已知的存活节点
+     *
+     * @return Set<String> 节点ID
+     * @since 1.0.0
+     */
+    Set<String> getLiveNodes();
+
+    /**
+     * 续约并刷新存活节点，成员变化时发布ClusterChangedEvent
+     *
+     * @since 1.0.0
+     */
+    void heartbeat();
+}
@@ -0,0 +1,149 @@
+package com.ai.dev.platform.modules.cluster.service.impl;
+
+import com.ai.dev.platform.modules.cluster.event.ClusterChangedEvent;
+import com.ai.dev.platform.modules.cluster.mapper.ClusterNodeMapper;
+import com.ai.dev.platform.modules.cluster.service.ClusterService;
+import com.ai.dev.platform.modules.cluster.util.ConsistentHashRing;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class ClusterServiceImpl implements ClusterService, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterServiceImpl.class);
+
+    /**
+     * 过期节点记录保留一天，便于排查
+     */
+    private static final double EXPIRED_NODE_GRACE_SECONDS = TimeUnit.DAYS.toSeconds(1);
+
+    @Autowired
+    private ClusterNodeMapper clusterNodeMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cluster.node-id:}")
+    private String configuredNodeId;
+
+    @Value("${cluster.lease-ms:30000}")
+    private long leaseMs;
+
+    @Value("${cluster.virtual-nodes:128}")
+    private int virtualNodes;
+
+    private String nodeId;
+
+    private String host;
+
+    private volatile ConsistentHashRing ring;
+
+    /**
+     * 本节点租约在本地单调时钟上的到期时间，数据库时间与本地时钟无关，这里只用于保守地判断租约是否仍有效
+     */
+    private volatile long leaseValidUntilNanos;
+
+    private volatile boolean active;
+
+    @PostConstruct
+    public void init() {
+        nodeId = configuredNodeId != null && !configuredNodeId.isBlank()
+                ? configuredNodeId.trim() : ManagementFactory.getRuntimeMXBean().getName();
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = null;
+        }
+        ring = new ConsistentHashRing(Set.of(nodeId), virtualNodes);
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public boolean owns(String key) {
+        if (!enabled) {
+            return true;
+        }
+        if (!isLeaseValid()) {
+            return false;
+        }
+        return nodeId.equals(ring.owner(key));
+    }
+
+    @Override
+    public Set<String> getLiveNodes() {
+        return ring.getNodes();
+    }
+
+    @Override
+    public void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            clusterNodeMapper.renew(nodeId, host, leaseMs / 1000.0);
+            // 从发出续约请求的时刻起算，宁可提前放弃归属
+            leaseValidUntilNanos = started + TimeUnit.MILLISECONDS.toNanos(leaseMs);
+            Set<String> nodes = new HashSet<>(clusterNodeMapper.findLiveNodeIds());
+            nodes.add(nodeId);
+            boolean membershipChanged = !nodes.equals(ring.getNodes());
+            if (membershipChanged) {
+                logger.info("集群节点变化：{} -> {}", ring.getNodes(), nodes);
+                ring = new ConsistentHashRing(nodes, virtualNodes);
+            }
+            boolean changed = membershipChanged || !active;
+            active = true;
+            if (changed) {
+                publish();
+            }
+            clusterNodeMapper.deleteExpired(EXPIRED_NODE_GRACE_SECONDS);
+        } catch (RuntimeException e) {
+            if (active && !isLeaseValid()) {
+                active = false;
+                logger.warn("集群租约已失效，本节点暂停认领任务：{}", nodeId);
+                publish();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            // 主动退出，其他节点下一次续约即可接管，不必等待租约过期
+            clusterNodeMapper.deleteById(nodeId);
+        } catch (Exception e) {
+            logger.warn("注销集群节点失败：{}", nodeId, e);
+        }
+    }
+
+    private boolean isLeaseValid() {
+        return System.nanoTime() - leaseValidUntilNanos < 0;
+    }
+
+    private void publish() {
+        eventPublisher.publishEvent(new ClusterChangedEvent(ring.getNodes(), active));
+    }
+}
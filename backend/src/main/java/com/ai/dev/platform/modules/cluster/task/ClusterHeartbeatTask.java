@@ -0,0 +1,60 @@
+package com.ai.dev.platform.modules.cluster.task;
+
+import com.ai.dev.platform.modules.cluster.service.ClusterService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 集群节点续约
+ *
+ * <p>在独立的调度线程上执行，不与@Scheduled任务共用线程池，
+ * 其他定时任务执行缓慢时续约不会被推迟到租约过期之后。
+ */
+@Component
+public class ClusterHeartbeatTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterHeartbeatTask.class);
+
+    @Autowired
+    private ClusterService clusterService;
+
+    /**
+     * 续约间隔应明显小于租约时长，默认租约30秒内至少续约两次
+     */
+    @Value("${cluster.heartbeat-ms:10000}")
+    private long heartbeatMs;
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "cluster-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::heartbeat, 0, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public void heartbeat() {
+        try {
+            clusterService.heartbeat();
+        } catch (Exception e) {
+            logger.warn("集群节点续约失败", e);
+        }
+    }
+}
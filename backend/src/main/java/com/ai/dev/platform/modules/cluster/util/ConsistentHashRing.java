@@ -0,0 +1,87 @@
+package com.ai.dev.platform.modules.cluster.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 一致性哈希环
+ *
+ * <p>每个节点在环上放置若干虚拟节点，键归属于顺时针方向遇到的第一个虚拟节点：
+ * <ul>
+ *   <li>同样的节点集合在任何实例上构造出的环完全相同，各节点对归属的判断一致</li>
+ *   <li>增加或移除一个节点时，只有约1/N的键改变归属，其余键不迁移</li>
+ *   <li>虚拟节点使各节点分到的键数量接近均匀</li>
+ * </ul>
+ *
+ * <p>环构造后不可变，节点变化时整体替换。
+ *
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class ConsistentHashRing {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    private final Set<String> nodes;
+
+    /**
+     * @param nodes 节点ID
+     * @param virtualNodes 每个节点的虚拟节点数
+     */
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        this.nodes = Collections.unmodifiableSet(new TreeSet<>(nodes));
+        int replicas = Math.max(1, virtualNodes);
+        for (String node : this.nodes) {
+            for (int i = 0; i < replicas; i++) {
+                // 哈希冲突时按节点ID取较小者，保证与插入顺序无关
+                ring.merge(hash(node + "#" + i), node, (a, b) -> a.compareTo(b) <= 0 ? a : b);
+            }
+        }
+    }
+
+    /**
+     * 键所归属的节点
+     *
+     * @param key 键
+     * @return String 节点ID，环为空时返回null
+     * @since 1.0.0
+     */
+    public String owner(String key) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    public Set<String> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * 64位FNV-1a加murmur3的fmix64扰动，与JVM无关，所有节点结果一致
+     */
+    static long hash(String value) {
+        long h = FNV_OFFSET;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= FNV_PRIME;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -1,14 +1,23 @@
 package com.ai.dev.platform.modules.monitor.controller;
 
 import com.ai.dev.platform.common.Result;
+import com.ai.dev.platform.modules.monitor.dto.LatencyPercentiles;
+import com.ai.dev.platform.modules.monitor.dto.MonitorHistory;
+import com.ai.dev.platform.modules.monitor.dto.ProjectSla;
 import com.ai.dev.platform.modules.monitor.entity.Monitor;
+import com.ai.dev.platform.modules.monitor.service.MonitorCheckService;
 import com.ai.dev.platform.modules.monitor.service.MonitorService;
+import com.ai.dev.platform.modules.monitor.service.MonitorSlaService;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+
 @Tag(name = "监控管理")
 @RestController
 @RequestMapping("/monitor")
@@ -17,6 +26,12 @@ public class MonitorController {
     @Autowired
     private MonitorService monitorService;
 
+    @Autowired
+    private MonitorCheckService monitorCheckService;
+
+    @Autowired
+    private MonitorSlaService monitorSlaService;
+
     @Operation(summary = "新增监控配置")
     @PostMapping("/add")
     public Result<Monitor> addMonitor(@RequestBody Monitor monitor) {
@@ -39,7 +54,7 @@ public class MonitorController {
     @Operation(summary = "删除监控记录")
     @DeleteMapping("/delete/{id}")
     public Result<String> deleteMonitor(@PathVariable Long id) {
-        boolean ok = monitorService.removeById(id);
+        boolean ok = monitorService.deleteMonitor(id);
         if (!ok) return Result.error("删除失败");
         return Result.ok("删除成功");
     }
@@ -50,4 +65,81 @@ public class MonitorController {
         Double uptime = monitorService.getUptime(projectId);
         return Result.ok(uptime);
     }
+
+    @Operation(summary = "查询探测历史")
+    @GetMapping("/history/{id}")
+    public Result<MonitorHistory> getHistory(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long step) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        if (!from.isBefore(end)) return Result.error("起始时间必须早于结束时间");
+        return Result.ok(monitorCheckService.history(id, from, end, step));
+    }
+
+    @Operation(summary = "获取可用率与错误预算")
+    @GetMapping("/sla")
+    public Result<ProjectSla> getSla(
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(defaultValue = "30d") String window,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Double target) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : windowStart(window, end);
+        if (start == null) return Result.error("时间窗口格式错误，应为如24h、7d、30d");
+        if (!start.isBefore(end)) return Result.error("起始时间必须早于结束时间");
+        if (target != null && (target <= 0 || target > 100)) return Result.error("SLA目标应在0到100之间");
+        return Result.ok(monitorSlaService.projectSla(projectId, start, end, target));
+    }
+
+    @Operation(summary = "获取延迟分位数")
+    @GetMapping("/latency/{id}")
+    public Result<LatencyPercentiles> getLatency(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "24h") String window,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : windowStart(window, end);
+        if (start == null) return Result.error("时间窗口格式错误，应为如24h、7d、30d");
+        if (!start.isBefore(end)) return Result.error("起始时间必须早于结束时间");
+        return Result.ok(monitorCheckService.latency(id, start, end));
+    }
+
+    @Operation(summary = "获取项目延迟分位数")
+    @GetMapping("/latency/project/{project_id}")
+    public Result<LatencyPercentiles> getProjectLatency(
+            @PathVariable("project_id") Long projectId,
+            @RequestParam(defaultValue = "24h") String window,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : windowStart(window, end);
+        if (start == null) return Result.error("时间窗口格式错误，应为如24h、7d、30d");
+        if (!start.isBefore(end)) return Result.error("起始时间必须早于结束时间");
+        return Result.ok(monitorCheckService.projectLatency(projectId, start, end));
+    }
+
+    /**
+     * 由结束时间和如30m、24h、7d的时间窗口计算起始时间，格式错误返回null
+     */
+    private static LocalDateTime windowStart(String window, LocalDateTime end) {
+        Duration duration = parseWindow(window);
+        return duration != null ? end.minus(duration) : null;
+    }
+
+    /**
+     * 解析如30m、24h、7d的时间窗口，格式错误返回null
+     */
+    private static Duration parseWindow(String window) {
+        if (window == null || !window.matches("\\d{1,4}[mhd]")) return null;
+        long amount = Long.parseLong(window.substring(0, window.length() - 1));
+        return switch (window.charAt(window.length() - 1)) {
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> Duration.ofDays(amount);
+        };
+    }
 }
@@ -0,0 +1,65 @@
+package com.ai.dev.platform.modules.monitor.dto;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 探测历史的数据粒度
+ *
+ * <p>RAW为逐次探测明细，其余为按时间桶汇总的数据，
+ * 每种汇总由比它细一级的数据生成。
+ *
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public enum CheckResolution {
+
+    RAW("raw", 0, null),
+    MINUTE("1m", 60, "minute"),
+    HOUR("1h", 3_600, "hour"),
+    DAY("1d", 86_400, "day");
+
+    private final String code;
+    private final long bucketSeconds;
+    private final String truncUnit;
+
+    CheckResolution(String code, long bucketSeconds, String truncUnit) {
+        this.code = code;
+        this.bucketSeconds = bucketSeconds;
+        this.truncUnit = truncUnit;
+    }
+
+    /**
+     * 存储在monitor_check_rollup.resolution中的编码
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * 时间桶长度（秒），明细为0
+     */
+    public long getBucketSeconds() {
+        return bucketSeconds;
+    }
+
+    /**
+     * 对应PostgreSQL date_trunc的单位，明细为null
+     */
+    public String getTruncUnit() {
+        return truncUnit;
+    }
+
+    /**
+     * 包含time的时间桶的起始时间，明细原样返回
+     */
+    public LocalDateTime truncate(LocalDateTime time) {
+        return switch (this) {
+            case MINUTE -> time.truncatedTo(ChronoUnit.MINUTES);
+            case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> time.truncatedTo(ChronoUnit.DAYS);
+            case RAW -> time;
+        };
+    }
+}
@@ -0,0 +1,52 @@
+package com.ai.dev.platform.modules.monitor.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 汇总表中一个时间桶的延迟直方图，histogram为稀疏编码
+ *
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class LatencyHistogramRow {
+
+    private Long monitorId;
+
+    private LocalDateTime bucketTime;
+
+    private long[] histogram;
+
+    public LatencyHistogramRow() {
+    }
+
+    public LatencyHistogramRow(Long monitorId, LocalDateTime bucketTime, long[] histogram) {
+        this.monitorId = monitorId;
+        this.bucketTime = bucketTime;
+        this.histogram = histogram;
+    }
+
+    public Long getMonitorId() {
+        return monitorId;
+    }
+
+    public void setMonitorId(Long monitorId) {
+        this.monitorId = monitorId;
+    }
+
+    public LocalDateTime getBucketTime() {
+        return bucketTime;
+    }
+
+    public void setBucketTime(LocalDateTime bucketTime) {
+        this.bucketTime = bucketTime;
+    }
+
+    public long[] getHistogram() {
+        return histogram;
+    }
+
+    public void setHistogram(long[] histogram) {
+        this.histogram = histogram;
+    }
+}
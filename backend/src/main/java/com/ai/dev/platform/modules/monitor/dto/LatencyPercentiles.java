@@ -0,0 +1,35 @@
+package com.ai.dev.platform.modules.monitor.dto;
+
+import com.ai.dev.platform.modules.monitor.util.LatencyHistogram;
+
+import java.time.LocalDateTime;
+
+/**
+ * 时间窗口内的延迟分位数
+ *
+ * <p>由窗口内各时间桶的直方图合并得到，分位数为所在桶的上界，相对误差不超过约3%。
+ *
+ * @param monitorId 监控ID，按项目统计时为null
+ * @param projectId 项目ID，按单个监控统计时为null
+ * @param from 窗口起始时间（含）
+ * @param to 窗口结束时间（不含）
+ * @param count 成功探测次数
+ * @param p50 P50延迟（毫秒）
+ * @param p90 P90延迟（毫秒）
+ * @param p99 P99延迟（毫秒）
+ * @param p999 P99.9延迟（毫秒）
+ * @param max 最大延迟（毫秒）
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public record LatencyPercentiles(Long monitorId, Long projectId, LocalDateTime from, LocalDateTime to, long count,
+                                 long p50, long p90, long p99, long p999, long max) {
+
+    public static LatencyPercentiles of(Long monitorId, Long projectId, LocalDateTime from, LocalDateTime to,
+                                        LatencyHistogram histogram) {
+        return new LatencyPercentiles(monitorId, projectId, from, to, histogram.getTotalCount(),
+                histogram.valueAtPercentile(50), histogram.valueAtPercentile(90),
+                histogram.valueAtPercentile(99), histogram.valueAtPercentile(99.9), histogram.getMaxValue());
+    }
+}
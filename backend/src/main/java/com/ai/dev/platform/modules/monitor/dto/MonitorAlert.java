@@ -0,0 +1,39 @@
+package com.ai.dev.platform.modules.monitor.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 经过确认和去重后需要通知的监控告警
+ *
+ * @param monitorId 监控ID
+ * @param projectId 项目ID
+ * @param monitorUrl 监控URL
+ * @param kind 告警类型
+ * @param responseTime 触发告警的探测响应时间（毫秒）
+ * @param time 触发告警的探测时间
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public record MonitorAlert(Long monitorId, Long projectId, String monitorUrl, Kind kind,
+                           Integer responseTime, LocalDateTime time) {
+
+    public enum Kind {
+        /**
+         * 确认不可达
+         */
+        DOWN,
+        /**
+         * 确认慢响应
+         */
+        SLOW,
+        /**
+         * 恢复正常
+         */
+        RECOVERED,
+        /**
+         * 状态频繁波动，暂停逐次通知
+         */
+        FLAPPING
+    }
+}
@@ -0,0 +1,66 @@
+package com.ai.dev.platform.modules.monitor.dto;
+
+/**
+ * 单个监控在一段时间内按时长计权的可用性统计，由汇总数据聚合得到
+ *
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class MonitorAvailability {
+
+    /** 监控ID */
+    private Long monitorId;
+
+    /** 参与统计的探测次数 */
+    private Long checkCount;
+
+    /** 其中失败的次数 */
+    private Long failureCount;
+
+    /** 有探测数据覆盖的时长（秒） */
+    private Double monitoredSeconds;
+
+    /** 按各时间桶成功率折算的可用时长（秒） */
+    private Double upSeconds;
+
+    public Long getMonitorId() {
+        return monitorId;
+    }
+
+    public void setMonitorId(Long monitorId) {
+        this.monitorId = monitorId;
+    }
+
+    public Long getCheckCount() {
+        return checkCount;
+    }
+
+    public void setCheckCount(Long checkCount) {
+        this.checkCount = checkCount;
+    }
+
+    public Long getFailureCount() {
+        return failureCount;
+    }
+
+    public void setFailureCount(Long failureCount) {
+        this.failureCount = failureCount;
+    }
+
+    public Double getMonitoredSeconds() {
+        return monitoredSeconds;
+    }
+
+    public void setMonitoredSeconds(Double monitoredSeconds) {
+        this.monitoredSeconds = monitoredSeconds;
+    }
+
+    public Double getUpSeconds() {
+        return upSeconds;
+    }
+
+    public void setUpSeconds(Double upSeconds) {
+        this.upSeconds = upSeconds;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ai.dev.platform.modules.monitor.dto;
+
+import com.ai.dev.platform.modules.monitor.entity.MonitorCheckRollup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 监控探测历史查询结果
+ *
+ * @param monitorId 监控ID
+ * @param resolution 实际使用的数据粒度
+ * @param from 查询起始时间（含）
+ * @param to 查询结束时间（不含）
+ * @param points 按时间升序的数据点，明细粒度下每个点是一次探测
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public record MonitorHistory(Long monitorId, String resolution, LocalDateTime from, LocalDateTime to,
+                             List<MonitorCheckRollup> points) {
+}
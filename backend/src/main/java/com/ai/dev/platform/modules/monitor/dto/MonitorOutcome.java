@@ -0,0 +1,21 @@
+package com.ai.dev.platform.modules.monitor.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 一次探测判定后的监控状态，作为告警评估的输入
+ *
+ * @param monitorId 监控ID
+ * @param projectId 项目ID
+ * @param monitorUrl 监控URL
+ * @param status 本次判定的状态（normal/slow/exception）
+ * @param persistedStatus 判定前的状态，监控第一次参与评估时作为已通知状态
+ * @param responseTime 响应时间（毫秒），不可达时为-1
+ * @param checkTime 探测完成时间
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public record MonitorOutcome(Long monitorId, Long projectId, String monitorUrl, String status,
+                             String persistedStatus, Integer responseTime, LocalDateTime checkTime) {
+}
@@ -0,0 +1,38 @@
+package com.ai.dev.platform.modules.monitor.dto;
+
+/**
+ * 单个监控的可用率与错误预算
+ *
+ * @param monitorId 监控ID
+ * @param monitorUrl 监控URL
+ * @param availability 按时长计权的可用率（百分比），没有探测数据时为null
+ * @param checkCount 探测次数
+ * @param failureCount 失败次数
+ * @param monitoredSeconds 有探测数据覆盖的时长（秒）
+ * @param downtimeSeconds 折算的不可用时长（秒）
+ * @param slaTarget SLA目标可用率（百分比）
+ * @param errorBudgetSeconds 窗口内允许的不可用时长（秒）
+ * @param errorBudgetRemaining 剩余错误预算比例，小于0表示已超支
+ * @param burnRate 错误预算消耗速率，1表示恰好在窗口结束时用完；目标为100%时为null
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public record MonitorSla(Long monitorId, String monitorUrl, Double availability, long checkCount,
+                         long failureCount, double monitoredSeconds, double downtimeSeconds, double slaTarget,
+                         double errorBudgetSeconds, Double errorBudgetRemaining, Double burnRate) {
+
+    /**
+     * 由可用时长和覆盖时长计算可用率和错误预算
+     */
+    public static MonitorSla of(Long monitorId, String monitorUrl, long checkCount, long failureCount,
+                                double monitoredSeconds, double upSeconds, double slaTarget) {
+        double downtime = Math.max(0, monitoredSeconds - upSeconds);
+        double budget = monitoredSeconds * (100 - slaTarget) / 100;
+        Double availability = monitoredSeconds > 0 ? upSeconds * 100 / monitoredSeconds : null;
+        Double remaining = budget > 0 ? 1 - downtime / budget : null;
+        Double burnRate = budget > 0 ? downtime / budget : null;
+        return new MonitorSla(monitorId, monitorUrl, availability, checkCount, failureCount, monitoredSeconds,
+                downtime, slaTarget, budget, remaining, burnRate);
+    }
+}
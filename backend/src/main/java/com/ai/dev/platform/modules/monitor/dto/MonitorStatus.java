@@ -0,0 +1,17 @@
+package com.ai.dev.platform.modules.monitor.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 监控最近一次探测后的状态
+ *
+ * @param monitorId 监控ID
+ * @param status 监控状态（normal/slow/exception）
+ * @param responseTime 响应时间（毫秒），不可达时为-1
+ * @param checkTime 探测完成时间
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public record MonitorStatus(Long monitorId, String status, Integer responseTime, LocalDateTime checkTime) {
+}
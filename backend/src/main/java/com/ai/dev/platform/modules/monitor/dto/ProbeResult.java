@@ -0,0 +1,34 @@
+package com.ai.dev.platform.modules.monitor.dto;
+
+/**
+ * 单次探测结果
+ * 
+ * <p>探测状态分为三种：
+ * <ul>
+ *   <li>UP：在截止时间内收到2xx/3xx响应</li>
+ *   <li>DOWN：连接失败、超时或返回4xx/5xx</li>
+ *   <li>SKIPPED：本节点对目标主机的并发已满，未发出请求，不据此判定状态</li>
+ * </ul>
+ * 
+ * @param status 探测状态
+ * @param statusCode HTTP状态码，未收到响应时为0
+ * @param latencyMs 从发出请求到收到响应头的耗时（毫秒），未收到响应时为-1
+ * @param error 失败原因，成功时为null
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public record ProbeResult(Status status, int statusCode, int latencyMs, String error) {
+
+    public enum Status {
+        UP, DOWN, SKIPPED
+    }
+
+    public static ProbeResult down(int statusCode, String error) {
+        return new ProbeResult(Status.DOWN, statusCode, -1, error);
+    }
+
+    public static ProbeResult skipped(String reason) {
+        return new ProbeResult(Status.SKIPPED, 0, -1, reason);
+    }
+}
@@ -0,0 +1,23 @@
+package com.ai.dev.platform.modules.monitor.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 项目在一个时间窗口内的可用率与错误预算
+ *
+ * <p>项目可用率为所有监控的可用时长之和除以覆盖时长之和，
+ * 项目SLA目标取各监控中最严格的目标。
+ *
+ * @param projectId 项目ID，为空表示所有监控
+ * @param from 窗口起始时间（含）
+ * @param to 窗口结束时间（不含）
+ * @param summary 项目整体的可用率与错误预算，monitorId为空
+ * @param monitors 各监控的可用率与错误预算
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public record ProjectSla(Long projectId, LocalDateTime from, LocalDateTime to, MonitorSla summary,
+                         List<MonitorSla> monitors) {
+}
@@ -0,0 +1,42 @@
+package com.ai.dev.platform.modules.monitor.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 可用率查询的一段时间及其使用的汇总粒度
+ *
+ * <p>时间桶与[from, to)重叠的部分按重叠时长计权，
+ * 边界处未对齐的时间桶只计入落在区间内的部分。
+ *
+ * @param resolution 汇总粒度
+ * @param from 起始时间（含）
+ * @param to 结束时间（不含）
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public record RollupSegment(CheckResolution resolution, LocalDateTime from, LocalDateTime to) {
+
+    public String getResolution() {
+        return resolution.getCode();
+    }
+
+    public long getBucketSeconds() {
+        return resolution.getBucketSeconds();
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    /**
+     * 包含from的时间桶的起始时间
+     */
+    public LocalDateTime getAlignedFrom() {
+        return resolution.truncate(from);
+    }
+}
@@ -31,6 +31,22 @@ public class Monitor {
     @Schema(description = "监控状态")
     private String status;
 
+    @TableField("check_interval")
+    @Schema(description = "检查间隔（秒）")
+    private Integer checkInterval;
+
+    @TableField("check_jitter")
+    @Schema(description = "每次检查额外随机延迟的上限（秒）")
+    private Integer checkJitter;
+
+    @TableField("sla_target")
+    @Schema(description = "SLA目标可用率（百分比）")
+    private Double slaTarget;
+
+    @TableField("slow_threshold_ms")
+    @Schema(description = "静态慢响应阈值（毫秒），为空时按自适应基线判断")
+    private Integer slowThresholdMs;
+
     @TableField("create_time")
     @Schema(description = "创建时间")
     private LocalDateTime createTime;
@@ -79,6 +95,38 @@ public class Monitor {
         this.status = status;
     }
 
+    public Integer getCheckInterval() {
+        return checkInterval;
+    }
+
+    public void setCheckInterval(Integer checkInterval) {
+        this.checkInterval = checkInterval;
+    }
+
+    public Integer getCheckJitter() {
+        return checkJitter;
+    }
+
+    public void setCheckJitter(Integer checkJitter) {
+        this.checkJitter = checkJitter;
+    }
+
+    public Double getSlaTarget() {
+        return slaTarget;
+    }
+
+    public void setSlaTarget(Double slaTarget) {
+        this.slaTarget = slaTarget;
+    }
+
+    public Integer getSlowThresholdMs() {
+        return slowThresholdMs;
+    }
+
+    public void setSlowThresholdMs(Integer slowThresholdMs) {
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
     public LocalDateTime getCreateTime() {
         return createTime;
     }
@@ -0,0 +1,69 @@
+package com.ai.dev.platform.modules.monitor.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@TableName("monitor_baseline")
+@Schema(description = "监控响应时间基线检查点实体")
+public class MonitorBaseline {
+
+    @TableId(value = "monitor_id", type = IdType.INPUT)
+    @Schema(description = "监控ID")
+    private Long monitorId;
+
+    @Schema(description = "已计入的成功探测次数")
+    private Long sampleCount;
+
+    @Schema(description = "ln(1+响应时间)的指数加权均值")
+    private Double logMean;
+
+    @Schema(description = "ln(1+响应时间)的指数加权方差")
+    private Double logVariance;
+
+    @Schema(description = "更新时间")
+    private LocalDateTime updateTime;
+
+    public Long getMonitorId() {
+        return monitorId;
+    }
+
+    public void setMonitorId(Long monitorId) {
+        this.monitorId = monitorId;
+    }
+
+    public Long getSampleCount() {
+        return sampleCount;
+    }
+
+    public void setSampleCount(Long sampleCount) {
+        this.sampleCount = sampleCount;
+    }
+
+    public Double getLogMean() {
+        return logMean;
+    }
+
+    public void setLogMean(Double logMean) {
+        this.logMean = logMean;
+    }
+
+    public Double getLogVariance() {
+        return logVariance;
+    }
+
+    public void setLogVariance(Double logVariance) {
+        this.logVariance = logVariance;
+    }
+
+    public LocalDateTime getUpdateTime() {
+        return updateTime;
+    }
+
+    public void setUpdateTime(LocalDateTime updateTime) {
+        this.updateTime = updateTime;
+    }
+}
@@ -0,0 +1,77 @@
+package com.ai.dev.platform.modules.monitor.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@TableName("monitor_check")
+@Schema(description = "监控探测明细实体")
+public class MonitorCheck {
+
+    @Schema(description = "监控ID")
+    private Long monitorId;
+
+    @Schema(description = "探测时间")
+    private LocalDateTime checkTime;
+
+    @Schema(description = "探测结果（up/down）")
+    private String status;
+
+    @Schema(description = "HTTP状态码，未收到响应时为0")
+    private Integer statusCode;
+
+    @Schema(description = "响应耗时（毫秒），失败时为-1")
+    private Integer latencyMs;
+
+    @Schema(description = "失败原因")
+    private String error;
+
+    public Long getMonitorId() {
+        return monitorId;
+    }
+
+    public void setMonitorId(Long monitorId) {
+        this.monitorId = monitorId;
+    }
+
+    public LocalDateTime getCheckTime() {
+        return checkTime;
+    }
+
+    public void setCheckTime(LocalDateTime checkTime) {
+        this.checkTime = checkTime;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getStatusCode() {
+        return statusCode;
+    }
+
+    public void setStatusCode(Integer statusCode) {
+        this.statusCode = statusCode;
+    }
+
+    public Integer getLatencyMs() {
+        return latencyMs;
+    }
+
+    public void setLatencyMs(Integer latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
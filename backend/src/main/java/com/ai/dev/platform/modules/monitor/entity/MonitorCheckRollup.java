@@ -0,0 +1,123 @@
+package com.ai.dev.platform.modules.monitor.entity;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableName;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@TableName("monitor_check_rollup")
+@Schema(description = "监控探测汇总实体")
+public class MonitorCheckRollup {
+
+    @Schema(description = "监控ID")
+    private Long monitorId;
+
+    @Schema(description = "汇总粒度（1m/1h/1d）")
+    private String resolution;
+
+    @Schema(description = "时间桶起始时间")
+    private LocalDateTime bucketTime;
+
+    @Schema(description = "探测次数")
+    private Integer checkCount;
+
+    @Schema(description = "失败次数")
+    private Integer failureCount;
+
+    @Schema(description = "最小响应耗时（毫秒）")
+    private Integer minLatencyMs;
+
+    @Schema(description = "最大响应耗时（毫秒）")
+    private Integer maxLatencyMs;
+
+    @Schema(description = "成功探测的耗时之和（毫秒）")
+    private Long latencySum;
+
+    @Schema(description = "成功探测次数")
+    private Integer latencyCount;
+
+    @TableField(exist = false)
+    @Schema(description = "平均响应耗时（毫秒）")
+    private Integer avgLatencyMs;
+
+    public Long getMonitorId() {
+        return monitorId;
+    }
+
+    public void setMonitorId(Long monitorId) {
+        this.monitorId = monitorId;
+    }
+
+    public String getResolution() {
+        return resolution;
+    }
+
+    public void setResolution(String resolution) {
+        this.resolution = resolution;
+    }
+
+    public LocalDateTime getBucketTime() {
+        return bucketTime;
+    }
+
+    public void setBucketTime(LocalDateTime bucketTime) {
+        this.bucketTime = bucketTime;
+    }
+
+    public Integer getCheckCount() {
+        return checkCount;
+    }
+
+    public void setCheckCount(Integer checkCount) {
+        this.checkCount = checkCount;
+    }
+
+    public Integer getFailureCount() {
+        return failureCount;
+    }
+
+    public void setFailureCount(Integer failureCount) {
+        this.failureCount = failureCount;
+    }
+
+    public Integer getMinLatencyMs() {
+        return minLatencyMs;
+    }
+
+    public void setMinLatencyMs(Integer minLatencyMs) {
+        this.minLatencyMs = minLatencyMs;
+    }
+
+    public Integer getMaxLatencyMs() {
+        return maxLatencyMs;
+    }
+
+    public void setMaxLatencyMs(Integer maxLatencyMs) {
+        this.maxLatencyMs = maxLatencyMs;
+    }
+
+    public Long getLatencySum() {
+        return latencySum;
+    }
+
+    public void setLatencySum(Long latencySum) {
+        this.latencySum = latencySum;
+    }
+
+    public Integer getLatencyCount() {
+        return latencyCount;
+    }
+
+    public void setLatencyCount(Integer latencyCount) {
+        this.latencyCount = latencyCount;
+    }
+
+    public Integer getAvgLatencyMs() {
+        return avgLatencyMs;
+    }
+
+    public void setAvgLatencyMs(Integer avgLatencyMs) {
+        this.avgLatencyMs = avgLatencyMs;
+    }
+}
@@ -0,0 +1,46 @@
+package com.ai.dev.platform.modules.monitor.event;
+
+import com.ai.dev.platform.modules.monitor.entity.Monitor;
+
+/**
+ * 监控配置变化事件
+ *
+ * <p>新增或删除监控后发布，检查调度器据此立即加入或移除对应目标，无需重启。
+ *
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class MonitorChangedEvent {
+
+    private final Long monitorId;
+    private final Monitor monitor;
+
+    private MonitorChangedEvent(Long monitorId, Monitor monitor) {
+        this.monitorId = monitorId;
+        this.monitor = monitor;
+    }
+
+    public static MonitorChangedEvent saved(Monitor monitor) {
+        return new MonitorChangedEvent(monitor.getId(), monitor);
+    }
+
+    public static MonitorChangedEvent deleted(Long monitorId) {
+        return new MonitorChangedEvent(monitorId, null);
+    }
+
+    public Long getMonitorId() {
+        return monitorId;
+    }
+
+    /**
+     * 保存后的监控配置，删除时为null
+     */
+    public Monitor getMonitor() {
+        return monitor;
+    }
+
+    public boolean isDeleted() {
+        return monitor == null;
+    }
+}
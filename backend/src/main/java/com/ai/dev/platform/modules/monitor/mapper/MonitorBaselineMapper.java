@@ -0,0 +1,28 @@
+package com.ai.dev.platform.modules.monitor.mapper;
+
+import com.ai.dev.platform.modules.monitor.entity.MonitorBaseline;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface MonitorBaselineMapper extends BaseMapper<MonitorBaseline> {
+
+    /**
+     * 批量写入基线检查点，已有的行被覆盖
+     *
+     * @return 写入的行数
+     */
+    @Insert({"<script>",
+            "INSERT INTO monitor_baseline (monitor_id, sample_count, log_mean, log_variance, update_time) VALUES",
+            "<foreach collection='rows' item='r' separator=','>",
+            "(#{r.monitorId}, #{r.sampleCount}, #{r.logMean}, #{r.logVariance}, CURRENT_TIMESTAMP)",
+            "</foreach>",
+            "ON CONFLICT (monitor_id) DO UPDATE SET sample_count = EXCLUDED.sample_count,",
+            "log_mean = EXCLUDED.log_mean, log_variance = EXCLUDED.log_variance, update_time = CURRENT_TIMESTAMP",
+            "</script>"})
+    int upsertBatch(@Param("rows") List<MonitorBaseline> rows);
+}
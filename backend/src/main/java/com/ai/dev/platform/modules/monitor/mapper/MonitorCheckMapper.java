@@ -0,0 +1,77 @@
+package com.ai.dev.platform.modules.monitor.mapper;
+
+import com.ai.dev.platform.modules.monitor.entity.MonitorCheck;
+import com.ai.dev.platform.modules.monitor.entity.MonitorCheckRollup;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Mapper
+public interface MonitorCheckMapper extends BaseMapper<MonitorCheck> {
+
+    @Insert({"<script>",
+            "INSERT INTO monitor_check (monitor_id, check_time, status, status_code, latency_ms, error) VALUES",
+            "<foreach collection='checks' item='c' separator=','>",
+            "(#{c.monitorId}, #{c.checkTime}, #{c.status}, #{c.statusCode}, #{c.latencyMs}, #{c.error,jdbcType=VARCHAR})",
+            "</foreach>",
+            "</script>"})
+    int insertBatch(@Param("checks") List<MonitorCheck> checks);
+
+    /**
+     * 以汇总数据的形式返回[from, to)内的探测明细，每次探测一个点
+     */
+    @Select({"SELECT monitor_id, 'raw' AS resolution, check_time AS bucket_time, 1 AS check_count,",
+            "CASE WHEN status = 'up' THEN 0 ELSE 1 END AS failure_count,",
+            "CASE WHEN latency_ms >= 0 THEN latency_ms END AS min_latency_ms,",
+            "CASE WHEN latency_ms >= 0 THEN latency_ms END AS max_latency_ms,",
+            "CASE WHEN latency_ms >= 0 THEN latency_ms END AS avg_latency_ms,",
+            "GREATEST(latency_ms, 0) AS latency_sum, CASE WHEN latency_ms >= 0 THEN 1 ELSE 0 END AS latency_count",
+            "FROM monitor_check WHERE monitor_id = #{monitorId} AND check_time >= #{from} AND check_time < #{to}",
+            "ORDER BY check_time"})
+    List<MonitorCheckRollup> findRange(@Param("monitorId") Long monitorId, @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to);
+
+    /**
+     * 各监控在since之后最近一次探测，since限定扫描的分区
+     */
+    @Select({"<script>",
+            "SELECT DISTINCT ON (monitor_id) monitor_id, check_time, status, status_code, latency_ms, error",
+            "FROM monitor_check WHERE check_time &gt;= #{since} AND monitor_id IN",
+            "<foreach collection='monitorIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>",
+            "ORDER BY monitor_id, check_time DESC",
+            "</script>"})
+    List<MonitorCheck> findLatest(@Param("monitorIds") Collection<Long> monitorIds, @Param("since") LocalDateTime since);
+
+    @Update("CREATE TABLE IF NOT EXISTS ${name} PARTITION OF monitor_check FOR VALUES FROM ('${from}') TO ('${to}')")
+    void createPartition(@Param("name") String name, @Param("from") String from, @Param("to") String to);
+
+    @Select("SELECT EXISTS (SELECT 1 FROM monitor_check_default "
+            + "WHERE check_time >= CAST(#{from} AS TIMESTAMP) AND check_time < CAST(#{to} AS TIMESTAMP))")
+    boolean existsInDefault(@Param("from") String from, @Param("to") String to);
+
+    /**
+     * 在一个语句内建表、把默认分区中该范围的探测明细移入，再挂为日分区；任一步失败整体回滚
+     */
+    @Update({"DO $$ BEGIN",
+            "CREATE TABLE ${name} (LIKE monitor_check INCLUDING DEFAULTS INCLUDING CONSTRAINTS);",
+            "WITH moved AS (DELETE FROM monitor_check_default",
+            "WHERE check_time >= '${from}' AND check_time < '${to}' RETURNING *)",
+            "INSERT INTO ${name} SELECT * FROM moved;",
+            "ALTER TABLE monitor_check ATTACH PARTITION ${name} FOR VALUES FROM ('${from}') TO ('${to}');",
+            "END $$"})
+    void movePartitionFromDefault(@Param("name") String name, @Param("from") String from, @Param("to") String to);
+
+    @Select("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+            + "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = 'monitor_check' ORDER BY c.relname")
+    List<String> listPartitions();
+
+    @Update("DROP TABLE IF EXISTS ${name}")
+    void dropPartition(@Param("name") String name);
+}
@@ -0,0 +1,160 @@
+package com.ai.dev.platform.modules.monitor.mapper;
+
+import com.ai.dev.platform.common.LongArrayTypeHandler;
+import com.ai.dev.platform.modules.monitor.dto.LatencyHistogramRow;
+import com.ai.dev.platform.modules.monitor.dto.MonitorAvailability;
+import com.ai.dev.platform.modules.monitor.dto.RollupSegment;
+import com.ai.dev.platform.modules.monitor.entity.MonitorCheckRollup;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Result;
+import org.apache.ibatis.annotations.Results;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface MonitorCheckRollupMapper extends BaseMapper<MonitorCheckRollup> {
+
+    /**
+     * 汇总结果覆盖已有时间桶
+     */
+    String ON_CONFLICT_UPDATE = "ON CONFLICT (monitor_id, resolution, bucket_time) DO UPDATE SET "
+            + "check_count = EXCLUDED.check_count, failure_count = EXCLUDED.failure_count, "
+            + "min_latency_ms = EXCLUDED.min_latency_ms, max_latency_ms = EXCLUDED.max_latency_ms, "
+            + "latency_sum = EXCLUDED.latency_sum, latency_count = EXCLUDED.latency_count, "
+            + "update_time = CURRENT_TIMESTAMP";
+
+    /**
+     * 把[from, to)内的探测明细重新汇总为1m数据，已有的时间桶被覆盖；from应对齐到分钟
+     *
+     * @return 写入的汇总行数
+     */
+    @Insert({"INSERT INTO monitor_check_rollup (monitor_id, resolution, bucket_time, check_count, failure_count,",
+            "min_latency_ms, max_latency_ms, latency_sum, latency_count, update_time)",
+            "SELECT monitor_id, '1m', date_trunc('minute', check_time), COUNT(*),",
+            "COUNT(*) FILTER (WHERE status <> 'up'),",
+            "MIN(latency_ms) FILTER (WHERE latency_ms >= 0), MAX(latency_ms) FILTER (WHERE latency_ms >= 0),",
+            "COALESCE(SUM(latency_ms) FILTER (WHERE latency_ms >= 0), 0), COUNT(*) FILTER (WHERE latency_ms >= 0),",
+            "CURRENT_TIMESTAMP",
+            "FROM monitor_check WHERE check_time >= #{from} AND check_time < #{to}",
+            "GROUP BY 1, 3",
+            ON_CONFLICT_UPDATE})
+    int rollupRaw(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * 把[from, to)内source粒度的汇总合并为target粒度，已有的时间桶被覆盖；from应对齐到target的时间桶
+     *
+     * @param unit target粒度对应的date_trunc单位
+     * @return 写入的汇总行数
+     */
+    @Insert({"INSERT INTO monitor_check_rollup (monitor_id, resolution, bucket_time, check_count, failure_count,",
+            "min_latency_ms, max_latency_ms, latency_sum, latency_count, update_time)",
+            "SELECT monitor_id, #{target}, date_trunc(#{unit}, bucket_time), SUM(check_count), SUM(failure_count),",
+            "MIN(min_latency_ms), MAX(max_latency_ms), SUM(latency_sum), SUM(latency_count), CURRENT_TIMESTAMP",
+            "FROM monitor_check_rollup",
+            "WHERE resolution = #{source} AND bucket_time >= #{from} AND bucket_time < #{to}",
+            "GROUP BY 1, 3",
+            ON_CONFLICT_UPDATE})
+    int rollup(@Param("source") String source, @Param("target") String target, @Param("unit") String unit,
+               @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * 写入1m时间桶的延迟直方图，已有的直方图被覆盖；时间桶的计数由{@link #rollupRaw}维护
+     */
+    @Insert({"<script>",
+            "INSERT INTO monitor_check_rollup (monitor_id, resolution, bucket_time, latency_histogram, update_time) VALUES",
+            "<foreach collection='rows' item='r' separator=','>",
+            "(#{r.monitorId}, '1m', #{r.bucketTime},",
+            "#{r.histogram,typeHandler=com.ai.dev.platform.common.LongArrayTypeHandler}, CURRENT_TIMESTAMP)",
+            "</foreach>",
+            "ON CONFLICT (monitor_id, resolution, bucket_time) DO UPDATE SET",
+            "latency_histogram = EXCLUDED.latency_histogram, update_time = CURRENT_TIMESTAMP",
+            "</script>"})
+    int upsertHistograms(@Param("rows") List<LatencyHistogramRow> rows);
+
+    /**
+     * 把[from, to)内source粒度的直方图逐桶相加，写入已由{@link #rollup}生成的target时间桶
+     *
+     * @param unit target粒度对应的date_trunc单位
+     * @return 更新的汇总行数
+     */
+    @Update({"UPDATE monitor_check_rollup t SET latency_histogram = m.hist",
+            "FROM (",
+            "SELECT c.monitor_id, c.bucket_time, array_agg(v.x ORDER BY c.idx, v.k) AS hist",
+            "FROM (",
+            "SELECT r.monitor_id, date_trunc(#{unit}, r.bucket_time) AS bucket_time,",
+            "r.latency_histogram[2 * g.i - 1] AS idx, CAST(SUM(r.latency_histogram[2 * g.i]) AS BIGINT) AS cnt",
+            "FROM monitor_check_rollup r",
+            "CROSS JOIN LATERAL generate_series(1, array_length(r.latency_histogram, 1) / 2) AS g(i)",
+            "WHERE r.resolution = #{source} AND r.bucket_time >= #{from} AND r.bucket_time < #{to}",
+            "AND r.latency_histogram IS NOT NULL",
+            "GROUP BY 1, 2, 3",
+            ") c CROSS JOIN LATERAL (VALUES (1, c.idx), (2, c.cnt)) AS v(k, x)",
+            "GROUP BY 1, 2",
+            ") m",
+            "WHERE t.monitor_id = m.monitor_id AND t.resolution = #{target} AND t.bucket_time = m.bucket_time"})
+    int mergeHistograms(@Param("source") String source, @Param("target") String target, @Param("unit") String unit,
+                        @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * 各时间段内与之重叠的时间桶的直方图；边界处的时间桶整桶计入
+     */
+    @Select({"<script>",
+            "<foreach collection='segments' item='s' separator='UNION ALL'>",
+            "SELECT monitor_id, bucket_time, latency_histogram FROM monitor_check_rollup",
+            "WHERE resolution = #{s.resolution} AND bucket_time &gt;= #{s.alignedFrom} AND bucket_time &lt; #{s.to}",
+            "AND latency_histogram IS NOT NULL",
+            "AND monitor_id IN <foreach collection='monitorIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>",
+            "</foreach>",
+            "</script>"})
+    @Results({
+            @Result(column = "monitor_id", property = "monitorId"),
+            @Result(column = "bucket_time", property = "bucketTime"),
+            @Result(column = "latency_histogram", property = "histogram", typeHandler = LongArrayTypeHandler.class)
+    })
+    List<LatencyHistogramRow> findHistograms(@Param("segments") List<RollupSegment> segments,
+                                             @Param("monitorIds") List<Long> monitorIds);
+
+    @Select({"SELECT monitor_id, resolution, bucket_time, check_count, failure_count, min_latency_ms, max_latency_ms,",
+            "latency_sum, latency_count, CAST(latency_sum / NULLIF(latency_count, 0) AS INT) AS avg_latency_ms",
+            "FROM monitor_check_rollup",
+            "WHERE monitor_id = #{monitorId} AND resolution = #{resolution}",
+            "AND bucket_time >= #{from} AND bucket_time < #{to} AND check_count > 0",
+            "ORDER BY bucket_time"})
+    List<MonitorCheckRollup> findRange(@Param("monitorId") Long monitorId, @Param("resolution") String resolution,
+                                       @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * 按监控聚合各时间段内的汇总数据，时间桶按与所在时间段重叠的时长计权；
+     * monitorIds为空时统计所有监控
+     */
+    @Select({"<script>",
+            "SELECT monitor_id, SUM(check_count) AS check_count, SUM(failure_count) AS failure_count,",
+            "SUM(weight) AS monitored_seconds,",
+            "SUM(weight * (check_count - failure_count) / check_count) AS up_seconds",
+            "FROM (",
+            "<foreach collection='segments' item='s' separator='UNION ALL'>",
+            "SELECT monitor_id, check_count, failure_count,",
+            "CAST(EXTRACT(EPOCH FROM LEAST(bucket_time + #{s.bucketSeconds} * INTERVAL '1 second', #{s.to})",
+            "- GREATEST(bucket_time, #{s.from})) AS DOUBLE PRECISION) AS weight",
+            "FROM monitor_check_rollup",
+            "WHERE resolution = #{s.resolution} AND bucket_time &gt;= #{s.alignedFrom} AND bucket_time &lt; #{s.to}",
+            "AND check_count &gt; 0",
+            "<if test='monitorIds != null'>",
+            "AND monitor_id IN <foreach collection='monitorIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>",
+            "</if>",
+            "</foreach>",
+            ") t GROUP BY monitor_id",
+            "</script>"})
+    List<MonitorAvailability> sumAvailability(@Param("segments") List<RollupSegment> segments,
+                                              @Param("monitorIds") List<Long> monitorIds);
+
+    @Delete("DELETE FROM monitor_check_rollup WHERE resolution = #{resolution} AND bucket_time < #{before}")
+    int deleteBefore(@Param("resolution") String resolution, @Param("before") LocalDateTime before);
+}
@@ -1,9 +1,30 @@
 package com.ai.dev.platform.modules.monitor.mapper;
 
+import com.ai.dev.platform.modules.monitor.dto.MonitorStatus;
 import com.ai.dev.platform.modules.monitor.entity.Monitor;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.List;
 
 @Mapper
 public interface MonitorMapper extends BaseMapper<Monitor> {
+
+    /**
+     * 用一条UPDATE批量写入探测后的状态，数据库中状态已相同的行不更新
+     *
+     * @return 实际更新的行数
+     */
+    @Update({"<script>",
+            "UPDATE monitor m SET status = v.status, response_time = v.response_time",
+            "FROM (VALUES",
+            "<foreach collection='rows' item='r' separator=','>",
+            "(CAST(#{r.monitorId} AS BIGINT), CAST(#{r.status} AS VARCHAR), CAST(#{r.responseTime} AS INT))",
+            "</foreach>",
+            ") AS v(id, status, response_time)",
+            "WHERE m.id = v.id AND m.status IS DISTINCT FROM v.status",
+            "</script>"})
+    int updateStatusBatch(@Param("rows") List<MonitorStatus> rows);
 }
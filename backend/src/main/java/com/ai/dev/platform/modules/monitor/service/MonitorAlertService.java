@@ -0,0 +1,40 @@
+package com.ai.dev.platform.modules.monitor.service;
+
+import com.ai.dev.platform.modules.monitor.dto.MonitorOutcome;
+
+/**
+ * 监控告警服务接口
+ *
+ * <p>根据探测后的状态变化向项目成员发送告警通知：
+ * <ul>
+ *   <li>探测结果放入有界队列后立即返回，评估和发送在独立线程中进行，不增加探测路径的耗时</li>
+ *   <li>N-of-M确认、滞回恢复和抖动检测过滤掉瞬时故障和反复切换</li>
+ *   <li>同一监控的通知去重并限速，同一项目一批内的大量告警合并为一条汇总</li>
+ *   <li>通知批量写入，接收人为项目成员，项目没有登记成员时为配置的值班人员，都没有则不发送</li>
+ *   <li>发送失败的告警保留到下一批重试</li>
+ * </ul>
+ *
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public interface MonitorAlertService {
+
+    /**
+     * 提交一次探测判定后的状态
+     *
+     * <p>不阻塞；队列已满时丢弃。
+     *
+     * @param outcome 探测判定后的状态
+     * @since 1.0.0
+     */
+    void submit(MonitorOutcome outcome);
+
+    /**
+     * 监控删除或归属其他节点后丢弃告警状态
+     *
+     * @param monitorId 监控ID
+     * @since 1.0.0
+     */
+    void forget(Long monitorId);
+}
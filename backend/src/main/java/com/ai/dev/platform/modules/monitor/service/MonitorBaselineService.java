@@ -0,0 +1,43 @@
+package com.ai.dev.platform.modules.monitor.service;
+
+import com.ai.dev.platform.modules.monitor.entity.Monitor;
+import com.ai.dev.platform.modules.monitor.entity.MonitorBaseline;
+import com.baomidou.mybatisplus.extension.service.IService;
+
+/**
+ * 监控响应时间基线服务接口
+ *
+ * <p>为每个监控维护自适应的慢响应判定标准：
+ * <ul>
+ *   <li>基线在内存中随每次成功探测增量更新，判定慢响应不访问数据库</li>
+ *   <li>基线定期写入检查点，重启后从检查点恢复，不需要重新学习</li>
+ *   <li>监控配置了静态阈值时按静态阈值判定，基线照常更新</li>
+ *   <li>样本不足时按全局默认阈值判定</li>
+ * </ul>
+ *
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public interface MonitorBaselineService extends IService<MonitorBaseline> {
+
+    /**
+     * 判断一次成功探测是否为慢响应，并把它计入基线
+     *
+     * <p>先按更新前的基线判定，再更新基线。
+     *
+     * @param monitor 监控任务对象
+     * @param latencyMs 响应时间（毫秒）
+     * @return boolean 是否慢响应
+     * @since 1.0.0
+     */
+    boolean observe(Monitor monitor, long latencyMs);
+
+    /**
+     * 把有变化的基线写入检查点
+     *
+     * @return int 写入的基线数
+     * @since 1.0.0
+     */
+    int checkpoint();
+}
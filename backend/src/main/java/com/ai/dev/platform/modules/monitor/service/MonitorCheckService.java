@@ -0,0 +1,130 @@
+package com.ai.dev.platform.modules.monitor.service;
+
+import com.ai.dev.platform.modules.monitor.dto.CheckResolution;
+import com.ai.dev.platform.modules.monitor.dto.LatencyPercentiles;
+import com.ai.dev.platform.modules.monitor.dto.MonitorHistory;
+import com.ai.dev.platform.modules.monitor.dto.ProbeResult;
+import com.ai.dev.platform.modules.monitor.entity.MonitorCheck;
+import com.baomidou.mybatisplus.extension.service.IService;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 监控探测历史服务接口
+ *
+ * <p>保存每次探测的结果并维护多粒度汇总：
+ * <ul>
+ *   <li>探测明细经异步批量写入器落库，探测线程不等待写库</li>
+ *   <li>明细按分钟汇总为1m，1m按小时汇总为1h，1h按天汇总为1d</li>
+ *   <li>明细和各粒度汇总分别有自己的保留期</li>
+ *   <li>成功探测的延迟按分钟记入对数分桶直方图，随汇总逐级合并</li>
+ *   <li>按时间范围查询时自动选择能满足范围和粒度的最粗数据</li>
+ * </ul>
+ *
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public interface MonitorCheckService extends IService<MonitorCheck> {
+
+    /**
+     * 记录一次探测结果
+     *
+     * <p>放入写入队列后立即返回；跳过的探测不记录。
+     *
+     * @param monitorId 监控ID
+     * @param result 探测结果
+     * @since 1.0.0
+     */
+    void record(Long monitorId, ProbeResult result);
+
+    /**
+     * 刷新最近的汇总数据
+     *
+     * <p>重新汇总当前及上一个时间桶，覆盖写入器延迟落库的数据。
+     *
+     * @param now 当前时间
+     * @since 1.0.0
+     */
+    void rollup(LocalDateTime now);
+
+    /**
+     * 把本节点已结束分钟的延迟直方图写入1m汇总
+     *
+     * <p>直方图保存在探测所在节点的内存中，每个节点都要定期写出；
+     * {@link #rollup(LocalDateTime)}会先调用本方法。写入成功后才从内存中移除，失败的分钟留到下次重试。
+     *
+     * @param now 当前时间
+     * @since 1.0.0
+     */
+    void flushHistograms(LocalDateTime now);
+
+    /**
+     * 维护明细分区并清理过期数据
+     *
+     * <p>提前创建未来几天的明细分区；过期的明细分区先补齐1m汇总再整表删除，
+     * 各粒度汇总按各自的保留期删除。
+     *
+     * @param now 当前时间
+     * @since 1.0.0
+     */
+    void maintain(LocalDateTime now);
+
+    /**
+     * 查询监控的探测历史
+     *
+     * @param monitorId 监控ID
+     * @param from 起始时间（含）
+     * @param to 结束时间（不含）
+     * @param stepSeconds 期望的数据点间隔（秒），为空时按最大点数自动计算
+     * @return MonitorHistory 探测历史
+     * @since 1.0.0
+     */
+    MonitorHistory history(Long monitorId, LocalDateTime from, LocalDateTime to, Long stepSeconds);
+
+    /**
+     * 明细和各粒度汇总的保留天数
+     *
+     * @return Map<CheckResolution, Integer> 保留天数，不大于0表示永久保留
+     * @since 1.0.0
+     */
+    Map<CheckResolution, Integer> retentionDays();
+
+    /**
+     * 查询监控在时间窗口内的延迟分位数
+     *
+     * <p>合并窗口内各时间桶的延迟直方图，不读取探测明细。
+     *
+     * @param monitorId 监控ID
+     * @param from 窗口起始时间（含）
+     * @param to 窗口结束时间（不含）
+     * @return LatencyPercentiles 延迟分位数
+     * @since 1.0.0
+     */
+    LatencyPercentiles latency(Long monitorId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * 查询项目所有监控合并后的延迟分位数
+     *
+     * @param projectId 项目ID
+     * @param from 窗口起始时间（含）
+     * @param to 窗口结束时间（不含）
+     * @return LatencyPercentiles 延迟分位数
+     * @since 1.0.0
+     */
+    LatencyPercentiles projectLatency(Long projectId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * 查询各监控最近一次探测
+     *
+     * <p>集群模式下本节点只缓存归属本节点的监控状态，其余监控用探测明细中的最近一次结果展示。
+     *
+     * @param monitorIds 监控ID
+     * @param since 只查找该时间之后的探测
+     * @return Map<Long, MonitorCheck> 监控ID到最近一次探测，期间没有探测的监控不在结果中
+     * @since 1.0.0
+     */
+    Map<Long, MonitorCheck> latestChecks(Collection<Long> monitorIds, LocalDateTime since);
+}
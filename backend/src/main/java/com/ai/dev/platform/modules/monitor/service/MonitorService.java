@@ -52,6 +52,8 @@ public interface MonitorService extends IService<Monitor> {
      *   <li>验证监控目标的有效性</li>
      *   <li>设置默认监控参数</li>
      *   <li>初始化监控状态为active</li>
+     *   <li>未指定检查间隔时使用默认间隔</li>
+     *   <li>通知检查调度器开始检查该目标</li>
      *   <li>记录创建时间和操作人</li>
      * </ul>
      * 
@@ -61,14 +63,25 @@ public interface MonitorService extends IService<Monitor> {
      */
     Monitor addMonitor(Monitor monitor);
 
+    /**
+     * 删除监控任务
+     * 
+     * <p>删除成功后通知检查调度器移除该目标。
+     * 
+     * @param id 监控任务ID
+     * @return boolean 是否删除成功
+     * @since 1.0.0
+     */
+    boolean deleteMonitor(Long id);
+
     /**
      * 获取项目系统可用率
      * 
-     * <p>计算指定项目的系统可用时间百分比：
+     * <p>基于探测历史汇总计算指定项目最近一段时间（默认30天）按时长计权的可用率：
      * <ul>
-     *   <li>统计项目监控任务的正常运行时间</li>
-     *   <li>计算相对于总监控时间的比例</li>
-     *   <li>返回0-100之间的可用率数值</li>
+     *   <li>每个时间桶按成功探测的比例折算可用时长</li>
+     *   <li>项目可用率为所有监控的可用时长之和除以有探测覆盖的时长之和</li>
+     *   <li>返回0-100之间的可用率数值，没有探测数据时返回0</li>
      * </ul>
      * 
      * @param projectId 项目ID
@@ -82,16 +95,40 @@ public interface MonitorService extends IService<Monitor> {
      * 
      * <p>根据监控检测结果更新监控任务状态：
      * <ul>
-     *   <li>分析响应时间是否超过阈值</li>
-     *   <li>判断服务是否处于慢响应状态</li>
-     *   <li>更新监控任务的当前状态</li>
-     *   <li>记录状态变更历史</li>
+     *   <li>响应时间为负表示服务不可达，状态为异常</li>
+     *   <li>配置了静态阈值的监控按静态阈值判断慢响应</li>
+     *   <li>其余监控与自身的响应时间基线比较，显著偏离时判为慢响应</li>
+     *   <li>最新状态和响应时间保存在内存中，查询监控列表时直接返回</li>
+     *   <li>只有状态变化才进入待写队列，由{@link #flushStatus()}批量落库</li>
+     *   <li>判定结果异步交给告警服务评估，不等待告警发送</li>
      * </ul>
      * 
      * @param monitor 监控任务对象
      * @param responseTime 实际响应时间(毫秒)
-     * @param slowThreshold 慢响应阈值(毫秒)
      * @since 1.0.0
      */
-    void checkMonitorStatus(Monitor monitor, Integer responseTime, Integer slowThreshold);
+    void checkMonitorStatus(Monitor monitor, Integer responseTime);
+
+    /**
+     * 把待写队列中的状态变化批量写入数据库
+     * 
+     * <p>用一条UPDATE ... FROM (VALUES ...)写入一批监控，数据库中状态已相同的行跳过；
+     * 写入失败的状态放回队列，下次重试。
+     * 
+     * @return int 实际更新的行数
+     * @since 1.0.0
+     */
+    int flushStatus();
+
+    /**
+     * 监控归属其他节点后释放本节点保存的状态
+     * 
+     * <p>丢弃内存中的最新状态、已落库状态和待写记录，以及告警状态机；
+     * 之后由新的归属节点以数据库中的状态为起点继续判定。
+     * 监控再次归属本节点时同样从数据库状态重新开始，不会因为旧的比较基准漏写状态变化。
+     * 
+     * @param id 监控任务ID
+     * @since 1.0.0
+     */
+    void releaseMonitor(Long id);
 }
@@ -0,0 +1,35 @@
+package com.ai.dev.platform.modules.monitor.service;
+
+import com.ai.dev.platform.modules.monitor.dto.ProjectSla;
+
+import java.time.LocalDateTime;
+
+/**
+ * 监控可用率与SLA服务接口
+ *
+ * <p>基于探测历史的1m/1h/1d汇总计算按时长计权的可用率：
+ * <ul>
+ *   <li>时间窗口拆成整天、整小时和剩余分钟三类时间段，分别读取对应粒度的汇总</li>
+ *   <li>细粒度已过保留期的边界部分改用粗粒度时间桶，按重叠时长计权</li>
+ *   <li>查询时不读取探测明细，90天窗口每个监控只读取约百行汇总</li>
+ *   <li>按SLA目标计算错误预算余量和消耗速率</li>
+ * </ul>
+ *
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public interface MonitorSlaService {
+
+    /**
+     * 计算项目在时间窗口内的可用率与错误预算
+     *
+     * @param projectId 项目ID，为空时统计所有监控
+     * @param from 窗口起始时间（含）
+     * @param to 窗口结束时间（不含），晚于当前时间的部分不计入
+     * @param slaTarget 项目SLA目标（百分比），为空时取各监控中最严格的目标
+     * @return ProjectSla 项目和各监控的可用率与错误预算
+     * @since 1.0.0
+     */
+    ProjectSla projectSla(Long projectId, LocalDateTime from, LocalDateTime to, Double slaTarget);
+}
@@ -0,0 +1,253 @@
+package com.ai.dev.platform.modules.monitor.service.impl;
+
+import com.ai.dev.platform.common.AsyncBatchWriter;
+import com.ai.dev.platform.modules.monitor.dto.MonitorAlert;
+import com.ai.dev.platform.modules.monitor.dto.MonitorOutcome;
+import com.ai.dev.platform.modules.monitor.service.MonitorAlertService;
+import com.ai.dev.platform.modules.monitor.util.AlertEvaluator;
+import com.ai.dev.platform.modules.project.mapper.ProjectMapper;
+import com.ai.dev.platform.modules.setting.entity.Notification;
+import com.ai.dev.platform.modules.setting.service.NotificationService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+public class MonitorAlertServiceImpl implements MonitorAlertService, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonitorAlertServiceImpl.class);
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Duration IDLE_EVICTION = Duration.ofHours(1);
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private ProjectMapper projectMapper;
+
+    @Value("${monitor.alert.window:5}")
+    private int window;
+
+    @Value("${monitor.alert.confirm:3}")
+    private int confirm;
+
+    @Value("${monitor.alert.recover:3}")
+    private int recover;
+
+    @Value("${monitor.alert.flap-window:21}")
+    private int flapWindow;
+
+    @Value("${monitor.alert.flap-high:0.5}")
+    private double flapHigh;
+
+    @Value("${monitor.alert.flap-low:0.25}")
+    private double flapLow;
+
+    @Value("${monitor.alert.min-interval-ms:300000}")
+    private long minIntervalMs;
+
+    @Value("${monitor.alert.coalesce-threshold:5}")
+    private int coalesceThreshold;
+
+    @Value("${monitor.alert.on-call-user-ids:}")
+    private List<Long> onCallUserIds;
+
+    @Value("${monitor.alert.retry-capacity:1000}")
+    private int retryCapacity;
+
+    @Value("${monitor.alert.queue.capacity:10000}")
+    private int capacity;
+
+    @Value("${monitor.alert.queue.batch-size:500}")
+    private int batchSize;
+
+    @Value("${monitor.alert.queue.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    private AlertEvaluator evaluator;
+
+    private AsyncBatchWriter<MonitorOutcome> queue;
+
+    /**
+     * 上次清理空闲状态的时间，只在队列线程中访问
+     */
+    private LocalDateTime lastEviction = LocalDateTime.now();
+
+    /**
+     * 发送失败、留待下一批重试的告警，只在队列线程中访问
+     */
+    private final List<MonitorAlert> unsent = new ArrayList<>();
+
+    @PostConstruct
+    public void init() {
+        evaluator = new AlertEvaluator(window, confirm, recover, flapWindow, flapHigh, flapLow,
+                Duration.ofMillis(minIntervalMs));
+        queue = new AsyncBatchWriter<>("monitor-alert", capacity, batchSize, flushIntervalMs, null, this::process);
+        if (onCallUserIds == null || onCallUserIds.isEmpty()) {
+            logger.warn("未配置monitor.alert.on-call-user-ids，没有登记成员的项目及未关联项目的监控，其告警将被丢弃");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        queue.close();
+    }
+
+    @Override
+    public void submit(MonitorOutcome outcome) {
+        queue.offer(outcome);
+    }
+
+    @Override
+    public void forget(Long monitorId) {
+        evaluator.remove(monitorId);
+    }
+
+    /**
+     * 队列线程中按到达顺序评估一批探测结果，并与上次发送失败的告警一起批量发送
+     */
+    private void process(List<MonitorOutcome> outcomes) {
+        List<MonitorAlert> alerts = new ArrayList<>(unsent);
+        unsent.clear();
+        for (MonitorOutcome outcome : outcomes) {
+            MonitorAlert alert = evaluator.evaluate(outcome);
+            if (alert != null) {
+                alerts.add(alert);
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (now.isAfter(lastEviction.plus(IDLE_EVICTION))) {
+            evaluator.evictIdle(now.minus(IDLE_EVICTION));
+            lastEviction = now;
+        }
+        if (alerts.isEmpty()) {
+            return;
+        }
+        try {
+            notificationService.sendNotifications(buildNotifications(alerts));
+        } catch (Exception e) {
+            // 状态机已经记下这些告警已通知，丢弃会永久漏报，保留到下一批重试；超过上限时丢弃最早的
+            int dropped = Math.max(0, alerts.size() - retryCapacity);
+            unsent.addAll(alerts.subList(dropped, alerts.size()));
+            logger.warn("发送监控告警失败，{}条告警下一批重试，丢弃{}条", unsent.size(), dropped, e);
+        }
+    }
+
+    private List<Notification> buildNotifications(List<MonitorAlert> alerts) {
+        // 监控可能没有项目，LinkedHashMap允许null键
+        Map<Long, List<MonitorAlert>> byProject = new LinkedHashMap<>();
+        for (MonitorAlert alert : alerts) {
+            byProject.computeIfAbsent(alert.projectId(), key -> new ArrayList<>()).add(alert);
+        }
+        List<Notification> notifications = new ArrayList<>();
+        byProject.forEach((projectId, projectAlerts) -> {
+            List<Long> userIds = recipients(projectId);
+            if (userIds.isEmpty()) {
+                logger.warn("项目{}没有登记成员且未配置值班人员，丢弃{}条监控告警：{}；请添加项目成员或配置monitor.alert.on-call-user-ids",
+                        projectId, projectAlerts.size(),
+                        projectAlerts.stream().map(MonitorAlertServiceImpl::content).collect(Collectors.joining("；")));
+                return;
+            }
+            List<Notification> templates = projectAlerts.size() > coalesceThreshold
+                    ? List.of(summary(projectId, projectAlerts))
+                    : projectAlerts.stream().map(MonitorAlertServiceImpl::single).toList();
+            for (Long userId : userIds) {
+                for (Notification template : templates) {
+                    notifications.add(copyFor(template, userId));
+                }
+            }
+        });
+        return notifications;
+    }
+
+    /**
+     * 告警接收人：项目成员，项目没有登记成员时为配置的值班人员
+     */
+    private List<Long> recipients(Long projectId) {
+        List<Long> members = projectId != null ? projectMapper.findMemberUserIds(projectId) : List.of();
+        if (!members.isEmpty()) {
+            return members;
+        }
+        return onCallUserIds != null ? onCallUserIds : List.of();
+    }
+
+    private static Notification single(MonitorAlert alert) {
+        Notification notification = new Notification();
+        notification.setTitle(title(alert.kind()));
+        notification.setContent(content(alert));
+        notification.setType("alert");
+        notification.setPriority(priority(alert.kind()));
+        notification.setRelatedType("monitor");
+        notification.setRelatedId(alert.monitorId());
+        return notification;
+    }
+
+    /**
+     * 同一项目一批内告警过多时合并为一条，避免故障扩散时淹没接收人
+     */
+    private static Notification summary(Long projectId, List<MonitorAlert> alerts) {
+        Notification notification = new Notification();
+        notification.setTitle("监控告警：" + alerts.size() + "个监控状态变化");
+        notification.setContent(alerts.stream().map(MonitorAlertServiceImpl::content).collect(Collectors.joining("\n")));
+        notification.setType("alert");
+        notification.setPriority(alerts.stream().anyMatch(a -> a.kind() == MonitorAlert.Kind.DOWN) ? "urgent" : "high");
+        notification.setRelatedType("project");
+        notification.setRelatedId(projectId);
+        return notification;
+    }
+
+    private static Notification copyFor(Notification template, Long userId) {
+        Notification notification = new Notification();
+        notification.setUserId(userId);
+        notification.setTitle(template.getTitle());
+        notification.setContent(template.getContent());
+        notification.setType(template.getType());
+        notification.setPriority(template.getPriority());
+        notification.setRelatedType(template.getRelatedType());
+        notification.setRelatedId(template.getRelatedId());
+        return notification;
+    }
+
+    private static String title(MonitorAlert.Kind kind) {
+        return switch (kind) {
+            case DOWN -> "监控告警：服务不可达";
+            case SLOW -> "监控告警：响应变慢";
+            case RECOVERED -> "监控恢复：服务恢复正常";
+            case FLAPPING -> "监控告警：状态频繁波动";
+        };
+    }
+
+    private static String content(MonitorAlert alert) {
+        String time = alert.time() != null ? alert.time().format(TIME_FORMAT) : "";
+        return switch (alert.kind()) {
+            case DOWN -> String.format("%s 于%s确认不可达", alert.monitorUrl(), time);
+            case SLOW -> String.format("%s 于%s确认响应变慢，响应时间%d毫秒", alert.monitorUrl(), time,
+                    alert.responseTime());
+            case RECOVERED -> String.format("%s 于%s恢复正常，响应时间%d毫秒", alert.monitorUrl(), time,
+                    alert.responseTime());
+            case FLAPPING -> String.format("%s 于%s起状态频繁切换，暂停逐次通知，稳定后再次通知",
+                    alert.monitorUrl(), time);
+        };
+    }
+
+    private static String priority(MonitorAlert.Kind kind) {
+        return switch (kind) {
+            case DOWN -> "urgent";
+            case SLOW, FLAPPING -> "high";
+            case RECOVERED -> "medium";
+        };
+    }
+}
@@ -0,0 +1,145 @@
+package com.ai.dev.platform.modules.monitor.service.impl;
+
+import com.ai.dev.platform.modules.monitor.entity.Monitor;
+import com.ai.dev.platform.modules.monitor.entity.MonitorBaseline;
+import com.ai.dev.platform.modules.monitor.event.MonitorChangedEvent;
+import com.ai.dev.platform.modules.monitor.mapper.MonitorBaselineMapper;
+import com.ai.dev.platform.modules.monitor.service.MonitorBaselineService;
+import com.ai.dev.platform.modules.monitor.util.LatencyBaseline;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class MonitorBaselineServiceImpl extends ServiceImpl<MonitorBaselineMapper, MonitorBaseline>
+        implements MonitorBaselineService, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonitorBaselineServiceImpl.class);
+    private static final int CHECKPOINT_BATCH_SIZE = 500;
+
+    @Value("${monitor.baseline.alpha:0.05}")
+    private double alpha;
+
+    @Value("${monitor.baseline.warmup-samples:10}")
+    private int warmupSamples;
+
+    @Value("${monitor.baseline.z-threshold:3.0}")
+    private double zThreshold;
+
+    @Value("${monitor.baseline.min-log-stddev:0.1}")
+    private double minLogStddev;
+
+    @Value("${monitor.baseline.min-deviation-ms:50}")
+    private long minDeviationMs;
+
+    @Value("${monitor.baseline.fallback-threshold-ms:500}")
+    private long fallbackThresholdMs;
+
+    private final Map<Long, LatencyBaseline> baselines = new ConcurrentHashMap<>();
+
+    /**
+     * 上次检查点之后有更新的监控ID
+     */
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public boolean observe(Monitor monitor, long latencyMs) {
+        LatencyBaseline baseline = baselineOf(monitor.getId());
+        boolean slow;
+        synchronized (baseline) {
+            Integer override = monitor.getSlowThresholdMs();
+            if (override != null && override > 0) {
+                slow = latencyMs > override;
+            } else if (baseline.getSamples() < warmupSamples) {
+                slow = latencyMs > fallbackThresholdMs;
+            } else {
+                slow = baseline.isSlow(latencyMs, zThreshold, minLogStddev, minDeviationMs);
+            }
+            baseline.update(latencyMs, alpha, zThreshold, minLogStddev);
+        }
+        dirty.add(monitor.getId());
+        return slow;
+    }
+
+    @Override
+    public int checkpoint() {
+        List<MonitorBaseline> rows = new ArrayList<>();
+        for (Long id : List.copyOf(dirty)) {
+            dirty.remove(id);
+            LatencyBaseline baseline = baselines.get(id);
+            if (baseline == null) {
+                continue;
+            }
+            MonitorBaseline row = new MonitorBaseline();
+            row.setMonitorId(id);
+            synchronized (baseline) {
+                row.setSampleCount(baseline.getSamples());
+                row.setLogMean(baseline.getMean());
+                row.setLogVariance(baseline.getVariance());
+            }
+            rows.add(row);
+        }
+        try {
+            for (int i = 0; i < rows.size(); i += CHECKPOINT_BATCH_SIZE) {
+                baseMapper.upsertBatch(rows.subList(i, Math.min(rows.size(), i + CHECKPOINT_BATCH_SIZE)));
+            }
+        } catch (RuntimeException e) {
+            // 写入失败的基线下次检查点重试
+            rows.forEach(row -> dirty.add(row.getMonitorId()));
+            throw e;
+        }
+        return rows.size();
+    }
+
+    /**
+     * 监控删除后丢弃基线
+     */
+    @EventListener
+    public void onMonitorChanged(MonitorChangedEvent event) {
+        if (event.isDeleted()) {
+            baselines.remove(event.getMonitorId());
+            dirty.remove(event.getMonitorId());
+            removeById(event.getMonitorId());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        try {
+            checkpoint();
+        } catch (Exception e) {
+            logger.warn("保存监控基线检查点失败", e);
+        }
+    }
+
+    /**
+     * 内存中的基线，第一次使用时从检查点恢复
+     */
+    private LatencyBaseline baselineOf(Long monitorId) {
+        LatencyBaseline baseline = baselines.get(monitorId);
+        if (baseline != null) {
+            return baseline;
+        }
+        LatencyBaseline loaded = new LatencyBaseline();
+        try {
+            MonitorBaseline row = getById(monitorId);
+            if (row != null && row.getSampleCount() != null && row.getLogMean() != null && row.getLogVariance() != null) {
+                loaded = new LatencyBaseline(row.getSampleCount(), row.getLogMean(), row.getLogVariance());
+            }
+        } catch (Exception e) {
+            logger.warn("加载监控基线失败，重新学习: {}", monitorId, e);
+        }
+        LatencyBaseline existing = baselines.putIfAbsent(monitorId, loaded);
+        return existing != null ? existing : loaded;
+    }
+}
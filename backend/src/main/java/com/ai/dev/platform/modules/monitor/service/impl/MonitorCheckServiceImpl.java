@@ -0,0 +1,400 @@
+package com.ai.dev.platform.modules.monitor.service.impl;
+
+import com.ai.dev.platform.common.AsyncBatchWriter;
+import com.ai.dev.platform.modules.monitor.dto.CheckResolution;
+import com.ai.dev.platform.modules.monitor.dto.LatencyHistogramRow;
+import com.ai.dev.platform.modules.monitor.dto.LatencyPercentiles;
+import com.ai.dev.platform.modules.monitor.dto.MonitorHistory;
+import com.ai.dev.platform.modules.monitor.dto.ProbeResult;
+import com.ai.dev.platform.modules.monitor.dto.RollupSegment;
+import com.ai.dev.platform.modules.monitor.entity.Monitor;
+import com.ai.dev.platform.modules.monitor.entity.MonitorCheck;
+import com.ai.dev.platform.modules.monitor.entity.MonitorCheckRollup;
+import com.ai.dev.platform.modules.monitor.mapper.MonitorCheckMapper;
+import com.ai.dev.platform.modules.monitor.mapper.MonitorCheckRollupMapper;
+import com.ai.dev.platform.modules.monitor.mapper.MonitorMapper;
+import com.ai.dev.platform.modules.monitor.service.MonitorCheckService;
+import com.ai.dev.platform.modules.monitor.util.LatencyHistogram;
+import com.ai.dev.platform.modules.monitor.util.RollupPlanner;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Service
+public class MonitorCheckServiceImpl extends ServiceImpl<MonitorCheckMapper, MonitorCheck>
+        implements MonitorCheckService, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonitorCheckServiceImpl.class);
+    private static final String PARTITION_PREFIX = "monitor_check_p";
+    private static final Pattern PARTITION_NAME = Pattern.compile("monitor_check_p(\\d{8})");
+    private static final DateTimeFormatter DAY_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int MAX_ERROR_LENGTH = 255;
+    private static final int HISTOGRAM_BATCH_SIZE = 500;
+
+    /**
+     * 由粗到细，查询时优先使用粗粒度
+     */
+    private static final CheckResolution[] COARSEST_FIRST = {
+            CheckResolution.DAY, CheckResolution.HOUR, CheckResolution.MINUTE, CheckResolution.RAW};
+
+    @Autowired
+    private MonitorCheckRollupMapper rollupMapper;
+
+    @Autowired
+    private MonitorMapper monitorMapper;
+
+    @Value("${monitor.check-history.writer.capacity:20000}")
+    private int capacity;
+
+    @Value("${monitor.check-history.writer.batch-size:500}")
+    private int batchSize;
+
+    @Value("${monitor.check-history.writer.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${monitor.check-history.retention.raw-days:3}")
+    private int rawRetentionDays;
+
+    @Value("${monitor.check-history.retention.minute-days:14}")
+    private int minuteRetentionDays;
+
+    @Value("${monitor.check-history.retention.hour-days:90}")
+    private int hourRetentionDays;
+
+    @Value("${monitor.check-history.retention.day-days:730}")
+    private int dayRetentionDays;
+
+    @Value("${monitor.check-history.partitions-ahead-days:2}")
+    private int partitionsAheadDays;
+
+    @Value("${monitor.check-history.rollup-lookback-minutes:5}")
+    private int rollupLookbackMinutes;
+
+    @Value("${monitor.check-history.max-points:1000}")
+    private int maxPoints;
+
+    private AsyncBatchWriter<MonitorCheck> checkWriter;
+
+    /**
+     * 各监控按分钟记录的延迟直方图，分钟结束后由{@link #rollup}写入1m汇总
+     */
+    private final Map<Long, MinuteHistograms> histograms = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        checkWriter = new AsyncBatchWriter<>("monitor-check", capacity, batchSize, flushIntervalMs,
+                null, checks -> baseMapper.insertBatch(checks));
+    }
+
+    @Override
+    public void destroy() {
+        checkWriter.close();
+    }
+
+    @Override
+    public void record(Long monitorId, ProbeResult result) {
+        if (result.status() == ProbeResult.Status.SKIPPED) {
+            return;
+        }
+        MonitorCheck check = new MonitorCheck();
+        check.setMonitorId(monitorId);
+        check.setCheckTime(LocalDateTime.now());
+        check.setStatus(result.status() == ProbeResult.Status.UP ? "up" : "down");
+        check.setStatusCode(result.statusCode());
+        check.setLatencyMs(result.latencyMs());
+        String error = result.error();
+        check.setError(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        checkWriter.offer(check);
+        if (result.latencyMs() >= 0) {
+            histograms.computeIfAbsent(monitorId, MinuteHistograms::new)
+                    .record(check.getCheckTime().truncatedTo(ChronoUnit.MINUTES), result.latencyMs());
+        }
+    }
+
+    @Override
+    public void rollup(LocalDateTime now) {
+        flushHistograms(now);
+        LocalDateTime minute = now.truncatedTo(ChronoUnit.MINUTES);
+        rollupMapper.rollupRaw(minute.minusMinutes(Math.max(1, rollupLookbackMinutes)), minute.plusMinutes(1));
+        LocalDateTime hour = now.truncatedTo(ChronoUnit.HOURS);
+        rollupCoarse(CheckResolution.MINUTE, CheckResolution.HOUR, hour.minusHours(1), hour.plusHours(1));
+        LocalDateTime day = now.truncatedTo(ChronoUnit.DAYS);
+        rollupCoarse(CheckResolution.HOUR, CheckResolution.DAY, day.minusDays(1), day.plusDays(1));
+    }
+
+    @Override
+    public void maintain(LocalDateTime now) {
+        LocalDate today = now.toLocalDate();
+        ensurePartitions(today);
+        if (rawRetentionDays > 0) {
+            LocalDate oldestKept = today.minusDays(rawRetentionDays);
+            for (String name : baseMapper.listPartitions()) {
+                LocalDate day = parseDay(name);
+                if (day == null || !day.isBefore(oldestKept)) {
+                    continue;
+                }
+                // 先补齐当天的汇总，删除明细后历史曲线仍然完整
+                LocalDateTime start = day.atStartOfDay();
+                rollupMapper.rollupRaw(start, start.plusDays(1));
+                rollupCoarse(CheckResolution.MINUTE, CheckResolution.HOUR, start, start.plusDays(1));
+                rollupCoarse(CheckResolution.HOUR, CheckResolution.DAY, start, start.plusDays(1));
+                baseMapper.dropPartition(name);
+                logger.info("监控探测明细分区{}超过保留期{}天，已删除", name, rawRetentionDays);
+            }
+        }
+        Map<CheckResolution, Integer> retention = retentionDays();
+        for (CheckResolution resolution : new CheckResolution[]{
+                CheckResolution.MINUTE, CheckResolution.HOUR, CheckResolution.DAY}) {
+            int days = retention.get(resolution);
+            if (days > 0) {
+                rollupMapper.deleteBefore(resolution.getCode(), now.minusDays(days));
+            }
+        }
+    }
+
+    /**
+     * 创建today到today+partitionsAheadDays的日分区，已存在的分区跳过。
+     * 新部署只有默认分区，首次维护前的探测明细已写入默认分区，此时直接CREATE ... PARTITION OF会失败，
+     * 改为建表、移入明细后再挂载；单个分区失败只记录日志，不影响其余日期和之后的保留期清理
+     *
+     * @return 新建的分区数
+     */
+    int ensurePartitions(LocalDate today) {
+        Set<String> existing = new HashSet<>(baseMapper.listPartitions());
+        int created = 0;
+        for (int i = 0; i <= partitionsAheadDays; i++) {
+            LocalDate day = today.plusDays(i);
+            String name = partitionName(day);
+            if (existing.contains(name)) {
+                continue;
+            }
+            String from = day.toString();
+            String to = day.plusDays(1).toString();
+            try {
+                if (baseMapper.existsInDefault(from, to)) {
+                    baseMapper.movePartitionFromDefault(name, from, to);
+                    logger.warn("默认分区中有{}的探测明细，已移入新建分区{}", day, name);
+                } else {
+                    baseMapper.createPartition(name, from, to);
+                }
+                created++;
+            } catch (RuntimeException e) {
+                logger.error("创建监控探测明细分区{}失败，明细继续写入默认分区", name, e);
+            }
+        }
+        return created;
+    }
+
+    @Override
+    public MonitorHistory history(Long monitorId, LocalDateTime from, LocalDateTime to, Long stepSeconds) {
+        LocalDateTime now = LocalDateTime.now();
+        CheckResolution resolution = selectResolution(from, to, stepSeconds, now, retentionDays(), maxPoints);
+        List<MonitorCheckRollup> points = resolution == CheckResolution.RAW
+                ? baseMapper.findRange(monitorId, from, to)
+                : rollupMapper.findRange(monitorId, resolution.getCode(), resolution.truncate(from), to);
+        return new MonitorHistory(monitorId, resolution.getCode(), from, to, points);
+    }
+
+    /**
+     * 选择满足查询的最粗粒度：时间桶不超过数据点间隔，且保留期覆盖起始时间；
+     * 数据点间隔至少为范围除以最大点数。没有粒度同时满足两项时，
+     * 使用仍保留起始时间数据的最细粒度
+     */
+    static CheckResolution selectResolution(LocalDateTime from, LocalDateTime to, Long stepSeconds,
+                                            LocalDateTime now, Map<CheckResolution, Integer> retentionDays,
+                                            int maxPoints) {
+        long rangeSeconds = Math.max(1, Duration.between(from, to).getSeconds());
+        long minStep = (rangeSeconds + Math.max(1, maxPoints) - 1) / Math.max(1, maxPoints);
+        long step = stepSeconds != null ? Math.max(stepSeconds, minStep) : minStep;
+        for (CheckResolution resolution : COARSEST_FIRST) {
+            if (resolution.getBucketSeconds() <= step && covers(resolution, from, now, retentionDays)) {
+                return resolution;
+            }
+        }
+        for (int i = COARSEST_FIRST.length - 1; i >= 0; i--) {
+            if (covers(COARSEST_FIRST[i], from, now, retentionDays)) {
+                return COARSEST_FIRST[i];
+            }
+        }
+        return CheckResolution.DAY;
+    }
+
+    private static boolean covers(CheckResolution resolution, LocalDateTime from, LocalDateTime now,
+                                  Map<CheckResolution, Integer> retentionDays) {
+        int days = retentionDays.getOrDefault(resolution, 0);
+        return days <= 0 || !from.isBefore(now.minusDays(days));
+    }
+
+    @Override
+    public Map<CheckResolution, Integer> retentionDays() {
+        Map<CheckResolution, Integer> retention = new EnumMap<>(CheckResolution.class);
+        retention.put(CheckResolution.RAW, rawRetentionDays);
+        retention.put(CheckResolution.MINUTE, minuteRetentionDays);
+        retention.put(CheckResolution.HOUR, hourRetentionDays);
+        retention.put(CheckResolution.DAY, dayRetentionDays);
+        return retention;
+    }
+
+    @Override
+    public LatencyPercentiles latency(Long monitorId, LocalDateTime from, LocalDateTime to) {
+        return LatencyPercentiles.of(monitorId, null, from, to, mergeHistograms(List.of(monitorId), from, to));
+    }
+
+    @Override
+    public LatencyPercentiles projectLatency(Long projectId, LocalDateTime from, LocalDateTime to) {
+        List<Long> ids = monitorMapper.selectList(new LambdaQueryWrapper<Monitor>()
+                        .select(Monitor::getId)
+                        .eq(Monitor::getProjectId, projectId))
+                .stream().map(Monitor::getId).toList();
+        return LatencyPercentiles.of(null, projectId, from, to, mergeHistograms(ids, from, to));
+    }
+
+    @Override
+    public Map<Long, MonitorCheck> latestChecks(Collection<Long> monitorIds, LocalDateTime since) {
+        Map<Long, MonitorCheck> latest = new HashMap<>();
+        if (monitorIds.isEmpty()) {
+            return latest;
+        }
+        for (MonitorCheck check : baseMapper.findLatest(monitorIds, since)) {
+            latest.put(check.getMonitorId(), check);
+        }
+        return latest;
+    }
+
+    /**
+     * 合并多个监控在窗口内所有时间桶的直方图
+     */
+    private LatencyHistogram mergeHistograms(List<Long> monitorIds, LocalDateTime from, LocalDateTime to) {
+        LatencyHistogram merged = new LatencyHistogram();
+        LocalDateTime now = LocalDateTime.now();
+        List<RollupSegment> segments = RollupPlanner.plan(from, to.isAfter(now) ? now : to, now, retentionDays());
+        if (monitorIds.isEmpty() || segments.isEmpty()) {
+            return merged;
+        }
+        for (LatencyHistogramRow row : rollupMapper.findHistograms(segments, monitorIds)) {
+            merged.addSparse(row.getHistogram());
+        }
+        return merged;
+    }
+
+    @Override
+    public void flushHistograms(LocalDateTime now) {
+        LocalDateTime currentMinute = now.truncatedTo(ChronoUnit.MINUTES);
+        List<LatencyHistogramRow> rows = new ArrayList<>();
+        for (Long monitorId : List.copyOf(histograms.keySet())) {
+            // 与record中的computeIfAbsent互斥，不会丢掉刚被取出的直方图
+            histograms.computeIfPresent(monitorId, (id, minuteHistograms) -> {
+                minuteHistograms.snapshotBefore(currentMinute, rows);
+                return minuteHistograms.isIdleSince(currentMinute.minusHours(1)) ? null : minuteHistograms;
+            });
+        }
+        // 写入成功后才从内存中移除，写入失败的分钟保留到下次重试；覆盖写入，重试不会重复计数
+        for (int from = 0; from < rows.size(); from += HISTOGRAM_BATCH_SIZE) {
+            List<LatencyHistogramRow> batch = rows.subList(from, Math.min(from + HISTOGRAM_BATCH_SIZE, rows.size()));
+            rollupMapper.upsertHistograms(batch);
+            for (LatencyHistogramRow row : batch) {
+                MinuteHistograms minuteHistograms = histograms.get(row.getMonitorId());
+                if (minuteHistograms != null) {
+                    minuteHistograms.acknowledge(row);
+                }
+            }
+        }
+    }
+
+    private void rollupCoarse(CheckResolution source, CheckResolution target, LocalDateTime from, LocalDateTime to) {
+        rollupMapper.rollup(source.getCode(), target.getCode(), target.getTruncUnit(), from, to);
+        rollupMapper.mergeHistograms(source.getCode(), target.getCode(), target.getTruncUnit(), from, to);
+    }
+
+    static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + day.format(DAY_SUFFIX);
+    }
+
+    /**
+     * 从分区名解析日期，默认分区和其他名称返回null
+     */
+    static LocalDate parseDay(String partitionName) {
+        Matcher matcher = PARTITION_NAME.matcher(partitionName);
+        return matcher.matches() ? LocalDate.parse(matcher.group(1), DAY_SUFFIX) : null;
+    }
+
+    /**
+     * 单个监控当前分钟的直方图，以及已结束但尚未写入的分钟
+     */
+    private static final class MinuteHistograms {
+
+        /**
+         * 数据库长时间不可用时最多保留的未写入分钟数，超过后丢弃最早的
+         */
+        private static final int MAX_COMPLETED = 1440;
+
+        private final Long monitorId;
+        private final List<LatencyHistogramRow> completed = new ArrayList<>();
+        private LocalDateTime minute;
+        private LatencyHistogram current = new LatencyHistogram();
+
+        MinuteHistograms(Long monitorId) {
+            this.monitorId = monitorId;
+        }
+
+        synchronized void record(LocalDateTime recordMinute, long latencyMs) {
+            if (minute == null || recordMinute.isAfter(minute)) {
+                complete();
+                minute = recordMinute;
+            }
+            current.record(latencyMs);
+        }
+
+        /**
+         * 把已结束的分钟加入待写列表，但不移除，写入成功后由{@link #acknowledge}移除
+         */
+        synchronized void snapshotBefore(LocalDateTime currentMinute, List<LatencyHistogramRow> rows) {
+            if (minute != null && minute.isBefore(currentMinute)) {
+                complete();
+            }
+            rows.addAll(completed);
+        }
+
+        synchronized void acknowledge(LatencyHistogramRow row) {
+            // 已结束的分钟不再修改，按对象移除正是写入的那一行
+            completed.remove(row);
+        }
+
+        synchronized boolean isIdleSince(LocalDateTime time) {
+            return completed.isEmpty() && current.getTotalCount() == 0 && (minute == null || minute.isBefore(time));
+        }
+
+        private void complete() {
+            if (minute != null && current.getTotalCount() > 0) {
+                if (completed.size() >= MAX_COMPLETED) {
+                    completed.remove(0);
+                }
+                completed.add(new LatencyHistogramRow(monitorId, minute, current.toSparse()));
+                current.reset();
+            }
+        }
+    }
+}
@@ -1,19 +1,66 @@
 package com.ai.dev.platform.modules.monitor.service.impl;
 
 import com.ai.dev.platform.modules.monitor.entity.Monitor;
+import com.ai.dev.platform.modules.monitor.entity.MonitorCheck;
+import com.ai.dev.platform.modules.monitor.event.MonitorChangedEvent;
 import com.ai.dev.platform.modules.monitor.mapper.MonitorMapper;
+import com.ai.dev.platform.modules.monitor.dto.MonitorOutcome;
+import com.ai.dev.platform.modules.monitor.dto.MonitorSla;
+import com.ai.dev.platform.modules.monitor.dto.MonitorStatus;
+import com.ai.dev.platform.modules.monitor.service.MonitorAlertService;
+import com.ai.dev.platform.modules.monitor.service.MonitorBaselineService;
+import com.ai.dev.platform.modules.monitor.service.MonitorCheckService;
 import com.ai.dev.platform.modules.monitor.service.MonitorService;
+import com.ai.dev.platform.modules.monitor.service.MonitorSlaService;
+import com.ai.dev.platform.modules.monitor.util.MonitorStatusCache;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Service
-public class MonitorServiceImpl extends ServiceImpl<MonitorMapper, Monitor> implements MonitorService {
+public class MonitorServiceImpl extends ServiceImpl<MonitorMapper, Monitor> implements MonitorService, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonitorServiceImpl.class);
+    private static final int STATUS_BATCH_SIZE = 500;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MonitorSlaService monitorSlaService;
+
+    @Autowired
+    private MonitorBaselineService monitorBaselineService;
+
+    @Autowired
+    private MonitorAlertService monitorAlertService;
+
+    @Autowired
+    private MonitorCheckService monitorCheckService;
+
+    @Value("${monitor.scheduler.default-interval-seconds:300}")
+    private int defaultIntervalSeconds;
+
+    @Value("${monitor.sla.uptime-window-hours:720}")
+    private int uptimeWindowHours;
+
+    /**
+     * 最近一次探测的状态，只有状态变化才写库
+     */
+    private final MonitorStatusCache statusCache = new MonitorStatusCache();
 
     @Override
     public IPage<Monitor> getMonitorPage(Integer pageNum, Integer pageSize, Long projectId, String status) {
@@ -30,7 +77,49 @@ public class MonitorServiceImpl extends ServiceImpl<MonitorMapper, Monitor> impl
         
         wrapper.orderByDesc(Monitor::getUpdateTime);
         
-        return page(page, wrapper);
+        IPage<Monitor> result = page(page, wrapper);
+        List<Monitor> uncached = new ArrayList<>();
+        for (Monitor monitor : result.getRecords()) {
+            if (statusCache.get(monitor.getId()) != null) {
+                statusCache.apply(monitor);
+            } else {
+                uncached.add(monitor);
+            }
+        }
+        applyLatestChecks(uncached);
+        return result;
+    }
+
+    /**
+     * 本节点没有缓存状态的监控（集群模式下归属其他节点，或启动后尚未探测），
+     * 数据库中的响应时间只在状态变化时写入，改用探测明细中的最近一次结果；
+     * 只查找最近三个检查间隔内的探测，状态仍以数据库为准
+     */
+    private void applyLatestChecks(List<Monitor> monitors) {
+        if (monitors.isEmpty()) {
+            return;
+        }
+        long maxIntervalSeconds = defaultIntervalSeconds;
+        for (Monitor monitor : monitors) {
+            if (monitor.getCheckInterval() != null && monitor.getCheckInterval() > maxIntervalSeconds) {
+                maxIntervalSeconds = monitor.getCheckInterval();
+            }
+        }
+        Map<Long, MonitorCheck> latest;
+        try {
+            latest = monitorCheckService.latestChecks(monitors.stream().map(Monitor::getId).toList(),
+                    LocalDateTime.now().minusSeconds(maxIntervalSeconds * 3));
+        } catch (RuntimeException e) {
+            logger.warn("查询监控最近一次探测失败，使用数据库中的响应时间：{}", e.getMessage());
+            return;
+        }
+        for (Monitor monitor : monitors) {
+            MonitorCheck check = latest.get(monitor.getId());
+            if (check != null && (monitor.getUpdateTime() == null || check.getCheckTime().isAfter(monitor.getUpdateTime()))) {
+                monitor.setResponseTime(check.getLatencyMs());
+                monitor.setUpdateTime(check.getCheckTime());
+            }
+        }
     }
 
     @Override
@@ -39,44 +128,90 @@ public class MonitorServiceImpl extends ServiceImpl<MonitorMapper, Monitor> impl
         monitor.setUpdateTime(LocalDateTime.now());
         monitor.setResponseTime(0);
         monitor.setStatus("normal");
+        if (monitor.getCheckInterval() == null || monitor.getCheckInterval() <= 0) {
+            monitor.setCheckInterval(defaultIntervalSeconds);
+        }
+        if (monitor.getCheckJitter() == null || monitor.getCheckJitter() < 0) {
+            monitor.setCheckJitter(0);
+        }
+        if (monitor.getSlowThresholdMs() != null && monitor.getSlowThresholdMs() <= 0) {
+            monitor.setSlowThresholdMs(null);
+        }
         
         save(monitor);
+        eventPublisher.publishEvent(MonitorChangedEvent.saved(monitor));
         
         return monitor;
     }
 
     @Override
-    public Double getUptime(Long projectId) {
-        LambdaQueryWrapper<Monitor> wrapper = new LambdaQueryWrapper<>();
-        if (projectId != null) {
-            wrapper.eq(Monitor::getProjectId, projectId);
+    public boolean deleteMonitor(Long id) {
+        boolean removed = removeById(id);
+        if (removed) {
+            statusCache.remove(id);
+            monitorAlertService.forget(id);
+            eventPublisher.publishEvent(MonitorChangedEvent.deleted(id));
         }
-        
-        List<Monitor> monitors = list(wrapper);
-        
-        if (monitors.isEmpty()) {
-            return 0.0;
-        }
-        
-        long normalCount = monitors.stream()
-            .filter(m -> "normal".equals(m.getStatus()))
-            .count();
-        
-        return (double) normalCount / monitors.size() * 100;
+        return removed;
     }
 
-    public void checkMonitorStatus(Monitor monitor, Integer responseTime, Integer slowThreshold) {
-        monitor.setResponseTime(responseTime);
-        monitor.setUpdateTime(LocalDateTime.now());
-        
+    @Override
+    public void releaseMonitor(Long id) {
+        statusCache.remove(id);
+        monitorAlertService.forget(id);
+    }
+
+    @Override
+    public Double getUptime(Long projectId) {
+        LocalDateTime now = LocalDateTime.now();
+        MonitorSla summary = monitorSlaService.projectSla(projectId, now.minusHours(uptimeWindowHours), now, null)
+                .summary();
+        return summary.availability() != null ? summary.availability() : 0.0;
+    }
+
+    @Override
+    public void checkMonitorStatus(Monitor monitor, Integer responseTime) {
+        String persistedStatus = monitor.getStatus();
+        String status;
         if (responseTime == null || responseTime < 0) {
-            monitor.setStatus("exception");
-        } else if (responseTime > slowThreshold) {
-            monitor.setStatus("slow");
+            status = "exception";
+        } else if (monitorBaselineService.observe(monitor, responseTime)) {
+            status = "slow";
         } else {
-            monitor.setStatus("normal");
+            status = "normal";
+        }
+        LocalDateTime now = LocalDateTime.now();
+        monitor.setStatus(status);
+        monitor.setResponseTime(responseTime);
+        monitor.setUpdateTime(now);
+        statusCache.update(new MonitorStatus(monitor.getId(), status, responseTime, now), persistedStatus);
+        monitorAlertService.submit(new MonitorOutcome(monitor.getId(), monitor.getProjectId(), monitor.getMonitorUrl(),
+                status, persistedStatus, responseTime, now));
+    }
+
+    @Override
+    public int flushStatus() {
+        List<MonitorStatus> rows = statusCache.drain();
+        int updated = 0;
+        for (int i = 0; i < rows.size(); i += STATUS_BATCH_SIZE) {
+            List<MonitorStatus> batch = rows.subList(i, Math.min(rows.size(), i + STATUS_BATCH_SIZE));
+            try {
+                updated += baseMapper.updateStatusBatch(batch);
+            } catch (RuntimeException e) {
+                // 本批及之后的状态放回队列，下次刷新重试
+                statusCache.requeue(rows.subList(i, rows.size()));
+                throw e;
+            }
+        }
+        return updated;
+    }
+
+    @Override
+    public void destroy() {
+        try {
+            flushStatus();
+        } catch (Exception e) {
+            logger.warn("写入监控状态失败", e);
         }
-        
-        updateById(monitor);
     }
 }
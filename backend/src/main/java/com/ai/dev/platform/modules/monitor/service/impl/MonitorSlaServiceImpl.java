@@ -0,0 +1,95 @@
+package com.ai.dev.platform.modules.monitor.service.impl;
+
+import com.ai.dev.platform.modules.monitor.dto.MonitorAvailability;
+import com.ai.dev.platform.modules.monitor.dto.MonitorSla;
+import com.ai.dev.platform.modules.monitor.dto.ProjectSla;
+import com.ai.dev.platform.modules.monitor.dto.RollupSegment;
+import com.ai.dev.platform.modules.monitor.entity.Monitor;
+import com.ai.dev.platform.modules.monitor.mapper.MonitorCheckRollupMapper;
+import com.ai.dev.platform.modules.monitor.mapper.MonitorMapper;
+import com.ai.dev.platform.modules.monitor.service.MonitorCheckService;
+import com.ai.dev.platform.modules.monitor.service.MonitorSlaService;
+import com.ai.dev.platform.modules.monitor.util.RollupPlanner;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class MonitorSlaServiceImpl implements MonitorSlaService {
+
+    @Autowired
+    private MonitorMapper monitorMapper;
+
+    @Autowired
+    private MonitorCheckRollupMapper rollupMapper;
+
+    @Autowired
+    private MonitorCheckService monitorCheckService;
+
+    @Value("${monitor.sla.default-target:99.9}")
+    private double defaultTarget;
+
+    @Override
+    public ProjectSla projectSla(Long projectId, LocalDateTime from, LocalDateTime to, Double slaTarget) {
+        LambdaQueryWrapper<Monitor> wrapper = new LambdaQueryWrapper<>();
+        if (projectId != null) {
+            wrapper.eq(Monitor::getProjectId, projectId);
+        }
+        List<Monitor> monitors = monitorMapper.selectList(wrapper);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime end = to.isAfter(now) ? now : to;
+        List<RollupSegment> segments = RollupPlanner.plan(from, end, now, monitorCheckService.retentionDays());
+
+        Map<Long, MonitorAvailability> byMonitor = Map.of();
+        if (!segments.isEmpty() && !monitors.isEmpty()) {
+            List<Long> ids = projectId != null ? monitors.stream().map(Monitor::getId).toList() : null;
+            byMonitor = rollupMapper.sumAvailability(segments, ids).stream()
+                    .collect(Collectors.toMap(MonitorAvailability::getMonitorId, Function.identity()));
+        }
+
+        List<MonitorSla> results = new ArrayList<>(monitors.size());
+        long checks = 0;
+        long failures = 0;
+        double monitored = 0;
+        double up = 0;
+        double strictest = 0;
+        for (Monitor monitor : monitors) {
+            double target = monitor.getSlaTarget() != null ? monitor.getSlaTarget() : defaultTarget;
+            strictest = Math.max(strictest, target);
+            MonitorAvailability availability = byMonitor.get(monitor.getId());
+            if (availability == null) {
+                results.add(MonitorSla.of(monitor.getId(), monitor.getMonitorUrl(), 0, 0, 0, 0, target));
+                continue;
+            }
+            long checkCount = nullToZero(availability.getCheckCount());
+            long failureCount = nullToZero(availability.getFailureCount());
+            double monitoredSeconds = nullToZero(availability.getMonitoredSeconds());
+            double upSeconds = nullToZero(availability.getUpSeconds());
+            results.add(MonitorSla.of(monitor.getId(), monitor.getMonitorUrl(), checkCount, failureCount,
+                    monitoredSeconds, upSeconds, target));
+            checks += checkCount;
+            failures += failureCount;
+            monitored += monitoredSeconds;
+            up += upSeconds;
+        }
+        double projectTarget = slaTarget != null ? slaTarget : (monitors.isEmpty() ? defaultTarget : strictest);
+        MonitorSla summary = MonitorSla.of(null, null, checks, failures, monitored, up, projectTarget);
+        return new ProjectSla(projectId, from, end, summary, results);
+    }
+
+    private static long nullToZero(Long value) {
+        return value != null ? value : 0;
+    }
+
+    private static double nullToZero(Double value) {
+        return value != null ? value : 0;
+    }
+}
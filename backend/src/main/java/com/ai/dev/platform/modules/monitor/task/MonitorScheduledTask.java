@@ -1,28 +1,66 @@
 package com.ai.dev.platform.modules.monitor.task;
 
+import com.ai.dev.platform.modules.cluster.event.ClusterChangedEvent;
+import com.ai.dev.platform.modules.cluster.service.ClusterService;
+import com.ai.dev.platform.modules.monitor.dto.ProbeResult;
 import com.ai.dev.platform.modules.monitor.entity.Monitor;
+import com.ai.dev.platform.modules.monitor.event.MonitorChangedEvent;
+import com.ai.dev.platform.modules.monitor.service.MonitorBaselineService;
+import com.ai.dev.platform.modules.monitor.service.MonitorCheckService;
 import com.ai.dev.platform.modules.monitor.service.MonitorService;
+import com.ai.dev.platform.modules.monitor.util.HashedTimingWheel;
+import com.ai.dev.platform.modules.monitor.util.ProbeEngine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 系统监控定时任务类
- * 
+ *
  * <p>负责执行周期性的系统监控检查任务：
  * <ul>
- *   <li>定时检测监控目标的可用性</li>
+ *   <li>按每个监控目标自己的检查间隔检测其可用性</li>
  *   <li>收集服务响应时间数据</li>
  *   <li>更新监控任务状态</li>
- *   <li>识别慢响应和故障服务</li>
+ *   <li>与每个监控自己的响应时间基线比较，识别慢响应和故障服务</li>
  * </ul>
- * 
- * <p>该组件通过@Component注解标记为Spring组件，
- * 使用@Scheduled注解配置定时执行策略。
- * 
+ *
+ * <p>检查由{@link HashedTimingWheel}调度：
+ * <ul>
+ *   <li>每个目标按ID散列到检查间隔内的固定相位，探测在时间上均匀分布，不再集中爆发</li>
+ *   <li>每次检查后按间隔加上0到checkJitter秒的随机延迟安排下一次</li>
+ *   <li>新增、删除监控时通过{@link MonitorChangedEvent}立即生效，定期全量对账兜底</li>
+ *   <li>上一次探测未完成的目标本轮跳过，不会堆积</li>
+ * </ul>
+ *
+ * <p>多实例部署时每个目标只由{@link ClusterService}哈希环上归属的节点检查，
+ * 节点加入或宕机后按新的归属重新对账；汇总和清理在集群内只由一个节点执行。
+ *
+ * <p>探测后的状态先写入内存，只有状态变化才定期批量落库。
+ *
+ * <p>每次探测结果都写入探测历史，成功探测的延迟同时记入每分钟的延迟直方图；
+ * 定期刷新1m/1h/1d汇总、清理过期数据。
+ *
  * @author AI开发平台团队
  * @version 1.0.0
  * @since 1.0.0
@@ -30,89 +68,373 @@ import java.util.List;
 @Component
 public class MonitorScheduledTask {
 
+    /**
+     * 日志记录器实例
+     *
+     * @since 1.0.0
+     */
+    private static final Logger logger = LoggerFactory.getLogger(MonitorScheduledTask.class);
+
     /**
      * 监控服务实例
-     * 
+     *
      * <p>用于执行监控相关的业务逻辑操作。
-     * 
+     *
      * @since 1.0.0
      */
     @Autowired
     private MonitorService monitorService;
 
     /**
-     * REST客户端实例
-     * 
-     * <p>用于发起HTTP请求检测监控目标的可用性。
-     * 
+     * 并发探测引擎
+     *
+     * <p>用于并发检测监控目标的可用性，每个探测都有独立的截止时间。
+     *
      * @since 1.0.0
      */
     @Autowired
-    private RestTemplate restTemplate;
-
-    /**
-     * 慢响应阈值（毫秒）
-     * 
-     * <p>定义服务响应时间的性能基准，超过此值视为慢响应。
-     * 设置为500毫秒，可根据实际需求调整。
-     * 
-     * @since 1.0.0
-     */
-    private static final int SLOW_THRESHOLD = 500;
-
-    /**
-     * 定时检查监控状态
-     * 
-     * <p>每5分钟执行一次全面的监控检查：
-     * <ol>
-     *   <li>获取所有激活的监控任务</li>
-     *   <li>逐个检测监控目标的可用性</li>
-     *   <li>测量服务响应时间</li>
-     *   <li>根据结果更新监控状态</li>
-     *   <li>处理检测异常情况</li>
-     * </ol>
-     * 
-     * <p><b>检测逻辑：</b>
-     * <ul>
-     *   <li>记录请求开始时间</li>
-     *   <li>发起HTTP GET请求</li>
-     *   <li>记录请求结束时间</li>
-     *   <li>计算响应时间</li>
-     *   <li>调用服务层更新状态</li>
-     * </ul>
-     * 
-     * <p><b>异常处理：</b>
-     * <ul>
-     *   <li>网络异常时响应时间设为-1</li>
-     *   <li>服务不可达时标记为故障状态</li>
-     *   <li>继续处理其他监控任务</li>
-     * </ul>
-     * 
-     * @since 1.0.0
-     */
-    @Scheduled(fixedRate = 300000) // 每5分钟执行一次
-    public void checkMonitorStatus() {
-        // 获取所有监控任务
-        List<Monitor> monitors = monitorService.list();
-        
-        // 逐个检查监控目标状态
-        for (Monitor monitor : monitors) {
+    private ProbeEngine probeEngine;
+
+    /**
+     * 探测历史服务
+     *
+     * <p>保存每次探测结果并维护多粒度汇总。
+     *
+     * @since 1.0.0
+     */
+    @Autowired
+    private MonitorCheckService monitorCheckService;
+
+    /**
+     * 响应时间基线服务
+     *
+     * <p>按每个监控自己的响应时间基线判断慢响应，定期写入检查点。
+     *
+     * @since 1.0.0
+     */
+    @Autowired
+    private MonitorBaselineService monitorBaselineService;
+
+    /**
+     * 集群协调服务
+     *
+     * <p>决定本节点负责检查哪些目标、是否执行汇总和清理。
+     *
+     * @since 1.0.0
+     */
+    @Autowired
+    private ClusterService clusterService;
+
+    @Value("${monitor.scheduler.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${monitor.scheduler.wheel-size:512}")
+    private int wheelSize;
+
+    @Value("${monitor.scheduler.default-interval-seconds:300}")
+    private int defaultIntervalSeconds;
+
+    @Value("${monitor.scheduler.min-interval-seconds:5}")
+    private int minIntervalSeconds;
+
+    /**
+     * 已调度的监控目标，键为监控ID
+     *
+     * @since 1.0.0
+     */
+    private final Map<Long, ScheduledMonitor> scheduled = new ConcurrentHashMap<>();
+
+    /**
+     * 探测尚未完成的监控ID
+     *
+     * @since 1.0.0
+     */
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 每次重新安排目标时递增，用于识别过期的到期任务
+     *
+     * @since 1.0.0
+     */
+    private final AtomicLong generations = new AtomicLong();
+
+    private HashedTimingWheel wheel;
+
+    /**
+     * 发出探测的线程，探测名额已满时在这里等待，不阻塞时间轮
+     *
+     * @since 1.0.0
+     */
+    private ExecutorService dispatcher;
+
+    /**
+     * 写回监控状态的线程
+     *
+     * @since 1.0.0
+     */
+    private ExecutorService writer;
+
+    @PostConstruct
+    public void init() {
+        wheel = new HashedTimingWheel(tickMs, wheelSize);
+        dispatcher = Executors.newSingleThreadExecutor(daemon("monitor-dispatch"));
+        writer = Executors.newSingleThreadExecutor(daemon("monitor-writer"));
+        wheel.start("monitor-timing-wheel");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheel.stop();
+        dispatcher.shutdownNow();
+        writer.shutdown();
+    }
+
+    /**
+     * 与数据库全量对账
+     *
+     * <p>加入新出现或新归属本节点的目标，移除已删除或归属其他节点的目标，
+     * 检查间隔或地址变化的目标重新安排。归属其他节点的目标同时释放状态缓存和告警状态，
+     * 以后再归属本节点时从数据库中的状态重新开始。启动后的第一次对账会为所有目标分配相位。
+     *
+     * @since 1.0.0
+     */
+    @Scheduled(fixedDelayString = "${monitor.scheduler.reload-ms:60000}",
+            initialDelayString = "${monitor.scheduler.initial-delay-ms:10000}")
+    public void reloadMonitors() {
+        try {
+            List<Monitor> monitors = monitorService.list();
+            Set<Long> ids = new HashSet<>();
+            Set<Long> released = new HashSet<>();
+            for (Monitor monitor : monitors) {
+                if (!clusterService.owns(monitorKey(monitor.getId()))) {
+                    released.add(monitor.getId());
+                    continue;
+                }
+                ids.add(monitor.getId());
+                schedule(monitor, false);
+            }
+            for (Long id : scheduled.keySet().stream().filter(id -> !ids.contains(id)).toList()) {
+                unschedule(id);
+                if (released.contains(id)) {
+                    // 归属其他节点的目标丢弃本节点的状态缓存和告警状态，已删除的目标在删除时已清理
+                    monitorService.releaseMonitor(id);
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("加载监控目标失败", e);
+        }
+    }
+
+    /**
+     * 刷新探测历史的1m/1h/1d汇总
+     *
+     * <p>每个节点都写出自己内存中的延迟直方图，汇总只由一个节点执行。
+     *
+     * @since 1.0.0
+     */
+    @Scheduled(fixedDelayString = "${monitor.check-history.rollup-ms:60000}",
+            initialDelayString = "${monitor.check-history.rollup-initial-delay-ms:60000}")
+    public void rollupChecks() {
+        try {
+            if (clusterService.owns("job:monitor-check-rollup")) {
+                monitorCheckService.rollup(LocalDateTime.now());
+            } else {
+                monitorCheckService.flushHistograms(LocalDateTime.now());
+            }
+        } catch (Exception e) {
+            logger.warn("汇总监控探测历史失败", e);
+        }
+    }
+
+    /**
+     * 创建明细分区并按保留期清理探测历史
+     *
+     * @since 1.0.0
+     */
+    @Scheduled(fixedDelayString = "${monitor.check-history.maintenance-ms:3600000}",
+            initialDelayString = "${monitor.check-history.maintenance-initial-delay-ms:60000}")
+    public void maintainChecks() {
+        if (!clusterService.owns("job:monitor-check-maintenance")) {
+            return;
+        }
+        try {
+            monitorCheckService.maintain(LocalDateTime.now());
+        } catch (Exception e) {
+            logger.warn("维护监控探测历史失败", e);
+        }
+    }
+
+    /**
+     * 把探测后的状态变化批量写入数据库
+     *
+     * @since 1.0.0
+     */
+    @Scheduled(fixedDelayString = "${monitor.status.flush-ms:5000}",
+            initialDelayString = "${monitor.status.flush-ms:5000}")
+    public void flushStatus() {
+        try {
+            monitorService.flushStatus();
+        } catch (Exception e) {
+            logger.warn("写入监控状态失败", e);
+        }
+    }
+
+    /**
+     * 保存响应时间基线的检查点
+     *
+     * @since 1.0.0
+     */
+    @Scheduled(fixedDelayString = "${monitor.baseline.checkpoint-ms:300000}",
+            initialDelayString = "${monitor.baseline.checkpoint-ms:300000}")
+    public void checkpointBaselines() {
+        try {
+            monitorBaselineService.checkpoint();
+        } catch (Exception e) {
+            logger.warn("保存监控基线检查点失败", e);
+        }
+    }
+
+    /**
+     * 监控新增或删除后立即更新调度
+     *
+     * <p>新增的目标立即检查一次，之后按检查间隔执行。
+     *
+     * @param event 监控配置变化事件
+     * @since 1.0.0
+     */
+    @EventListener
+    public void onMonitorChanged(MonitorChangedEvent event) {
+        if (event.isDeleted()) {
+            unschedule(event.getMonitorId());
+        } else if (clusterService.owns(monitorKey(event.getMonitor().getId()))) {
+            schedule(event.getMonitor(), true);
+        }
+    }
+
+    /**
+     * 集群节点变化后按新的归属重新对账
+     *
+     * @param event 集群成员变化事件
+     * @since 1.0.0
+     */
+    @EventListener
+    public void onClusterChanged(ClusterChangedEvent event) {
+        reloadMonitors();
+    }
+
+    /**
+     * 当前已调度的监控目标数
+     *
+     * @return int 目标数
+     * @since 1.0.0
+     */
+    public int scheduledCount() {
+        return scheduled.size();
+    }
+
+    private void schedule(Monitor monitor, boolean immediately) {
+        long intervalMs = intervalMs(monitor);
+        long jitterMs = jitterMs(monitor);
+        scheduled.compute(monitor.getId(), (id, existing) -> {
+            if (existing != null && existing.intervalMs() == intervalMs && existing.jitterMs() == jitterMs
+                    && Objects.equals(existing.monitor().getMonitorUrl(), monitor.getMonitorUrl()) && !immediately) {
+                return new ScheduledMonitor(monitor, intervalMs, jitterMs, existing.generation(), existing.timeout());
+            }
+            if (existing != null) {
+                existing.timeout().cancel();
+            }
+            long delayMs = immediately ? 0 : phase(id, intervalMs);
+            long generation = generations.incrementAndGet();
+            return new ScheduledMonitor(monitor, intervalMs, jitterMs, generation,
+                    wheel.schedule(() -> fire(id, generation), delayMs));
+        });
+    }
+
+    private void unschedule(Long id) {
+        ScheduledMonitor existing = scheduled.remove(id);
+        if (existing != null) {
+            existing.timeout().cancel();
+        }
+    }
+
+    /**
+     * 时间轮线程上执行：安排下一次检查，并把本次探测交给发出线程；
+     * 目标已被重新安排时，旧的到期任务直接忽略。归属已转移或本节点租约失效时跳过本次探测，
+     * 对账前不会与接管的节点重复探测，之后由对账取消调度
+     */
+    private void fire(Long id, long generation) {
+        ScheduledMonitor[] current = new ScheduledMonitor[1];
+        scheduled.computeIfPresent(id, (key, entry) -> {
+            if (entry.generation() != generation) {
+                return entry;
+            }
+            long delayMs = entry.intervalMs()
+                    + (entry.jitterMs() > 0 ? ThreadLocalRandom.current().nextLong(entry.jitterMs() + 1) : 0);
+            current[0] = new ScheduledMonitor(entry.monitor(), entry.intervalMs(), entry.jitterMs(), generation,
+                    wheel.schedule(() -> fire(key, generation), delayMs));
+            return current[0];
+        });
+        if (current[0] == null || !clusterService.owns(monitorKey(id)) || !inFlight.add(id)) {
+            return;
+        }
+        Monitor monitor = current[0].monitor();
+        dispatcher.execute(() -> {
             try {
-                // 记录请求开始时间
-                long startTime = System.currentTimeMillis();
-                // 发起HTTP请求检测服务可用性
-                restTemplate.getForObject(monitor.getMonitorUrl(), String.class);
-                // 记录请求结束时间
-                long endTime = System.currentTimeMillis();
-                // 计算响应时间
-                int responseTime = (int) (endTime - startTime);
-                
-                // 更新监控状态，传入响应时间和慢响应阈值
-                monitorService.checkMonitorStatus(monitor, responseTime, SLOW_THRESHOLD);
-            } catch (Exception e) {
-                // 异常情况下，响应时间设为-1表示服务不可达
-                monitorService.checkMonitorStatus(monitor, -1, SLOW_THRESHOLD);
+                probeEngine.submit(monitor.getMonitorUrl())
+                        .thenAcceptAsync(result -> record(monitor, result), writer)
+                        .whenComplete((ignored, error) -> inFlight.remove(id));
+            } catch (InterruptedException e) {
+                inFlight.remove(id);
+                Thread.currentThread().interrupt();
             }
+        });
+    }
+
+    private void record(Monitor monitor, ProbeResult result) {
+        if (result.status() == ProbeResult.Status.SKIPPED || !scheduled.containsKey(monitor.getId())) {
+            return;
+        }
+        monitorCheckService.record(monitor.getId(), result);
+        try {
+            // 失败时响应时间为-1，表示服务不可达
+            monitorService.checkMonitorStatus(monitor, result.latencyMs());
+        } catch (Exception e) {
+            logger.warn("更新监控状态失败: {}", monitor.getMonitorUrl(), e);
         }
     }
+
+    private long intervalMs(Monitor monitor) {
+        int seconds = monitor.getCheckInterval() != null && monitor.getCheckInterval() > 0
+                ? monitor.getCheckInterval() : defaultIntervalSeconds;
+        return TimeUnit.SECONDS.toMillis(Math.max(minIntervalSeconds, seconds));
+    }
+
+    private static long jitterMs(Monitor monitor) {
+        return monitor.getCheckJitter() != null && monitor.getCheckJitter() > 0
+                ? TimeUnit.SECONDS.toMillis(monitor.getCheckJitter()) : 0;
+    }
+
+    /**
+     * 按ID散列出检查间隔内的固定相位，同一目标每次启动的相位相同
+     */
+    static long phase(Long id, long intervalMs) {
+        long mixed = id * 0x9E3779B97F4A7C15L;
+        return Math.floorMod(mixed ^ (mixed >>> 32), intervalMs);
+    }
+
+    private static String monitorKey(Long id) {
+        return "monitor:" + id;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record ScheduledMonitor(Monitor monitor, long intervalMs, long jitterMs, long generation,
+                                    HashedTimingWheel.Timeout timeout) {
+    }
 }
@@ -0,0 +1,221 @@
+package com.ai.dev.platform.modules.monitor.util;
+
+import com.ai.dev.platform.modules.monitor.dto.MonitorAlert;
+import com.ai.dev.platform.modules.monitor.dto.MonitorOutcome;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 监控告警状态机
+ *
+ * <p>逐个消费探测结果，决定何时通知：
+ * <ul>
+ *   <li>N-of-M确认：最近M次探测中至少N次异常（或慢）且本次也是异常（或慢）时才确认进入该状态</li>
+ *   <li>滞回恢复：确认后需要连续K次正常才恢复，偶尔一次成功不会解除告警</li>
+ *   <li>抖动检测：最近若干次探测中好坏切换的比例超过上限时判为抖动，只通知一次，
+ *       比例降到下限以下才解除，上下限之间保持原状态</li>
+ *   <li>去重：只在确认状态与上次通知的状态不同时通知</li>
+ *   <li>限速：同一监控两次通知至少间隔指定时长，期间的变化合并为最后一次，升级为不可达不受限制</li>
+ * </ul>
+ *
+ * <p>每个监控只保存两个64位的历史位图和几个标量，评估为O(1)。
+ * {@link #evaluate}应在单个线程中调用。
+ *
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class AlertEvaluator {
+
+    /**
+     * 历史位图最多保存的探测次数
+     *
+     * @since 1.0.0
+     */
+    public static final int MAX_WINDOW = 64;
+
+    private final int window;
+    private final int confirm;
+    private final int recover;
+    private final int flapWindow;
+    private final double flapHigh;
+    private final double flapLow;
+    private final Duration minInterval;
+
+    private final Map<Long, State> states = new ConcurrentHashMap<>();
+
+    /**
+     * @param window 确认窗口M
+     * @param confirm 确认所需的异常次数N
+     * @param recover 恢复所需的连续正常次数K
+     * @param flapWindow 抖动检测的窗口
+     * @param flapHigh 判为抖动的切换比例
+     * @param flapLow 解除抖动的切换比例
+     * @param minInterval 同一监控两次通知的最小间隔
+     */
+    public AlertEvaluator(int window, int confirm, int recover, int flapWindow,
+                          double flapHigh, double flapLow, Duration minInterval) {
+        this.window = clamp(window, 1, MAX_WINDOW);
+        this.confirm = clamp(confirm, 1, this.window);
+        this.recover = clamp(recover, 1, MAX_WINDOW);
+        this.flapWindow = clamp(flapWindow, 2, MAX_WINDOW);
+        this.flapHigh = flapHigh;
+        this.flapLow = Math.min(flapLow, flapHigh);
+        this.minInterval = minInterval;
+    }
+
+    /**
+     * 计入一次探测结果
+     *
+     * @param outcome 探测判定后的状态
+     * @return MonitorAlert 需要通知的告警，不需要通知时返回null
+     * @since 1.0.0
+     */
+    public MonitorAlert evaluate(MonitorOutcome outcome) {
+        State state = states.computeIfAbsent(outcome.monitorId(), id -> new State(Level.of(outcome.persistedStatus())));
+        Level current = Level.of(outcome.status());
+        state.record(current, outcome.checkTime());
+
+        Level confirmed = state.confirmed;
+        if (current.compareTo(confirmed) > 0) {
+            if (current == Level.DOWN && Long.bitCount(state.down & mask(window)) >= confirm) {
+                confirmed = Level.DOWN;
+            } else if (confirmed == Level.NORMAL && Long.bitCount(state.bad & mask(window)) >= confirm) {
+                confirmed = Level.SLOW;
+            }
+        } else if (current.compareTo(confirmed) < 0 && state.samples >= recover) {
+            long recent = mask(recover);
+            if (confirmed == Level.DOWN && (state.down & recent) == 0) {
+                confirmed = (state.bad & recent) == 0 ? Level.NORMAL : Level.SLOW;
+            } else if (confirmed == Level.SLOW && (state.bad & recent) == 0) {
+                confirmed = Level.NORMAL;
+            }
+        }
+        state.confirmed = confirmed;
+
+        if (state.samples >= flapWindow) {
+            double ratio = (double) Long.bitCount((state.bad ^ (state.bad >>> 1)) & mask(flapWindow - 1))
+                    / (flapWindow - 1);
+            if (!state.flapping && ratio >= flapHigh) {
+                state.flapping = true;
+                state.flapPending = true;
+            } else if (state.flapping && ratio <= flapLow) {
+                state.flapping = false;
+                state.flapPending = false;
+            }
+        }
+        if (state.flapping) {
+            if (state.flapPending && allowed(state, outcome.checkTime())) {
+                state.flapPending = false;
+                // 抖动结束后无论处于什么状态都再通知一次
+                state.notified = null;
+                return notify(state, outcome, MonitorAlert.Kind.FLAPPING);
+            }
+            return null;
+        }
+        if (confirmed == state.notified || (confirmed != Level.DOWN && !allowed(state, outcome.checkTime()))) {
+            return null;
+        }
+        state.notified = confirmed;
+        return notify(state, outcome, confirmed.kind);
+    }
+
+    /**
+     * 监控删除后丢弃状态
+     *
+     * @param monitorId 监控ID
+     * @since 1.0.0
+     */
+    public void remove(Long monitorId) {
+        states.remove(monitorId);
+    }
+
+    /**
+     * 丢弃长时间没有探测结果的监控状态，通常是已删除或已迁移到其他节点的监控
+     *
+     * @param before 最近一次探测早于该时间的状态被丢弃
+     * @return int 丢弃的数量
+     * @since 1.0.0
+     */
+    public int evictIdle(LocalDateTime before) {
+        int size = states.size();
+        states.values().removeIf(state -> state.lastSeen != null && state.lastSeen.isBefore(before));
+        return size - states.size();
+    }
+
+    public int size() {
+        return states.size();
+    }
+
+    private boolean allowed(State state, LocalDateTime now) {
+        return state.lastNotified == null || !now.isBefore(state.lastNotified.plus(minInterval));
+    }
+
+    private static MonitorAlert notify(State state, MonitorOutcome outcome, MonitorAlert.Kind kind) {
+        state.lastNotified = outcome.checkTime();
+        return new MonitorAlert(outcome.monitorId(), outcome.projectId(), outcome.monitorUrl(), kind,
+                outcome.responseTime(), outcome.checkTime());
+    }
+
+    private static long mask(int bits) {
+        return bits >= 64 ? -1L : (1L << bits) - 1;
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private enum Level {
+        NORMAL(MonitorAlert.Kind.RECOVERED), SLOW(MonitorAlert.Kind.SLOW), DOWN(MonitorAlert.Kind.DOWN);
+
+        private final MonitorAlert.Kind kind;
+
+        Level(MonitorAlert.Kind kind) {
+            this.kind = kind;
+        }
+
+        static Level of(String status) {
+            if ("exception".equals(status)) {
+                return DOWN;
+            }
+            return "slow".equals(status) ? SLOW : NORMAL;
+        }
+    }
+
+    private static final class State {
+
+        /**
+         * 第i位表示倒数第i+1次探测不可达
+         */
+        private long down;
+
+        /**
+         * 第i位表示倒数第i+1次探测不可达或慢
+         */
+        private long bad;
+
+        private int samples;
+        private Level confirmed;
+        private Level notified;
+        private boolean flapping;
+        private boolean flapPending;
+        private LocalDateTime lastNotified;
+        private LocalDateTime lastSeen;
+
+        private State(Level initial) {
+            // 以判定前的状态为起点，节点重启或接管监控时不重复通知已知的故障
+            this.confirmed = initial;
+            this.notified = initial;
+        }
+
+        private void record(Level level, LocalDateTime time) {
+            down = (down << 1) | (level == Level.DOWN ? 1 : 0);
+            bad = (bad << 1) | (level != Level.NORMAL ? 1 : 0);
+            samples = Math.min(samples + 1, MAX_WINDOW);
+            lastSeen = time;
+        }
+    }
+}
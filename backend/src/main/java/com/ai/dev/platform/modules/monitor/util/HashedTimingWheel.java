@@ -0,0 +1,260 @@
+package com.ai.dev.platform.modules.monitor.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 哈希时间轮
+ *
+ * <p>把时间切分为固定长度的刻度，wheelSize个槽位首尾相接组成一圈：
+ * <ul>
+ *   <li>任务按到期刻度放入对应槽位，超过一圈的任务记录剩余圈数</li>
+ *   <li>每走过一个刻度只检查当前槽位，新增和取消都是O(1)</li>
+ *   <li>到期精度为一个刻度，适合大量周期性任务的粗粒度调度</li>
+ * </ul>
+ *
+ * <p>到期任务在推进时间轮的线程上执行，任务本身应当很快返回，
+ * 耗时的工作交给其他线程。
+ *
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class HashedTimingWheel {
+
+    /**
+     * 日志记录器实例
+     *
+     * @since 1.0.0
+     */
+    private static final Logger logger = LoggerFactory.getLogger(HashedTimingWheel.class);
+
+    /**
+     * 每个刻度的长度（毫秒）
+     *
+     * @since 1.0.0
+     */
+    private final long tickMs;
+
+    /**
+     * 槽位，每个槽位保存到期刻度落在该位置的任务
+     *
+     * @since 1.0.0
+     */
+    private final List<Set<Timeout>> buckets;
+
+    /**
+     * 时钟，测试时可替换
+     *
+     * @since 1.0.0
+     */
+    private final LongSupplier clock;
+
+    /**
+     * 第0个刻度的起始时间
+     *
+     * @since 1.0.0
+     */
+    private final long startTime;
+
+    /**
+     * 下一个待处理的刻度
+     *
+     * @since 1.0.0
+     */
+    private long nextTick;
+
+    /**
+     * 未到期的任务数
+     *
+     * @since 1.0.0
+     */
+    private int size;
+
+    /**
+     * 推进时间轮的工作线程
+     *
+     * @since 1.0.0
+     */
+    private Thread worker;
+
+    private volatile boolean running;
+
+    public HashedTimingWheel(long tickMs, int wheelSize) {
+        this(tickMs, wheelSize, System::currentTimeMillis);
+    }
+
+    HashedTimingWheel(long tickMs, int wheelSize, LongSupplier clock) {
+        this.tickMs = Math.max(1, tickMs);
+        this.clock = clock;
+        this.startTime = clock.getAsLong();
+        int slots = Math.max(1, wheelSize);
+        this.buckets = new ArrayList<>(slots);
+        for (int i = 0; i < slots; i++) {
+            buckets.add(new LinkedHashSet<>());
+        }
+    }
+
+    /**
+     * 在delayMs毫秒后执行任务
+     *
+     * @param task 到期执行的任务
+     * @param delayMs 延迟时间（毫秒），小于等于0时在下一个刻度执行
+     * @return Timeout 可用于取消的句柄
+     * @since 1.0.0
+     */
+    public synchronized Timeout schedule(Runnable task, long delayMs) {
+        long deadline = clock.getAsLong() + Math.max(0, delayMs);
+        // 向上取整到刻度，保证不会早于截止时间执行
+        long targetTick = Math.max(nextTick, (deadline - startTime + tickMs - 1) / tickMs);
+        Timeout timeout = new Timeout(task, deadline,
+                (targetTick - nextTick) / buckets.size(), (int) (targetTick % buckets.size()));
+        buckets.get(timeout.bucket).add(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * 处理截至nowMs的所有刻度并执行到期任务
+     *
+     * @param nowMs 当前时间
+     * @return int 本次执行的任务数
+     * @since 1.0.0
+     */
+    public int advanceTo(long nowMs) {
+        List<Timeout> expired = new ArrayList<>();
+        synchronized (this) {
+            while (startTime + nextTick * tickMs <= nowMs) {
+                collect(buckets.get((int) (nextTick % buckets.size())), expired);
+                nextTick++;
+            }
+        }
+        // 释放锁后执行，任务里可以重新调度自己
+        for (Timeout timeout : expired) {
+            try {
+                timeout.task.run();
+            } catch (RuntimeException e) {
+                logger.warn("时间轮任务执行失败", e);
+            }
+        }
+        return expired.size();
+    }
+
+    /**
+     * 启动工作线程，按刻度推进时间轮
+     *
+     * @param name 线程名
+     * @since 1.0.0
+     */
+    public synchronized void start(String name) {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * 停止工作线程，未到期的任务不再执行
+     *
+     * @since 1.0.0
+     */
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = worker;
+            worker = null;
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void run() {
+        while (running) {
+            long now = clock.getAsLong();
+            advanceTo(now);
+            long nextTickTime;
+            synchronized (this) {
+                nextTickTime = startTime + nextTick * tickMs;
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(Math.max(1, nextTickTime - clock.getAsLong()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void collect(Set<Timeout> bucket, List<Timeout> expired) {
+        Iterator<Timeout> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout timeout = iterator.next();
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+                continue;
+            }
+            iterator.remove();
+            size--;
+            timeout.expired = true;
+            expired.add(timeout);
+        }
+    }
+
+    /**
+     * 已调度任务的句柄
+     *
+     * @since 1.0.0
+     */
+    public final class Timeout {
+
+        private final Runnable task;
+        private final long deadline;
+        private final int bucket;
+        private long remainingRounds;
+        private boolean expired;
+
+        private Timeout(Runnable task, long deadline, long remainingRounds, int bucket) {
+            this.task = task;
+            this.deadline = deadline;
+            this.remainingRounds = remainingRounds;
+            this.bucket = bucket;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * 取消未到期的任务
+         *
+         * @return boolean 任务已到期或已取消时返回false
+         * @since 1.0.0
+         */
+        public boolean cancel() {
+            synchronized (HashedTimingWheel.this) {
+                if (expired || !buckets.get(bucket).remove(this)) {
+                    return false;
+                }
+                size--;
+                return true;
+            }
+        }
+    }
+}
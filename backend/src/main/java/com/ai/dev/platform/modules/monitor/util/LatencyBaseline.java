@@ -0,0 +1,122 @@
+package com.ai.dev.platform.modules.monitor.util;
+
+/**
+ * 单个监控的响应时间基线
+ *
+ * <p>对ln(1+响应时间)维护指数加权的均值和方差：
+ * <ul>
+ *   <li>在对数空间比较，30毫秒的CDN和2秒的报表接口用同一个z值判断偏离，右偏的延迟分布也更接近正态</li>
+ *   <li>每次更新O(1)，只保存样本数、均值和方差三个数</li>
+ *   <li>样本不足1/alpha时按算术平均更新，避免前几个样本权重过低</li>
+ *   <li>更新前把样本截断到当前的偏离上限，偶发的尖刺只能把基线推高有限的幅度，持续的变化仍会逐步被吸收</li>
+ * </ul>
+ *
+ * <p>实例不是线程安全的，由调用方加锁。
+ *
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class LatencyBaseline {
+
+    private long samples;
+
+    private double mean;
+
+    private double variance;
+
+    public LatencyBaseline() {
+    }
+
+    public LatencyBaseline(long samples, double mean, double variance) {
+        this.samples = Math.max(0, samples);
+        this.mean = mean;
+        this.variance = Math.max(0, variance);
+    }
+
+    /**
+     * 用一次成功探测的响应时间更新基线
+     *
+     * @param latencyMs 响应时间（毫秒），负值忽略
+     * @param alpha 平滑系数，取值(0, 1]，越大越快跟随变化
+     * @param zThreshold 判定偏离的z值，用于截断尖刺
+     * @param minLogStddev 对数标准差的下限
+     * @since 1.0.0
+     */
+    public void update(long latencyMs, double alpha, double zThreshold, double minLogStddev) {
+        if (latencyMs < 0) {
+            return;
+        }
+        double x = Math.log1p(latencyMs);
+        if (samples == 0) {
+            mean = x;
+            variance = 0;
+        } else {
+            x = Math.min(x, mean + zThreshold * stddev(minLogStddev));
+            double weight = Math.max(alpha, 1.0 / (samples + 1));
+            double diff = x - mean;
+            double increment = weight * diff;
+            mean += increment;
+            variance = (1 - weight) * (variance + diff * increment);
+        }
+        samples++;
+    }
+
+    /**
+     * 响应时间是否显著慢于基线
+     *
+     * <p>同时满足两个条件才算慢：对数空间偏离超过zThreshold个标准差，
+     * 且比期望响应时间至少慢minDeviationMs毫秒，避免极稳定的快接口因几毫秒的波动被判为慢。
+     *
+     * @param latencyMs 响应时间（毫秒）
+     * @param zThreshold 判定偏离的z值
+     * @param minLogStddev 对数标准差的下限
+     * @param minDeviationMs 最小绝对偏离（毫秒）
+     * @return boolean 是否慢响应，没有样本时返回false
+     * @since 1.0.0
+     */
+    public boolean isSlow(long latencyMs, double zThreshold, double minLogStddev, long minDeviationMs) {
+        if (samples == 0 || latencyMs < 0) {
+            return false;
+        }
+        return latencyMs > Math.max(thresholdMs(zThreshold, minLogStddev), expectedMs() + minDeviationMs);
+    }
+
+    /**
+     * 期望响应时间（对数均值换算回毫秒，即几何平均）
+     *
+     * @return long 响应时间（毫秒）
+     * @since 1.0.0
+     */
+    public long expectedMs() {
+        return Math.round(Math.expm1(mean));
+    }
+
+    /**
+     * 偏离zThreshold个标准差对应的响应时间
+     *
+     * @param zThreshold 判定偏离的z值
+     * @param minLogStddev 对数标准差的下限
+     * @return long 响应时间（毫秒）
+     * @since 1.0.0
+     */
+    public long thresholdMs(double zThreshold, double minLogStddev) {
+        return Math.round(Math.expm1(mean + zThreshold * stddev(minLogStddev)));
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getVariance() {
+        return variance;
+    }
+
+    private double stddev(double minLogStddev) {
+        return Math.max(Math.sqrt(variance), minLogStddev);
+    }
+}
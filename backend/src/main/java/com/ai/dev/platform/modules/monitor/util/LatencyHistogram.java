@@ -0,0 +1,192 @@
+package com.ai.dev.platform.modules.monitor.util;
+
+import java.util.Arrays;
+
+/**
+ * 对数分桶的延迟直方图
+ *
+ * <p>参照HdrHistogram的分桶方式，按毫秒记录延迟：
+ * <ul>
+ *   <li>小于64的值每个值一个桶；更大的值按2的幂分段，每段再等分为32个桶，相对误差不超过1/32</li>
+ *   <li>桶数固定为{@link #BUCKET_COUNT}，超过{@link #MAX_VALUE}的值计入最后一个桶</li>
+ *   <li>记录只是一次数组自增，不分配对象</li>
+ *   <li>桶的划分与数据无关，任意两个直方图可以逐桶相加合并，跨时间桶、跨监控的合并结果与一次性记录相同</li>
+ * </ul>
+ *
+ * <p>持久化时只保存非空桶，编码为(桶序号, 次数)交替排列的long数组。
+ * 实例不是线程安全的，并发记录需要调用方加锁。
+ *
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class LatencyHistogram {
+
+    /**
+     * 每段的子桶数为2^(SUB_BUCKET_BITS-1)
+     *
+     * @since 1.0.0
+     */
+    private static final int SUB_BUCKET_BITS = 6;
+
+    private static final int SUB_BUCKET_HALF = 1 << (SUB_BUCKET_BITS - 1);
+
+    private static final int LINEAR_LIMIT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * 可区分的最大延迟（毫秒），约35分钟，远大于探测超时
+     *
+     * @since 1.0.0
+     */
+    public static final long MAX_VALUE = (1L << 21) - 1;
+
+    /**
+     * 桶的总数
+     *
+     * @since 1.0.0
+     */
+    public static final int BUCKET_COUNT = indexOf(MAX_VALUE) + 1;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+
+    private long totalCount;
+
+    private long maxValue;
+
+    /**
+     * 记录一次延迟，负值忽略
+     *
+     * @param valueMs 延迟（毫秒）
+     * @since 1.0.0
+     */
+    public void record(long valueMs) {
+        if (valueMs < 0) {
+            return;
+        }
+        counts[indexOf(Math.min(valueMs, MAX_VALUE))]++;
+        totalCount++;
+        if (valueMs > maxValue) {
+            maxValue = valueMs;
+        }
+    }
+
+    /**
+     * 把另一个直方图逐桶加到当前直方图
+     *
+     * @param other 待合并的直方图
+     * @since 1.0.0
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        maxValue = Math.max(maxValue, other.maxValue);
+    }
+
+    /**
+     * 合并稀疏编码的直方图，格式非法的部分忽略
+     *
+     * @param sparse (桶序号, 次数)交替排列的数组
+     * @since 1.0.0
+     */
+    public void addSparse(long[] sparse) {
+        if (sparse == null) {
+            return;
+        }
+        for (int i = 0; i + 1 < sparse.length; i += 2) {
+            long index = sparse[i];
+            long count = sparse[i + 1];
+            if (index < 0 || index >= BUCKET_COUNT || count <= 0) {
+                continue;
+            }
+            counts[(int) index] += count;
+            totalCount += count;
+            maxValue = Math.max(maxValue, highestEquivalentValue((int) index));
+        }
+    }
+
+    /**
+     * 编码为只包含非空桶的稀疏数组
+     *
+     * @return long[] (桶序号, 次数)交替排列的数组
+     * @since 1.0.0
+     */
+    public long[] toSparse() {
+        int nonEmpty = 0;
+        for (long count : counts) {
+            if (count > 0) {
+                nonEmpty++;
+            }
+        }
+        long[] sparse = new long[nonEmpty * 2];
+        int position = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (counts[i] > 0) {
+                sparse[position++] = i;
+                sparse[position++] = counts[i];
+            }
+        }
+        return sparse;
+    }
+
+    /**
+     * 第percentile百分位的延迟，返回所在桶的上界，没有数据时返回0
+     *
+     * @param percentile 百分位，取值0-100
+     * @return long 延迟（毫秒）
+     * @since 1.0.0
+     */
+    public long valueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double clamped = Math.min(100, Math.max(0, percentile));
+        long target = Math.max(1, (long) Math.ceil(clamped / 100 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestEquivalentValue(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMaxValue() {
+        return maxValue;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        maxValue = 0;
+    }
+
+    /**
+     * 延迟值对应的桶序号
+     */
+    static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return (shift + 1) * SUB_BUCKET_HALF + (int) (value >> shift) - SUB_BUCKET_HALF;
+    }
+
+    /**
+     * 桶内的最大延迟值
+     */
+    static long highestEquivalentValue(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_HALF - 1;
+        long base = (long) (index - shift * SUB_BUCKET_HALF) << shift;
+        return base + (1L << shift) - 1;
+    }
+}
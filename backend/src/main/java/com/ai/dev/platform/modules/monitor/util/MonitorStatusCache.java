@@ -0,0 +1,134 @@
+package com.ai.dev.platform.modules.monitor.util;
+
+import com.ai.dev.platform.modules.monitor.dto.MonitorStatus;
+import com.ai.dev.platform.modules.monitor.entity.Monitor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 监控状态缓存与待写队列
+ *
+ * <p>探测结果先写入内存，只有状态变化才需要落库：
+ * <ul>
+ *   <li>每个监控保存最近一次探测的状态和响应时间，查询监控列表时覆盖数据库中的旧值</li>
+ *   <li>状态与最近一次交给数据库的状态不同时放入待写队列，同一监控只保留最新的一条</li>
+ *   <li>状态没变的探测只更新缓存，不产生UPDATE</li>
+ *   <li>写库失败的记录放回队列，队列里已有更新的记录时以新记录为准</li>
+ * </ul>
+ *
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class MonitorStatusCache {
+
+    /**
+     * 最近一次探测的状态，键为监控ID
+     *
+     * @since 1.0.0
+     */
+    private final Map<Long, MonitorStatus> latest = new ConcurrentHashMap<>();
+
+    /**
+     * 最近一次交给数据库（已写入或在队列中）的状态，键为监控ID
+     *
+     * @since 1.0.0
+     */
+    private final Map<Long, String> written = new ConcurrentHashMap<>();
+
+    /**
+     * 待写入数据库的状态，键为监控ID
+     *
+     * @since 1.0.0
+     */
+    private final Map<Long, MonitorStatus> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 记录一次探测后的状态
+     *
+     * @param status 探测后的状态
+     * @param persistedStatus 数据库中的状态，监控第一次出现时作为比较基准
+     * @return boolean 状态有变化、需要写库时返回true
+     * @since 1.0.0
+     */
+    public boolean update(MonitorStatus status, String persistedStatus) {
+        Long id = status.monitorId();
+        latest.put(id, status);
+        String previous = written.computeIfAbsent(id, key -> persistedStatus != null ? persistedStatus : "");
+        if (previous.equals(status.status())) {
+            return false;
+        }
+        written.put(id, status.status());
+        pending.put(id, status);
+        return true;
+    }
+
+    /**
+     * 取出所有待写入的状态
+     *
+     * @return List<MonitorStatus> 待写入的状态
+     * @since 1.0.0
+     */
+    public List<MonitorStatus> drain() {
+        List<MonitorStatus> rows = new ArrayList<>();
+        for (Long id : List.copyOf(pending.keySet())) {
+            MonitorStatus row = pending.remove(id);
+            if (row != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * 写库失败后放回队列
+     *
+     * @param rows 未能写入的状态
+     * @since 1.0.0
+     */
+    public void requeue(List<MonitorStatus> rows) {
+        for (MonitorStatus row : rows) {
+            if (latest.containsKey(row.monitorId())) {
+                pending.putIfAbsent(row.monitorId(), row);
+            }
+        }
+    }
+
+    /**
+     * 用缓存中的最新状态覆盖监控对象
+     *
+     * @param monitor 从数据库读出的监控
+     * @since 1.0.0
+     */
+    public void apply(Monitor monitor) {
+        MonitorStatus status = monitor.getId() != null ? latest.get(monitor.getId()) : null;
+        if (status != null) {
+            monitor.setStatus(status.status());
+            monitor.setResponseTime(status.responseTime());
+            monitor.setUpdateTime(status.checkTime());
+        }
+    }
+
+    public MonitorStatus get(Long monitorId) {
+        return latest.get(monitorId);
+    }
+
+    /**
+     * 监控删除后清除缓存和待写记录
+     *
+     * @param monitorId 监控ID
+     * @since 1.0.0
+     */
+    public void remove(Long monitorId) {
+        latest.remove(monitorId);
+        written.remove(monitorId);
+        pending.remove(monitorId);
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+}
@@ -0,0 +1,234 @@
+package com.ai.dev.platform.modules.monitor.util;
+
+import com.ai.dev.platform.common.CircuitBreaker;
+import com.ai.dev.platform.common.CircuitBreakerRegistry;
+import com.ai.dev.platform.common.HostUnavailableException;
+import com.ai.dev.platform.modules.monitor.dto.ProbeResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 并发探测引擎
+ *
+ * <p>基于共享HttpClient的异步请求并发探测一批URL：
+ * <ul>
+ *   <li>同时进行中的探测数不超过maxInFlight，达到上限时等待已有探测完成再发出新的</li>
+ *   <li>每个探测都有严格的截止时间，超时即判定失败，不会拖住整个周期</li>
+ *   <li>收到响应头即记录耗时并关闭连接，不读取响应体</li>
+ *   <li>按目标主机经{@link CircuitBreaker}放行，熔断中的主机直接判定失败；探测使用独立的熔断器集合，
+ *       默认只按失败率熔断，响应慢但成功的地址交给基线判定</li>
+ * </ul>
+ *
+ * <p>等待响应期间不占用线程，一个周期的耗时约等于最慢的单个探测。
+ * 进行中的探测数上限由所有调用方共享。
+ *
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Component
+public class ProbeEngine {
+
+    /**
+     * 日志记录器实例
+     *
+     * @since 1.0.0
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ProbeEngine.class);
+
+    /**
+     * 截止时间之外额外等待的余量，覆盖回调调度的延迟
+     *
+     * @since 1.0.0
+     */
+    private static final long COMPLETION_MARGIN_MS = 1_000;
+
+    /**
+     * 共享的出站HttpClient
+     *
+     * @since 1.0.0
+     */
+    private final HttpClient httpClient;
+
+    /**
+     * 按主机的熔断器
+     *
+     * @since 1.0.0
+     */
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    /**
+     * 进行中探测的名额，总数为maxInFlight
+     *
+     * @since 1.0.0
+     */
+    private final Semaphore inFlight;
+
+    /**
+     * 单个探测的截止时间（毫秒）
+     *
+     * @since 1.0.0
+     */
+    private final long timeoutMs;
+
+    public ProbeEngine(HttpClient outboundHttpClient,
+                       @Qualifier("probeCircuitBreakerRegistry") CircuitBreakerRegistry circuitBreakerRegistry,
+                       @Value("${monitor.probe.max-in-flight:200}") int maxInFlight,
+                       @Value("${monitor.probe.timeout-ms:10000}") long timeoutMs) {
+        this.httpClient = outboundHttpClient;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.inFlight = new Semaphore(Math.max(1, maxInFlight));
+        this.timeoutMs = Math.max(1, timeoutMs);
+    }
+
+    /**
+     * 并发探测一批URL
+     *
+     * <p>返回结果与输入顺序一一对应；所有探测完成或超过截止时间后返回。
+     *
+     * @param urls 待探测的URL
+     * @return List<ProbeResult> 探测结果
+     * @since 1.0.0
+     */
+    public List<ProbeResult> probeAll(List<String> urls) {
+        ProbeResult[] results = new ProbeResult[urls.size()];
+        List<CompletableFuture<Void>> pending = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            int index = i;
+            CompletableFuture<ProbeResult> probe;
+            try {
+                probe = submit(urls.get(i));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            pending.add(probe.thenAccept(result -> results[index] = result));
+        }
+        awaitAll(pending);
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = ProbeResult.down(0, "探测未在截止时间内完成");
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * 发出单个探测，不等待结果
+     *
+     * <p>所有调用方共享进行中的探测数上限，达到上限时阻塞到有探测完成为止。
+     *
+     * @param url 待探测的URL
+     * @return CompletableFuture<ProbeResult> 探测结果，不会异常完成
+     * @throws InterruptedException 等待空闲名额时被中断
+     * @since 1.0.0
+     */
+    public CompletableFuture<ProbeResult> submit(String url) throws InterruptedException {
+        inFlight.acquire();
+        CompletableFuture<ProbeResult> probe;
+        try {
+            probe = probe(url);
+        } catch (RuntimeException e) {
+            probe = CompletableFuture.completedFuture(ProbeResult.down(0, e.getMessage()));
+        }
+        return probe.whenComplete((result, error) -> inFlight.release());
+    }
+
+    /**
+     * 异步探测单个URL，返回的future不会异常完成
+     *
+     * @param url 待探测的URL
+     * @return CompletableFuture<ProbeResult> 探测结果
+     * @since 1.0.0
+     */
+    CompletableFuture<ProbeResult> probe(String url) {
+        URI uri = URI.create(url);
+        if (uri.getHost() == null) {
+            return CompletableFuture.completedFuture(ProbeResult.down(0, "无效的监控地址：" + url));
+        }
+        CircuitBreaker breaker = circuitBreakerRegistry.get(uri.getHost());
+        try {
+            breaker.acquirePermission();
+        } catch (HostUnavailableException e) {
+            return CompletableFuture.completedFuture(
+                    e.getReason() == HostUnavailableException.Reason.BULKHEAD_FULL
+                            ? ProbeResult.skipped(e.getMessage())
+                            : ProbeResult.down(0, e.getMessage()));
+        }
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(timeoutMs))
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<InputStream>> response;
+        try {
+            response = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (RuntimeException e) {
+            breaker.release();
+            return CompletableFuture.completedFuture(ProbeResult.down(0, describe(e)));
+        }
+        return response
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .handle((result, error) -> {
+                    int latencyMs = (int) TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    if (error != null) {
+                        breaker.onComplete(latencyMs, true);
+                        return ProbeResult.down(0, describe(error));
+                    }
+                    closeQuietly(result.body());
+                    int statusCode = result.statusCode();
+                    breaker.onComplete(latencyMs, statusCode >= 500);
+                    return statusCode < 400
+                            ? new ProbeResult(ProbeResult.Status.UP, statusCode, latencyMs, null)
+                            : ProbeResult.down(statusCode, "HTTP " + statusCode);
+                });
+    }
+
+    private void awaitAll(List<CompletableFuture<Void>> pending) {
+        try {
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture[0]))
+                    .get(timeoutMs + COMPLETION_MARGIN_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("部分探测未在截止时间内完成", e);
+        }
+    }
+
+    private static String describe(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof HttpTimeoutException || cause instanceof TimeoutException) {
+            return "探测超时";
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    private static void closeQuietly(InputStream body) {
+        try {
+            // 只关心状态码，关闭响应体让连接立即结束
+            body.close();
+        } catch (IOException ignored) {
+            // 连接已断开
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.ai.dev.platform.modules.monitor.util;
+
+import com.ai.dev.platform.modules.monitor.dto.CheckResolution;
+import com.ai.dev.platform.modules.monitor.dto.RollupSegment;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按汇总粒度拆分查询时间窗口
+ *
+ * <p>可用率、延迟分位数等窗口统计都只读汇总数据，
+ * 窗口越长读取的粒度越粗，读取的行数与窗口长度基本无关。
+ *
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class RollupPlanner {
+
+    private RollupPlanner() {
+    }
+
+    /**
+     * 把[from, to)拆成按粒度读取的时间段：中间的整天读1d，两端的整小时读1h，剩余的分钟读1m；
+     * 细粒度在边界处已过保留期时，该边界改读外层粗粒度，按重叠时长计权
+     */
+    public static List<RollupSegment> plan(LocalDateTime from, LocalDateTime to, LocalDateTime now,
+                                    Map<CheckResolution, Integer> retentionDays) {
+        List<RollupSegment> segments = new ArrayList<>();
+        if (from.isBefore(to)) {
+            split(from, to, CheckResolution.DAY, now, retentionDays, segments);
+        }
+        return segments;
+    }
+
+    private static void split(LocalDateTime from, LocalDateTime to, CheckResolution resolution, LocalDateTime now,
+                              Map<CheckResolution, Integer> retentionDays, List<RollupSegment> segments) {
+        CheckResolution finer = finer(resolution);
+        if (finer == null) {
+            segments.add(new RollupSegment(resolution, from, to));
+            return;
+        }
+        LocalDateTime alignedFrom = resolution.truncate(from);
+        LocalDateTime innerFrom = alignedFrom.equals(from)
+                ? from : alignedFrom.plusSeconds(resolution.getBucketSeconds());
+        LocalDateTime innerTo = resolution.truncate(to);
+        if (innerFrom.isBefore(innerTo)) {
+            edge(from, innerFrom, resolution, now, retentionDays, segments);
+            segments.add(new RollupSegment(resolution, innerFrom, innerTo));
+            edge(innerTo, to, resolution, now, retentionDays, segments);
+        } else {
+            edge(from, to, resolution, now, retentionDays, segments);
+        }
+    }
+
+    private static void edge(LocalDateTime from, LocalDateTime to, CheckResolution outer, LocalDateTime now,
+                             Map<CheckResolution, Integer> retentionDays, List<RollupSegment> segments) {
+        if (!from.isBefore(to)) {
+            return;
+        }
+        CheckResolution finer = finer(outer);
+        int days = retentionDays.getOrDefault(finer, 0);
+        if (days <= 0 || !from.isBefore(now.minusDays(days))) {
+            split(from, to, finer, now, retentionDays, segments);
+        } else {
+            segments.add(new RollupSegment(outer, from, to));
+        }
+    }
+
+    private static CheckResolution finer(CheckResolution resolution) {
+        return switch (resolution) {
+            case DAY -> CheckResolution.HOUR;
+            case HOUR -> CheckResolution.MINUTE;
+            default -> null;
+        };
+    }
+}
@@ -10,6 +10,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * 项目管理控制器
  * 
@@ -19,6 +21,7 @@ import org.springframework.web.bind.annotation.*;
  *   <li>项目分页查询</li>
  *   <li>项目详情查询</li>
  *   <li>项目状态管理</li>
+ *   <li>项目成员管理</li>
  * </ul>
  * 
  * <p>该控制器提供完整的项目生命周期管理功能，支持：
@@ -50,16 +53,20 @@ public class ProjectController {
      *   <li>验证必填字段完整性</li>
      *   <li>设置默认项目状态</li>
      *   <li>记录创建时间和操作人</li>
+     *   <li>创建人登记为项目成员，接收项目级通知</li>
      * </ul>
      * 
      * @param project 项目实体对象
+     * @param currentUserId 当前登录用户ID，由认证过滤器写入请求属性
      * @return Result<Void> 操作结果，成功返回空数据，失败返回错误信息
      * @since 1.0.0
      */
-    @Operation(summary = "新增项目", description = "创建新的项目记录")
+    @Operation(summary = "新增项目", description = "创建新的项目记录，创建人登记为项目成员")
     @PostMapping("/add")
-    public Result<Void> add(@RequestBody Project project) {
-        boolean ok = projectService.save(project);
+    public Result<Void> add(@RequestBody Project project,
+                            @RequestAttribute(value = "currentUserId", required = false) Object currentUserId) {
+        Long creatorId = currentUserId instanceof Number number ? number.longValue() : null;
+        boolean ok = projectService.createProject(project, creatorId);
         if (!ok) return Result.error("新增失败");
         return Result.ok(null);
     }
@@ -161,4 +168,53 @@ public class ProjectController {
         Project project = projectService.getById(id);
         return Result.ok(project);
     }
+
+    /**
+     * 查询项目成员
+     * 
+     * <p>项目成员接收监控告警等项目级通知。
+     * 
+     * @param id 项目ID
+     * @return Result<List<Long>> 成员用户ID列表
+     * @since 1.0.0
+     */
+    @Operation(summary = "查询项目成员", description = "返回项目成员的用户ID，成员接收监控告警等项目级通知")
+    @GetMapping("/{id}/members")
+    public Result<List<Long>> members(@Parameter(description = "项目唯一标识") @PathVariable Long id) {
+        return Result.ok(projectService.listMemberUserIds(id));
+    }
+
+    /**
+     * 添加项目成员
+     * 
+     * @param id 项目ID
+     * @param userId 用户ID
+     * @return Result<Void> 操作结果，已是成员时返回错误信息
+     * @since 1.0.0
+     */
+    @Operation(summary = "添加项目成员", description = "登记项目成员，用户已是成员时不重复添加")
+    @PostMapping("/{id}/members/{userId}")
+    public Result<Void> addMember(@Parameter(description = "项目唯一标识") @PathVariable Long id,
+                                  @Parameter(description = "用户ID") @PathVariable Long userId) {
+        boolean ok = projectService.addMember(id, userId);
+        if (!ok) return Result.error("用户已是项目成员");
+        return Result.ok(null);
+    }
+
+    /**
+     * 移除项目成员
+     * 
+     * @param id 项目ID
+     * @param userId 用户ID
+     * @return Result<Void> 操作结果，不是成员时返回错误信息
+     * @since 1.0.0
+     */
+    @Operation(summary = "移除项目成员", description = "移除后该用户不再接收项目级通知")
+    @DeleteMapping("/{id}/members/{userId}")
+    public Result<Void> removeMember(@Parameter(description = "项目唯一标识") @PathVariable Long id,
+                                     @Parameter(description = "用户ID") @PathVariable Long userId) {
+        boolean ok = projectService.removeMember(id, userId);
+        if (!ok) return Result.error("用户不是项目成员");
+        return Result.ok(null);
+    }
 }
\ No newline at end of file
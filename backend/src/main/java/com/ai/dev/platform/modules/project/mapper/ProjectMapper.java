@@ -2,8 +2,29 @@ package com.ai.dev.platform.modules.project.mapper;
 
 import com.ai.dev.platform.modules.project.entity.Project;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
 
 @Mapper
 public interface ProjectMapper extends BaseMapper<Project> {
-}
\ No newline at end of file
+
+    /**
+     * 项目成员的用户ID
+     */
+    @Select("SELECT user_id FROM project_member WHERE project_id = #{projectId}")
+    List<Long> findMemberUserIds(@Param("projectId") Long projectId);
+
+    /**
+     * 登记项目成员，已是成员时不重复插入
+     */
+    @Insert("INSERT INTO project_member (project_id, user_id) VALUES (#{projectId}, #{userId}) ON CONFLICT DO NOTHING")
+    int insertMember(@Param("projectId") Long projectId, @Param("userId") Long userId);
+
+    @Delete("DELETE FROM project_member WHERE project_id = #{projectId} AND user_id = #{userId}")
+    int deleteMember(@Param("projectId") Long projectId, @Param("userId") Long userId);
+}
@@ -4,6 +4,12 @@ import com.ai.dev.platform.modules.project.entity.Project;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
 
+import java.util.List;
+
 public interface ProjectService extends IService<Project> {
     Page<Project> getProjectPage(Integer pageNum, Integer pageSize, String name, String status);
+    boolean createProject(Project project, Long creatorId);
+    List<Long> listMemberUserIds(Long projectId);
+    boolean addMember(Long projectId, Long userId);
+    boolean removeMember(Long projectId, Long userId);
 }
\ No newline at end of file
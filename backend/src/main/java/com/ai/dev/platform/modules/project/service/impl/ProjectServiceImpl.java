@@ -9,6 +9,8 @@ import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.util.List;
+
 @Service
 public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, Project> implements ProjectService {
     @Override
@@ -28,4 +30,29 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, Project> impl
         
         return this.page(page, wrapper);
     }
+
+    @Override
+    public boolean createProject(Project project, Long creatorId) {
+        boolean ok = this.save(project);
+        // 创建人登记为项目成员，项目级通知（如监控告警）默认发送给创建人
+        if (ok && creatorId != null) {
+            baseMapper.insertMember(project.getId(), creatorId);
+        }
+        return ok;
+    }
+
+    @Override
+    public List<Long> listMemberUserIds(Long projectId) {
+        return baseMapper.findMemberUserIds(projectId);
+    }
+
+    @Override
+    public boolean addMember(Long projectId, Long userId) {
+        return baseMapper.insertMember(projectId, userId) > 0;
+    }
+
+    @Override
+    public boolean removeMember(Long projectId, Long userId) {
+        return baseMapper.deleteMember(projectId, userId) > 0;
+    }
 }
\ No newline at end of file
@@ -97,6 +97,18 @@ public interface NotificationService extends IService<Notification> {
     Notification sendNotification(Long userId, String title, String content, String type, 
                                 String priority, String relatedType, Long relatedId);
     
+    /**
+     * 批量发送通知
+     * 
+     * <p>补齐未设置的类型、优先级、状态和创建时间后批量插入，
+     * 适合告警等一次产生多条通知的场景。
+     * 
+     * @param notifications 待发送的通知列表
+     * @return int 插入的通知数量
+     * @since 1.0.0
+     */
+    int sendNotifications(List<Notification> notifications);
+    
     /**
      * 发送系统通知
      * 
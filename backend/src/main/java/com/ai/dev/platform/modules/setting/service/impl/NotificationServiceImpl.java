@@ -97,6 +97,28 @@ public class NotificationServiceImpl extends ServiceImpl<NotificationMapper, Not
         }
     }
 
+    @Override
+    public int sendNotifications(List<Notification> notifications) {
+        if (notifications == null || notifications.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Notification notification : notifications) {
+            if (notification.getType() == null) {
+                notification.setType("info");
+            }
+            if (notification.getPriority() == null) {
+                notification.setPriority("medium");
+            }
+            notification.setStatus("unread");
+            notification.setIsRead(false);
+            if (notification.getCreateTime() == null) {
+                notification.setCreateTime(now);
+            }
+        }
+        return this.saveBatch(notifications) ? notifications.size() : 0;
+    }
+
     @Override
     public boolean sendSystemNotification(String title, String content, String type,
                                         String priority, List<Long> userIds) {
@@ -1,21 +1,31 @@
 package com.ai.dev.platform.modules.sync.controller;
 
 import com.ai.dev.platform.common.Result;
+import com.ai.dev.platform.modules.sync.dto.UpsertResult;
+import com.ai.dev.platform.modules.sync.dto.WebhookResult;
 import com.ai.dev.platform.modules.sync.entity.GitHubRepo;
 import com.ai.dev.platform.modules.sync.entity.GiteeRepo;
+import com.ai.dev.platform.modules.sync.entity.SyncJob;
 import com.ai.dev.platform.modules.sync.entity.SyncRecord;
+import com.ai.dev.platform.modules.sync.entity.SyncRecordDaily;
 import com.ai.dev.platform.modules.sync.service.DataSyncService;
 import com.ai.dev.platform.modules.sync.service.GitHubRepoService;
 import com.ai.dev.platform.modules.sync.service.GiteeRepoService;
+import com.ai.dev.platform.modules.sync.service.SyncJobService;
 import com.ai.dev.platform.modules.sync.service.SyncRecordService;
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.ai.dev.platform.modules.sync.service.SyncWebhookService;
+import com.ai.dev.platform.modules.sync.task.SyncOrchestrator;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Tag(name = "数据同步管理", description = "数据同步相关接口")
@@ -35,43 +45,121 @@ public class SyncController {
     @Autowired
     private SyncRecordService syncRecordService;
 
-    @Operation(summary = "手动触发GitHub同步")
+    @Autowired
+    private SyncJobService syncJobService;
+
+    @Autowired
+    private SyncWebhookService syncWebhookService;
+
+    @Autowired
+    private SyncOrchestrator syncOrchestrator;
+
+    @Operation(summary = "手动触发GitHub同步", description = "创建同步任务后立即返回任务ID，通过/sync/jobs/{id}查询进度")
     @PostMapping("/github")
-    public Result<Void> syncGitHub(
+    public Result<Long> syncGitHub(
             @Parameter(description = "GitHub用户名") @RequestParam String username,
             @Parameter(description = "GitHub访问令牌") @RequestParam(required = false) String accessToken) {
         try {
-            dataSyncService.syncGitHubRepos(username, accessToken);
-            return Result.ok(null);
+            return Result.ok(syncOrchestrator.enqueue("github", username, accessToken).getId());
         } catch (Exception e) {
             return Result.error("GitHub同步失败：" + e.getMessage());
         }
     }
 
-    @Operation(summary = "手动触发Gitee同步")
+    @Operation(summary = "手动触发Gitee同步", description = "创建同步任务后立即返回任务ID，通过/sync/jobs/{id}查询进度")
     @PostMapping("/gitee")
-    public Result<Void> syncGitee(
+    public Result<Long> syncGitee(
             @Parameter(description = "Gitee用户名") @RequestParam String username,
             @Parameter(description = "Gitee访问令牌") @RequestParam(required = false) String accessToken) {
         try {
-            dataSyncService.syncGiteeRepos(username, accessToken);
-            return Result.ok(null);
+            return Result.ok(syncOrchestrator.enqueue("gitee", username, accessToken).getId());
         } catch (Exception e) {
             return Result.error("Gitee同步失败：" + e.getMessage());
         }
     }
 
-    @Operation(summary = "手动触发全量同步")
+    @Operation(summary = "手动触发全量同步", description = "为所有启用的同步配置创建同步任务，返回任务数")
     @PostMapping("/all")
-    public Result<Void> syncAll() {
+    public Result<Integer> syncAll() {
         try {
-            dataSyncService.syncAll();
-            return Result.ok(null);
+            return Result.ok(syncOrchestrator.enqueueAllAccounts());
         } catch (Exception e) {
             return Result.error("全量同步失败：" + e.getMessage());
         }
     }
 
+    @Operation(summary = "手动触发全量对账", description = "忽略增量水位，对指定数据源（为空时全部）的账号重新全量同步，返回任务数")
+    @PostMapping("/full")
+    public Result<Integer> syncFull(
+            @Parameter(description = "数据源") @RequestParam(required = false) String source) {
+        try {
+            dataSyncService.requestFullSync(source);
+            return Result.ok(syncOrchestrator.enqueueAllAccounts(source));
+        } catch (Exception e) {
+            return Result.error("全量对账失败：" + e.getMessage());
+        }
+    }
+
+    @Operation(summary = "批量刷新GitHub仓库元数据", description = "按仓库所属同步账号的令牌分组，通过GraphQL每次查询100个已入库仓库，GraphQL不可用时回退REST")
+    @PostMapping("/github/refresh")
+    public Result<UpsertResult> refreshGitHubRepos(
+            @Parameter(description = "没有对应同步账号的仓库使用的GitHub访问令牌") @RequestParam(required = false) String accessToken) {
+        try {
+            return Result.ok(dataSyncService.refreshGitHubRepos(accessToken));
+        } catch (Exception e) {
+            return Result.error("刷新GitHub仓库失败：" + e.getMessage());
+        }
+    }
+
+    @Operation(summary = "查询同步任务", description = "返回任务状态和检查点进度")
+    @GetMapping("/jobs/{id}")
+    public Result<SyncJob> getSyncJob(@Parameter(description = "任务ID") @PathVariable Long id) {
+        SyncJob job = syncJobService.getById(id);
+        if (job == null) {
+            return Result.error("同步任务不存在");
+        }
+        return Result.ok(job);
+    }
+
+    @Operation(summary = "GitHub Webhook接收", description = "校验X-Hub-Signature-256签名，按X-GitHub-Delivery去重后返回202，后台重新获取对应仓库")
+    @PostMapping("/webhook/github")
+    public ResponseEntity<Result<String>> gitHubWebhook(
+            @RequestHeader(value = "X-GitHub-Event", required = false) String event,
+            @RequestHeader(value = "X-GitHub-Delivery", required = false) String deliveryId,
+            @RequestHeader(value = "X-Hub-Signature-256", required = false) String signature,
+            @RequestBody byte[] payload) {
+        try {
+            return toWebhookResponse(syncWebhookService.handleGitHub(event, deliveryId, signature, payload));
+        } catch (Exception e) {
+            // 返回5xx让GitHub按策略重试投递
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Result.error("Webhook处理失败：" + e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Gitee Webhook接收", description = "校验X-Gitee-Token签名（密码模式需配置开启）与时间戳，去重后返回202，后台重新获取对应仓库")
+    @PostMapping("/webhook/gitee")
+    public ResponseEntity<Result<String>> giteeWebhook(
+            @RequestHeader(value = "X-Gitee-Event", required = false) String event,
+            @RequestHeader(value = "X-Gitee-Token", required = false) String token,
+            @RequestHeader(value = "X-Gitee-Timestamp", required = false) String timestamp,
+            @RequestBody byte[] payload) {
+        try {
+            return toWebhookResponse(syncWebhookService.handleGitee(event, token, timestamp, payload));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Result.error("Webhook处理失败：" + e.getMessage()));
+        }
+    }
+
+    private ResponseEntity<Result<String>> toWebhookResponse(WebhookResult result) {
+        if (result.outcome() == WebhookResult.Outcome.UNAUTHORIZED) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Result.error(result.message()));
+        }
+        if (result.outcome() == WebhookResult.Outcome.ACCEPTED) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(Result.ok("accepted：" + result.message()));
+        }
+        return ResponseEntity.ok(Result.ok(result.outcome().name().toLowerCase() + "：" + result.message()));
+    }
+
     @Operation(summary = "获取GitHub仓库列表")
     @GetMapping("/github/repos")
     public Result<List<GitHubRepo>> getGitHubRepos(
@@ -93,16 +181,22 @@ public class SyncController {
     @Operation(summary = "获取同步记录")
     @GetMapping("/records")
     public Result<List<SyncRecord>> getSyncRecords(
-            @Parameter(description = "页码") @RequestParam(defaultValue = "1") Integer pageNum,
             @Parameter(description = "每页大小") @RequestParam(defaultValue = "10") Integer pageSize,
-            @Parameter(description = "数据源") @RequestParam(required = false) String source) {
-        Page<SyncRecord> page = new Page<>(pageNum, pageSize);
-        LambdaQueryWrapper<SyncRecord> wrapper = new LambdaQueryWrapper<>();
-        if (source != null && !source.isEmpty()) {
-            wrapper.eq(SyncRecord::getSource, source);
-        }
-        wrapper.orderByDesc(SyncRecord::getSyncTime);
-        return Result.ok(syncRecordService.page(page, wrapper).getRecords());
+            @Parameter(description = "数据源") @RequestParam(required = false) String source,
+            @Parameter(description = "上一页最后一条记录的同步时间") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeTime,
+            @Parameter(description = "上一页最后一条记录的ID") @RequestParam(required = false) Long beforeId) {
+        int limit = Math.min(Math.max(pageSize, 1), 200);
+        return Result.ok(syncRecordService.listRecords(source != null && !source.isEmpty() ? source : null,
+                beforeTime, beforeId, limit));
+    }
+
+    @Operation(summary = "获取同步每日汇总")
+    @GetMapping("/records/daily")
+    public Result<List<SyncRecordDaily>> getSyncRecordDaily(
+            @Parameter(description = "数据源") @RequestParam(required = false) String source,
+            @Parameter(description = "天数") @RequestParam(defaultValue = "30") Integer days) {
+        return Result.ok(syncRecordService.listDaily(source, Math.min(Math.max(days, 1), 366)));
     }
 
     @Operation(summary = "删除GitHub仓库")
@@ -0,0 +1,31 @@
+package com.ai.dev.platform.modules.sync.dto;
+
+/**
+ * 仓库拉取统计
+ *
+ * <p>记录一次分页拉取过程中的请求页数、条件请求缓存命中次数、
+ * 304未修改次数以及实际接收和节省的字节数。
+ * 拉取过程中还会记录当前页的下一页地址，供断点续传保存检查点。
+ */
+public class FetchStats {
+    private int pages;
+    private int cacheHits;
+    private int notModified;
+    private long bytesReceived;
+    private long bytesSaved;
+    private String nextUrl;
+
+    public void incrementPages() { pages++; }
+    public void incrementCacheHits() { cacheHits++; }
+    public void incrementNotModified() { notModified++; }
+    public void addBytesReceived(long bytes) { bytesReceived += bytes; }
+    public void addBytesSaved(long bytes) { bytesSaved += bytes; }
+    public void setNextUrl(String nextUrl) { this.nextUrl = nextUrl; }
+
+    public int getPages() { return pages; }
+    public int getCacheHits() { return cacheHits; }
+    public int getNotModified() { return notModified; }
+    public long getBytesReceived() { return bytesReceived; }
+    public long getBytesSaved() { return bytesSaved; }
+    public String getNextUrl() { return nextUrl; }
+}
@@ -0,0 +1,34 @@
+package com.ai.dev.platform.modules.sync.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 一次同步运行的句柄
+ *
+ * <p>开始同步时创建，贯穿整个同步过程；同步记录以runId为键原地更新，
+ * 同时累计写库阶段耗时，结束时据此拆分拉取和写库两个阶段的耗时。
+ */
+public class SyncRun {
+    private final String runId = UUID.randomUUID().toString();
+    private final String source;
+    private final String repoName;
+    private final LocalDateTime startTime = LocalDateTime.now();
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong writeNanos = new AtomicLong();
+
+    public SyncRun(String source, String repoName) {
+        this.source = source;
+        this.repoName = repoName;
+    }
+
+    public void addWriteNanos(long nanos) { writeNanos.addAndGet(nanos); }
+
+    public String getRunId() { return runId; }
+    public String getSource() { return source; }
+    public String getRepoName() { return repoName; }
+    public LocalDateTime getStartTime() { return startTime; }
+    public long getElapsedMs() { return (System.nanoTime() - startNanos) / 1_000_000; }
+    public long getWriteMs() { return writeNanos.get() / 1_000_000; }
+}
@@ -0,0 +1,66 @@
+package com.ai.dev.platform.modules.sync.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量写入结果
+ *
+ * <p>统计一次批量upsert中新插入、实际更新、内容未变化而跳过的行数，
+ * 以及同一批中因repo_id重复而合并掉的行数，四者之和等于传入的行数。
+ * 可通过{@link #add(UpsertResult)}跨分页累加。
+ * 另记录实际提交写库的仓库ID，供后续只处理有变化的仓库，不对外输出。
+ */
+public class UpsertResult {
+    private int inserted;
+    private int updated;
+    private int unchanged;
+    private int deduped;
+    private final List<Long> changedRepoIds = new ArrayList<>();
+
+    public UpsertResult() {}
+
+    public UpsertResult(int inserted, int updated, int unchanged) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.unchanged = unchanged;
+    }
+
+    public UpsertResult(int inserted, int updated, int unchanged, int deduped) {
+        this(inserted, updated, unchanged);
+        this.deduped = deduped;
+    }
+
+    public UpsertResult add(UpsertResult other) {
+        if (other != null) {
+            this.inserted += other.inserted;
+            this.updated += other.updated;
+            this.unchanged += other.unchanged;
+            this.deduped += other.deduped;
+            this.changedRepoIds.addAll(other.changedRepoIds);
+        }
+        return this;
+    }
+
+    public int getTotal() { return inserted + updated + unchanged + deduped; }
+
+    public int getInserted() { return inserted; }
+    public int getUpdated() { return updated; }
+    public int getUnchanged() { return unchanged; }
+    public int getDeduped() { return deduped; }
+
+    public UpsertResult addChanged(Long repoId) {
+        changedRepoIds.add(repoId);
+        return this;
+    }
+
+    @JsonIgnore
+    public List<Long> getChangedRepoIds() { return changedRepoIds; }
+
+    @Override
+    public String toString() {
+        return "inserted=" + inserted + ", updated=" + updated + ", unchanged=" + unchanged + ", deduped=" + deduped;
+    }
+}
@@ -0,0 +1,24 @@
+package com.ai.dev.platform.modules.sync.dto;
+
+/**
+ * Webhook处理结果
+ */
+public record WebhookResult(Outcome outcome, String message) {
+
+    public enum Outcome {
+        /** 已应用到仓库数据 */
+        APPLIED,
+        /** 已接受，后台重新获取仓库 */
+        ACCEPTED,
+        /** 签名校验失败 */
+        UNAUTHORIZED,
+        /** 重复投递，已忽略 */
+        DUPLICATE,
+        /** 与仓库数据无关的事件，已忽略 */
+        IGNORED
+    }
+
+    public static WebhookResult of(Outcome outcome, String message) {
+        return new WebhookResult(outcome, message);
+    }
+}
@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
 
 @TableName("gitee_repo")
 @Schema(description = "Gitee仓库实体")
-public class GiteeRepo {
+public class GiteeRepo implements SyncedRepo {
 
     @TableId(type = IdType.AUTO)
     @Schema(description = "仓库唯一标识")
@@ -42,6 +42,9 @@ public class GiteeRepo {
     @Schema(description = "Gitee仓库最后更新时间")
     private LocalDateTime updatedAt;
 
+    @Schema(description = "内容指纹，用于跳过未变化的仓库")
+    private String contentHash;
+
     @Schema(description = "创建时间")
     private LocalDateTime createTime;
 
@@ -143,4 +146,12 @@ public class GiteeRepo {
     public void setUpdateTime(LocalDateTime updateTime) {
         this.updateTime = updateTime;
     }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
 }
@@ -0,0 +1,135 @@
+package com.ai.dev.platform.modules.sync.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@TableName("repo_commit")
+@Schema(description = "仓库提交记录实体")
+public class RepoCommit {
+
+    @TableId(type = IdType.AUTO)
+    @Schema(description = "提交记录唯一标识")
+    private Long id;
+
+    @Schema(description = "数据源（github/gitee）")
+    private String source;
+
+    @Schema(description = "仓库ID")
+    private Long repoId;
+
+    @Schema(description = "仓库全名")
+    private String repoName;
+
+    @Schema(description = "提交SHA")
+    private String sha;
+
+    @Schema(description = "作者名称")
+    private String authorName;
+
+    @Schema(description = "作者邮箱")
+    private String authorEmail;
+
+    @Schema(description = "作者平台账号")
+    private String authorLogin;
+
+    @Schema(description = "提交说明")
+    private String message;
+
+    @Schema(description = "提交时间")
+    private LocalDateTime committedAt;
+
+    @Schema(description = "创建时间")
+    private LocalDateTime createTime;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public Long getRepoId() {
+        return repoId;
+    }
+
+    public void setRepoId(Long repoId) {
+        this.repoId = repoId;
+    }
+
+    public String getRepoName() {
+        return repoName;
+    }
+
+    public void setRepoName(String repoName) {
+        this.repoName = repoName;
+    }
+
+    public String getSha() {
+        return sha;
+    }
+
+    public void setSha(String sha) {
+        this.sha = sha;
+    }
+
+    public String getAuthorName() {
+        return authorName;
+    }
+
+    public void setAuthorName(String authorName) {
+        this.authorName = authorName;
+    }
+
+    public String getAuthorEmail() {
+        return authorEmail;
+    }
+
+    public void setAuthorEmail(String authorEmail) {
+        this.authorEmail = authorEmail;
+    }
+
+    public String getAuthorLogin() {
+        return authorLogin;
+    }
+
+    public void setAuthorLogin(String authorLogin) {
+        this.authorLogin = authorLogin;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public LocalDateTime getCommittedAt() {
+        return committedAt;
+    }
+
+    public void setCommittedAt(LocalDateTime committedAt) {
+        this.committedAt = committedAt;
+    }
+
+    public LocalDateTime getCreateTime() {
+        return createTime;
+    }
+
+    public void setCreateTime(LocalDateTime createTime) {
+        this.createTime = createTime;
+    }
+}
@@ -0,0 +1,168 @@
+package com.ai.dev.platform.modules.sync.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@TableName("repo_issue")
+@Schema(description = "仓库Issue/PR实体")
+public class RepoIssue {
+
+    @TableId(type = IdType.AUTO)
+    @Schema(description = "记录唯一标识")
+    private Long id;
+
+    @Schema(description = "数据源（github/gitee）")
+    private String source;
+
+    @Schema(description = "仓库ID")
+    private Long repoId;
+
+    @Schema(description = "仓库全名")
+    private String repoName;
+
+    @Schema(description = "Issue/PR编号，Gitee的Issue编号为字符串")
+    private String number;
+
+    @Schema(description = "是否为PR")
+    private Boolean pullRequest;
+
+    @Schema(description = "标题")
+    private String title;
+
+    @Schema(description = "状态")
+    private String state;
+
+    @Schema(description = "创建者平台账号")
+    private String authorLogin;
+
+    @Schema(description = "创建时间")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "更新时间")
+    private LocalDateTime updatedAt;
+
+    @Schema(description = "关闭时间")
+    private LocalDateTime closedAt;
+
+    @Schema(description = "入库时间")
+    private LocalDateTime createTime;
+
+    @Schema(description = "入库更新时间")
+    private LocalDateTime updateTime;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public Long getRepoId() {
+        return repoId;
+    }
+
+    public void setRepoId(Long repoId) {
+        this.repoId = repoId;
+    }
+
+    public String getRepoName() {
+        return repoName;
+    }
+
+    public void setRepoName(String repoName) {
+        this.repoName = repoName;
+    }
+
+    public String getNumber() {
+        return number;
+    }
+
+    public void setNumber(String number) {
+        this.number = number;
+    }
+
+    public Boolean getPullRequest() {
+        return pullRequest;
+    }
+
+    public void setPullRequest(Boolean pullRequest) {
+        this.pullRequest = pullRequest;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public String getAuthorLogin() {
+        return authorLogin;
+    }
+
+    public void setAuthorLogin(String authorLogin) {
+        this.authorLogin = authorLogin;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getClosedAt() {
+        return closedAt;
+    }
+
+    public void setClosedAt(LocalDateTime closedAt) {
+        this.closedAt = closedAt;
+    }
+
+    public LocalDateTime getCreateTime() {
+        return createTime;
+    }
+
+    public void setCreateTime(LocalDateTime createTime) {
+        this.createTime = createTime;
+    }
+
+    public LocalDateTime getUpdateTime() {
+        return updateTime;
+    }
+
+    public void setUpdateTime(LocalDateTime updateTime) {
+        this.updateTime = updateTime;
+    }
+}
@@ -18,6 +18,9 @@ public class SyncConfig {
     @Schema(description = "数据源（github/gitee）")
     private String source;
 
+    @Schema(description = "同步账号（用户名或组织名）")
+    private String account;
+
     @Schema(description = "访问令牌")
     private String accessToken;
 
@@ -27,6 +30,9 @@ public class SyncConfig {
     @Schema(description = "是否启用")
     private Boolean isEnabled;
 
+    @Schema(description = "上次同步时间")
+    private LocalDateTime lastSyncTime;
+
     @Schema(description = "创建时间")
     private LocalDateTime createTime;
 
@@ -49,6 +55,14 @@ public class SyncConfig {
         this.source = source;
     }
 
+    public String getAccount() {
+        return account;
+    }
+
+    public void setAccount(String account) {
+        this.account = account;
+    }
+
     public String getAccessToken() {
         return accessToken;
     }
@@ -73,6 +87,14 @@ public class SyncConfig {
         this.isEnabled = isEnabled;
     }
 
+    public LocalDateTime getLastSyncTime() {
+        return lastSyncTime;
+    }
+
+    public void setLastSyncTime(LocalDateTime lastSyncTime) {
+        this.lastSyncTime = lastSyncTime;
+    }
+
     public LocalDateTime getCreateTime() {
         return createTime;
     }
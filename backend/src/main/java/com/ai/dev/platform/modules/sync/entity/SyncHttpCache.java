@@ -0,0 +1,102 @@
+package com.ai.dev.platform.modules.sync.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@TableName("sync_http_cache")
+@Schema(description = "同步HTTP条件请求缓存实体")
+public class SyncHttpCache {
+
+    @TableId(type = IdType.AUTO)
+    @Schema(description = "缓存记录唯一标识")
+    private Long id;
+
+    @Schema(description = "缓存键（请求URL与令牌的SHA-256摘要）")
+    private String cacheKey;
+
+    @Schema(description = "请求URL")
+    private String requestUrl;
+
+    @Schema(description = "响应ETag")
+    private String etag;
+
+    @Schema(description = "响应Last-Modified")
+    private String lastModified;
+
+    @Schema(description = "下一页URL")
+    private String nextUrl;
+
+    @Schema(description = "响应体字节数")
+    private Long contentLength;
+
+    @Schema(description = "更新时间")
+    private LocalDateTime updateTime;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getCacheKey() {
+        return cacheKey;
+    }
+
+    public void setCacheKey(String cacheKey) {
+        this.cacheKey = cacheKey;
+    }
+
+    public String getRequestUrl() {
+        return requestUrl;
+    }
+
+    public void setRequestUrl(String requestUrl) {
+        this.requestUrl = requestUrl;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(String lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public String getNextUrl() {
+        return nextUrl;
+    }
+
+    public void setNextUrl(String nextUrl) {
+        this.nextUrl = nextUrl;
+    }
+
+    public Long getContentLength() {
+        return contentLength;
+    }
+
+    public void setContentLength(Long contentLength) {
+        this.contentLength = contentLength;
+    }
+
+    public LocalDateTime getUpdateTime() {
+        return updateTime;
+    }
+
+    public void setUpdateTime(LocalDateTime updateTime) {
+        this.updateTime = updateTime;
+    }
+}
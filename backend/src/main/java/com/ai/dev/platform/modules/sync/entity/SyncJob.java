@@ -0,0 +1,252 @@
+package com.ai.dev.platform.modules.sync.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@TableName("sync_job")
+@Schema(description = "同步任务实体")
+public class SyncJob {
+
+    public static final String STATUS_QUEUED = "queued";
+    public static final String STATUS_RUNNING = "running";
+    public static final String STATUS_SUCCEEDED = "succeeded";
+    public static final String STATUS_FAILED = "failed";
+
+    @TableId(type = IdType.AUTO)
+    @Schema(description = "任务唯一标识")
+    private Long id;
+
+    @Schema(description = "数据源（github/gitee）")
+    private String source;
+
+    @Schema(description = "同步账号")
+    private String account;
+
+    @JsonIgnore
+    @Schema(description = "访问令牌", hidden = true)
+    private String accessToken;
+
+    @Schema(description = "来源同步配置ID，手动触发的任务为空")
+    private Long configId;
+
+    @Schema(description = "任务状态（queued/running/succeeded/failed）")
+    private String status;
+
+    @Schema(description = "是否全量对账，首次执行时确定")
+    private Boolean fullSync;
+
+    @Schema(description = "已执行次数")
+    private Integer attempts;
+
+    @Schema(description = "最大执行次数")
+    private Integer maxAttempts;
+
+    @Schema(description = "检查点：下一页URL，为空表示从第一页开始")
+    private String nextUrl;
+
+    @Schema(description = "检查点：已处理页数")
+    private Integer pagesDone;
+
+    @Schema(description = "检查点：已处理仓库数")
+    private Integer itemsDone;
+
+    @Schema(description = "检查点：已处理仓库的最大更新时间")
+    private LocalDateTime checkpointMark;
+
+    @Schema(description = "错误信息")
+    private String errorMessage;
+
+    @Schema(description = "执行节点")
+    private String worker;
+
+    @Schema(description = "最早可执行时间，失败重试时用于退避")
+    private LocalDateTime runAfter;
+
+    @Schema(description = "执行节点最近一次心跳时间")
+    private LocalDateTime heartbeatTime;
+
+    @Schema(description = "开始时间")
+    private LocalDateTime startTime;
+
+    @Schema(description = "结束时间")
+    private LocalDateTime finishTime;
+
+    @Schema(description = "创建时间")
+    private LocalDateTime createTime;
+
+    @Schema(description = "更新时间")
+    private LocalDateTime updateTime;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public String getAccount() {
+        return account;
+    }
+
+    public void setAccount(String account) {
+        this.account = account;
+    }
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    public void setAccessToken(String accessToken) {
+        this.accessToken = accessToken;
+    }
+
+    public Long getConfigId() {
+        return configId;
+    }
+
+    public void setConfigId(Long configId) {
+        this.configId = configId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Boolean getFullSync() {
+        return fullSync;
+    }
+
+    public void setFullSync(Boolean fullSync) {
+        this.fullSync = fullSync;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public Integer getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(Integer maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public String getNextUrl() {
+        return nextUrl;
+    }
+
+    public void setNextUrl(String nextUrl) {
+        this.nextUrl = nextUrl;
+    }
+
+    public Integer getPagesDone() {
+        return pagesDone;
+    }
+
+    public void setPagesDone(Integer pagesDone) {
+        this.pagesDone = pagesDone;
+    }
+
+    public Integer getItemsDone() {
+        return itemsDone;
+    }
+
+    public void setItemsDone(Integer itemsDone) {
+        this.itemsDone = itemsDone;
+    }
+
+    public LocalDateTime getCheckpointMark() {
+        return checkpointMark;
+    }
+
+    public void setCheckpointMark(LocalDateTime checkpointMark) {
+        this.checkpointMark = checkpointMark;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public String getWorker() {
+        return worker;
+    }
+
+    public void setWorker(String worker) {
+        this.worker = worker;
+    }
+
+    public LocalDateTime getRunAfter() {
+        return runAfter;
+    }
+
+    public void setRunAfter(LocalDateTime runAfter) {
+        this.runAfter = runAfter;
+    }
+
+    public LocalDateTime getHeartbeatTime() {
+        return heartbeatTime;
+    }
+
+    public void setHeartbeatTime(LocalDateTime heartbeatTime) {
+        this.heartbeatTime = heartbeatTime;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getFinishTime() {
+        return finishTime;
+    }
+
+    public void setFinishTime(LocalDateTime finishTime) {
+        this.finishTime = finishTime;
+    }
+
+    public LocalDateTime getCreateTime() {
+        return createTime;
+    }
+
+    public void setCreateTime(LocalDateTime createTime) {
+        this.createTime = createTime;
+    }
+
+    public LocalDateTime getUpdateTime() {
+        return updateTime;
+    }
+
+    public void setUpdateTime(LocalDateTime updateTime) {
+        this.updateTime = updateTime;
+    }
+}
@@ -33,6 +33,30 @@ public class SyncRecord {
     @Schema(description = "同步数据数量")
     private Integer dataCount;
 
+    @Schema(description = "条件请求缓存命中次数")
+    private Integer cacheHits;
+
+    @Schema(description = "304未修改次数")
+    private Integer notModifiedCount;
+
+    @Schema(description = "条件请求节省的字节数")
+    private Long bytesSaved;
+
+    @Schema(description = "同步运行标识，同一次同步的开始、进度和结束更新同一行")
+    private String runId;
+
+    @Schema(description = "结束时间")
+    private LocalDateTime finishTime;
+
+    @Schema(description = "总耗时（毫秒）")
+    private Long durationMs;
+
+    @Schema(description = "拉取阶段耗时（毫秒）")
+    private Long fetchMs;
+
+    @Schema(description = "写库阶段耗时（毫秒）")
+    private Long writeMs;
+
     @Schema(description = "创建时间")
     private LocalDateTime createTime;
 
@@ -92,6 +116,30 @@ public class SyncRecord {
         this.dataCount = dataCount;
     }
 
+    public Integer getCacheHits() {
+        return cacheHits;
+    }
+
+    public void setCacheHits(Integer cacheHits) {
+        this.cacheHits = cacheHits;
+    }
+
+    public Integer getNotModifiedCount() {
+        return notModifiedCount;
+    }
+
+    public void setNotModifiedCount(Integer notModifiedCount) {
+        this.notModifiedCount = notModifiedCount;
+    }
+
+    public Long getBytesSaved() {
+        return bytesSaved;
+    }
+
+    public void setBytesSaved(Long bytesSaved) {
+        this.bytesSaved = bytesSaved;
+    }
+
     public LocalDateTime getCreateTime() {
         return createTime;
     }
@@ -99,4 +147,44 @@ public class SyncRecord {
     public void setCreateTime(LocalDateTime createTime) {
         this.createTime = createTime;
     }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public void setRunId(String runId) {
+        this.runId = runId;
+    }
+
+    public LocalDateTime getFinishTime() {
+        return finishTime;
+    }
+
+    public void setFinishTime(LocalDateTime finishTime) {
+        this.finishTime = finishTime;
+    }
+
+    public Long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(Long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public Long getFetchMs() {
+        return fetchMs;
+    }
+
+    public void setFetchMs(Long fetchMs) {
+        this.fetchMs = fetchMs;
+    }
+
+    public Long getWriteMs() {
+        return writeMs;
+    }
+
+    public void setWriteMs(Long writeMs) {
+        this.writeMs = writeMs;
+    }
 }
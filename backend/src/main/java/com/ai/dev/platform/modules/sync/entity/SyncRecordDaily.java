@@ -0,0 +1,111 @@
+package com.ai.dev.platform.modules.sync.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@TableName("sync_record_daily")
+@Schema(description = "同步记录每日汇总实体")
+public class SyncRecordDaily {
+
+    @Schema(description = "统计日期")
+    private LocalDate statDate;
+
+    @Schema(description = "数据源（github/gitee）")
+    private String source;
+
+    @Schema(description = "同步次数")
+    private Integer runCount;
+
+    @Schema(description = "成功次数")
+    private Integer successCount;
+
+    @Schema(description = "失败次数")
+    private Integer failureCount;
+
+    @Schema(description = "同步数据条数")
+    private Long rowsSynced;
+
+    @Schema(description = "平均耗时（毫秒）")
+    private Long avgDurationMs;
+
+    @Schema(description = "P95耗时（毫秒）")
+    private Long p95DurationMs;
+
+    @Schema(description = "汇总更新时间")
+    private LocalDateTime updateTime;
+
+    public LocalDate getStatDate() {
+        return statDate;
+    }
+
+    public void setStatDate(LocalDate statDate) {
+        this.statDate = statDate;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public Integer getRunCount() {
+        return runCount;
+    }
+
+    public void setRunCount(Integer runCount) {
+        this.runCount = runCount;
+    }
+
+    public Integer getSuccessCount() {
+        return successCount;
+    }
+
+    public void setSuccessCount(Integer successCount) {
+        this.successCount = successCount;
+    }
+
+    public Integer getFailureCount() {
+        return failureCount;
+    }
+
+    public void setFailureCount(Integer failureCount) {
+        this.failureCount = failureCount;
+    }
+
+    public Long getRowsSynced() {
+        return rowsSynced;
+    }
+
+    public void setRowsSynced(Long rowsSynced) {
+        this.rowsSynced = rowsSynced;
+    }
+
+    public Long getAvgDurationMs() {
+        return avgDurationMs;
+    }
+
+    public void setAvgDurationMs(Long avgDurationMs) {
+        this.avgDurationMs = avgDurationMs;
+    }
+
+    public Long getP95DurationMs() {
+        return p95DurationMs;
+    }
+
+    public void setP95DurationMs(Long p95DurationMs) {
+        this.p95DurationMs = p95DurationMs;
+    }
+
+    public LocalDateTime getUpdateTime() {
+        return updateTime;
+    }
+
+    public void setUpdateTime(LocalDateTime updateTime) {
+        this.updateTime = updateTime;
+    }
+}
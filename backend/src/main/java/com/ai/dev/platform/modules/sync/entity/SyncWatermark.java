@@ -0,0 +1,80 @@
+package com.ai.dev.platform.modules.sync.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@TableName("sync_watermark")
+@Schema(description = "增量同步高水位实体")
+public class SyncWatermark {
+
+    @TableId(type = IdType.AUTO)
+    @Schema(description = "水位记录唯一标识")
+    private Long id;
+
+    @Schema(description = "数据源（github/gitee）")
+    private String source;
+
+    @Schema(description = "同步账号")
+    private String account;
+
+    @Schema(description = "已同步仓库的最大更新时间")
+    private LocalDateTime highWaterMark;
+
+    @Schema(description = "上次全量对账时间")
+    private LocalDateTime lastFullSyncTime;
+
+    @Schema(description = "更新时间")
+    private LocalDateTime updateTime;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public String getAccount() {
+        return account;
+    }
+
+    public void setAccount(String account) {
+        this.account = account;
+    }
+
+    public LocalDateTime getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    public void setHighWaterMark(LocalDateTime highWaterMark) {
+        this.highWaterMark = highWaterMark;
+    }
+
+    public LocalDateTime getLastFullSyncTime() {
+        return lastFullSyncTime;
+    }
+
+    public void setLastFullSyncTime(LocalDateTime lastFullSyncTime) {
+        this.lastFullSyncTime = lastFullSyncTime;
+    }
+
+    public LocalDateTime getUpdateTime() {
+        return updateTime;
+    }
+
+    public void setUpdateTime(LocalDateTime updateTime) {
+        this.updateTime = updateTime;
+    }
+}
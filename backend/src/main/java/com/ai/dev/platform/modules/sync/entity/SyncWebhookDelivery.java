@@ -0,0 +1,58 @@
+package com.ai.dev.platform.modules.sync.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@TableName("sync_webhook_delivery")
+@Schema(description = "Webhook投递记录实体")
+public class SyncWebhookDelivery {
+
+    @TableId(type = IdType.INPUT)
+    @Schema(description = "投递ID（GitHub为X-GitHub-Delivery，Gitee为时间戳与请求体摘要）")
+    private String deliveryId;
+
+    @Schema(description = "数据源（github/gitee）")
+    private String source;
+
+    @Schema(description = "事件类型")
+    private String event;
+
+    @Schema(description = "接收时间")
+    private LocalDateTime receivedTime;
+
+    public String getDeliveryId() {
+        return deliveryId;
+    }
+
+    public void setDeliveryId(String deliveryId) {
+        this.deliveryId = deliveryId;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public String getEvent() {
+        return event;
+    }
+
+    public void setEvent(String event) {
+        this.event = event;
+    }
+
+    public LocalDateTime getReceivedTime() {
+        return receivedTime;
+    }
+
+    public void setReceivedTime(LocalDateTime receivedTime) {
+        this.receivedTime = receivedTime;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ai.dev.platform.modules.sync.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * 同步仓库的公共字段
+ *
+ * <p>各数据源的仓库实体共同实现，用于统一的字段映射、内容指纹和字段级差异。
+ */
+public interface SyncedRepo {
+    Long getRepoId();
+    void setRepoId(Long repoId);
+    String getRepoName();
+    void setRepoName(String repoName);
+    String getRepoUrl();
+    void setRepoUrl(String repoUrl);
+    String getDescription();
+    void setDescription(String description);
+    String getLanguage();
+    void setLanguage(String language);
+    Integer getStarsCount();
+    void setStarsCount(Integer starsCount);
+    Integer getForksCount();
+    void setForksCount(Integer forksCount);
+    Integer getOpenIssuesCount();
+    void setOpenIssuesCount(Integer openIssuesCount);
+    LocalDateTime getUpdatedAt();
+    void setUpdatedAt(LocalDateTime updatedAt);
+    String getContentHash();
+    void setContentHash(String contentHash);
+}
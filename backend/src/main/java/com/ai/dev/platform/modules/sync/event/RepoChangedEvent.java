@@ -0,0 +1,107 @@
+package com.ai.dev.platform.modules.sync.event;
+
+import com.ai.dev.platform.modules.sync.entity.SyncedRepo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 仓库内容变化事件
+ *
+ * <p>同步写库成功后发布，携带新建标记和字段级差异，
+ * 供统计、通知等功能订阅（如星标数变化量）。
+ */
+public class RepoChangedEvent {
+
+    private final String source;
+    private final Long repoId;
+    private final String repoName;
+    private final boolean created;
+    private final List<FieldChange> changes;
+
+    public RepoChangedEvent(String source, Long repoId, String repoName, boolean created, List<FieldChange> changes) {
+        this.source = source;
+        this.repoId = repoId;
+        this.repoName = repoName;
+        this.created = created;
+        this.changes = Collections.unmodifiableList(changes);
+    }
+
+    /**
+     * 比较新旧仓库数据生成事件，previous为空表示新建
+     */
+    public static RepoChangedEvent of(String source, SyncedRepo previous, SyncedRepo current) {
+        List<FieldChange> changes = new ArrayList<>();
+        compare(changes, "repoName", previous, current, SyncedRepo::getRepoName);
+        compare(changes, "repoUrl", previous, current, SyncedRepo::getRepoUrl);
+        compare(changes, "description", previous, current, SyncedRepo::getDescription);
+        compare(changes, "language", previous, current, SyncedRepo::getLanguage);
+        compare(changes, "starsCount", previous, current, SyncedRepo::getStarsCount);
+        compare(changes, "forksCount", previous, current, SyncedRepo::getForksCount);
+        compare(changes, "openIssuesCount", previous, current, SyncedRepo::getOpenIssuesCount);
+        compare(changes, "updatedAt", previous, current, SyncedRepo::getUpdatedAt);
+        return new RepoChangedEvent(source, current.getRepoId(), current.getRepoName(), previous == null, changes);
+    }
+
+    private static void compare(List<FieldChange> changes, String field, SyncedRepo previous, SyncedRepo current,
+                                Function<SyncedRepo, Object> getter) {
+        Object oldValue = previous != null ? getter.apply(previous) : null;
+        Object newValue = getter.apply(current);
+        if (!Objects.equals(oldValue, newValue)) {
+            changes.add(new FieldChange(field, oldValue, newValue));
+        }
+    }
+
+    public boolean hasChanges() {
+        return created || !changes.isEmpty();
+    }
+
+    public int getStarsDelta() {
+        return delta("starsCount");
+    }
+
+    public int getForksDelta() {
+        return delta("forksCount");
+    }
+
+    public int getOpenIssuesDelta() {
+        return delta("openIssuesCount");
+    }
+
+    private int delta(String field) {
+        for (FieldChange change : changes) {
+            if (change.field().equals(field)) {
+                int oldValue = change.oldValue() instanceof Integer i ? i : 0;
+                int newValue = change.newValue() instanceof Integer i ? i : 0;
+                return newValue - oldValue;
+            }
+        }
+        return 0;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public Long getRepoId() {
+        return repoId;
+    }
+
+    public String getRepoName() {
+        return repoName;
+    }
+
+    public boolean isCreated() {
+        return created;
+    }
+
+    public List<FieldChange> getChanges() {
+        return changes;
+    }
+
+    public record FieldChange(String field, Object oldValue, Object newValue) {
+    }
+}
@@ -2,6 +2,35 @@ package com.ai.dev.platform.modules.sync.mapper;
 
 import com.ai.dev.platform.modules.sync.entity.GitHubRepo;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
 
 public interface GitHubRepoMapper extends BaseMapper<GitHubRepo> {
+
+    /**
+     * 基于uk_repo_id的批量upsert，content_hash未变化的行不会被更新，也不会出现在返回结果中。
+     *
+     * @return 每个被写入行的标记，true表示新插入，false表示已存在并被更新
+     */
+    @Select({"<script>",
+            "INSERT INTO github_repo (repo_id, repo_name, repo_url, description, language, stars_count, forks_count,",
+            "open_issues_count, updated_at, content_hash, create_time, update_time) VALUES",
+            "<foreach collection='repos' item='r' separator=','>",
+            "(#{r.repoId}, #{r.repoName}, #{r.repoUrl,jdbcType=VARCHAR}, #{r.description,jdbcType=VARCHAR},",
+            "#{r.language,jdbcType=VARCHAR}, #{r.starsCount,jdbcType=INTEGER}, #{r.forksCount,jdbcType=INTEGER},",
+            "#{r.openIssuesCount,jdbcType=INTEGER}, #{r.updatedAt,jdbcType=TIMESTAMP}, #{r.contentHash,jdbcType=VARCHAR},",
+            "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+            "</foreach>",
+            "ON CONFLICT (repo_id) DO UPDATE SET repo_name = EXCLUDED.repo_name, repo_url = EXCLUDED.repo_url,",
+            "description = EXCLUDED.description, language = EXCLUDED.language, stars_count = EXCLUDED.stars_count,",
+            "forks_count = EXCLUDED.forks_count, open_issues_count = EXCLUDED.open_issues_count,",
+            "updated_at = EXCLUDED.updated_at, content_hash = EXCLUDED.content_hash, update_time = CURRENT_TIMESTAMP",
+            "WHERE github_repo.content_hash IS DISTINCT FROM EXCLUDED.content_hash",
+            "RETURNING (xmax = 0) AS inserted",
+            "</script>"})
+    @Options(flushCache = Options.FlushCachePolicy.TRUE)
+    List<Boolean> upsertBatch(@Param("repos") List<GitHubRepo> repos);
 }
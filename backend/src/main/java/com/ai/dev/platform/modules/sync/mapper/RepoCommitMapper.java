@@ -0,0 +1,28 @@
+package com.ai.dev.platform.modules.sync.mapper;
+
+import com.ai.dev.platform.modules.sync.entity.RepoCommit;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+public interface RepoCommitMapper extends BaseMapper<RepoCommit> {
+
+    /**
+     * 批量写入提交记录，提交内容不可变，已存在的SHA直接跳过
+     *
+     * @return 新插入的行数
+     */
+    @Insert({"<script>",
+            "INSERT INTO repo_commit (source, repo_id, repo_name, sha, author_name, author_email, author_login,",
+            "message, committed_at, create_time) VALUES",
+            "<foreach collection='commits' item='c' separator=','>",
+            "(#{c.source}, #{c.repoId}, #{c.repoName}, #{c.sha}, #{c.authorName,jdbcType=VARCHAR},",
+            "#{c.authorEmail,jdbcType=VARCHAR}, #{c.authorLogin,jdbcType=VARCHAR}, #{c.message,jdbcType=VARCHAR},",
+            "#{c.committedAt,jdbcType=TIMESTAMP}, CURRENT_TIMESTAMP)",
+            "</foreach>",
+            "ON CONFLICT (source, repo_id, sha) DO NOTHING",
+            "</script>"})
+    int insertBatch(@Param("commits") List<RepoCommit> commits);
+}
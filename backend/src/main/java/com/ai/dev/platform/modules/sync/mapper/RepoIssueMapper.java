@@ -0,0 +1,31 @@
+package com.ai.dev.platform.modules.sync.mapper;
+
+import com.ai.dev.platform.modules.sync.entity.RepoIssue;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+public interface RepoIssueMapper extends BaseMapper<RepoIssue> {
+
+    /**
+     * 基于uk_repo_issue的批量upsert，updated_at未变化的行不会被更新
+     *
+     * @return 插入或更新的行数
+     */
+    @Insert({"<script>",
+            "INSERT INTO repo_issue (source, repo_id, repo_name, number, pull_request, title, state, author_login,",
+            "created_at, updated_at, closed_at, create_time, update_time) VALUES",
+            "<foreach collection='issues' item='i' separator=','>",
+            "(#{i.source}, #{i.repoId}, #{i.repoName}, #{i.number}, #{i.pullRequest}, #{i.title,jdbcType=VARCHAR},",
+            "#{i.state,jdbcType=VARCHAR}, #{i.authorLogin,jdbcType=VARCHAR}, #{i.createdAt,jdbcType=TIMESTAMP},",
+            "#{i.updatedAt,jdbcType=TIMESTAMP}, #{i.closedAt,jdbcType=TIMESTAMP}, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+            "</foreach>",
+            "ON CONFLICT (source, repo_id, pull_request, number) DO UPDATE SET repo_name = EXCLUDED.repo_name,",
+            "title = EXCLUDED.title, state = EXCLUDED.state, updated_at = EXCLUDED.updated_at,",
+            "closed_at = EXCLUDED.closed_at, update_time = CURRENT_TIMESTAMP",
+            "WHERE repo_issue.updated_at IS DISTINCT FROM EXCLUDED.updated_at",
+            "</script>"})
+    int upsertBatch(@Param("issues") List<RepoIssue> issues);
+}
@@ -0,0 +1,26 @@
+package com.ai.dev.platform.modules.sync.mapper;
+
+import com.ai.dev.platform.modules.sync.entity.SyncConfig;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+public interface SyncConfigMapper extends BaseMapper<SyncConfig> {
+
+    /**
+     * 查询到期的启用配置，实际间隔取sync_interval与minInterval中的较大者
+     */
+    @Select("SELECT * FROM sync_config WHERE is_enabled = true AND (last_sync_time IS NULL "
+            + "OR last_sync_time + GREATEST(COALESCE(sync_interval, 60), #{minInterval}) * INTERVAL '1 minute' "
+            + "<= CURRENT_TIMESTAMP) ORDER BY last_sync_time NULLS FIRST")
+    List<SyncConfig> findDueConfigs(@Param("minInterval") int minInterval);
+
+    /**
+     * 按数据源和账号查询启用的配置，账号不区分大小写
+     */
+    @Select("SELECT * FROM sync_config WHERE source = #{source} AND LOWER(account) = LOWER(#{account}) "
+            + "AND is_enabled = true ORDER BY id LIMIT 1")
+    SyncConfig findEnabled(@Param("source") String source, @Param("account") String account);
+}
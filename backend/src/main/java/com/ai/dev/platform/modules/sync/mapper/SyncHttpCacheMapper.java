@@ -0,0 +1,19 @@
+package com.ai.dev.platform.modules.sync.mapper;
+
+import com.ai.dev.platform.modules.sync.entity.SyncHttpCache;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+public interface SyncHttpCacheMapper extends BaseMapper<SyncHttpCache> {
+
+    @Select("SELECT * FROM sync_http_cache WHERE cache_key = #{cacheKey}")
+    SyncHttpCache findByCacheKey(@Param("cacheKey") String cacheKey);
+
+    @Insert("INSERT INTO sync_http_cache (cache_key, request_url, etag, last_modified, next_url, content_length, update_time) "
+            + "VALUES (#{cacheKey}, #{requestUrl}, #{etag}, #{lastModified}, #{nextUrl}, #{contentLength}, CURRENT_TIMESTAMP) "
+            + "ON CONFLICT (cache_key) DO UPDATE SET etag = EXCLUDED.etag, last_modified = EXCLUDED.last_modified, "
+            + "next_url = EXCLUDED.next_url, content_length = EXCLUDED.content_length, update_time = CURRENT_TIMESTAMP")
+    int upsert(SyncHttpCache cache);
+}
@@ -0,0 +1,68 @@
+package com.ai.dev.platform.modules.sync.mapper;
+
+import com.ai.dev.platform.modules.sync.entity.SyncJob;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.Collection;
+
+public interface SyncJobMapper extends BaseMapper<SyncJob> {
+
+    /**
+     * 入队；该账号已有排队或执行中的任务时不插入，返回null
+     */
+    @Select("INSERT INTO sync_job (source, account, access_token, config_id, max_attempts) "
+            + "VALUES (#{source}, #{account}, #{accessToken,jdbcType=VARCHAR}, #{configId,jdbcType=BIGINT}, #{maxAttempts}) "
+            + "ON CONFLICT (source, account) WHERE status IN ('queued', 'running') DO NOTHING RETURNING id")
+    @Options(flushCache = Options.FlushCachePolicy.TRUE)
+    Long insertIfIdle(SyncJob job);
+
+    @Select("SELECT * FROM sync_job WHERE source = #{source} AND account = #{account} "
+            + "AND status IN ('queued', 'running') LIMIT 1")
+    SyncJob findActive(@Param("source") String source, @Param("account") String account);
+
+    /**
+     * 认领一个可执行的任务：到期的排队任务，或心跳超过租约的执行中任务（原节点已宕机）。
+     * 子查询加 FOR UPDATE SKIP LOCKED，并发认领的节点会跳过彼此锁住的行。
+     */
+    @Select("UPDATE sync_job SET status = 'running', attempts = attempts + 1, worker = #{worker}, "
+            + "heartbeat_time = CURRENT_TIMESTAMP, start_time = COALESCE(start_time, CURRENT_TIMESTAMP), "
+            + "update_time = CURRENT_TIMESTAMP "
+            + "WHERE id = (SELECT id FROM sync_job WHERE source = #{source} "
+            + "AND ((status = 'queued' AND run_after <= CURRENT_TIMESTAMP) "
+            + "OR (status = 'running' AND heartbeat_time < CURRENT_TIMESTAMP - #{leaseSeconds} * INTERVAL '1 second')) "
+            + "ORDER BY run_after, id LIMIT 1 FOR UPDATE SKIP LOCKED) "
+            + "RETURNING *")
+    @Options(flushCache = Options.FlushCachePolicy.TRUE)
+    SyncJob claimNext(@Param("source") String source, @Param("worker") String worker,
+                      @Param("leaseSeconds") long leaseSeconds);
+
+    @Update("UPDATE sync_job SET next_url = #{nextUrl,jdbcType=VARCHAR}, pages_done = #{pagesDone}, "
+            + "items_done = #{itemsDone}, checkpoint_mark = #{checkpointMark,jdbcType=TIMESTAMP}, "
+            + "full_sync = #{fullSync,jdbcType=BOOLEAN}, heartbeat_time = CURRENT_TIMESTAMP, update_time = CURRENT_TIMESTAMP "
+            + "WHERE id = #{id} AND status = 'running' AND worker = #{worker}")
+    int checkpoint(SyncJob job);
+
+    @Update("UPDATE sync_job SET status = #{status}, error_message = #{errorMessage,jdbcType=VARCHAR}, "
+            + "finish_time = CURRENT_TIMESTAMP, update_time = CURRENT_TIMESTAMP "
+            + "WHERE id = #{id} AND status = 'running' AND worker = #{worker}")
+    int finish(@Param("id") Long id, @Param("worker") String worker, @Param("status") String status,
+               @Param("errorMessage") String errorMessage);
+
+    /**
+     * 失败未达上限时重新排队，保留检查点，延迟delaySeconds后再被认领
+     */
+    @Update("UPDATE sync_job SET status = 'queued', worker = NULL, error_message = #{errorMessage,jdbcType=VARCHAR}, "
+            + "run_after = CURRENT_TIMESTAMP + #{delaySeconds} * INTERVAL '1 second', update_time = CURRENT_TIMESTAMP "
+            + "WHERE id = #{id} AND status = 'running' AND worker = #{worker}")
+    int requeue(@Param("id") Long id, @Param("worker") String worker, @Param("errorMessage") String errorMessage,
+                @Param("delaySeconds") long delaySeconds);
+
+    @Update("<script>UPDATE sync_job SET heartbeat_time = CURRENT_TIMESTAMP "
+            + "WHERE worker = #{worker} AND status = 'running' AND id IN "
+            + "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach></script>")
+    int heartbeat(@Param("worker") String worker, @Param("ids") Collection<Long> ids);
+}
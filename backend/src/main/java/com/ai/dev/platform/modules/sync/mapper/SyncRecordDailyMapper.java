@@ -0,0 +1,32 @@
+package com.ai.dev.platform.modules.sync.mapper;
+
+import com.ai.dev.platform.modules.sync.entity.SyncRecordDaily;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+
+public interface SyncRecordDailyMapper extends BaseMapper<SyncRecordDaily> {
+
+    /**
+     * 按天、数据源重新汇总[from, to)内的同步记录，已有汇总行被覆盖；
+     * 只统计已结束的运行，耗时分位数使用percentile_cont
+     *
+     * @return 写入的汇总行数
+     */
+    @Insert({"INSERT INTO sync_record_daily (stat_date, source, run_count, success_count, failure_count, rows_synced,",
+            "avg_duration_ms, p95_duration_ms, update_time)",
+            "SELECT CAST(sync_time AS DATE), source, COUNT(*),",
+            "COUNT(*) FILTER (WHERE sync_status = 'success'), COUNT(*) FILTER (WHERE sync_status = 'failed'),",
+            "COALESCE(SUM(data_count), 0), CAST(AVG(duration_ms) AS BIGINT),",
+            "CAST(percentile_cont(0.95) WITHIN GROUP (ORDER BY duration_ms) AS BIGINT), CURRENT_TIMESTAMP",
+            "FROM sync_record",
+            "WHERE sync_time >= #{from} AND sync_time < #{to} AND sync_status IN ('success', 'failed')",
+            "GROUP BY CAST(sync_time AS DATE), source",
+            "ON CONFLICT (stat_date, source) DO UPDATE SET run_count = EXCLUDED.run_count,",
+            "success_count = EXCLUDED.success_count, failure_count = EXCLUDED.failure_count,",
+            "rows_synced = EXCLUDED.rows_synced, avg_duration_ms = EXCLUDED.avg_duration_ms,",
+            "p95_duration_ms = EXCLUDED.p95_duration_ms, update_time = CURRENT_TIMESTAMP"})
+    int rollup(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
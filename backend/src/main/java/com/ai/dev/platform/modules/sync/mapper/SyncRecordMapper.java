@@ -2,6 +2,96 @@ package com.ai.dev.platform.modules.sync.mapper;
 
 import com.ai.dev.platform.modules.sync.entity.SyncRecord;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface SyncRecordMapper extends BaseMapper<SyncRecord> {
+
+    /**
+     * 多行写入同步记录，run_id已存在时原地更新状态、计数和耗时。
+     * 分区表的唯一索引包含分区键，同一运行的sync_time固定为开始时间。
+     */
+    @Insert({"<script>",
+            "INSERT INTO sync_record (run_id, source, repo_name, sync_time, sync_status, error_message, data_count,",
+            "cache_hits, not_modified_count, bytes_saved, finish_time, duration_ms, fetch_ms, write_ms, create_time) VALUES",
+            "<foreach collection='records' item='r' separator=','>",
+            "(#{r.runId}, #{r.source}, #{r.repoName,jdbcType=VARCHAR}, #{r.syncTime}, #{r.syncStatus},",
+            "#{r.errorMessage,jdbcType=VARCHAR}, #{r.dataCount}, #{r.cacheHits}, #{r.notModifiedCount}, #{r.bytesSaved},",
+            "#{r.finishTime,jdbcType=TIMESTAMP}, #{r.durationMs,jdbcType=BIGINT}, #{r.fetchMs,jdbcType=BIGINT},",
+            "#{r.writeMs,jdbcType=BIGINT}, #{r.createTime})",
+            "</foreach>",
+            "ON CONFLICT (run_id, sync_time) DO UPDATE SET sync_status = EXCLUDED.sync_status, error_message = EXCLUDED.error_message,",
+            "data_count = EXCLUDED.data_count, cache_hits = EXCLUDED.cache_hits,",
+            "not_modified_count = EXCLUDED.not_modified_count, bytes_saved = EXCLUDED.bytes_saved,",
+            "finish_time = EXCLUDED.finish_time, duration_ms = EXCLUDED.duration_ms,",
+            "fetch_ms = EXCLUDED.fetch_ms, write_ms = EXCLUDED.write_ms",
+            "</script>"})
+    int upsertBatch(@Param("records") List<SyncRecord> records);
+
+    /**
+     * 键集分页：返回排在(beforeTime, beforeId)之后的记录，按sync_time、id倒序；游标为空时从最新开始
+     */
+    @Select({"<script>",
+            "SELECT * FROM sync_record",
+            "<where>",
+            "<if test='source != null'>source = #{source}</if>",
+            "<if test='beforeTime != null'>AND (sync_time, id) &lt; (#{beforeTime}, #{beforeId})</if>",
+            "</where>",
+            "ORDER BY sync_time DESC, id DESC LIMIT #{limit}",
+            "</script>"})
+    List<SyncRecord> findPage(@Param("source") String source, @Param("beforeTime") LocalDateTime beforeTime,
+                              @Param("beforeId") Long beforeId, @Param("limit") int limit);
+
+    /**
+     * 创建月分区；DDL不支持参数绑定，名称和边界均由分区管理器生成
+     */
+    @Update("CREATE TABLE IF NOT EXISTS ${name} PARTITION OF sync_record FOR VALUES FROM ('${from}') TO ('${to}')")
+    void createPartition(@Param("name") String name, @Param("from") String from, @Param("to") String to);
+
+    /**
+     * 默认分区中是否有落在[from, to)内的记录；有记录时直接创建该范围的分区会失败
+     */
+    @Select("SELECT EXISTS (SELECT 1 FROM sync_record_default "
+            + "WHERE sync_time >= CAST(#{from} AS TIMESTAMP) AND sync_time < CAST(#{to} AS TIMESTAMP))")
+    boolean existsInDefault(@Param("from") String from, @Param("to") String to);
+
+    /**
+     * 在一个语句内建表、把默认分区中该范围的记录移入，再挂为月分区；任一步失败整体回滚
+     */
+    @Update({"DO $$ BEGIN",
+            "CREATE TABLE ${name} (LIKE sync_record INCLUDING DEFAULTS INCLUDING CONSTRAINTS);",
+            "WITH moved AS (DELETE FROM sync_record_default",
+            "WHERE sync_time >= '${from}' AND sync_time < '${to}' RETURNING *)",
+            "INSERT INTO ${name} SELECT * FROM moved;",
+            "ALTER TABLE sync_record ATTACH PARTITION ${name} FOR VALUES FROM ('${from}') TO ('${to}');",
+            "END $$"})
+    void movePartitionFromDefault(@Param("name") String name, @Param("from") String from, @Param("to") String to);
+
+    /**
+     * 默认分区中最早的同步时间，默认分区为空时返回null
+     */
+    @Select("SELECT MIN(sync_time) FROM sync_record_default")
+    LocalDateTime minDefaultSyncTime();
+
+    @Select("SELECT COUNT(*) FROM sync_record_default")
+    long countDefault();
+
+    /**
+     * 删除默认分区中早于before的记录；默认分区不随月分区DROP，需要单独按保留期清理
+     */
+    @Delete("DELETE FROM sync_record_default WHERE sync_time < #{before}")
+    int deleteDefaultBefore(@Param("before") LocalDateTime before);
+
+    @Select("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+            + "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = 'sync_record' ORDER BY c.relname")
+    List<String> listPartitions();
+
+    @Update("DROP TABLE IF EXISTS ${name}")
+    void dropPartition(@Param("name") String name);
 }
@@ -0,0 +1,29 @@
+package com.ai.dev.platform.modules.sync.mapper;
+
+import com.ai.dev.platform.modules.sync.entity.SyncWatermark;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+public interface SyncWatermarkMapper extends BaseMapper<SyncWatermark> {
+
+    @Select("SELECT * FROM sync_watermark WHERE source = #{source} AND account = #{account}")
+    SyncWatermark findBySourceAndAccount(@Param("source") String source, @Param("account") String account);
+
+    /**
+     * 水位只前进不后退；全量对账时间为空时保留原值
+     */
+    @Insert("INSERT INTO sync_watermark (source, account, high_water_mark, last_full_sync_time, update_time) "
+            + "VALUES (#{source}, #{account}, #{highWaterMark,jdbcType=TIMESTAMP}, #{lastFullSyncTime,jdbcType=TIMESTAMP}, CURRENT_TIMESTAMP) "
+            + "ON CONFLICT (source, account) DO UPDATE SET "
+            + "high_water_mark = GREATEST(sync_watermark.high_water_mark, EXCLUDED.high_water_mark), "
+            + "last_full_sync_time = COALESCE(EXCLUDED.last_full_sync_time, sync_watermark.last_full_sync_time), "
+            + "update_time = CURRENT_TIMESTAMP")
+    int upsert(SyncWatermark watermark);
+
+    @Update("<script>UPDATE sync_watermark SET last_full_sync_time = NULL, update_time = CURRENT_TIMESTAMP"
+            + "<if test='source != null'> WHERE source = #{source}</if></script>")
+    int clearFullSyncTime(@Param("source") String source);
+}
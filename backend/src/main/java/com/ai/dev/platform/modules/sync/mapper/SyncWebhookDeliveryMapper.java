@@ -0,0 +1,29 @@
+package com.ai.dev.platform.modules.sync.mapper;
+
+import com.ai.dev.platform.modules.sync.entity.SyncWebhookDelivery;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+
+public interface SyncWebhookDeliveryMapper extends BaseMapper<SyncWebhookDelivery> {
+
+    /**
+     * 记录投递，已存在时不插入
+     *
+     * @return 1表示首次投递，0表示重复投递
+     */
+    @Insert("INSERT INTO sync_webhook_delivery (delivery_id, source, event, received_time) "
+            + "VALUES (#{deliveryId}, #{source}, #{event,jdbcType=VARCHAR}, CURRENT_TIMESTAMP) "
+            + "ON CONFLICT (delivery_id) DO NOTHING")
+    int insertIfAbsent(@Param("deliveryId") String deliveryId, @Param("source") String source,
+                       @Param("event") String event);
+
+    /**
+     * 删除早于指定时间的投递记录，超过平台重试期限后不再需要去重
+     */
+    @Delete("DELETE FROM sync_webhook_delivery WHERE received_time < #{before}")
+    int deleteBefore(@Param("before") LocalDateTime before);
+}
@@ -1,9 +1,10 @@
 package com.ai.dev.platform.modules.sync.service;
 
-import java.util.List;
+import com.ai.dev.platform.modules.sync.dto.UpsertResult;
+import com.ai.dev.platform.modules.sync.entity.SyncJob;
 
 public interface DataSyncService {
-    void syncGitHubRepos(String username, String accessToken);
-    void syncGiteeRepos(String username, String accessToken);
-    void syncAll();
+    void runJob(SyncJob job);
+    int requestFullSync(String source);
+    UpsertResult refreshGitHubRepos(String accessToken);
 }
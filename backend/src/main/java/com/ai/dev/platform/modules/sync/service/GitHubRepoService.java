@@ -1,8 +1,12 @@
 package com.ai.dev.platform.modules.sync.service;
 
+import com.ai.dev.platform.modules.sync.dto.UpsertResult;
 import com.ai.dev.platform.modules.sync.entity.GitHubRepo;
 import com.baomidou.mybatisplus.extension.service.IService;
 
+import java.util.List;
+
 public interface GitHubRepoService extends IService<GitHubRepo> {
     void saveOrUpdateRepo(GitHubRepo repo);
+    UpsertResult upsertRepos(List<GitHubRepo> repos);
 }
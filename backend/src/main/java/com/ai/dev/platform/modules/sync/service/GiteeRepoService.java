@@ -1,8 +1,12 @@
 package com.ai.dev.platform.modules.sync.service;
 
+import com.ai.dev.platform.modules.sync.dto.UpsertResult;
 import com.ai.dev.platform.modules.sync.entity.GiteeRepo;
 import com.baomidou.mybatisplus.extension.service.IService;
 
+import java.util.List;
+
 public interface GiteeRepoService extends IService<GiteeRepo> {
     void saveOrUpdateRepo(GiteeRepo repo);
+    UpsertResult upsertRepos(List<GiteeRepo> repos);
 }
@@ -0,0 +1,10 @@
+package com.ai.dev.platform.modules.sync.service;
+
+import com.ai.dev.platform.modules.sync.entity.SyncedRepo;
+
+import java.util.List;
+
+public interface RepoActivityService {
+    long ingest(String source, Long repoId, String repoName, String accessToken);
+    int submit(String source, List<? extends SyncedRepo> repos, String accessToken);
+}
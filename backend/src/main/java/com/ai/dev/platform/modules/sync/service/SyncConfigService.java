@@ -0,0 +1,14 @@
+package com.ai.dev.platform.modules.sync.service;
+
+import com.ai.dev.platform.modules.sync.entity.SyncConfig;
+import com.baomidou.mybatisplus.extension.service.IService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SyncConfigService extends IService<SyncConfig> {
+    List<SyncConfig> listEnabled();
+    List<SyncConfig> listDue();
+    SyncConfig findEnabled(String source, String account);
+    void markSynced(Long configId, LocalDateTime syncTime);
+}
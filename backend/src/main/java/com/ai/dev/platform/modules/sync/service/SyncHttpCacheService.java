@@ -0,0 +1,9 @@
+package com.ai.dev.platform.modules.sync.service;
+
+import com.ai.dev.platform.modules.sync.entity.SyncHttpCache;
+import com.baomidou.mybatisplus.extension.service.IService;
+
+public interface SyncHttpCacheService extends IService<SyncHttpCache> {
+    SyncHttpCache findEntry(String requestUrl, String accessToken);
+    void saveEntry(String requestUrl, String accessToken, String etag, String lastModified, String nextUrl, long contentLength);
+}
@@ -0,0 +1,15 @@
+package com.ai.dev.platform.modules.sync.service;
+
+import com.ai.dev.platform.modules.sync.entity.SyncJob;
+import com.baomidou.mybatisplus.extension.service.IService;
+
+import java.util.Collection;
+
+public interface SyncJobService extends IService<SyncJob> {
+    SyncJob enqueue(String source, String account, String accessToken, Long configId);
+    SyncJob claimNext(String source);
+    void checkpoint(SyncJob job);
+    void succeed(SyncJob job);
+    void fail(SyncJob job, String errorMessage);
+    void heartbeat(Collection<Long> jobIds);
+}
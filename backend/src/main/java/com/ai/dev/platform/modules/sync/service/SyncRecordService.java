@@ -1,8 +1,22 @@
 package com.ai.dev.platform.modules.sync.service;
 
+import com.ai.dev.platform.modules.sync.dto.FetchStats;
+import com.ai.dev.platform.modules.sync.dto.SyncRun;
 import com.ai.dev.platform.modules.sync.entity.SyncRecord;
+import com.ai.dev.platform.modules.sync.entity.SyncRecordDaily;
 import com.baomidou.mybatisplus.extension.service.IService;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
 public interface SyncRecordService extends IService<SyncRecord> {
     void recordSync(String source, String repoName, String status, String errorMessage, Integer dataCount);
+    void recordSync(String source, String repoName, String status, String errorMessage, Integer dataCount, FetchStats fetchStats);
+    SyncRun startRun(String source, String repoName);
+    void updateRun(SyncRun run, Integer dataCount, FetchStats fetchStats);
+    void finishRun(SyncRun run, String status, String errorMessage, Integer dataCount, FetchStats fetchStats);
+    List<SyncRecord> listRecords(String source, LocalDateTime beforeTime, Long beforeId, int limit);
+    int rollupDaily(LocalDate from, LocalDate to);
+    List<SyncRecordDaily> listDaily(String source, int days);
 }
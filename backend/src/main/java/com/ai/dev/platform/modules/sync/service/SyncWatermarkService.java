@@ -0,0 +1,12 @@
+package com.ai.dev.platform.modules.sync.service;
+
+import com.ai.dev.platform.modules.sync.entity.SyncWatermark;
+import com.baomidou.mybatisplus.extension.service.IService;
+
+import java.time.LocalDateTime;
+
+public interface SyncWatermarkService extends IService<SyncWatermark> {
+    SyncWatermark getWatermark(String source, String account);
+    void advance(String source, String account, LocalDateTime highWaterMark, boolean fullSync);
+    int requestFullSync(String source);
+}
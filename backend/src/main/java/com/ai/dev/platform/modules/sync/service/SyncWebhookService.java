@@ -0,0 +1,9 @@
+package com.ai.dev.platform.modules.sync.service;
+
+import com.ai.dev.platform.modules.sync.dto.WebhookResult;
+
+public interface SyncWebhookService {
+    WebhookResult handleGitHub(String event, String deliveryId, String signature, byte[] payload);
+    WebhookResult handleGitee(String event, String token, String timestamp, byte[] payload);
+    int pruneDeliveries();
+}
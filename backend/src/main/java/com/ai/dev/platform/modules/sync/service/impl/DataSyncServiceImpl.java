@@ -1,16 +1,35 @@
 package com.ai.dev.platform.modules.sync.service.impl;
 
+import com.ai.dev.platform.modules.sync.dto.FetchStats;
+import com.ai.dev.platform.modules.sync.dto.SyncRun;
+import com.ai.dev.platform.modules.sync.dto.UpsertResult;
 import com.ai.dev.platform.modules.sync.entity.GitHubRepo;
 import com.ai.dev.platform.modules.sync.entity.GiteeRepo;
+import com.ai.dev.platform.modules.sync.entity.SyncConfig;
+import com.ai.dev.platform.modules.sync.entity.SyncJob;
+import com.ai.dev.platform.modules.sync.entity.SyncWatermark;
+import com.ai.dev.platform.modules.sync.entity.SyncedRepo;
 import com.ai.dev.platform.modules.sync.service.*;
 import com.ai.dev.platform.modules.sync.util.GitHubApiClient;
+import com.ai.dev.platform.modules.sync.util.GitHubGraphQLClient;
 import com.ai.dev.platform.modules.sync.util.GiteeApiClient;
+import com.ai.dev.platform.modules.sync.util.RepoPageHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 public class DataSyncServiceImpl implements DataSyncService {
@@ -20,6 +39,9 @@ public class DataSyncServiceImpl implements DataSyncService {
     @Autowired
     private GitHubApiClient gitHubApiClient;
 
+    @Autowired
+    private GitHubGraphQLClient gitHubGraphQLClient;
+
     @Autowired
     private GiteeApiClient giteeApiClient;
 
@@ -32,80 +54,194 @@ public class DataSyncServiceImpl implements DataSyncService {
     @Autowired
     private SyncRecordService syncRecordService;
 
+    @Autowired
+    private SyncWatermarkService syncWatermarkService;
+
+    @Autowired
+    private SyncJobService syncJobService;
+
+    @Autowired
+    private SyncConfigService syncConfigService;
+
+    @Autowired
+    private RepoActivityService repoActivityService;
+
+    @Value("${sync.activity.enabled:true}")
+    private boolean activityEnabled;
+
+    @Value("${sync.incremental.full-sync-interval-hours:24}")
+    private long fullSyncIntervalHours;
+
     @Override
-    public void syncGitHubRepos(String username, String accessToken) {
-        logger.info("开始同步GitHub仓库数据，用户：{}", username);
-        syncRecordService.recordSync("github", username, "pending", null, 0);
-        
-        try {
-            List<GitHubRepo> repos = gitHubApiClient.getUserRepos(username, accessToken);
-            
-            if (repos != null && !repos.isEmpty()) {
-                int successCount = 0;
-                for (GitHubRepo repo : repos) {
-                    try {
-                        gitHubRepoService.saveOrUpdateRepo(repo);
-                        successCount++;
-                    } catch (Exception e) {
-                        logger.error("保存GitHub仓库失败：{}", repo.getRepoName(), e);
-                    }
-                }
-                
-                syncRecordService.recordSync("github", username, "success", null, successCount);
-                logger.info("GitHub仓库同步完成，成功{}个，总数{}", successCount, repos.size());
-            } else {
-                syncRecordService.recordSync("github", username, "failed", "未获取到仓库数据", 0);
-                logger.warn("GitHub仓库同步完成，未获取到数据");
-            }
-        } catch (Exception e) {
-            syncRecordService.recordSync("github", username, "failed", e.getMessage(), 0);
-            logger.error("GitHub仓库同步失败", e);
+    public void runJob(SyncJob job) {
+        String account = job.getAccount();
+        String accessToken = job.getAccessToken();
+        switch (job.getSource()) {
+            case "github" -> runRepoJob(job, "GitHub",
+                    (startUrl, since, stats, handler) -> since == null
+                            ? gitHubApiClient.fetchUserRepos(account, accessToken, startUrl, stats, handler)
+                            : gitHubApiClient.fetchUserReposUpdatedSince(account, accessToken, since, startUrl, stats, handler),
+                    gitHubRepoService::upsertRepos, GitHubRepo::getUpdatedAt);
+            case "gitee" -> runRepoJob(job, "Gitee",
+                    (startUrl, since, stats, handler) -> since == null
+                            ? giteeApiClient.fetchUserRepos(account, accessToken, startUrl, stats, handler)
+                            : giteeApiClient.fetchUserReposUpdatedSince(account, accessToken, since, startUrl, stats, handler),
+                    giteeRepoService::upsertRepos, GiteeRepo::getUpdatedAt);
+            default -> throw new IllegalArgumentException("不支持的同步数据源：" + job.getSource());
         }
     }
 
     @Override
-    public void syncGiteeRepos(String username, String accessToken) {
-        logger.info("开始同步Gitee仓库数据，用户：{}", username);
-        syncRecordService.recordSync("gitee", username, "pending", null, 0);
-        
-        try {
-            List<GiteeRepo> repos = giteeApiClient.getUserRepos(username, accessToken);
-            
-            if (repos != null && !repos.isEmpty()) {
-                int successCount = 0;
-                for (GiteeRepo repo : repos) {
-                    try {
-                        giteeRepoService.saveOrUpdateRepo(repo);
-                        successCount++;
-                    } catch (Exception e) {
-                        logger.error("保存Gitee仓库失败：{}", repo.getRepoName(), e);
-                    }
-                }
-                
-                syncRecordService.recordSync("gitee", username, "success", null, successCount);
-                logger.info("Gitee仓库同步完成，成功{}个，总数{}", successCount, repos.size());
-            } else {
-                syncRecordService.recordSync("gitee", username, "failed", "未获取到仓库数据", 0);
-                logger.warn("Gitee仓库同步完成，未获取到数据");
+    public int requestFullSync(String source) {
+        int count = syncWatermarkService.requestFullSync(source);
+        logger.info("已请求全量对账，数据源：{}，影响{}个账号", source != null ? source : "全部", count);
+        return count;
+    }
+
+    /**
+     * 通过GraphQL批量刷新已入库GitHub仓库的元数据，每100个仓库消耗一次请求
+     */
+    @Override
+    public UpsertResult refreshGitHubRepos(String accessToken) {
+        List<String> names = gitHubRepoService.lambdaQuery()
+                .select(GitHubRepo::getRepoName)
+                .list()
+                .stream()
+                .map(GitHubRepo::getRepoName)
+                .toList();
+        UpsertResult result = new UpsertResult();
+        if (names.isEmpty()) {
+            return result;
+        }
+        int fetched = 0;
+        for (Map.Entry<String, List<String>> group : groupByToken(names, syncConfigService.listEnabled(), accessToken).entrySet()) {
+            List<GitHubRepo> repos = gitHubGraphQLClient.fetchRepos(group.getValue(), group.getKey());
+            fetched += repos.size();
+            if (!repos.isEmpty()) {
+                result.add(gitHubRepoService.upsertRepos(repos));
             }
-        } catch (Exception e) {
-            syncRecordService.recordSync("gitee", username, "failed", e.getMessage(), 0);
-            logger.error("Gitee仓库同步失败", e);
         }
+        logger.info("GitHub仓库元数据刷新完成，已入库{}个，获取{}个，{}", names.size(), fetched, result);
+        return result;
     }
 
-    @Override
-    public void syncAll() {
-        logger.info("开始执行全量数据同步");
-        
-        String gitHubUsername = "your-github-username";
-        String gitHubToken = "your-github-token";
-        String giteeUsername = "your-gitee-username";
-        String giteeToken = "your-gitee-token";
-        
-        syncGitHubRepos(gitHubUsername, gitHubToken);
-        syncGiteeRepos(giteeUsername, giteeToken);
-        
-        logger.info("全量数据同步完成");
+    /**
+     * 按仓库所有者对应的GitHub同步账号令牌分组，私有仓库只有所属账号的令牌可见；
+     * 没有对应账号的仓库使用调用方提供的令牌
+     */
+    static Map<String, List<String>> groupByToken(List<String> names, List<SyncConfig> configs, String fallbackToken) {
+        Map<String, String> tokens = new HashMap<>();
+        for (SyncConfig config : configs) {
+            if ("github".equalsIgnoreCase(config.getSource()) && config.getAccount() != null
+                    && config.getAccessToken() != null && !config.getAccessToken().isEmpty()) {
+                tokens.putIfAbsent(config.getAccount().toLowerCase(Locale.ROOT), config.getAccessToken());
+            }
+        }
+        // 令牌为空时用空串作键，GraphQL客户端对空令牌回退REST
+        Map<String, List<String>> groups = new LinkedHashMap<>();
+        for (String name : names) {
+            int slash = name != null ? name.indexOf('/') : -1;
+            String owner = slash > 0 ? name.substring(0, slash).toLowerCase(Locale.ROOT) : null;
+            String token = owner != null ? tokens.getOrDefault(owner, fallbackToken) : fallbackToken;
+            groups.computeIfAbsent(token != null ? token : "", key -> new ArrayList<>()).add(name);
+        }
+        return groups;
+    }
+
+    /**
+     * 执行一次仓库同步任务。每处理完一页就把下一页地址和进度写入任务检查点，
+     * 任务中断后重新认领时从检查点继续，已写入的页面不会重复拉取。
+     */
+    private <T extends SyncedRepo> void runRepoJob(SyncJob job, String label, RepoFetcher<T> fetcher,
+                                Function<List<T>, UpsertResult> writer, Function<T, LocalDateTime> updatedAt) {
+        String source = job.getSource();
+        String account = job.getAccount();
+        SyncWatermark watermark = syncWatermarkService.getWatermark(source, account);
+
+        // 只有记录过同步模式的检查点才能续传；增量续传还要求水位存在
+        boolean resume = job.getNextUrl() != null && job.getFullSync() != null
+                && (job.getFullSync() || hasMark(watermark));
+        boolean fullSync = resume ? job.getFullSync() : isFullSyncDue(watermark);
+        if (!resume) {
+            job.setPagesDone(0);
+            job.setItemsDone(0);
+            job.setCheckpointMark(null);
+        }
+        job.setFullSync(fullSync);
+        logger.info("开始{}同步{}仓库数据，用户：{}{}", fullSync ? "全量" : "增量", label, account,
+                resume ? "，从检查点第" + job.getPagesDone() + "页之后继续" : "");
+        SyncRun run = syncRecordService.startRun(source, account);
+
+        UpsertResult upsertResult = new UpsertResult();
+        FetchStats fetchStats = new FetchStats();
+        int total;
+        try {
+            total = fetcher.fetch(resume ? job.getNextUrl() : null, fullSync ? null : watermark.getHighWaterMark(),
+                    fetchStats, repos -> {
+                        long writeStart = System.nanoTime();
+                        UpsertResult pageResult = writer.apply(repos);
+                        upsertResult.add(pageResult);
+                        run.addWriteNanos(System.nanoTime() - writeStart);
+                        repos.forEach(repo -> observe(job, updatedAt.apply(repo)));
+                        job.setNextUrl(fetchStats.getNextUrl());
+                        job.setPagesDone(job.getPagesDone() + 1);
+                        job.setItemsDone(job.getItemsDone() + repos.size());
+                        syncJobService.checkpoint(job);
+                        syncRecordService.updateRun(run, upsertResult.getTotal(), fetchStats);
+                        if (activityEnabled) {
+                            // 检查点之后把本页有变化的仓库交给活动入库的独立阶段，不占用同步线程；
+                            // 未变化的仓库没有新活动，不再拉取
+                            repoActivityService.submit(source, changedRepos(repos, pageResult), job.getAccessToken());
+                        }
+                        return true;
+                    });
+        } catch (RuntimeException e) {
+            syncRecordService.finishRun(run, "failed", e.getMessage(), upsertResult.getTotal(), fetchStats);
+            logger.error("{}仓库同步失败，已完成{}页", label, job.getPagesDone(), e);
+            throw e;
+        }
+
+        if (fetchStats.getPages() == 0) {
+            syncRecordService.finishRun(run, "failed", "未获取到仓库数据", 0, fetchStats);
+            throw new IllegalStateException("未获取到" + label + "仓库数据");
+        }
+        syncWatermarkService.advance(source, account, job.getCheckpointMark(), fullSync);
+        syncRecordService.finishRun(run, "success", null, upsertResult.getTotal(), fetchStats);
+        logger.info("{}仓库同步完成，总数{}，{}，304未修改{}页，节省{}字节，耗时{}ms（写库{}ms）",
+                label, total, upsertResult, fetchStats.getNotModified(), fetchStats.getBytesSaved(),
+                run.getElapsedMs(), run.getWriteMs());
+    }
+
+    /**
+     * 没有水位或距上次全量对账超过间隔时走全量，其余情况走增量
+     */
+    private boolean isFullSyncDue(SyncWatermark watermark) {
+        if (!hasMark(watermark) || watermark.getLastFullSyncTime() == null) {
+            return true;
+        }
+        return watermark.getLastFullSyncTime().plusHours(fullSyncIntervalHours).isBefore(LocalDateTime.now());
+    }
+
+    private static boolean hasMark(SyncWatermark watermark) {
+        return watermark != null && watermark.getHighWaterMark() != null;
+    }
+
+    private static <T extends SyncedRepo> List<T> changedRepos(List<T> repos, UpsertResult result) {
+        Set<Long> changed = new HashSet<>(result.getChangedRepoIds());
+        return repos.stream().filter(repo -> changed.contains(repo.getRepoId())).toList();
+    }
+
+    private static void observe(SyncJob job, LocalDateTime updatedAt) {
+        if (updatedAt != null && (job.getCheckpointMark() == null || updatedAt.isAfter(job.getCheckpointMark()))) {
+            job.setCheckpointMark(updatedAt);
+        }
+    }
+
+    /**
+     * 按数据源拉取仓库；since为空时全量拉取，否则只拉取之后有更新的仓库
+     */
+    @FunctionalInterface
+    private interface RepoFetcher<T> {
+        int fetch(String startUrl, LocalDateTime since, FetchStats stats, RepoPageHandler<T> handler);
     }
 }
@@ -1,26 +1,33 @@
 package com.ai.dev.platform.modules.sync.service.impl;
 
+import com.ai.dev.platform.modules.sync.dto.UpsertResult;
 import com.ai.dev.platform.modules.sync.entity.GitHubRepo;
 import com.ai.dev.platform.modules.sync.mapper.GitHubRepoMapper;
 import com.ai.dev.platform.modules.sync.service.GitHubRepoService;
+import com.ai.dev.platform.modules.sync.util.RepoChangeWriter;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class GitHubRepoServiceImpl extends ServiceImpl<GitHubRepoMapper, GitHubRepo> implements GitHubRepoService {
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public void saveOrUpdateRepo(GitHubRepo repo) {
-        LambdaQueryWrapper<GitHubRepo> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(GitHubRepo::getRepoId, repo.getRepoId());
-        
-        GitHubRepo existingRepo = this.getOne(wrapper);
-        if (existingRepo != null) {
-            repo.setId(existingRepo.getId());
-            this.updateById(repo);
-        } else {
-            this.save(repo);
-        }
+        upsertRepos(List.of(repo));
+    }
+
+    @Override
+    public UpsertResult upsertRepos(List<GitHubRepo> repos) {
+        return RepoChangeWriter.upsert("github", repos, RepoChangeWriter.DEFAULT_BATCH_SIZE,
+                repoIds -> baseMapper.selectList(new LambdaQueryWrapper<GitHubRepo>().in(GitHubRepo::getRepoId, repoIds)),
+                baseMapper::upsertBatch, eventPublisher::publishEvent);
     }
 }
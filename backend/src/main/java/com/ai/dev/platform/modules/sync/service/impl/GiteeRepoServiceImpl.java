@@ -1,26 +1,33 @@
 package com.ai.dev.platform.modules.sync.service.impl;
 
+import com.ai.dev.platform.modules.sync.dto.UpsertResult;
 import com.ai.dev.platform.modules.sync.entity.GiteeRepo;
 import com.ai.dev.platform.modules.sync.mapper.GiteeRepoMapper;
 import com.ai.dev.platform.modules.sync.service.GiteeRepoService;
+import com.ai.dev.platform.modules.sync.util.RepoChangeWriter;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class GiteeRepoServiceImpl extends ServiceImpl<GiteeRepoMapper, GiteeRepo> implements GiteeRepoService {
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public void saveOrUpdateRepo(GiteeRepo repo) {
-        LambdaQueryWrapper<GiteeRepo> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(GiteeRepo::getRepoId, repo.getRepoId());
-        
-        GiteeRepo existingRepo = this.getOne(wrapper);
-        if (existingRepo != null) {
-            repo.setId(existingRepo.getId());
-            this.updateById(repo);
-        } else {
-            this.save(repo);
-        }
+        upsertRepos(List.of(repo));
+    }
+
+    @Override
+    public UpsertResult upsertRepos(List<GiteeRepo> repos) {
+        return RepoChangeWriter.upsert("gitee", repos, RepoChangeWriter.DEFAULT_BATCH_SIZE,
+                repoIds -> baseMapper.selectList(new LambdaQueryWrapper<GiteeRepo>().in(GiteeRepo::getRepoId, repoIds)),
+                baseMapper::upsertBatch, eventPublisher::publishEvent);
     }
 }
@@ -0,0 +1,186 @@
+package com.ai.dev.platform.modules.sync.service.impl;
+
+import com.ai.dev.platform.common.PagePipeline;
+import com.ai.dev.platform.modules.sync.entity.RepoCommit;
+import com.ai.dev.platform.modules.sync.entity.RepoIssue;
+import com.ai.dev.platform.modules.sync.entity.SyncWatermark;
+import com.ai.dev.platform.modules.sync.entity.SyncedRepo;
+import com.ai.dev.platform.modules.sync.mapper.RepoCommitMapper;
+import com.ai.dev.platform.modules.sync.mapper.RepoIssueMapper;
+import com.ai.dev.platform.modules.sync.service.RepoActivityService;
+import com.ai.dev.platform.modules.sync.service.SyncWatermarkService;
+import com.ai.dev.platform.modules.sync.util.RepoActivityClient;
+import com.ai.dev.platform.modules.sync.util.RepoPageHandler;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 仓库活动数据增量入库
+ *
+ * <p>每个仓库的提交和Issue/PR各有一个since游标，保存在sync_watermark中。
+ * 拉取在独立线程中进行，逐页经有界队列交给当前线程批量写库，两者重叠执行；
+ * 整个流全部写入成功后才推进游标，中途失败时下次从原游标重新拉取，写入是幂等的。
+ *
+ * <p>仓库同步在检查点之后通过{@link #submit}提交有变化的仓库，由固定线程数、有界队列的入库阶段执行，
+ * 同一仓库排队期间不重复提交；队列满时丢弃并记录告警，游标未推进，仓库下次变化时重新提交。
+ */
+@Service
+public class RepoActivityServiceImpl implements RepoActivityService, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepoActivityServiceImpl.class);
+
+    @Autowired
+    private RepoActivityClient repoActivityClient;
+
+    @Autowired
+    private RepoCommitMapper repoCommitMapper;
+
+    @Autowired
+    private RepoIssueMapper repoIssueMapper;
+
+    @Autowired
+    private SyncWatermarkService syncWatermarkService;
+
+    @Value("${sync.activity.queue-pages:4}")
+    private int queuePages;
+
+    @Value("${sync.activity.initial-lookback-days:90}")
+    private int initialLookbackDays;
+
+    @Value("${sync.activity.threads:2}")
+    private int threads;
+
+    @Value("${sync.activity.queue-capacity:1000}")
+    private int queueCapacity;
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolExecutor ingestExecutor;
+
+    private ExecutorService fetchExecutor;
+
+    @PostConstruct
+    public void init() {
+        int size = Math.max(1, threads);
+        ingestExecutor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), daemonFactory("sync-activity-ingest-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        // 每个入库线程同一时刻只占用一个拉取线程；写库在入库线程上消费，不能用CallerRuns，否则会自等待
+        fetchExecutor = Executors.newFixedThreadPool(size, daemonFactory("sync-activity-fetch-"));
+    }
+
+    private static ThreadFactory daemonFactory(String prefix) {
+        AtomicInteger index = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + index.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    @Override
+    public long ingest(String source, Long repoId, String repoName, String accessToken) {
+        long commits = ingestStream(source + "-commits", repoId, repoName,
+                (since, handler) -> repoActivityClient.fetchCommits(source, repoId, repoName, accessToken, since, handler),
+                repoCommitMapper::insertBatch, RepoCommit::getCommittedAt);
+        long issues = ingestStream(source + "-issues", repoId, repoName,
+                (since, handler) -> repoActivityClient.fetchIssues(source, repoId, repoName, accessToken, since, handler),
+                repoIssueMapper::upsertBatch, RepoIssue::getUpdatedAt);
+        logger.debug("仓库活动入库完成：{}，提交{}条，Issue/PR{}条", repoName, commits, issues);
+        return commits + issues;
+    }
+
+    @Override
+    public int submit(String source, List<? extends SyncedRepo> repos, String accessToken) {
+        int accepted = 0;
+        int rejected = 0;
+        for (SyncedRepo repo : repos) {
+            String key = source + ":" + repo.getRepoId();
+            if (!pending.add(key)) {
+                continue;
+            }
+            try {
+                ingestExecutor.execute(() -> {
+                    try {
+                        ingest(source, repo.getRepoId(), repo.getRepoName(), accessToken);
+                    } catch (Exception e) {
+                        // 单个仓库失败不影响其余仓库，游标未推进，下次提交时重试
+                        logger.warn("仓库活动入库失败：{}，{}", repo.getRepoName(), e.getMessage());
+                    } finally {
+                        pending.remove(key);
+                    }
+                });
+                accepted++;
+            } catch (RejectedExecutionException e) {
+                pending.remove(key);
+                rejected++;
+            }
+        }
+        if (rejected > 0) {
+            logger.warn("{}仓库活动入库队列已满，丢弃{}个仓库，待其下次变化时重新提交", source, rejected);
+        }
+        return accepted;
+    }
+
+    /**
+     * 从游标处拉取一类活动数据并写库，全部写入后把游标推进到已见到的最大时间
+     */
+    private <T> long ingestStream(String cursorSource, Long repoId, String repoName, ActivityFetcher<T> fetcher,
+                                  Consumer<List<T>> writer, Function<T, LocalDateTime> time) {
+        String cursorKey = "repo:" + repoId;
+        SyncWatermark cursor = syncWatermarkService.getWatermark(cursorSource, cursorKey);
+        LocalDateTime since = cursor != null && cursor.getHighWaterMark() != null
+                ? cursor.getHighWaterMark()
+                : LocalDateTime.now().minusDays(initialLookbackDays);
+        AtomicReference<LocalDateTime> mark = new AtomicReference<>();
+
+        PagePipeline<T> pipeline = new PagePipeline<>(cursorSource + ":" + repoName, queuePages);
+        long written = pipeline.run(fetchExecutor,
+                sink -> fetcher.fetch(since, sink::test),
+                page -> {
+                    writer.accept(page);
+                    for (T item : page) {
+                        LocalDateTime value = time.apply(item);
+                        if (value != null) {
+                            mark.accumulateAndGet(value, (a, b) -> a == null || b.isAfter(a) ? b : a);
+                        }
+                    }
+                });
+        if (mark.get() != null) {
+            syncWatermarkService.advance(cursorSource, cursorKey, mark.get(), false);
+        }
+        return written;
+    }
+
+    @Override
+    public void destroy() {
+        ingestExecutor.shutdownNow();
+        fetchExecutor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    private interface ActivityFetcher<T> {
+        int fetch(LocalDateTime since, RepoPageHandler<T> handler);
+    }
+}
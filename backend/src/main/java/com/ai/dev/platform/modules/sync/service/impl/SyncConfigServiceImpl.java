@@ -0,0 +1,49 @@
+package com.ai.dev.platform.modules.sync.service.impl;
+
+import com.ai.dev.platform.modules.sync.entity.SyncConfig;
+import com.ai.dev.platform.modules.sync.mapper.SyncConfigMapper;
+import com.ai.dev.platform.modules.sync.service.SyncConfigService;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public class SyncConfigServiceImpl extends ServiceImpl<SyncConfigMapper, SyncConfig> implements SyncConfigService {
+
+    @Value("${sync.webhook.enabled:false}")
+    private boolean webhookEnabled;
+
+    @Value("${sync.webhook.fallback-poll-minutes:1440}")
+    private int fallbackPollMinutes;
+
+    @Override
+    public List<SyncConfig> listEnabled() {
+        LambdaQueryWrapper<SyncConfig> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(SyncConfig::getIsEnabled, true);
+        return this.list(wrapper);
+    }
+
+    @Override
+    public List<SyncConfig> listDue() {
+        // 启用Webhook后轮询只作为兜底对账，放慢到fallback间隔
+        return baseMapper.findDueConfigs(webhookEnabled ? fallbackPollMinutes : 0);
+    }
+
+    @Override
+    public SyncConfig findEnabled(String source, String account) {
+        return baseMapper.findEnabled(source, account);
+    }
+
+    @Override
+    public void markSynced(Long configId, LocalDateTime syncTime) {
+        LambdaUpdateWrapper<SyncConfig> wrapper = new LambdaUpdateWrapper<>();
+        wrapper.eq(SyncConfig::getId, configId)
+                .set(SyncConfig::getLastSyncTime, syncTime);
+        this.update(wrapper);
+    }
+}
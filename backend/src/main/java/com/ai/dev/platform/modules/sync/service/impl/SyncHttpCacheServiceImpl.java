@@ -0,0 +1,68 @@
+package com.ai.dev.platform.modules.sync.service.impl;
+
+import com.ai.dev.platform.modules.sync.entity.SyncHttpCache;
+import com.ai.dev.platform.modules.sync.mapper.SyncHttpCacheMapper;
+import com.ai.dev.platform.modules.sync.service.SyncHttpCacheService;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+@Service
+public class SyncHttpCacheServiceImpl extends ServiceImpl<SyncHttpCacheMapper, SyncHttpCache> implements SyncHttpCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyncHttpCacheServiceImpl.class);
+
+    @Override
+    public SyncHttpCache findEntry(String requestUrl, String accessToken) {
+        try {
+            return baseMapper.findByCacheKey(cacheKey(requestUrl, accessToken));
+        } catch (Exception e) {
+            // 缓存不可用时退化为普通请求，不影响同步
+            logger.warn("读取HTTP条件请求缓存失败：{}", requestUrl, e);
+            return null;
+        }
+    }
+
+    @Override
+    public void saveEntry(String requestUrl, String accessToken, String etag, String lastModified,
+                          String nextUrl, long contentLength) {
+        if (etag == null && lastModified == null) {
+            return;
+        }
+        SyncHttpCache cache = new SyncHttpCache();
+        cache.setCacheKey(cacheKey(requestUrl, accessToken));
+        cache.setRequestUrl(requestUrl);
+        cache.setEtag(etag);
+        cache.setLastModified(lastModified);
+        cache.setNextUrl(nextUrl);
+        cache.setContentLength(contentLength);
+        try {
+            baseMapper.upsert(cache);
+        } catch (Exception e) {
+            logger.warn("写入HTTP条件请求缓存失败：{}", requestUrl, e);
+        }
+    }
+
+    /**
+     * 缓存键由URL和令牌共同决定，不同令牌看到的数据可能不同；令牌只以摘要形式参与，不落库
+     */
+    private String cacheKey(String requestUrl, String accessToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(requestUrl.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            if (accessToken != null) {
+                digest.update(accessToken.getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256不可用", e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.ai.dev.platform.modules.sync.service.impl;
+
+import com.ai.dev.platform.modules.sync.entity.SyncJob;
+import com.ai.dev.platform.modules.sync.mapper.SyncJobMapper;
+import com.ai.dev.platform.modules.sync.service.SyncJobService;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+
+@Service
+public class SyncJobServiceImpl extends ServiceImpl<SyncJobMapper, SyncJob> implements SyncJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyncJobServiceImpl.class);
+
+    // pid@hostname，用于区分认领任务的节点
+    private static final String WORKER_ID = ManagementFactory.getRuntimeMXBean().getName();
+
+    @Value("${sync.jobs.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${sync.jobs.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${sync.jobs.retry-delay-seconds:60}")
+    private long retryDelaySeconds;
+
+    @Override
+    public SyncJob enqueue(String source, String account, String accessToken, Long configId) {
+        SyncJob job = new SyncJob();
+        job.setSource(source.toLowerCase());
+        job.setAccount(account != null ? account : "");
+        job.setAccessToken(accessToken);
+        job.setConfigId(configId);
+        job.setMaxAttempts(maxAttempts);
+        Long id = baseMapper.insertIfIdle(job);
+        if (id != null) {
+            logger.info("同步任务入队：{}/{}，任务ID：{}", job.getSource(), job.getAccount(), id);
+            return this.getById(id);
+        }
+        return baseMapper.findActive(job.getSource(), job.getAccount());
+    }
+
+    @Override
+    public SyncJob claimNext(String source) {
+        return baseMapper.claimNext(source, WORKER_ID, leaseSeconds);
+    }
+
+    @Override
+    public void checkpoint(SyncJob job) {
+        if (baseMapper.checkpoint(job) == 0) {
+            // 租约已过期并被其他节点认领，停止当前执行，避免两个节点同时推进同一任务
+            throw new IllegalStateException("同步任务已被其他节点接管：" + job.getId());
+        }
+    }
+
+    @Override
+    public void succeed(SyncJob job) {
+        baseMapper.finish(job.getId(), job.getWorker(), SyncJob.STATUS_SUCCEEDED, null);
+    }
+
+    @Override
+    public void fail(SyncJob job, String errorMessage) {
+        int attempts = job.getAttempts() != null ? job.getAttempts() : 1;
+        int limit = job.getMaxAttempts() != null ? job.getMaxAttempts() : maxAttempts;
+        if (attempts < limit) {
+            long delay = retryDelaySeconds * attempts;
+            baseMapper.requeue(job.getId(), job.getWorker(), errorMessage, delay);
+            logger.warn("同步任务{}第{}次执行失败，{}秒后从检查点重试：{}", job.getId(), attempts, delay, errorMessage);
+        } else {
+            baseMapper.finish(job.getId(), job.getWorker(), SyncJob.STATUS_FAILED, errorMessage);
+            logger.error("同步任务{}已失败{}次，不再重试：{}", job.getId(), attempts, errorMessage);
+        }
+    }
+
+    @Override
+    public void heartbeat(Collection<Long> jobIds) {
+        if (!jobIds.isEmpty()) {
+            baseMapper.heartbeat(WORKER_ID, jobIds);
+        }
+    }
+}
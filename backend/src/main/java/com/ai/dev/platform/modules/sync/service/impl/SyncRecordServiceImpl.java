@@ -1,12 +1,24 @@
 package com.ai.dev.platform.modules.sync.service.impl;
 
+import com.ai.dev.platform.common.AsyncBatchWriter;
+import com.ai.dev.platform.modules.sync.dto.FetchStats;
+import com.ai.dev.platform.modules.sync.dto.SyncRun;
 import com.ai.dev.platform.modules.sync.entity.SyncRecord;
+import com.ai.dev.platform.modules.sync.entity.SyncRecordDaily;
+import com.ai.dev.platform.modules.sync.mapper.SyncRecordDailyMapper;
 import com.ai.dev.platform.modules.sync.mapper.SyncRecordMapper;
 import com.ai.dev.platform.modules.sync.service.SyncRecordService;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 同步记录服务实现类
@@ -27,7 +39,61 @@ import java.time.LocalDateTime;
  * @since 1.0.0
  */
 @Service
-public class SyncRecordServiceImpl extends ServiceImpl<SyncRecordMapper, SyncRecord> implements SyncRecordService {
+public class SyncRecordServiceImpl extends ServiceImpl<SyncRecordMapper, SyncRecord>
+        implements SyncRecordService, DisposableBean {
+
+    /**
+     * 同步记录写入队列容量
+     * 
+     * @since 1.0.0
+     */
+    @Value("${sync.record-writer.capacity:10000}")
+    private int capacity;
+
+    /**
+     * 单次批量写入的最大条数
+     * 
+     * @since 1.0.0
+     */
+    @Value("${sync.record-writer.batch-size:200}")
+    private int batchSize;
+
+    /**
+     * 最长刷写间隔（毫秒）
+     * 
+     * @since 1.0.0
+     */
+    @Value("${sync.record-writer.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    /**
+     * 同步记录异步写入器
+     * 
+     * <p>按runId合并同一运行的多次更新，后台线程批量upsert，
+     * 同步过程不会等待审计记录写库。
+     * 
+     * @since 1.0.0
+     */
+    private AsyncBatchWriter<SyncRecord> recordWriter;
+
+    /**
+     * 每日汇总数据访问
+     * 
+     * @since 1.0.0
+     */
+    @Autowired
+    private SyncRecordDailyMapper syncRecordDailyMapper;
+
+    /**
+     * 初始化异步写入器
+     * 
+     * @since 1.0.0
+     */
+    @PostConstruct
+    public void init() {
+        recordWriter = new AsyncBatchWriter<>("sync-record", capacity, batchSize, flushIntervalMs,
+                SyncRecord::getRunId, records -> baseMapper.upsertBatch(records));
+    }
 
     /**
      * 记录同步操作详情
@@ -49,7 +115,7 @@ public class SyncRecordServiceImpl extends ServiceImpl<SyncRecordMapper, SyncRec
      *   <li>记录当前时间和同步状态</li>
      *   <li>保存错误信息(如有)</li>
      *   <li>记录处理的数据量</li>
-     *   <li>保存到数据库</li>
+     *   <li>放入异步写入队列，由后台线程批量保存到数据库</li>
      * </ol>
      * 
      * @param source 同步来源平台，如"GitHub"或"Gitee"
@@ -61,24 +127,169 @@ public class SyncRecordServiceImpl extends ServiceImpl<SyncRecordMapper, SyncRec
      */
     @Override
     public void recordSync(String source, String repoName, String status, String errorMessage, Integer dataCount) {
-        // 创建新的同步记录对象
+        recordSync(source, repoName, status, errorMessage, dataCount, null);
+    }
+
+    /**
+     * 记录同步操作详情及条件请求统计
+     * 
+     * <p>在{@link #recordSync(String, String, String, String, Integer)}的基础上，
+     * 额外记录本次拉取的缓存命中次数、304未修改次数和节省的字节数。
+     * 
+     * @param source 同步来源平台
+     * @param repoName 同步的仓库名称
+     * @param status 同步状态
+     * @param errorMessage 同步错误信息，成功时可为null
+     * @param dataCount 同步处理的数据条数，null时默认为0
+     * @param fetchStats 拉取统计，null时各计数记为0
+     * @since 1.0.0
+     */
+    @Override
+    public void recordSync(String source, String repoName, String status, String errorMessage, Integer dataCount,
+                           FetchStats fetchStats) {
+        // 独立的一次性记录，使用新的运行标识
+        SyncRun run = new SyncRun(source, repoName);
+        recordWriter.offer(buildRecord(run, status, errorMessage, dataCount, fetchStats, false));
+    }
+
+    /**
+     * 开始一次同步运行
+     * 
+     * <p>异步写入一条pending状态的记录，之后的进度和结束状态都更新这一行。
+     * 
+     * @param source 同步来源平台
+     * @param repoName 同步的仓库或账号名称
+     * @return SyncRun 同步运行句柄
+     * @since 1.0.0
+     */
+    @Override
+    public SyncRun startRun(String source, String repoName) {
+        SyncRun run = new SyncRun(source, repoName);
+        recordWriter.offer(buildRecord(run, "pending", null, 0, null, false));
+        return run;
+    }
+
+    /**
+     * 更新同步进度
+     * 
+     * <p>在刷写前与同一运行尚未写入的记录合并，频繁调用也只产生一次写入。
+     * 
+     * @param run 同步运行句柄
+     * @param dataCount 已处理的数据条数
+     * @param fetchStats 当前拉取统计
+     * @since 1.0.0
+     */
+    @Override
+    public void updateRun(SyncRun run, Integer dataCount, FetchStats fetchStats) {
+        recordWriter.offer(buildRecord(run, "running", null, dataCount, fetchStats, false));
+    }
+
+    /**
+     * 结束同步运行
+     * 
+     * <p>记录最终状态、结束时间、总耗时以及拉取和写库两个阶段的耗时。
+     * 
+     * @param run 同步运行句柄
+     * @param status 最终状态，success或failed
+     * @param errorMessage 错误信息，成功时为null
+     * @param dataCount 同步处理的数据条数
+     * @param fetchStats 拉取统计
+     * @since 1.0.0
+     */
+    @Override
+    public void finishRun(SyncRun run, String status, String errorMessage, Integer dataCount, FetchStats fetchStats) {
+        recordWriter.offer(buildRecord(run, status, errorMessage, dataCount, fetchStats, true));
+    }
+
+    /**
+     * 键集分页查询同步记录
+     * 
+     * <p>按(sync_time, id)倒序定位，翻页代价与页码无关，
+     * 查询条件带有分区键，只会扫描游标之前的分区。
+     * 
+     * @param source 数据源，为空时不过滤
+     * @param beforeTime 上一页最后一条记录的同步时间，为空时从最新开始
+     * @param beforeId 上一页最后一条记录的ID
+     * @param limit 每页条数
+     * @return List<SyncRecord> 同步记录
+     * @since 1.0.0
+     */
+    @Override
+    public List<SyncRecord> listRecords(String source, LocalDateTime beforeTime, Long beforeId, int limit) {
+        if (beforeTime != null && beforeId == null) {
+            beforeId = Long.MAX_VALUE;
+        }
+        return baseMapper.findPage(source, beforeTime, beforeId, limit);
+    }
+
+    /**
+     * 重新汇总[from, to)内每天、每个数据源的同步统计
+     * 
+     * @param from 起始日期（含）
+     * @param to 结束日期（不含）
+     * @return int 写入的汇总行数
+     * @since 1.0.0
+     */
+    @Override
+    public int rollupDaily(LocalDate from, LocalDate to) {
+        return syncRecordDailyMapper.rollup(from, to);
+    }
+
+    /**
+     * 查询最近若干天的每日汇总
+     * 
+     * <p>汇总表在原始记录分区删除后依然保留，可用于长期趋势统计。
+     * 
+     * @param source 数据源，为空时返回全部
+     * @param days 天数，包含今天
+     * @return List<SyncRecordDaily> 按日期倒序的汇总
+     * @since 1.0.0
+     */
+    @Override
+    public List<SyncRecordDaily> listDaily(String source, int days) {
+        LambdaQueryWrapper<SyncRecordDaily> wrapper = new LambdaQueryWrapper<>();
+        wrapper.ge(SyncRecordDaily::getStatDate, LocalDate.now().minusDays(Math.max(1, days) - 1L));
+        if (source != null && !source.isEmpty()) {
+            wrapper.eq(SyncRecordDaily::getSource, source);
+        }
+        wrapper.orderByDesc(SyncRecordDaily::getStatDate).orderByAsc(SyncRecordDaily::getSource);
+        return syncRecordDailyMapper.selectList(wrapper);
+    }
+
+    private SyncRecord buildRecord(SyncRun run, String status, String errorMessage, Integer dataCount,
+                                   FetchStats fetchStats, boolean finished) {
         SyncRecord record = new SyncRecord();
-        // 设置同步来源平台
-        record.setSource(source);
-        // 设置同步的仓库名称
-        record.setRepoName(repoName);
-        // 设置同步时间
-        record.setSyncTime(LocalDateTime.now());
-        // 设置同步状态
+        record.setRunId(run.getRunId());
+        record.setSource(run.getSource());
+        record.setRepoName(run.getRepoName());
+        record.setSyncTime(run.getStartTime());
         record.setSyncStatus(status);
-        // 设置错误信息(可能为null)
         record.setErrorMessage(errorMessage);
-        // 设置同步数据量，null时默认为0
         record.setDataCount(dataCount != null ? dataCount : 0);
-        // 设置记录创建时间
-        record.setCreateTime(LocalDateTime.now());
-        
-        // 保存同步记录到数据库
-        this.save(record);
+        record.setCacheHits(fetchStats != null ? fetchStats.getCacheHits() : 0);
+        record.setNotModifiedCount(fetchStats != null ? fetchStats.getNotModified() : 0);
+        record.setBytesSaved(fetchStats != null ? fetchStats.getBytesSaved() : 0L);
+        if (finished) {
+            long durationMs = run.getElapsedMs();
+            long writeMs = Math.min(run.getWriteMs(), durationMs);
+            record.setFinishTime(LocalDateTime.now());
+            record.setDurationMs(durationMs);
+            record.setWriteMs(writeMs);
+            record.setFetchMs(durationMs - writeMs);
+        }
+        record.setCreateTime(run.getStartTime());
+        return record;
+    }
+
+    /**
+     * 停止接收新记录，并把队列中的记录刷写完毕
+     * 
+     * @since 1.0.0
+     */
+    @Override
+    public void destroy() {
+        if (recordWriter != null) {
+            recordWriter.close();
+        }
     }
 }
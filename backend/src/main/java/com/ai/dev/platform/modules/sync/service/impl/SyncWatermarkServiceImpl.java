@@ -0,0 +1,38 @@
+package com.ai.dev.platform.modules.sync.service.impl;
+
+import com.ai.dev.platform.modules.sync.entity.SyncWatermark;
+import com.ai.dev.platform.modules.sync.mapper.SyncWatermarkMapper;
+import com.ai.dev.platform.modules.sync.service.SyncWatermarkService;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+@Service
+public class SyncWatermarkServiceImpl extends ServiceImpl<SyncWatermarkMapper, SyncWatermark> implements SyncWatermarkService {
+
+    @Override
+    public SyncWatermark getWatermark(String source, String account) {
+        return baseMapper.findBySourceAndAccount(source, normalize(account));
+    }
+
+    @Override
+    public void advance(String source, String account, LocalDateTime highWaterMark, boolean fullSync) {
+        SyncWatermark watermark = new SyncWatermark();
+        watermark.setSource(source);
+        watermark.setAccount(normalize(account));
+        watermark.setHighWaterMark(highWaterMark);
+        watermark.setLastFullSyncTime(fullSync ? LocalDateTime.now() : null);
+        baseMapper.upsert(watermark);
+    }
+
+    @Override
+    public int requestFullSync(String source) {
+        return baseMapper.clearFullSyncTime(source != null && !source.isEmpty() ? source.toLowerCase() : null);
+    }
+
+    // 唯一键包含account，未配置账号的默认同步统一记为空串
+    private String normalize(String account) {
+        return account != null ? account : "";
+    }
+}
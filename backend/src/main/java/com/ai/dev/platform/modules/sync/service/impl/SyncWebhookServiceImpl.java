@@ -0,0 +1,281 @@
+package com.ai.dev.platform.modules.sync.service.impl;
+
+import com.ai.dev.platform.modules.sync.dto.UpsertResult;
+import com.ai.dev.platform.modules.sync.dto.WebhookResult;
+import com.ai.dev.platform.modules.sync.dto.WebhookResult.Outcome;
+import com.ai.dev.platform.modules.sync.entity.GitHubRepo;
+import com.ai.dev.platform.modules.sync.entity.SyncConfig;
+import com.ai.dev.platform.modules.sync.entity.SyncedRepo;
+import com.ai.dev.platform.modules.sync.mapper.SyncWebhookDeliveryMapper;
+import com.ai.dev.platform.modules.sync.service.GitHubRepoService;
+import com.ai.dev.platform.modules.sync.service.GiteeRepoService;
+import com.ai.dev.platform.modules.sync.service.SyncConfigService;
+import com.ai.dev.platform.modules.sync.service.SyncWebhookService;
+import com.ai.dev.platform.modules.sync.util.GitHubApiClient;
+import com.ai.dev.platform.modules.sync.util.GiteeApiClient;
+import com.ai.dev.platform.modules.sync.util.WebhookSignature;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Webhook事件处理
+ *
+ * <p>校验签名后按投递ID去重。事件只作为触发信号：只从请求体中取仓库全名，
+ * 再用该仓库所属同步账号的令牌通过API重新获取仓库，写入单行，不信任请求体中的仓库数据；
+ * 不属于已启用同步账号的仓库忽略。
+ *
+ * <p>请求线程只做校验、去重和查找账号，重新获取交给有界线程池后立即返回202，
+ * 限流等待不会占用Servlet线程。队列已满或请求线程上出错时删除投递记录并抛出异常，平台重试投递时可以再次处理；
+ * 后台获取或写入失败时同样删除投递记录，可在平台手动重新投递，兜底轮询也会对账。
+ */
+@Service
+public class SyncWebhookServiceImpl implements SyncWebhookService, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyncWebhookServiceImpl.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Gitee请求时间戳允许的最大偏差，超出视为重放
+     */
+    private static final long GITEE_TIMESTAMP_TOLERANCE_MS = 3_600_000;
+
+    @Autowired
+    private GitHubApiClient gitHubApiClient;
+
+    @Autowired
+    private GiteeApiClient giteeApiClient;
+
+    @Autowired
+    private GitHubRepoService gitHubRepoService;
+
+    @Autowired
+    private GiteeRepoService giteeRepoService;
+
+    @Autowired
+    private SyncConfigService syncConfigService;
+
+    @Autowired
+    private SyncWebhookDeliveryMapper syncWebhookDeliveryMapper;
+
+    @Value("${sync.webhook.github-secret:}")
+    private String gitHubSecret;
+
+    @Value("${sync.webhook.gitee-secret:}")
+    private String giteeSecret;
+
+    /**
+     * 是否接受Gitee的密码模式（X-Gitee-Token直接等于secret），默认只接受签名模式
+     */
+    @Value("${sync.webhook.gitee-password-mode:false}")
+    private boolean giteePasswordMode;
+
+    @Value("${sync.webhook.refetch-threads:2}")
+    private int refetchThreads;
+
+    @Value("${sync.webhook.refetch-queue-capacity:200}")
+    private int refetchQueueCapacity;
+
+    @Value("${sync.webhook.delivery-retention-hours:72}")
+    private long deliveryRetentionHours;
+
+    private Executor refetchExecutor;
+
+    @PostConstruct
+    public void init() {
+        int size = Math.max(1, refetchThreads);
+        AtomicInteger index = new AtomicInteger();
+        refetchExecutor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, refetchQueueCapacity)), r -> {
+                    Thread t = new Thread(r, "sync-webhook-refetch-" + index.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public WebhookResult handleGitHub(String event, String deliveryId, String signature, byte[] payload) {
+        if (!WebhookSignature.verifyGitHub(gitHubSecret, payload, signature)) {
+            logger.warn("GitHub Webhook签名校验失败，投递ID：{}", deliveryId);
+            return WebhookResult.of(Outcome.UNAUTHORIZED, "签名校验失败");
+        }
+        if ("ping".equals(event)) {
+            return WebhookResult.of(Outcome.IGNORED, "ping");
+        }
+        JsonNode root = readPayload(payload);
+        JsonNode repoNode = root != null ? root.get("repository") : null;
+        if (repoNode == null || !repoNode.isObject()) {
+            return WebhookResult.of(Outcome.IGNORED, "事件不包含仓库数据：" + event);
+        }
+
+        String key = "github:" + (deliveryId != null && !deliveryId.isEmpty() ? deliveryId : digest(payload));
+        if (syncWebhookDeliveryMapper.insertIfAbsent(key, "github", event) == 0) {
+            return WebhookResult.of(Outcome.DUPLICATE, "重复投递：" + key);
+        }
+        try {
+            if ("repository".equals(event) && "deleted".equals(root.path("action").asText())) {
+                LambdaQueryWrapper<GitHubRepo> wrapper = new LambdaQueryWrapper<>();
+                wrapper.eq(GitHubRepo::getRepoId, repoNode.path("id").asLong());
+                gitHubRepoService.remove(wrapper);
+                return WebhookResult.of(Outcome.APPLIED, "已删除仓库：" + repoNode.path("full_name").asText());
+            }
+            String fullName = repoNode.path("full_name").asText("");
+            SyncConfig config = findConfig("github", fullName);
+            if (config == null) {
+                syncWebhookDeliveryMapper.deleteById(key);
+                return WebhookResult.of(Outcome.IGNORED, "仓库不属于已启用的同步账号：" + fullName);
+            }
+            String[] parts = fullName.split("/", 2);
+            return submitRefetch(key, "GitHub", event, fullName,
+                    () -> gitHubApiClient.getRepo(parts[0], parts[1], config.getAccessToken()),
+                    gitHubRepoService::upsertRepos);
+        } catch (RuntimeException e) {
+            syncWebhookDeliveryMapper.deleteById(key);
+            throw e;
+        }
+    }
+
+    @Override
+    public WebhookResult handleGitee(String event, String token, String timestamp, byte[] payload) {
+        if (!WebhookSignature.verifyGitee(giteeSecret, token, timestamp, giteePasswordMode)) {
+            logger.warn("Gitee Webhook签名校验失败，事件：{}", event);
+            return WebhookResult.of(Outcome.UNAUTHORIZED, "签名校验失败");
+        }
+        if (isStale(timestamp)) {
+            logger.warn("Gitee Webhook时间戳过期：{}", timestamp);
+            return WebhookResult.of(Outcome.UNAUTHORIZED, "时间戳过期");
+        }
+        JsonNode root = readPayload(payload);
+        JsonNode repoNode = root != null ? root.get("repository") : null;
+        if ((repoNode == null || !repoNode.isObject()) && root != null) {
+            repoNode = root.get("project");
+        }
+        if (repoNode == null || !repoNode.isObject()) {
+            return WebhookResult.of(Outcome.IGNORED, "事件不包含仓库数据：" + event);
+        }
+
+        // Gitee没有投递ID，以时间戳和请求体摘要标识一次投递，平台重试时二者不变
+        String key = "gitee:" + timestamp + ":" + digest(payload);
+        if (syncWebhookDeliveryMapper.insertIfAbsent(key, "gitee", event) == 0) {
+            return WebhookResult.of(Outcome.DUPLICATE, "重复投递：" + key);
+        }
+        try {
+            String fullName = repoNode.path("full_name").asText(repoNode.path("path_with_namespace").asText(""));
+            SyncConfig config = findConfig("gitee", fullName);
+            if (config == null) {
+                syncWebhookDeliveryMapper.deleteById(key);
+                return WebhookResult.of(Outcome.IGNORED, "仓库不属于已启用的同步账号：" + fullName);
+            }
+            String[] parts = fullName.split("/", 2);
+            return submitRefetch(key, "Gitee", event, fullName,
+                    () -> giteeApiClient.getRepo(parts[0], parts[1], config.getAccessToken()),
+                    giteeRepoService::upsertRepos);
+        } catch (RuntimeException e) {
+            syncWebhookDeliveryMapper.deleteById(key);
+            throw e;
+        }
+    }
+
+    @Override
+    public int pruneDeliveries() {
+        int deleted = syncWebhookDeliveryMapper.deleteBefore(LocalDateTime.now().minusHours(deliveryRetentionHours));
+        if (deleted > 0) {
+            logger.info("已清理{}条超过{}小时的Webhook投递记录", deleted, deliveryRetentionHours);
+        }
+        return deleted;
+    }
+
+    /**
+     * 把重新获取仓库交给后台线程池；队列已满时抛出RejectedExecutionException，由调用方删除投递记录
+     */
+    private <R extends SyncedRepo> WebhookResult submitRefetch(String key, String label, String event, String fullName,
+                                                               Supplier<R> fetcher,
+                                                               Function<List<R>, UpsertResult> writer) {
+        refetchExecutor.execute(() -> {
+            try {
+                R repo = fetcher.get();
+                if (repo == null) {
+                    throw new IllegalStateException("获取" + label + "仓库失败：" + fullName);
+                }
+                UpsertResult result = writer.apply(List.of(repo));
+                logger.info("{} Webhook已更新仓库：{}，事件：{}，{}", label, repo.getRepoName(), event, result);
+            } catch (RuntimeException e) {
+                syncWebhookDeliveryMapper.deleteById(key);
+                logger.warn("{} Webhook重新获取仓库失败：{}，事件：{}，{}", label, fullName, event, e.getMessage());
+            }
+        });
+        return WebhookResult.of(Outcome.ACCEPTED, fullName);
+    }
+
+    @Override
+    public void destroy() {
+        if (refetchExecutor instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    private JsonNode readPayload(byte[] payload) {
+        try {
+            return payload != null ? objectMapper.readTree(payload) : null;
+        } catch (IOException e) {
+            logger.warn("Webhook请求体不是合法JSON：{}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 仓库全名的所有者对应的已启用同步配置，其令牌用于重新获取仓库
+     */
+    private SyncConfig findConfig(String source, String fullName) {
+        int slash = fullName.indexOf('/');
+        if (slash <= 0 || slash == fullName.length() - 1) {
+            return null;
+        }
+        return syncConfigService.findEnabled(source, fullName.substring(0, slash));
+    }
+
+    /**
+     * 缺少时间戳也视为过期，否则截获的请求可以无限重放
+     */
+    private boolean isStale(String timestamp) {
+        if (timestamp == null || timestamp.isEmpty()) {
+            return true;
+        }
+        try {
+            return Math.abs(System.currentTimeMillis() - Long.parseLong(timestamp)) > GITEE_TIMESTAMP_TOLERANCE_MS;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static String digest(byte[] payload) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(payload);
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256不可用", e);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.ai.dev.platform.modules.sync.task;
+
+import com.ai.dev.platform.modules.cluster.service.ClusterService;
+import com.ai.dev.platform.modules.sync.entity.SyncConfig;
+import com.ai.dev.platform.modules.sync.entity.SyncJob;
+import com.ai.dev.platform.modules.sync.service.DataSyncService;
+import com.ai.dev.platform.modules.sync.service.SyncConfigService;
+import com.ai.dev.platform.modules.sync.service.SyncJobService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 同步任务编排器
+ *
+ * <p>同步请求先写入持久化的sync_job队列，再由工作线程认领执行：
+ * <ul>
+ *   <li>按sync_config的syncInterval把到期账号入队，同一账号同时只有一个排队或执行中的任务</li>
+ *   <li>多节点部署时到期账号按哈希环分给各节点入队，认领不分片，空闲节点可以执行其他节点入队的任务</li>
+ *   <li>工作线程按数据源并发上限，通过 FOR UPDATE SKIP LOCKED 认领任务，多节点部署时互不重复</li>
+ *   <li>任务逐页写入检查点，节点重启或宕机后，租约过期的任务被重新认领并从检查点续传</li>
+ *   <li>执行中的任务定期刷新心跳，维持租约</li>
+ * </ul>
+ */
+@Component
+public class SyncOrchestrator implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyncOrchestrator.class);
+
+    @Autowired
+    private DataSyncService dataSyncService;
+
+    @Autowired
+    private SyncConfigService syncConfigService;
+
+    @Autowired
+    private SyncJobService syncJobService;
+
+    @Autowired
+    private ClusterService clusterService;
+
+    @Value("${sync.orchestrator.max-threads:16}")
+    private int maxThreads;
+
+    @Value("${sync.orchestrator.github-concurrency:8}")
+    private int gitHubConcurrency;
+
+    @Value("${sync.orchestrator.gitee-concurrency:4}")
+    private int giteeConcurrency;
+
+    private final Map<String, Semaphore> lanes = new LinkedHashMap<>();
+
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        lanes.put("github", new Semaphore(Math.max(1, gitHubConcurrency)));
+        lanes.put("gitee", new Semaphore(Math.max(1, giteeConcurrency)));
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "sync-worker-" + threadIndex.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 为归属本节点且已到同步间隔的账号创建同步任务
+     *
+     * @return 本次入队或已在队列中的任务数
+     */
+    public int enqueueDueAccounts() {
+        return enqueue(syncConfigService.listDue().stream()
+                .filter(config -> clusterService.owns("sync-config:" + config.getId()))
+                .toList());
+    }
+
+    /**
+     * 忽略同步间隔，为所有启用的账号创建同步任务
+     *
+     * @return 本次入队或已在队列中的任务数
+     */
+    public int enqueueAllAccounts() {
+        return enqueueAllAccounts(null);
+    }
+
+    /**
+     * 忽略同步间隔，为指定数据源（为空时全部）启用的账号创建同步任务
+     *
+     * @return 本次入队或已在队列中的任务数
+     */
+    public int enqueueAllAccounts(String source) {
+        return enqueue(syncConfigService.listEnabled().stream()
+                .filter(config -> source == null || source.isEmpty() || source.equalsIgnoreCase(config.getSource()))
+                .toList());
+    }
+
+    /**
+     * 手动为单个账号创建同步任务，该账号已有未完成的任务时直接返回该任务
+     */
+    public SyncJob enqueue(String source, String account, String accessToken) {
+        SyncJob job = syncJobService.enqueue(source, account, accessToken, null);
+        pollJobs();
+        return job;
+    }
+
+    public int getRunningCount() {
+        return running.size();
+    }
+
+    /**
+     * 在各数据源的并发额度内认领任务并提交到线程池；任务结束时会再次调用
+     */
+    public void pollJobs() {
+        for (Map.Entry<String, Semaphore> lane : lanes.entrySet()) {
+            Semaphore permits = lane.getValue();
+            while (permits.tryAcquire()) {
+                SyncJob job;
+                try {
+                    job = syncJobService.claimNext(lane.getKey());
+                } catch (Exception e) {
+                    permits.release();
+                    logger.warn("认领{}同步任务失败：{}", lane.getKey(), e.getMessage());
+                    break;
+                }
+                if (job == null) {
+                    permits.release();
+                    break;
+                }
+                running.add(job.getId());
+                try {
+                    executor.execute(() -> run(permits, job));
+                } catch (RejectedExecutionException e) {
+                    // 不回写状态，租约过期后由其他节点重新认领
+                    running.remove(job.getId());
+                    permits.release();
+                    logger.warn("同步线程池已关闭，放弃任务：{}", job.getId());
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 刷新本节点执行中任务的心跳
+     */
+    public void heartbeat() {
+        syncJobService.heartbeat(running);
+    }
+
+    private int enqueue(List<SyncConfig> configs) {
+        int accepted = 0;
+        for (SyncConfig config : configs) {
+            String source = config.getSource() != null ? config.getSource().toLowerCase() : "";
+            if (!lanes.containsKey(source)) {
+                logger.warn("不支持的同步数据源：{}，配置ID：{}", config.getSource(), config.getId());
+                continue;
+            }
+            syncJobService.enqueue(source, config.getAccount(), config.getAccessToken(), config.getId());
+            accepted++;
+        }
+        if (accepted > 0) {
+            pollJobs();
+        }
+        return accepted;
+    }
+
+    private void run(Semaphore permits, SyncJob job) {
+        try {
+            dataSyncService.runJob(job);
+            syncJobService.succeed(job);
+        } catch (Exception e) {
+            logger.error("同步任务执行失败：{}，{}/{}", job.getId(), job.getSource(), job.getAccount(), e);
+            try {
+                syncJobService.fail(job, e.getMessage());
+            } catch (Exception ex) {
+                logger.warn("更新同步任务状态失败：{}", job.getId(), ex);
+            }
+        } finally {
+            if (job.getConfigId() != null) {
+                try {
+                    // 失败也记录同步时间，避免故障账号在每个调度周期被反复入队
+                    syncConfigService.markSynced(job.getConfigId(), LocalDateTime.now());
+                } catch (Exception e) {
+                    logger.warn("更新账号同步时间失败：{}", job.getConfigId(), e);
+                }
+            }
+            running.remove(job.getId());
+            permits.release();
+            pollJobs();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
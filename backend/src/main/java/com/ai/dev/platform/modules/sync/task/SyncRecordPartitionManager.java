@@ -0,0 +1,159 @@
+package com.ai.dev.platform.modules.sync.task;
+
+import com.ai.dev.platform.modules.sync.mapper.SyncRecordMapper;
+import com.ai.dev.platform.modules.sync.service.SyncRecordService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * sync_record按月分区的维护：
+ * <ul>
+ *   <li>提前创建当前月及之后若干个月的分区，记录不会落入默认分区；
+ *       已有记录落入默认分区时先把这些记录移入新分区再挂载</li>
+ *   <li>重新汇总最近几天的每日统计，当天的汇总随之刷新</li>
+ *   <li>超过保留期的整月分区先完成当月汇总再DROP，代替逐行DELETE</li>
+ *   <li>默认分区不会被DROP，其中超过保留期的记录汇总后逐行删除；仍有记录时告警</li>
+ * </ul>
+ */
+@Component
+public class SyncRecordPartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyncRecordPartitionManager.class);
+    private static final String PARTITION_PREFIX = "sync_record_p";
+    private static final Pattern PARTITION_NAME = Pattern.compile("sync_record_p(\\d{6})");
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Autowired
+    private SyncRecordMapper syncRecordMapper;
+
+    @Autowired
+    private SyncRecordService syncRecordService;
+
+    @Value("${sync.record-retention.months:6}")
+    private int retentionMonths;
+
+    @Value("${sync.record-retention.partitions-ahead:2}")
+    private int partitionsAhead;
+
+    @Value("${sync.record-retention.rollup-days:2}")
+    private int rollupDays;
+
+    public void maintain() {
+        YearMonth current = YearMonth.now();
+        ensurePartitions(current);
+        LocalDate today = LocalDate.now();
+        syncRecordService.rollupDaily(today.minusDays(Math.max(1, rollupDays) - 1L), today.plusDays(1));
+        dropExpiredPartitions(current);
+        purgeDefaultPartition(current);
+    }
+
+    /**
+     * 创建当前月到current+partitionsAhead的分区，已存在的分区跳过。
+     * 默认分区中已有该月记录时直接CREATE ... PARTITION OF会失败，改为建表、移入记录后再挂载；
+     * 单个分区失败只记录日志，不影响其余月份
+     *
+     * @return 新建的分区数
+     */
+    int ensurePartitions(YearMonth current) {
+        Set<String> existing = new HashSet<>(syncRecordMapper.listPartitions());
+        int created = 0;
+        for (int i = 0; i <= partitionsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            String name = partitionName(month);
+            if (existing.contains(name)) {
+                continue;
+            }
+            String from = month.atDay(1).toString();
+            String to = month.plusMonths(1).atDay(1).toString();
+            try {
+                if (syncRecordMapper.existsInDefault(from, to)) {
+                    syncRecordMapper.movePartitionFromDefault(name, from, to);
+                    logger.warn("默认分区中有{}的同步记录，已移入新建分区{}", month, name);
+                } else {
+                    syncRecordMapper.createPartition(name, from, to);
+                }
+                created++;
+            } catch (RuntimeException e) {
+                logger.error("创建同步记录分区{}失败，记录继续写入默认分区", name, e);
+            }
+        }
+        return created;
+    }
+
+    /**
+     * 删除整月早于保留期的分区，retentionMonths不大于0时不删除
+     *
+     * @return 删除的分区数
+     */
+    int dropExpiredPartitions(YearMonth current) {
+        if (retentionMonths <= 0) {
+            return 0;
+        }
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+        int dropped = 0;
+        for (String name : syncRecordMapper.listPartitions()) {
+            YearMonth month = parseMonth(name);
+            if (month == null || !month.isBefore(oldestKept)) {
+                continue;
+            }
+            // 先把整月写入每日汇总，删除分区后趋势数据仍然完整
+            syncRecordService.rollupDaily(month.atDay(1), month.plusMonths(1).atDay(1));
+            syncRecordMapper.dropPartition(name);
+            dropped++;
+            logger.info("同步记录分区{}超过保留期{}个月，已删除", name, retentionMonths);
+        }
+        return dropped;
+    }
+
+    /**
+     * 清理默认分区中早于保留期的记录，删除前先汇总这些记录所在的日期。
+     * 汇总只覆盖有记录的日期，已随月分区删除的日期不会产生汇总行，原有汇总不受影响；
+     * 清理后默认分区仍有记录说明有月份的分区没有创建成功，记录告警
+     *
+     * @return 删除的记录数
+     */
+    int purgeDefaultPartition(YearMonth current) {
+        LocalDateTime oldest = syncRecordMapper.minDefaultSyncTime();
+        if (oldest == null) {
+            return 0;
+        }
+        int deleted = 0;
+        if (retentionMonths > 0) {
+            LocalDate cutoff = current.minusMonths(retentionMonths).atDay(1);
+            if (oldest.isBefore(cutoff.atStartOfDay())) {
+                syncRecordService.rollupDaily(oldest.toLocalDate(), cutoff);
+                deleted = syncRecordMapper.deleteDefaultBefore(cutoff.atStartOfDay());
+                logger.info("默认分区中{}条同步记录早于{}，已汇总后删除", deleted, cutoff);
+            }
+        }
+        long remaining = syncRecordMapper.countDefault();
+        if (remaining > 0) {
+            logger.warn("默认分区sync_record_default中仍有{}条同步记录，请检查对应月份的分区是否创建失败", remaining);
+        }
+        return deleted;
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(MONTH_SUFFIX);
+    }
+
+    /**
+     * 从分区名解析月份，默认分区和其他名称返回null
+     */
+    static YearMonth parseMonth(String partitionName) {
+        Matcher matcher = PARTITION_NAME.matcher(partitionName);
+        return matcher.matches() ? YearMonth.parse(matcher.group(1), MONTH_SUFFIX) : null;
+    }
+}
@@ -1,6 +1,7 @@
 package com.ai.dev.platform.modules.sync.task;
 
-import com.ai.dev.platform.modules.sync.service.DataSyncService;
+import com.ai.dev.platform.modules.cluster.service.ClusterService;
+import com.ai.dev.platform.modules.sync.service.SyncWebhookService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,17 +14,75 @@ public class SyncScheduledTask {
     private static final Logger logger = LoggerFactory.getLogger(SyncScheduledTask.class);
 
     @Autowired
-    private DataSyncService dataSyncService;
+    private SyncOrchestrator syncOrchestrator;
 
-    @Scheduled(cron = "0 0 * * * ?")
-    public void syncDataHourly() {
-        logger.info("定时任务：开始执行每小时数据同步");
-        
+    @Autowired
+    private SyncRecordPartitionManager syncRecordPartitionManager;
+
+    @Autowired
+    private SyncWebhookService syncWebhookService;
+
+    @Autowired
+    private ClusterService clusterService;
+
+    /**
+     * 每个调度周期检查一次到期的账号，实际同步频率由sync_config.sync_interval决定
+     */
+    @Scheduled(fixedDelayString = "${sync.orchestrator.tick-ms:60000}")
+    public void enqueueDueSyncs() {
+        try {
+            syncOrchestrator.enqueueDueAccounts();
+        } catch (Exception e) {
+            logger.error("定时任务：创建账号同步任务失败", e);
+        }
+    }
+
+    /**
+     * 认领其他节点入队、重试到期或租约过期的任务
+     */
+    @Scheduled(fixedDelayString = "${sync.jobs.poll-ms:5000}")
+    public void pollSyncJobs() {
+        syncOrchestrator.pollJobs();
+    }
+
+    @Scheduled(fixedDelayString = "${sync.jobs.heartbeat-ms:30000}")
+    public void heartbeatSyncJobs() {
+        try {
+            syncOrchestrator.heartbeat();
+        } catch (Exception e) {
+            logger.warn("定时任务：刷新同步任务心跳失败", e);
+        }
+    }
+
+    /**
+     * 维护同步记录分区、每日汇总和保留期，集群内只由一个节点执行
+     */
+    @Scheduled(fixedDelayString = "${sync.record-retention.maintenance-ms:3600000}",
+            initialDelayString = "${sync.record-retention.initial-delay-ms:60000}")
+    public void maintainSyncRecords() {
+        if (!clusterService.owns("job:sync-record-maintenance")) {
+            return;
+        }
+        try {
+            syncRecordPartitionManager.maintain();
+        } catch (Exception e) {
+            logger.error("定时任务：维护同步记录分区失败", e);
+        }
+    }
+
+    /**
+     * 清理超过保留期的Webhook投递记录，集群内只由一个节点执行
+     */
+    @Scheduled(fixedDelayString = "${sync.webhook.prune-ms:3600000}",
+            initialDelayString = "${sync.record-retention.initial-delay-ms:60000}")
+    public void pruneWebhookDeliveries() {
+        if (!clusterService.owns("job:sync-webhook-prune")) {
+            return;
+        }
         try {
-            dataSyncService.syncAll();
-            logger.info("定时任务：每小时数据同步完成");
+            syncWebhookService.pruneDeliveries();
         } catch (Exception e) {
-            logger.error("定时任务：每小时数据同步失败", e);
+            logger.error("定时任务：清理Webhook投递记录失败", e);
         }
     }
 }
@@ -1,123 +1,117 @@
 package com.ai.dev.platform.modules.sync.util;
 
+import com.ai.dev.platform.modules.sync.dto.FetchStats;
 import com.ai.dev.platform.modules.sync.entity.GitHubRepo;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * GitHub仓库数据源：/users/{username}/repos，按Link头分页
+ */
 @Component
-public class GitHubApiClient {
+public class GitHubApiClient implements RepoProvider<GitHubRepo> {
 
     private static final Logger logger = LoggerFactory.getLogger(GitHubApiClient.class);
     private static final String GITHUB_API_BASE_URL = "https://api.github.com";
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String PROVIDER = "github";
+    private static final RepoFieldMapping<GitHubRepo> FIELD_MAPPING = RepoFieldMapping.standard();
 
     @Autowired
-    private RestTemplate restTemplate;
+    private RepoFetchPipeline repoFetchPipeline;
 
     public List<GitHubRepo> getUserRepos(String username, String accessToken) {
         List<GitHubRepo> repos = new ArrayList<>();
         try {
-            String url = GITHUB_API_BASE_URL + "/users/" + username + "/repos";
-            
-            HttpHeaders headers = new HttpHeaders();
-            if (accessToken != null && !accessToken.isEmpty()) {
-                headers.set("Authorization", "token " + accessToken);
-            }
-            headers.set("Accept", "application/vnd.github.v3+json");
-
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                JsonNode root = objectMapper.readTree(response.getBody());
-                for (JsonNode node : root) {
-                    GitHubRepo repo = parseRepoNode(node);
-                    if (repo != null) {
-                        repos.add(repo);
-                    }
-                }
-                logger.info("成功从GitHub获取{}个仓库", repos.size());
-            } else {
-                logger.error("GitHub API请求失败，状态码：{}", response.getStatusCode());
-            }
+            fetchUserRepos(username, accessToken, repos::addAll);
         } catch (Exception e) {
             logger.error("获取GitHub仓库数据失败", e);
         }
         return repos;
     }
 
+    /**
+     * 分页拉取用户仓库，按Link头的rel="next"逐页跟进，
+     * 每页直接从响应流解析后交给handler，不在内存中保留整个列表。
+     *
+     * @return 成功解析的仓库总数
+     */
+    public int fetchUserRepos(String username, String accessToken, RepoPageHandler<GitHubRepo> handler) {
+        return fetchUserRepos(username, accessToken, null, new FetchStats(), handler);
+    }
+
+    /**
+     * startUrl不为空时从该页开始拉取，用于从检查点续传
+     */
+    public int fetchUserRepos(String username, String accessToken, String startUrl, FetchStats stats,
+                              RepoPageHandler<GitHubRepo> handler) {
+        String url = startUrl != null ? startUrl : userReposUrl(username, false);
+        return repoFetchPipeline.fetchPages(this, url, accessToken, false, stats, handler);
+    }
+
+    /**
+     * 增量拉取：按updated倒序请求，只把updated_at不早于since的仓库交给handler，
+     * 遇到更早的仓库即停止分页；每页带条件请求，304说明没有任何变化，直接结束。
+     */
+    public int fetchUserReposUpdatedSince(String username, String accessToken, LocalDateTime since, String startUrl,
+                                          FetchStats stats, RepoPageHandler<GitHubRepo> handler) {
+        String url = startUrl != null ? startUrl : userReposUrl(username, true);
+        return repoFetchPipeline.fetchUpdatedSince(this, url, accessToken, since, stats, handler);
+    }
+
     public GitHubRepo getRepo(String owner, String repoName, String accessToken) {
-        try {
-            String url = GITHUB_API_BASE_URL + "/repos/" + owner + "/" + repoName;
-            
-            HttpHeaders headers = new HttpHeaders();
-            if (accessToken != null && !accessToken.isEmpty()) {
-                headers.set("Authorization", "token " + accessToken);
-            }
-            headers.set("Accept", "application/vnd.github.v3+json");
-
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                JsonNode node = objectMapper.readTree(response.getBody());
-                GitHubRepo repo = parseRepoNode(node);
-                logger.info("成功获取GitHub仓库：{}/{}", owner, repoName);
-                return repo;
-            }
-        } catch (Exception e) {
-            logger.error("获取GitHub仓库失败：{}/{}", owner, repoName, e);
-        }
-        return null;
+        return repoFetchPipeline.fetchRepo(this, owner + "/" + repoName, accessToken);
     }
 
-    private GitHubRepo parseRepoNode(JsonNode node) {
-        try {
-            GitHubRepo repo = new GitHubRepo();
-            repo.setRepoId(node.get("id").asLong());
-            repo.setRepoName(node.get("full_name").asText());
-            repo.setRepoUrl(node.get("html_url").asText());
-            
-            if (node.has("description") && !node.get("description").isNull()) {
-                repo.setDescription(node.get("description").asText());
-            }
-            
-            if (node.has("language") && !node.get("language").isNull()) {
-                repo.setLanguage(node.get("language").asText());
-            }
-            
-            if (node.has("stargazers_count")) {
-                repo.setStarsCount(node.get("stargazers_count").asInt());
-            }
-            
-            if (node.has("forks_count")) {
-                repo.setForksCount(node.get("forks_count").asInt());
-            }
-            
-            if (node.has("open_issues_count")) {
-                repo.setOpenIssuesCount(node.get("open_issues_count").asInt());
-            }
-            
-            if (node.has("updated_at") && !node.get("updated_at").isNull()) {
-                String updatedAtStr = node.get("updated_at").asText();
-                repo.setUpdatedAt(LocalDateTime.parse(updatedAtStr, DateTimeFormatter.ISO_DATE_TIME));
-            }
-            
-            return repo;
-        } catch (Exception e) {
-            logger.error("解析GitHub仓库数据失败", e);
-            return null;
+    @Override
+    public String getName() {
+        return PROVIDER;
+    }
+
+    @Override
+    public String getApiBaseUrl() {
+        return GITHUB_API_BASE_URL;
+    }
+
+    @Override
+    public GitHubRepo newRepo() {
+        return new GitHubRepo();
+    }
+
+    @Override
+    public RepoFieldMapping<GitHubRepo> getFieldMapping() {
+        return FIELD_MAPPING;
+    }
+
+    @Override
+    public String userReposUrl(String username, boolean sortByUpdated) {
+        String url = GITHUB_API_BASE_URL + "/users/" + username + "/repos?per_page=" + getPageSize();
+        return sortByUpdated ? url + "&sort=updated&direction=desc" : url;
+    }
+
+    @Override
+    public String nextPageUrl(String currentUrl, HttpHeaders responseHeaders, int itemCount) {
+        return parseNextLink(responseHeaders.getFirst(HttpHeaders.LINK));
+    }
+
+    @Override
+    public void applyHeaders(HttpHeaders headers, String accessToken) {
+        if (accessToken != null && !accessToken.isEmpty()) {
+            headers.set("Authorization", "token " + accessToken);
         }
+        headers.set("Accept", "application/vnd.github.v3+json");
+    }
+
+    /**
+     * 解析RFC 5988 Link头，返回rel="next"对应的URL，没有下一页时返回null
+     */
+    static String parseNextLink(String linkHeader) {
+        return RepoProvider.nextLink(linkHeader);
     }
 }
@@ -0,0 +1,201 @@
+package com.ai.dev.platform.modules.sync.util;
+
+import com.ai.dev.platform.modules.sync.entity.GitHubRepo;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GitHub GraphQL批量查询客户端
+ *
+ * <p>一次请求用别名拼接多个 repository(owner:, name:) 查询，最多100个仓库，
+ * 结果映射为与REST接口一致的GitHubRepo。未提供令牌、请求失败或响应没有data时，
+ * 该批次回退为逐个调用REST接口。
+ */
+@Component
+public class GitHubGraphQLClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(GitHubGraphQLClient.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * GraphQL与REST额度独立计算，使用单独的限流桶
+     */
+    private static final String PROVIDER = "github-graphql";
+
+    private static final int MAX_BATCH_SIZE = 100;
+
+    /**
+     * 每个别名查询的字段；openIssues与REST的open_issues_count一样包含未关闭的PR
+     */
+    private static final String REPO_FIELDS = "databaseId nameWithOwner url description "
+            + "primaryLanguage { name } stargazerCount forkCount "
+            + "issues(states: OPEN) { totalCount } pullRequests(states: OPEN) { totalCount } updatedAt";
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private RateLimitScheduler rateLimitScheduler;
+
+    @Autowired
+    private GitHubApiClient gitHubApiClient;
+
+    @Value("${sync.github.graphql-url:https://api.github.com/graphql}")
+    private String graphqlUrl;
+
+    @Value("${sync.github.graphql-batch-size:100}")
+    private int batchSize;
+
+    /**
+     * 批量刷新仓库元数据
+     *
+     * @param names owner/name形式的仓库全名，格式不正确的跳过
+     * @return 成功获取的仓库，不存在、无权访问或全名格式不正确的仓库不在结果中
+     */
+    public List<GitHubRepo> fetchRepos(List<String> names, String accessToken) {
+        List<String> fullNames = new ArrayList<>(names.size());
+        for (String name : names) {
+            if (splitFullName(name) != null) {
+                fullNames.add(name);
+            } else {
+                logger.warn("仓库全名格式应为owner/name，跳过：{}", name);
+            }
+        }
+        List<GitHubRepo> repos = new ArrayList<>(fullNames.size());
+        int size = Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE));
+        for (int from = 0; from < fullNames.size(); from += size) {
+            List<String> batch = fullNames.subList(from, Math.min(from + size, fullNames.size()));
+            List<GitHubRepo> result = accessToken == null || accessToken.isEmpty() ? null : queryBatch(batch, accessToken);
+            repos.addAll(result != null ? result : fetchByRest(batch, accessToken));
+        }
+        return repos;
+    }
+
+    /**
+     * 执行一次批量查询，失败时返回null
+     */
+    private List<GitHubRepo> queryBatch(List<String> fullNames, String accessToken) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("query", buildQuery(fullNames.size()));
+        ObjectNode variables = body.putObject("variables");
+        for (int i = 0; i < fullNames.size(); i++) {
+            String[] parts = splitFullName(fullNames.get(i));
+            variables.put("o" + i, parts[0]);
+            variables.put("n" + i, parts[1]);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, "bearer " + accessToken);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<String> entity = new HttpEntity<>(body.toString(), headers);
+        try {
+            ResponseEntity<String> response = rateLimitScheduler.execute(PROVIDER, accessToken,
+                    () -> restTemplate.exchange(graphqlUrl, HttpMethod.POST, entity, String.class));
+            rateLimitScheduler.update(PROVIDER, accessToken, response.getHeaders());
+            JsonNode root = response.getBody() != null ? objectMapper.readTree(response.getBody()) : null;
+            JsonNode data = root != null ? root.get("data") : null;
+            if (data == null || !data.isObject()) {
+                logger.warn("GitHub GraphQL响应缺少data，回退REST：{}", root != null ? root.path("errors") : "空响应");
+                return null;
+            }
+            // 单个仓库不存在时对应别名为null并附带NOT_FOUND错误，其余仓库照常返回
+            List<GitHubRepo> repos = new ArrayList<>(fullNames.size());
+            for (int i = 0; i < fullNames.size(); i++) {
+                JsonNode node = data.get("r" + i);
+                if (node != null && node.isObject()) {
+                    GitHubRepo repo = parseRepository(node);
+                    if (repo != null) {
+                        repos.add(repo);
+                    }
+                }
+            }
+            logger.info("GitHub GraphQL批量获取{}个仓库，请求{}个", repos.size(), fullNames.size());
+            return repos;
+        } catch (RestClientException | IOException e) {
+            logger.warn("GitHub GraphQL请求失败，回退REST：{}", e.getMessage());
+            return null;
+        }
+    }
+
+    private List<GitHubRepo> fetchByRest(List<String> fullNames, String accessToken) {
+        List<GitHubRepo> repos = new ArrayList<>(fullNames.size());
+        for (String fullName : fullNames) {
+            String[] parts = splitFullName(fullName);
+            GitHubRepo repo = gitHubApiClient.getRepo(parts[0], parts[1], accessToken);
+            if (repo != null) {
+                repos.add(repo);
+            }
+        }
+        return repos;
+    }
+
+    static String buildQuery(int count) {
+        StringBuilder query = new StringBuilder("query(");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                query.append(", ");
+            }
+            query.append("$o").append(i).append(": String!, $n").append(i).append(": String!");
+        }
+        query.append(") {");
+        for (int i = 0; i < count; i++) {
+            query.append(" r").append(i).append(": repository(owner: $o").append(i)
+                    .append(", name: $n").append(i).append(") { ").append(REPO_FIELDS).append(" }");
+        }
+        return query.append(" }").toString();
+    }
+
+    static GitHubRepo parseRepository(JsonNode node) {
+        if (!node.hasNonNull("databaseId") || !node.hasNonNull("nameWithOwner")) {
+            return null;
+        }
+        GitHubRepo repo = new GitHubRepo();
+        repo.setRepoId(node.get("databaseId").asLong());
+        repo.setRepoName(node.get("nameWithOwner").asText());
+        repo.setRepoUrl(node.path("url").asText(null));
+        if (node.hasNonNull("description")) {
+            repo.setDescription(node.get("description").asText());
+        }
+        if (node.path("primaryLanguage").hasNonNull("name")) {
+            repo.setLanguage(node.get("primaryLanguage").get("name").asText());
+        }
+        repo.setStarsCount(node.path("stargazerCount").asInt());
+        repo.setForksCount(node.path("forkCount").asInt());
+        repo.setOpenIssuesCount(node.path("issues").path("totalCount").asInt()
+                + node.path("pullRequests").path("totalCount").asInt());
+        if (node.hasNonNull("updatedAt")) {
+            repo.setUpdatedAt(LocalDateTime.parse(node.get("updatedAt").asText(), DateTimeFormatter.ISO_DATE_TIME));
+        }
+        return repo;
+    }
+
+    /**
+     * 拆分为owner和name，格式不正确时返回null
+     */
+    static String[] splitFullName(String fullName) {
+        int slash = fullName != null ? fullName.indexOf('/') : -1;
+        if (slash <= 0 || slash == fullName.length() - 1) {
+            return null;
+        }
+        return new String[]{fullName.substring(0, slash), fullName.substring(slash + 1)};
+    }
+}
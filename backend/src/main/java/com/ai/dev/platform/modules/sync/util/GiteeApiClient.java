@@ -1,14 +1,12 @@
 package com.ai.dev.platform.modules.sync.util;
 
+import com.ai.dev.platform.modules.sync.dto.FetchStats;
 import com.ai.dev.platform.modules.sync.entity.GiteeRepo;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -18,23 +16,21 @@ import java.util.List;
 /**
  * Gitee API客户端工具类
  * 
- * <p>负责与Gitee平台API进行交互，提供：
+ * <p>Gitee仓库数据源，只描述Gitee特有的部分：
  * <ul>
- *   <li>用户仓库信息获取</li>
- *   <li>仓库详情数据解析</li>
- *   <li>API认证和授权处理</li>
- *   <li>错误处理和日志记录</li>
+ *   <li>用户仓库列表地址与按更新时间排序的参数</li>
+ *   <li>page/per_page页码分页，依据响应头total_page判断是否还有下一页</li>
+ *   <li>东八区时间格式</li>
  * </ul>
  * 
- * <p>该组件通过@Component注解标记为Spring组件，
- * 使用RestTemplate进行HTTP请求处理。
+ * <p>请求发送、限流、重试、条件请求和流式解析由{@link RepoFetchPipeline}统一完成。
  * 
  * @author AI开发平台团队
  * @version 1.0.0
  * @since 1.0.0
  */
 @Component
-public class GiteeApiClient {
+public class GiteeApiClient implements RepoProvider<GiteeRepo> {
 
     /**
      * 日志记录器实例
@@ -53,37 +49,44 @@ public class GiteeApiClient {
      * @since 1.0.0
      */
     private static final String GITEE_API_BASE_URL = "https://gitee.com/api/v5";
-    
+
     /**
-     * JSON对象映射器
+     * 限流调度使用的数据源标识
      * 
-     * <p>用于解析API响应的JSON数据。
+     * @since 1.0.0
+     */
+    private static final String PROVIDER = "gitee";
+
+    /**
+     * 增量同步使用的排序参数，按更新时间倒序
      * 
      * @since 1.0.0
      */
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String SORT_BY_UPDATED = "&sort=updated&direction=desc";
 
     /**
-     * REST客户端实例
+     * 仓库字段映射
      * 
-     * <p>用于发起HTTP请求到Gitee API。
+     * <p>Gitee仓库JSON与GitHub字段名一致，直接使用通用映射。
+     * 
+     * @since 1.0.0
+     */
+    private static final RepoFieldMapping<GiteeRepo> FIELD_MAPPING = RepoFieldMapping.standard();
+
+    /**
+     * 仓库数据拉取流水线
+     * 
+     * <p>负责发送请求、分页跟进和解析响应。
      * 
      * @since 1.0.0
      */
     @Autowired
-    private RestTemplate restTemplate;
+    private RepoFetchPipeline repoFetchPipeline;
 
     /**
      * 获取用户仓库列表
      * 
-     * <p>通过Gitee API获取指定用户的仓库信息列表：
-     * <ul>
-     *   <li>构建API请求URL和请求头</li>
-     *   <li>处理认证令牌(可选)</li>
-     *   <li>发送GET请求获取仓库数据</li>
-     *   <li>解析JSON响应为仓库对象列表</li>
-     *   <li>记录操作日志和错误信息</li>
-     * </ul>
+     * <p>拉取全部分页并汇总为列表，获取失败时记录日志并返回已获取的部分。
      * 
      * @param username Gitee用户名
      * @param accessToken 访问令牌，用于认证(可选)
@@ -93,96 +96,151 @@ public class GiteeApiClient {
     public List<GiteeRepo> getUserRepos(String username, String accessToken) {
         List<GiteeRepo> repos = new ArrayList<>();
         try {
-            String url = GITEE_API_BASE_URL + "/user/repos";
-            
-            HttpHeaders headers = new HttpHeaders();
-            if (accessToken != null && !accessToken.isEmpty()) {
-                headers.set("Authorization", "token " + accessToken);
-            }
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                JsonNode root = objectMapper.readTree(response.getBody());
-                for (JsonNode node : root) {
-                    GiteeRepo repo = parseRepoNode(node);
-                    if (repo != null) {
-                        repos.add(repo);
-                    }
-                }
-                logger.info("成功从Gitee获取{}个仓库", repos.size());
-            } else {
-                logger.error("Gitee API请求失败，状态码：{}", response.getStatusCode());
-            }
+            fetchUserRepos(username, accessToken, repos::addAll);
         } catch (Exception e) {
             logger.error("获取Gitee仓库数据失败", e);
         }
         return repos;
     }
 
+    /**
+     * 分页拉取用户仓库列表
+     * 
+     * <p>按page/per_page参数逐页请求Gitee API，并直接从响应流中解析仓库对象：
+     * <ul>
+     *   <li>每页最多拉取{@value RepoProvider#DEFAULT_PAGE_SIZE}个仓库</li>
+     *   <li>根据响应头total_page或返回条数判断是否还有下一页</li>
+     *   <li>每解析完一页立即回调handler，内存占用与仓库总数无关</li>
+     *   <li>handler返回false时停止分页</li>
+     * </ul>
+     * 
+     * @param username Gitee用户名
+     * @param accessToken 访问令牌，用于认证(可选)
+     * @param handler 分页回调
+     * @return int 成功解析的仓库总数
+     * @throws org.springframework.web.client.RestClientException 请求失败时抛出
+     * @since 1.0.0
+     */
+    public int fetchUserRepos(String username, String accessToken, RepoPageHandler<GiteeRepo> handler) {
+        return fetchUserRepos(username, accessToken, null, new FetchStats(), handler);
+    }
+
+    /**
+     * 分页拉取用户仓库列表，并把页数和字节数累计到stats中
+     * 
+     * @param username Gitee用户名
+     * @param accessToken 访问令牌，用于认证(可选)
+     * @param startUrl 检查点记录的页面地址，为空时从第一页开始
+     * @param stats 拉取统计
+     * @param handler 分页回调
+     * @return int 成功解析的仓库总数
+     * @since 1.0.0
+     */
+    public int fetchUserRepos(String username, String accessToken, String startUrl, FetchStats stats,
+                              RepoPageHandler<GiteeRepo> handler) {
+        String url = startUrl != null ? startUrl : userReposUrl(username, false);
+        return repoFetchPipeline.fetchPages(this, url, accessToken, false, stats, handler);
+    }
+
+    /**
+     * 增量拉取上次同步之后有更新的仓库
+     * 
+     * <p>按updated倒序（sort=updated&amp;direction=desc）发起条件请求：
+     * <ul>
+     *   <li>只把updated_at不早于since的仓库交给handler</li>
+     *   <li>遇到第一个早于since的仓库即停止分页，之后的仓库都不会再有变化</li>
+     *   <li>每页附带条件请求，返回304说明该页及之后的仓库都没有变化，直接结束</li>
+     * </ul>
+     * 
+     * @param username Gitee用户名
+     * @param accessToken 访问令牌
+     * @param since 高水位，上次同步看到的最大updated_at
+     * @param startUrl 检查点记录的页面地址，为空时从第一页开始
+     * @param stats 拉取统计
+     * @param handler 分页回调，仅接收有变化的仓库
+     * @return int 本次实际解析的仓库总数
+     * @since 1.0.0
+     */
+    public int fetchUserReposUpdatedSince(String username, String accessToken, LocalDateTime since, String startUrl,
+                                          FetchStats stats, RepoPageHandler<GiteeRepo> handler) {
+        String url = startUrl != null ? startUrl : userReposUrl(username, true);
+        return repoFetchPipeline.fetchUpdatedSince(this, url, accessToken, since, stats, handler);
+    }
+
+    /**
+     * 获取单个仓库详情
+     * 
+     * @param owner 仓库所有者
+     * @param repoName 仓库名称
+     * @param accessToken 访问令牌，用于认证(可选)
+     * @return GiteeRepo 仓库信息，获取失败时返回null
+     * @since 1.0.0
+     */
     public GiteeRepo getRepo(String owner, String repoName, String accessToken) {
-        try {
-            String url = GITEE_API_BASE_URL + "/repos/" + owner + "/" + repoName;
-            
-            HttpHeaders headers = new HttpHeaders();
-            if (accessToken != null && !accessToken.isEmpty()) {
-                headers.set("Authorization", "token " + accessToken);
-            }
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                JsonNode node = objectMapper.readTree(response.getBody());
-                GiteeRepo repo = parseRepoNode(node);
-                logger.info("成功获取Gitee仓库：{}/{}", owner, repoName);
-                return repo;
-            }
-        } catch (Exception e) {
-            logger.error("获取Gitee仓库失败：{}/{}", owner, repoName, e);
-        }
-        return null;
+        return repoFetchPipeline.fetchRepo(this, owner + "/" + repoName, accessToken);
     }
 
-    private GiteeRepo parseRepoNode(JsonNode node) {
-        try {
-            GiteeRepo repo = new GiteeRepo();
-            repo.setRepoId(node.get("id").asLong());
-            repo.setRepoName(node.get("full_name").asText());
-            repo.setRepoUrl(node.get("html_url").asText());
-            
-            if (node.has("description") && !node.get("description").isNull()) {
-                repo.setDescription(node.get("description").asText());
-            }
-            
-            if (node.has("language") && !node.get("language").isNull()) {
-                repo.setLanguage(node.get("language").asText());
-            }
-            
-            if (node.has("stargazers_count")) {
-                repo.setStarsCount(node.get("stargazers_count").asInt());
-            }
-            
-            if (node.has("forks_count")) {
-                repo.setForksCount(node.get("forks_count").asInt());
-            }
-            
-            if (node.has("open_issues_count")) {
-                repo.setOpenIssuesCount(node.get("open_issues_count").asInt());
-            }
-            
-            if (node.has("updated_at") && !node.get("updated_at").isNull()) {
-                String updatedAtStr = node.get("updated_at").asText();
-                repo.setUpdatedAt(LocalDateTime.parse(updatedAtStr, DateTimeFormatter.ISO_DATE_TIME));
-            }
-            
-            return repo;
-        } catch (Exception e) {
-            logger.error("解析Gitee仓库数据失败", e);
-            return null;
-        }
+    @Override
+    public String getName() {
+        return PROVIDER;
+    }
+
+    @Override
+    public String getApiBaseUrl() {
+        return GITEE_API_BASE_URL;
+    }
+
+    @Override
+    public GiteeRepo newRepo() {
+        return new GiteeRepo();
+    }
+
+    @Override
+    public RepoFieldMapping<GiteeRepo> getFieldMapping() {
+        return FIELD_MAPPING;
+    }
+
+    /**
+     * 用户仓库列表地址
+     * 
+     * <p>Gitee的/user/repos返回令牌所属用户的仓库，用户名不参与地址拼接。
+     * 
+     * @param username Gitee用户名
+     * @param sortByUpdated 是否按更新时间倒序
+     * @return String 第一页地址
+     * @since 1.0.0
+     */
+    @Override
+    public String userReposUrl(String username, boolean sortByUpdated) {
+        return GITEE_API_BASE_URL + "/user/repos?page=1&per_page=" + getPageSize()
+                + (sortByUpdated ? SORT_BY_UPDATED : "");
+    }
+
+    @Override
+    public String nextPageUrl(String currentUrl, HttpHeaders responseHeaders, int itemCount) {
+        return RepoProvider.nextPageNumber(currentUrl, responseHeaders.getFirst("total_page"), itemCount, getPageSize());
+    }
+
+    /**
+     * Gitee返回东八区时间，查询参数按同一时区拼接
+     * 
+     * @param time 解析得到的本地时间
+     * @return String 已编码的时间参数
+     * @since 1.0.0
+     */
+    @Override
+    public String formatTime(LocalDateTime time) {
+        return time.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "%2B08:00";
+    }
+
+    /**
+     * Gitee的Issue列表不包含PR，PR需从/pulls单独拉取
+     *
+     * @return boolean 固定为false
+     * @since 1.0.0
+     */
+    @Override
+    public boolean issuesIncludePullRequests() {
+        return false;
     }
 }
@@ -0,0 +1,277 @@
+package com.ai.dev.platform.modules.sync.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Git平台API限流调度器
+ *
+ * <p>按“数据源+令牌”维护令牌桶，对出站请求进行节流：
+ * <ul>
+ *   <li>剩余额度高于低水位（默认总额度的10%）时不节流，请求直接发出</li>
+ *   <li>低于低水位后根据响应头X-RateLimit-Remaining/X-RateLimit-Reset动态调整补充速率，
+ *       把剩余额度均匀分摊到重置时间之前；尚未获知额度时按默认速率节流</li>
+ *   <li>额度耗尽或遇到403/429二级限流时，挂起调用线程直到重置时间或Retry-After，然后重试</li>
+ *   <li>以sync.ratelimit.remaining指标暴露每个令牌的剩余额度，令牌只以摘要形式出现在标签中</li>
+ * </ul>
+ */
+@Component
+public class RateLimitScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitScheduler.class);
+
+    private static final String HEADER_REMAINING = "X-RateLimit-Remaining";
+    private static final String HEADER_LIMIT = "X-RateLimit-Limit";
+    private static final String HEADER_RESET = "X-RateLimit-Reset";
+
+    /**
+     * 二级限流未给出Retry-After时的默认等待时间
+     */
+    private static final long SECONDARY_LIMIT_BACKOFF_MS = 60_000;
+
+    /**
+     * 重置时间之后额外等待的余量，避免与服务端时钟误差撞上
+     */
+    private static final long RESET_MARGIN_MS = 1_000;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TokenState> states = new ConcurrentHashMap<>();
+    private final int burst;
+    private final double defaultRatePerMs;
+    private final int maxRetries;
+    private final double lowWaterRatio;
+
+    public RateLimitScheduler(MeterRegistry meterRegistry,
+                              @Value("${sync.ratelimit.burst:10}") int burst,
+                              @Value("${sync.ratelimit.default-per-hour:5000}") int defaultPerHour,
+                              @Value("${sync.ratelimit.max-retries:5}") int maxRetries,
+                              @Value("${sync.ratelimit.low-water-ratio:0.1}") double lowWaterRatio) {
+        this.meterRegistry = meterRegistry;
+        this.burst = Math.max(1, burst);
+        this.defaultRatePerMs = Math.max(1, defaultPerHour) / 3_600_000d;
+        this.maxRetries = Math.max(0, maxRetries);
+        this.lowWaterRatio = Math.max(0, Math.min(1, lowWaterRatio));
+    }
+
+    /**
+     * 在限流额度内执行一次调用；被限流时挂起到额度恢复后重试，超过最大重试次数后抛出原异常
+     */
+    public <T> T execute(String provider, String accessToken, Supplier<T> call) {
+        TokenState state = state(provider, accessToken);
+        int attempts = 0;
+        while (true) {
+            acquire(state);
+            try {
+                return call.get();
+            } catch (HttpStatusCodeException e) {
+                if (!isRateLimited(e) || attempts++ >= maxRetries) {
+                    throw e;
+                }
+                long waitMs = onRateLimited(state, e.getResponseHeaders());
+                logger.warn("{}令牌{}触发限流（HTTP {}），{}ms后重试", provider, state.fingerprint,
+                        e.getStatusCode().value(), waitMs);
+            }
+        }
+    }
+
+    /**
+     * 根据成功响应的限流头更新令牌桶
+     */
+    public void update(String provider, String accessToken, HttpHeaders headers) {
+        if (headers == null) {
+            return;
+        }
+        long remaining = parseLong(headers.getFirst(HEADER_REMAINING));
+        if (remaining < 0) {
+            return;
+        }
+        long limit = parseLong(headers.getFirst(HEADER_LIMIT));
+        long resetSeconds = parseLong(headers.getFirst(HEADER_RESET));
+        TokenState state = state(provider, accessToken);
+        long now = System.currentTimeMillis();
+        synchronized (state) {
+            state.remaining = remaining;
+            if (limit >= 0) {
+                state.limit = limit;
+            }
+            long resetAt = resetSeconds > 0 ? resetSeconds * 1000 : now + 3_600_000;
+            refill(state, now);
+            // 额度充足时不节流，只有降到低水位以下才把剩余额度分摊到重置时间之前
+            state.paced = state.limit <= 0 || remaining < state.limit * lowWaterRatio;
+            if (remaining == 0) {
+                state.tokens = 0;
+                state.parkedUntil = Math.max(state.parkedUntil, resetAt + RESET_MARGIN_MS);
+            } else {
+                state.ratePerMs = (double) remaining / Math.max(1_000, resetAt - now);
+                state.capacity = Math.min(remaining, burst);
+                state.tokens = Math.min(state.tokens, state.capacity);
+            }
+        }
+    }
+
+    /**
+     * 获取指定令牌当前的剩余额度，未知时返回-1
+     */
+    public long getRemaining(String provider, String accessToken) {
+        TokenState state = states.get(key(provider, accessToken));
+        return state != null ? state.remaining : -1;
+    }
+
+    private void acquire(TokenState state) {
+        while (true) {
+            long waitMs;
+            synchronized (state) {
+                long now = System.currentTimeMillis();
+                if (now < state.parkedUntil) {
+                    waitMs = state.parkedUntil - now;
+                } else if (!state.paced) {
+                    return;
+                } else {
+                    refill(state, now);
+                    if (state.tokens >= 1) {
+                        state.tokens -= 1;
+                        return;
+                    }
+                    waitMs = (long) Math.ceil((1 - state.tokens) / state.ratePerMs);
+                }
+            }
+            if (waitMs > 5_000) {
+                state.parkedCounter.increment();
+                logger.info("{}令牌{}额度不足，挂起{}ms", state.provider, state.fingerprint, waitMs);
+            }
+            try {
+                Thread.sleep(Math.max(1, waitMs));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("等待API限流额度时被中断", e);
+            }
+        }
+    }
+
+    private long onRateLimited(TokenState state, HttpHeaders headers) {
+        long now = System.currentTimeMillis();
+        long until = now + SECONDARY_LIMIT_BACKOFF_MS;
+        if (headers != null) {
+            long retryAfter = parseLong(headers.getFirst(HttpHeaders.RETRY_AFTER));
+            long resetSeconds = parseLong(headers.getFirst(HEADER_RESET));
+            if (retryAfter >= 0) {
+                until = now + retryAfter * 1000 + RESET_MARGIN_MS;
+            } else if ("0".equals(headers.getFirst(HEADER_REMAINING)) && resetSeconds > 0) {
+                until = resetSeconds * 1000 + RESET_MARGIN_MS;
+            }
+        }
+        synchronized (state) {
+            state.tokens = 0;
+            state.remaining = 0;
+            state.parkedUntil = Math.max(state.parkedUntil, until);
+        }
+        return Math.max(0, until - now);
+    }
+
+    private boolean isRateLimited(HttpStatusCodeException e) {
+        int status = e.getStatusCode().value();
+        if (status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            return true;
+        }
+        if (status != HttpStatus.FORBIDDEN.value()) {
+            return false;
+        }
+        HttpHeaders headers = e.getResponseHeaders();
+        if (headers != null && ("0".equals(headers.getFirst(HEADER_REMAINING))
+                || headers.getFirst(HttpHeaders.RETRY_AFTER) != null)) {
+            return true;
+        }
+        String body = e.getResponseBodyAsString();
+        return body.toLowerCase().contains("rate limit");
+    }
+
+    private void refill(TokenState state, long now) {
+        long elapsed = now - state.lastRefill;
+        if (elapsed > 0) {
+            state.tokens = Math.min(state.capacity, state.tokens + elapsed * state.ratePerMs);
+            state.lastRefill = now;
+        }
+    }
+
+    private TokenState state(String provider, String accessToken) {
+        return states.computeIfAbsent(key(provider, accessToken), k -> {
+            TokenState state = new TokenState(provider, fingerprint(accessToken), burst, defaultRatePerMs);
+            Gauge.builder("sync.ratelimit.remaining", state, s -> s.remaining)
+                    .description("Git平台令牌剩余API额度，-1表示尚未获知")
+                    .tag("provider", provider)
+                    .tag("token", state.fingerprint)
+                    .register(meterRegistry);
+            state.parkedCounter = Counter.builder("sync.ratelimit.parked")
+                    .description("因额度不足而挂起的次数")
+                    .tag("provider", provider)
+                    .tag("token", state.fingerprint)
+                    .register(meterRegistry);
+            return state;
+        });
+    }
+
+    private String key(String provider, String accessToken) {
+        return provider + ":" + fingerprint(accessToken);
+    }
+
+    private static String fingerprint(String accessToken) {
+        if (accessToken == null || accessToken.isEmpty()) {
+            return "anonymous";
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(accessToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 4);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256不可用", e);
+        }
+    }
+
+    private static long parseLong(String value) {
+        if (value == null || value.isEmpty()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static final class TokenState {
+        final String provider;
+        final String fingerprint;
+        volatile long remaining = -1;
+        volatile long limit = -1;
+        double capacity;
+        double tokens;
+        double ratePerMs;
+        long lastRefill = System.currentTimeMillis();
+        long parkedUntil;
+        boolean paced = true;
+        Counter parkedCounter;
+
+        TokenState(String provider, String fingerprint, int burst, double ratePerMs) {
+            this.provider = provider;
+            this.fingerprint = fingerprint;
+            this.capacity = burst;
+            this.tokens = burst;
+            this.ratePerMs = ratePerMs;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.ai.dev.platform.modules.sync.util;
+
+import com.ai.dev.platform.modules.sync.entity.RepoCommit;
+import com.ai.dev.platform.modules.sync.entity.RepoIssue;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 仓库活动数据拉取客户端
+ *
+ * <p>按since游标分页拉取提交、Issue和PR，逐条从响应流解析，每页回调一次handler：
+ * <ul>
+ *   <li>/commits?since= 与 /issues?state=all&amp;since=，Issue列表中带pull_request字段的是PR；空仓库的/commits返回409，按没有提交处理</li>
+ *   <li>{@link RepoProvider#issuesIncludePullRequests()}为false的平台（如Gitee）另从/pulls拉取PR；
+ *       PR接口不支持since，按更新时间倒序拉取，遇到早于游标的PR即停止</li>
+ * </ul>
+ * 地址、认证头、分页和时间格式取自对应的{@link RepoProvider}，请求经{@link RepoFetchPipeline}发送。
+ */
+@Component
+public class RepoActivityClient {
+
+    @Autowired
+    private RepoProviderRegistry repoProviderRegistry;
+
+    @Autowired
+    private RepoFetchPipeline repoFetchPipeline;
+
+    /**
+     * 拉取since之后的提交，since为空时从最早的提交开始
+     *
+     * @return 解析的提交数
+     */
+    public int fetchCommits(String source, Long repoId, String repoName, String accessToken, LocalDateTime since,
+                            RepoPageHandler<RepoCommit> handler) {
+        RepoProvider<?> provider = repoProviderRegistry.get(source);
+        String url = provider.repoUrl(repoName) + "/commits?per_page=" + provider.getPageSize()
+                + sinceParam(provider, since);
+        try {
+            return fetchPages(provider, accessToken, url, node -> parseCommit(source, repoId, repoName, node), handler);
+        } catch (HttpClientErrorException.Conflict e) {
+            // GitHub对没有任何提交的空仓库返回409
+            return 0;
+        }
+    }
+
+    /**
+     * 拉取since之后有更新的Issue和PR
+     *
+     * @return 解析的Issue和PR总数
+     */
+    public int fetchIssues(String source, Long repoId, String repoName, String accessToken, LocalDateTime since,
+                           RepoPageHandler<RepoIssue> handler) {
+        RepoProvider<?> provider = repoProviderRegistry.get(source);
+        String url = provider.repoUrl(repoName) + "/issues?state=all&sort=updated&direction=asc&per_page="
+                + provider.getPageSize() + sinceParam(provider, since);
+        int total = fetchPages(provider, accessToken, url, node -> parseIssue(source, repoId, repoName, node, false), handler);
+        if (provider.issuesIncludePullRequests()) {
+            return total;
+        }
+        String pullsUrl = provider.repoUrl(repoName) + "/pulls?state=all&sort=updated&direction=desc&per_page="
+                + provider.getPageSize();
+        return total + fetchPages(provider, accessToken, pullsUrl, node -> parseIssue(source, repoId, repoName, node, true), pulls -> {
+            if (since == null) {
+                return handler.onPage(pulls);
+            }
+            List<RepoIssue> changed = new ArrayList<>(pulls.size());
+            for (RepoIssue pull : pulls) {
+                if (pull.getUpdatedAt() != null && pull.getUpdatedAt().isBefore(since)) {
+                    break;
+                }
+                changed.add(pull);
+            }
+            boolean proceed = changed.isEmpty() || handler.onPage(changed);
+            return proceed && changed.size() == pulls.size();
+        });
+    }
+
+    private <T> int fetchPages(RepoProvider<?> provider, String accessToken, String url, Function<JsonNode, T> mapper,
+                               RepoPageHandler<T> handler) {
+        HttpHeaders headers = new HttpHeaders();
+        provider.applyHeaders(headers, accessToken);
+        int total = 0;
+        while (url != null) {
+            String currentUrl = url;
+            Page<T> page = repoFetchPipeline.execute(provider.getName(), accessToken, URI.create(url), headers,
+                    response -> {
+                        List<T> items = repoFetchPipeline.readArray(response.getBody(), mapper);
+                        return new Page<>(items, provider.nextPageUrl(currentUrl, response.getHeaders(), items.size()));
+                    });
+            if (page == null) {
+                break;
+            }
+            total += page.items().size();
+            if (!handler.onPage(page.items())) {
+                break;
+            }
+            url = page.nextUrl();
+        }
+        return total;
+    }
+
+    static RepoCommit parseCommit(String source, Long repoId, String repoName, JsonNode node) {
+        if (!node.hasNonNull("sha")) {
+            return null;
+        }
+        JsonNode commit = node.path("commit");
+        RepoCommit result = new RepoCommit();
+        result.setSource(source);
+        result.setRepoId(repoId);
+        result.setRepoName(repoName);
+        result.setSha(node.get("sha").asText());
+        result.setAuthorName(text(commit.path("author"), "name"));
+        result.setAuthorEmail(text(commit.path("author"), "email"));
+        result.setAuthorLogin(text(node.path("author"), "login"));
+        result.setMessage(text(commit, "message"));
+        String committedAt = text(commit.path("committer"), "date");
+        result.setCommittedAt(parseTime(committedAt != null ? committedAt : text(commit.path("author"), "date")));
+        return result;
+    }
+
+    static RepoIssue parseIssue(String source, Long repoId, String repoName, JsonNode node, boolean pullRequest) {
+        if (!node.hasNonNull("number")) {
+            return null;
+        }
+        RepoIssue issue = new RepoIssue();
+        issue.setSource(source);
+        issue.setRepoId(repoId);
+        issue.setRepoName(repoName);
+        issue.setNumber(node.get("number").asText());
+        issue.setPullRequest(pullRequest || node.hasNonNull("pull_request"));
+        issue.setTitle(text(node, "title"));
+        issue.setState(text(node, "state"));
+        issue.setAuthorLogin(text(node.path("user"), "login"));
+        issue.setCreatedAt(parseTime(text(node, "created_at")));
+        issue.setUpdatedAt(parseTime(text(node, "updated_at")));
+        String closedAt = text(node, "closed_at");
+        issue.setClosedAt(parseTime(closedAt != null ? closedAt : text(node, "finished_at")));
+        return issue;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value != null && !value.isNull() ? value.asText() : null;
+    }
+
+    private static LocalDateTime parseTime(String value) {
+        return value != null && !value.isEmpty() ? RepoFieldMapping.parseTime(value) : null;
+    }
+
+    private static String sinceParam(RepoProvider<?> provider, LocalDateTime since) {
+        return since != null ? "&since=" + provider.formatTime(since) : "";
+    }
+
+    private record Page<T>(List<T> items, String nextUrl) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.ai.dev.platform.modules.sync.util;
+
+import com.ai.dev.platform.modules.sync.dto.UpsertResult;
+import com.ai.dev.platform.modules.sync.entity.SyncedRepo;
+import com.ai.dev.platform.modules.sync.event.RepoChangedEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 按内容指纹增量写入仓库
+ *
+ * <p>各数据源的仓库服务共用的写库流程：
+ * <ul>
+ *   <li>计算指纹并按repo_id去重，同一条语句中重复的repo_id会导致ON CONFLICT报错，保留最后一条，
+ *       合并掉的行单独计入deduped</li>
+ *   <li>分批预加载已有行，指纹相同的仓库在写库前跳过，不写库也不发布事件</li>
+ *   <li>有变化的仓库批量upsert，写库成功后发布{@link RepoChangedEvent}</li>
+ * </ul>
+ *
+ * <p>数据源只需提供按repo_id查询已有行和批量upsert两个操作。
+ */
+public final class RepoChangeWriter {
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private RepoChangeWriter() {
+    }
+
+    /**
+     * @param source 数据源标识，写入事件
+     * @param repos 本次同步到的仓库
+     * @param batchSize 每批写库的仓库数
+     * @param loader 按repo_id查询已有行
+     * @param writer 批量upsert，返回每行是否为新插入
+     * @param publisher 事件发布
+     * @return UpsertResult 新增、更新、未变化和去重合并的数量，合计等于repos的大小；并记录提交写库的仓库ID
+     */
+    public static <R extends SyncedRepo> UpsertResult upsert(String source, List<R> repos, int batchSize,
+                                                             Function<List<Long>, List<R>> loader,
+                                                             Function<List<R>, List<Boolean>> writer,
+                                                             Consumer<RepoChangedEvent> publisher) {
+        if (repos == null || repos.isEmpty()) {
+            return new UpsertResult();
+        }
+        Map<Long, R> unique = new LinkedHashMap<>();
+        for (R repo : repos) {
+            repo.setContentHash(RepoFingerprint.of(repo));
+            unique.put(repo.getRepoId(), repo);
+        }
+        List<R> rows = new ArrayList<>(unique.values());
+
+        UpsertResult result = new UpsertResult(0, 0, 0, repos.size() - rows.size());
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<R> batch = rows.subList(from, Math.min(from + batchSize, rows.size()));
+
+            Map<Long, R> existing = loadExisting(batch, loader);
+            List<R> changed = new ArrayList<>(batch.size());
+            List<RepoChangedEvent> events = new ArrayList<>();
+            for (R repo : batch) {
+                R previous = existing.get(repo.getRepoId());
+                if (previous != null && repo.getContentHash().equals(previous.getContentHash())) {
+                    continue;
+                }
+                changed.add(repo);
+                RepoChangedEvent event = RepoChangedEvent.of(source, previous, repo);
+                if (event.hasChanges()) {
+                    events.add(event);
+                }
+            }
+            if (changed.isEmpty()) {
+                result.add(new UpsertResult(0, 0, batch.size()));
+                continue;
+            }
+
+            List<Boolean> written = writer.apply(changed);
+            int inserted = 0;
+            for (Boolean flag : written) {
+                if (Boolean.TRUE.equals(flag)) {
+                    inserted++;
+                }
+            }
+            // 指纹相同而跳过的行，加上写库时因内容相同未返回的行，都计为未变化
+            UpsertResult batchResult = new UpsertResult(inserted, written.size() - inserted, batch.size() - written.size());
+            changed.forEach(repo -> batchResult.addChanged(repo.getRepoId()));
+            result.add(batchResult);
+            events.forEach(publisher);
+        }
+        return result;
+    }
+
+    private static <R extends SyncedRepo> Map<Long, R> loadExisting(List<R> batch, Function<List<Long>, List<R>> loader) {
+        List<Long> repoIds = new ArrayList<>(batch.size());
+        for (R repo : batch) {
+            repoIds.add(repo.getRepoId());
+        }
+        Map<Long, R> existing = new HashMap<>();
+        for (R repo : loader.apply(repoIds)) {
+            existing.put(repo.getRepoId(), repo);
+        }
+        return existing;
+    }
+}
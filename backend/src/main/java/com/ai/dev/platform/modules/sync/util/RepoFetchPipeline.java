@@ -0,0 +1,313 @@
+package com.ai.dev.platform.modules.sync.util;
+
+import com.ai.dev.platform.modules.sync.dto.FetchStats;
+import com.ai.dev.platform.modules.sync.entity.SyncHttpCache;
+import com.ai.dev.platform.modules.sync.entity.SyncedRepo;
+import com.ai.dev.platform.modules.sync.service.SyncHttpCacheService;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 仓库数据拉取流水线
+ *
+ * <p>所有{@link RepoProvider}共用的HTTP与解析流程：
+ * <ul>
+ *   <li>共享RestTemplate的连接，出站请求经{@link RateLimitScheduler}按数据源和令牌节流</li>
+ *   <li>连接失败和502/503/504按指数退避重试，限流由调度器挂起后重试</li>
+ *   <li>按数据源的分页规则逐页跟进，可选ETag/Last-Modified条件请求</li>
+ *   <li>响应流直接按字段映射解析为实体，内存占用只与单页大小相关</li>
+ * </ul>
+ */
+@Component
+public class RepoFetchPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepoFetchPipeline.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final long RETRY_BACKOFF_MS = 500;
+
+    private final RestTemplate restTemplate;
+    private final SyncHttpCacheService syncHttpCacheService;
+    private final RateLimitScheduler rateLimitScheduler;
+    private final int maxRetries;
+
+    public RepoFetchPipeline(RestTemplate restTemplate, SyncHttpCacheService syncHttpCacheService,
+                             RateLimitScheduler rateLimitScheduler,
+                             @Value("${sync.http.max-retries:2}") int maxRetries) {
+        this.restTemplate = restTemplate;
+        this.syncHttpCacheService = syncHttpCacheService;
+        this.rateLimitScheduler = rateLimitScheduler;
+        this.maxRetries = Math.max(0, maxRetries);
+    }
+
+    /**
+     * 从url开始逐页拉取仓库，每页解析后交给handler
+     *
+     * @param conditional 是否对每一页发起条件请求，304的页面既不解析也不回调handler，只计入stats，
+     *                    之后沿用缓存记录的下一页地址继续
+     * @return 成功解析的仓库总数
+     */
+    public <R extends SyncedRepo> int fetchPages(RepoProvider<R> provider, String url, String accessToken,
+                                                 boolean conditional, FetchStats stats, RepoPageHandler<R> handler) {
+        return fetchPages(provider, url, accessToken, conditional, false, stats, handler);
+    }
+
+    /**
+     * @param stopOnNotModified 条件请求返回304时结束分页，不再跟进缓存记录的下一页
+     */
+    private <R extends SyncedRepo> int fetchPages(RepoProvider<R> provider, String url, String accessToken,
+                                                  boolean conditional, boolean stopOnNotModified, FetchStats stats,
+                                                  RepoPageHandler<R> handler) {
+        int total = 0;
+        while (url != null) {
+            SyncHttpCache cached = conditional ? syncHttpCacheService.findEntry(url, accessToken) : null;
+            HttpHeaders headers = new HttpHeaders();
+            provider.applyHeaders(headers, accessToken);
+            if (cached != null) {
+                stats.incrementCacheHits();
+                if (cached.getEtag() != null) {
+                    headers.setIfNoneMatch(cached.getEtag());
+                }
+                if (cached.getLastModified() != null) {
+                    headers.set(HttpHeaders.IF_MODIFIED_SINCE, cached.getLastModified());
+                }
+            }
+
+            String pageUrl = url;
+            RepoPage<R> page = execute(provider.getName(), accessToken, URI.create(url), headers,
+                    response -> readRepoPage(provider, pageUrl, response, accessToken));
+            if (page == null) {
+                break;
+            }
+            stats.incrementPages();
+
+            if (page.notModified()) {
+                if (cached == null) {
+                    break;
+                }
+                stats.incrementNotModified();
+                stats.addBytesSaved(cached.getContentLength() != null ? cached.getContentLength() : 0);
+                url = stopOnNotModified ? null : cached.getNextUrl();
+                continue;
+            }
+
+            stats.addBytesReceived(page.bytes());
+            stats.setNextUrl(page.nextUrl());
+            total += page.repos().size();
+            boolean proceed = handler.onPage(page.repos());
+            String nextUrl = proceed ? page.nextUrl() : null;
+            // 页面处理成功后才记录校验值，避免写库失败的页面在下次被304跳过；
+            // 提前停止时不记录下一页，下次命中304也在此停止
+            if (conditional) {
+                syncHttpCacheService.saveEntry(url, accessToken, page.etag(), page.lastModified(),
+                        nextUrl, page.bytes());
+            }
+            url = nextUrl;
+        }
+        logger.info("成功从{}分页获取{}个仓库，共{}页，304未修改{}页", provider.getName(), total,
+                stats.getPages(), stats.getNotModified());
+        return total;
+    }
+
+    /**
+     * 增量拉取：url须按更新时间倒序，只把updated_at不早于since的仓库交给handler，
+     * 遇到更早的仓库即停止分页。
+     *
+     * <p>每页带条件请求，304即结束：任何仓库更新都会排到首页，使该页及之后的页面内容变化，
+     * 页面未变化说明上次处理之后没有更新。中断的增量同步由检查点续传，放弃续传时由定期全量对账补齐。
+     */
+    public <R extends SyncedRepo> int fetchUpdatedSince(RepoProvider<R> provider, String url, String accessToken,
+                                                        LocalDateTime since, FetchStats stats,
+                                                        RepoPageHandler<R> handler) {
+        return fetchPages(provider, url, accessToken, true, true, stats, repos -> {
+            List<R> changed = new ArrayList<>(repos.size());
+            boolean reachedMark = false;
+            for (R repo : repos) {
+                if (repo.getUpdatedAt() != null && repo.getUpdatedAt().isBefore(since)) {
+                    reachedMark = true;
+                    break;
+                }
+                changed.add(repo);
+            }
+            boolean proceed = changed.isEmpty() || handler.onPage(changed);
+            return proceed && !reachedMark;
+        });
+    }
+
+    /**
+     * 获取单个仓库，失败时返回null
+     */
+    public <R extends SyncedRepo> R fetchRepo(RepoProvider<R> provider, String fullName, String accessToken) {
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            provider.applyHeaders(headers, accessToken);
+            R repo = execute(provider.getName(), accessToken, URI.create(provider.repoUrl(fullName)), headers,
+                    response -> {
+                        rateLimitScheduler.update(provider.getName(), accessToken, response.getHeaders());
+                        if (response.getStatusCode().value() != HttpStatus.OK.value()) {
+                            return null;
+                        }
+                        try (JsonParser parser = objectMapper.getFactory().createParser(response.getBody())) {
+                            return parser.nextToken() == JsonToken.START_OBJECT ? readRepoObject(provider, parser) : null;
+                        }
+                    });
+            if (repo != null) {
+                logger.info("成功获取{}仓库：{}", provider.getName(), fullName);
+            }
+            return repo;
+        } catch (Exception e) {
+            logger.error("获取{}仓库失败：{}", provider.getName(), fullName, e);
+            return null;
+        }
+    }
+
+    /**
+     * 发起GET请求，经限流调度，并对瞬时故障重试
+     */
+    public <T> T execute(String providerName, String accessToken, URI uri, HttpHeaders headers,
+                         ResponseExtractor<T> extractor) {
+        int attempt = 0;
+        while (true) {
+            try {
+                return rateLimitScheduler.execute(providerName, accessToken,
+                        () -> restTemplate.execute(uri, HttpMethod.GET,
+                                request -> request.getHeaders().putAll(headers), extractor));
+            } catch (RestClientException e) {
+                if (!isTransient(e) || attempt >= maxRetries) {
+                    throw e;
+                }
+                long backoff = RETRY_BACKOFF_MS << attempt++;
+                logger.warn("{}请求失败，{}ms后第{}次重试：{}，{}", providerName, backoff, attempt, uri.getPath(), e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * 从JSON数组响应流中逐个元素读取为树再映射，同一时刻只保留一个元素的树结构
+     */
+    public <T> List<T> readArray(InputStream body, Function<JsonNode, T> mapper) throws IOException {
+        List<T> items = new ArrayList<>();
+        if (body == null) {
+            return items;
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("响应不是JSON数组");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                T item = mapper.apply(parser.readValueAsTree());
+                if (item != null) {
+                    items.add(item);
+                }
+            }
+        }
+        return items;
+    }
+
+    private <R extends SyncedRepo> RepoPage<R> readRepoPage(RepoProvider<R> provider, String url,
+                                                           ClientHttpResponse response, String accessToken)
+            throws IOException {
+        HttpHeaders responseHeaders = response.getHeaders();
+        rateLimitScheduler.update(provider.getName(), accessToken, responseHeaders);
+        if (response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+            return RepoPage.notModifiedPage();
+        }
+        CountingInputStream body = new CountingInputStream(response.getBody());
+        List<R> repos = readRepoArray(provider, body);
+        return new RepoPage<>(repos, provider.nextPageUrl(url, responseHeaders, repos.size()),
+                responseHeaders.getETag(), responseHeaders.getFirst(HttpHeaders.LAST_MODIFIED),
+                body.getCount(), false);
+    }
+
+    private <R extends SyncedRepo> List<R> readRepoArray(RepoProvider<R> provider, InputStream body) throws IOException {
+        List<R> repos = new ArrayList<>();
+        if (body == null) {
+            return repos;
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException(provider.getName() + "仓库列表响应不是JSON数组");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                R repo = readRepoObject(provider, parser);
+                if (repo != null) {
+                    repos.add(repo);
+                }
+            }
+        }
+        return repos;
+    }
+
+    /**
+     * 逐字段读取一个仓库对象，未映射的字段连同嵌套结构一起跳过
+     */
+    private <R extends SyncedRepo> R readRepoObject(RepoProvider<R> provider, JsonParser parser) throws IOException {
+        RepoFieldMapping<R> mapping = provider.getFieldMapping();
+        R repo = provider.newRepo();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            RepoFieldMapping.FieldReader<R> reader = mapping.get(parser.currentName());
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            if (reader != null) {
+                reader.read(repo, parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (repo.getRepoId() == null || repo.getRepoName() == null) {
+            logger.warn("跳过缺少id或名称的{}仓库数据", provider.getName());
+            return null;
+        }
+        return repo;
+    }
+
+    private static boolean isTransient(RestClientException e) {
+        if (e instanceof ResourceAccessException) {
+            return true;
+        }
+        if (e instanceof HttpServerErrorException serverError) {
+            int status = serverError.getStatusCode().value();
+            return status == HttpStatus.BAD_GATEWAY.value() || status == HttpStatus.SERVICE_UNAVAILABLE.value()
+                    || status == HttpStatus.GATEWAY_TIMEOUT.value();
+        }
+        return false;
+    }
+
+    private record RepoPage<R>(List<R> repos, String nextUrl, String etag, String lastModified,
+                               long bytes, boolean notModified) {
+        static <R> RepoPage<R> notModifiedPage() {
+            return new RepoPage<>(List.of(), null, null, null, 0, true);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.ai.dev.platform.modules.sync.util;
+
+import com.ai.dev.platform.modules.sync.entity.SyncedRepo;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 仓库JSON字段到实体属性的映射表
+ *
+ * <p>流式解析和树解析共用同一份映射：读取器拿到已定位在字段值上的JsonParser，
+ * 标量字段直接取值，对象字段需自行读完（如readValueAsTree）。null值不会交给读取器。
+ *
+ * @param <R> 仓库实体类型
+ */
+public final class RepoFieldMapping<R extends SyncedRepo> {
+
+    private final Map<String, FieldReader<R>> readers = new HashMap<>();
+
+    /**
+     * GitHub/Gitee/Gitea通用的REST仓库字段
+     */
+    public static <R extends SyncedRepo> RepoFieldMapping<R> standard() {
+        return new RepoFieldMapping<R>()
+                .field("id", (repo, p) -> repo.setRepoId(p.getLongValue()))
+                .field("full_name", (repo, p) -> repo.setRepoName(p.getText()))
+                .field("html_url", (repo, p) -> repo.setRepoUrl(p.getText()))
+                .field("description", (repo, p) -> repo.setDescription(p.getText()))
+                .field("language", (repo, p) -> repo.setLanguage(p.getText()))
+                .field("stargazers_count", (repo, p) -> repo.setStarsCount(p.getIntValue()))
+                .field("forks_count", (repo, p) -> repo.setForksCount(p.getIntValue()))
+                .field("open_issues_count", (repo, p) -> repo.setOpenIssuesCount(p.getIntValue()))
+                .field("updated_at", (repo, p) -> repo.setUpdatedAt(parseTime(p.getText())));
+    }
+
+    /**
+     * 新增或覆盖一个字段的读取器
+     */
+    public RepoFieldMapping<R> field(String name, FieldReader<R> reader) {
+        readers.put(name, reader);
+        return this;
+    }
+
+    FieldReader<R> get(String name) {
+        return readers.get(name);
+    }
+
+    public static LocalDateTime parseTime(String value) {
+        return LocalDateTime.parse(value, DateTimeFormatter.ISO_DATE_TIME);
+    }
+
+    @FunctionalInterface
+    public interface FieldReader<R> {
+        void read(R repo, JsonParser parser) throws IOException;
+    }
+}
@@ -0,0 +1,45 @@
+package com.ai.dev.platform.modules.sync.util;
+
+import com.ai.dev.platform.modules.sync.entity.SyncedRepo;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 仓库内容指纹
+ *
+ * <p>对名称、地址、描述、语言、星标数、分支数、开放问题数和更新时间计算SHA-256，
+ * 指纹相同说明同步到的内容没有变化，可以跳过写库。
+ */
+public final class RepoFingerprint {
+
+    private static final char FIELD_SEPARATOR = '\u001f';
+    private static final String NULL_MARKER = "\u0000";
+
+    private RepoFingerprint() {
+    }
+
+    public static String of(SyncedRepo repo) {
+        StringBuilder sb = new StringBuilder(256);
+        append(sb, repo.getRepoName());
+        append(sb, repo.getRepoUrl());
+        append(sb, repo.getDescription());
+        append(sb, repo.getLanguage());
+        append(sb, repo.getStarsCount());
+        append(sb, repo.getForksCount());
+        append(sb, repo.getOpenIssuesCount());
+        append(sb, repo.getUpdatedAt());
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256不可用", e);
+        }
+    }
+
+    private static void append(StringBuilder sb, Object value) {
+        sb.append(value != null ? value.toString() : NULL_MARKER).append(FIELD_SEPARATOR);
+    }
+}
@@ -0,0 +1,27 @@
+package com.ai.dev.platform.modules.sync.util;
+
+import java.util.List;
+
+/**
+ * 仓库分页回调接口
+ *
+ * <p>分页拉取仓库列表时，每解析完一页即回调一次，
+ * 调用方可以逐页处理数据，内存占用只与单页大小相关。
+ *
+ * @param <T> 仓库实体类型
+ * @author AI开发平台团队
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface RepoPageHandler<T> {
+
+    /**
+     * 处理一页仓库数据
+     *
+     * @param repos 当前页解析出的仓库列表
+     * @return boolean 是否继续拉取下一页，返回false时立即停止分页
+     * @since 1.0.0
+     */
+    boolean onPage(List<T> repos);
+}
@@ -0,0 +1,119 @@
+package com.ai.dev.platform.modules.sync.util;
+
+import com.ai.dev.platform.modules.sync.entity.SyncedRepo;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Git平台仓库数据源SPI
+ *
+ * <p>数据源只描述URL模板、认证头、分页方式和字段映射，
+ * 请求发送、限流、重试、条件请求和流式解析都由{@link RepoFetchPipeline}统一完成。
+ * 新增GitLab/Gitea等平台时实现本接口并注册为Spring组件即可。
+ *
+ * @param <R> 仓库实体类型
+ */
+public interface RepoProvider<R extends SyncedRepo> {
+
+    int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * 数据源标识，同时作为限流桶和同步任务的source
+     */
+    String getName();
+
+    String getApiBaseUrl();
+
+    R newRepo();
+
+    RepoFieldMapping<R> getFieldMapping();
+
+    /**
+     * 用户仓库列表第一页的地址
+     *
+     * @param sortByUpdated 是否按更新时间倒序，增量同步时使用
+     */
+    String userReposUrl(String account, boolean sortByUpdated);
+
+    /**
+     * 根据当前页地址、响应头和条数计算下一页地址，没有下一页时返回null
+     */
+    String nextPageUrl(String currentUrl, HttpHeaders responseHeaders, int itemCount);
+
+    default String repoUrl(String fullName) {
+        return getApiBaseUrl() + "/repos/" + fullName;
+    }
+
+    /**
+     * Issue列表是否包含PR；不包含时PR另从/pulls拉取
+     */
+    default boolean issuesIncludePullRequests() {
+        return true;
+    }
+
+    default int getPageSize() {
+        return DEFAULT_PAGE_SIZE;
+    }
+
+    default void applyHeaders(HttpHeaders headers, String accessToken) {
+        if (accessToken != null && !accessToken.isEmpty()) {
+            headers.set(HttpHeaders.AUTHORIZATION, "token " + accessToken);
+        }
+        headers.set(HttpHeaders.ACCEPT, "application/json");
+    }
+
+    /**
+     * 把解析得到的LocalDateTime按平台时区格式化为查询参数，返回值直接拼入URL，需已编码；
+     * 默认平台返回UTC时间
+     */
+    default String formatTime(LocalDateTime time) {
+        return time.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "Z";
+    }
+
+    /**
+     * 解析RFC 5988 Link头，返回rel="next"对应的URL，没有下一页时返回null
+     */
+    static String nextLink(String linkHeader) {
+        if (linkHeader == null || linkHeader.isEmpty()) {
+            return null;
+        }
+        for (String part : linkHeader.split(",")) {
+            String[] segments = part.split(";");
+            String target = segments[0].trim();
+            if (!target.startsWith("<") || !target.endsWith(">")) {
+                continue;
+            }
+            for (int i = 1; i < segments.length; i++) {
+                if ("rel=\"next\"".equals(segments[i].replace(" ", ""))) {
+                    return target.substring(1, target.length() - 1);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 页码分页：有总页数头时按总页数判断，否则按本页是否满页判断
+     */
+    static String nextPageNumber(String currentUrl, String totalPageHeader, int itemCount, int pageSize) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(currentUrl);
+        String pageParam = builder.build().getQueryParams().getFirst("page");
+        int page = 1;
+        int totalPage = 0;
+        try {
+            if (pageParam != null) {
+                page = Math.max(1, Integer.parseInt(pageParam));
+            }
+            if (totalPageHeader != null && !totalPageHeader.isEmpty()) {
+                totalPage = Integer.parseInt(totalPageHeader.trim());
+            }
+        } catch (NumberFormatException e) {
+            totalPage = 0;
+        }
+        boolean hasNext = totalPage > 0 ? page < totalPage : itemCount >= pageSize;
+        return hasNext ? builder.replaceQueryParam("page", page + 1).build(true).toUriString() : null;
+    }
+}
@@ -0,0 +1,36 @@
+package com.ai.dev.platform.modules.sync.util;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 按数据源标识查找已注册的{@link RepoProvider}
+ */
+@Component
+public class RepoProviderRegistry {
+
+    private final Map<String, RepoProvider<?>> providers = new LinkedHashMap<>();
+
+    public RepoProviderRegistry(List<RepoProvider<?>> providers) {
+        for (RepoProvider<?> provider : providers) {
+            this.providers.put(provider.getName(), provider);
+        }
+    }
+
+    public RepoProvider<?> get(String name) {
+        RepoProvider<?> provider = providers.get(name);
+        if (provider == null) {
+            throw new IllegalArgumentException("不支持的数据源：" + name);
+        }
+        return provider;
+    }
+
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(providers.keySet());
+    }
+}
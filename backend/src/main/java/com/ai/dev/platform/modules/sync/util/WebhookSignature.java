@@ -0,0 +1,71 @@
+package com.ai.dev.platform.modules.sync.util;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Webhook签名校验
+ *
+ * <p>GitHub：X-Hub-Signature-256 = "sha256=" + hex(HMAC-SHA256(secret, 请求体))；
+ * Gitee：签名模式下 X-Gitee-Token = base64(HMAC-SHA256(secret, timestamp + "\n" + secret))，
+ * 必须带时间戳；密码模式下 X-Gitee-Token 直接等于secret，不能防重放，需显式开启。比较均使用常量时间算法。
+ */
+public final class WebhookSignature {
+
+    private static final String HMAC_SHA256 = "HmacSHA256";
+    private static final String GITHUB_PREFIX = "sha256=";
+
+    private WebhookSignature() {
+    }
+
+    public static boolean verifyGitHub(String secret, byte[] payload, String signatureHeader) {
+        if (isEmpty(secret) || payload == null || signatureHeader == null || !signatureHeader.startsWith(GITHUB_PREFIX)) {
+            return false;
+        }
+        String expected = GITHUB_PREFIX + HexFormat.of().formatHex(hmac(secret, payload));
+        return constantTimeEquals(expected, signatureHeader);
+    }
+
+    public static boolean verifyGitee(String secret, String token, String timestamp, boolean allowPassword) {
+        if (isEmpty(secret) || isEmpty(token) || isEmpty(timestamp)) {
+            return false;
+        }
+        byte[] sign = hmac(secret, (timestamp + "\n" + secret).getBytes(StandardCharsets.UTF_8));
+        if (constantTimeEquals(Base64.getEncoder().encodeToString(sign), token)) {
+            return true;
+        }
+        return allowPassword && constantTimeEquals(secret, token);
+    }
+
+    public static String signGitHub(String secret, byte[] payload) {
+        return GITHUB_PREFIX + HexFormat.of().formatHex(hmac(secret, payload));
+    }
+
+    public static String signGitee(String secret, String timestamp) {
+        return Base64.getEncoder().encodeToString(
+                hmac(secret, (timestamp + "\n" + secret).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] hmac(String secret, byte[] data) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_SHA256);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_SHA256));
+            return mac.doFinal(data);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256不可用", e);
+        }
+    }
+
+    private static boolean constantTimeEquals(String expected, String actual) {
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), actual.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean isEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+}
@@ -26,7 +26,7 @@ public class OAuthController {
     @Value("${github.client-secret:}")
     private String clientSecret;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
     private final SysUserService sysUserService;
     private final JwtUtil jwtUtil;
 
@@ -34,10 +34,12 @@ public class OAuthController {
     private String frontendRedirect;
     private final com.ai.dev.platform.modules.sys.service.OAuthStateStore oauthStateStore;
 
-    public OAuthController(SysUserService sysUserService, JwtUtil jwtUtil, com.ai.dev.platform.modules.sys.service.OAuthStateStore oauthStateStore) {
+    public OAuthController(SysUserService sysUserService, JwtUtil jwtUtil, com.ai.dev.platform.modules.sys.service.OAuthStateStore oauthStateStore,
+                           RestTemplate restTemplate) {
         this.sysUserService = sysUserService;
         this.jwtUtil = jwtUtil;
         this.oauthStateStore = oauthStateStore;
+        this.restTemplate = restTemplate;
     }
 
     @GetMapping("/callback")
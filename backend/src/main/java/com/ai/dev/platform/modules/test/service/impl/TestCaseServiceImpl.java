@@ -1,5 +1,6 @@
 package com.ai.dev.platform.modules.test.service.impl;
 
+import com.ai.dev.platform.common.HostUnavailableException;
 import com.ai.dev.platform.modules.api.entity.ApiInfo;
 import com.ai.dev.platform.modules.api.service.ApiInfoService;
 import com.ai.dev.platform.modules.test.entity.TestCase;
@@ -106,6 +107,9 @@ public class TestCaseServiceImpl extends ServiceImpl<TestCaseMapper, TestCase> i
             result.put("actualResult", actualResult);
             result.put("expectedResult", expectedResult);
             
+        } catch (HostUnavailableException e) {
+            // 目标主机熔断中，交给全局异常处理返回错误
+            throw e;
         } catch (Exception e) {
             result.put("success", false);
             result.put("error", e.getMessage());
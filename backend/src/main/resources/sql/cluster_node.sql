@@ -0,0 +1,13 @@
+-- 集群节点租约表（PostgreSQL）
+-- 每个节点定期续约，lease_expire_time之前视为存活；时间一律取数据库时间，不受节点时钟偏差影响。
+-- 存活节点组成一致性哈希环，监控和同步账号按ID散列到唯一的节点，单例任务按任务名散列。
+
+CREATE TABLE IF NOT EXISTS cluster_node (
+    node_id VARCHAR(100) PRIMARY KEY,
+    host VARCHAR(255) DEFAULT NULL,
+    start_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    heartbeat_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    lease_expire_time TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_cluster_node_lease ON cluster_node(lease_expire_time);
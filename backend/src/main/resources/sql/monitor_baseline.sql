@@ -0,0 +1,13 @@
+-- 监控响应时间基线（PostgreSQL）
+-- slow_threshold_ms为每个监控的静态慢响应阈值，为空时按自适应基线判断；
+-- monitor_baseline是内存中基线的定期检查点，保存对数响应时间的指数加权均值和方差，重启后从这里恢复。
+
+ALTER TABLE monitor ADD COLUMN IF NOT EXISTS slow_threshold_ms INT DEFAULT NULL;
+
+CREATE TABLE IF NOT EXISTS monitor_baseline (
+    monitor_id BIGINT PRIMARY KEY,
+    sample_count BIGINT NOT NULL DEFAULT 0,
+    log_mean DOUBLE PRECISION NOT NULL DEFAULT 0,
+    log_variance DOUBLE PRECISION NOT NULL DEFAULT 0,
+    update_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
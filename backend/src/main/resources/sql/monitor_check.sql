@@ -0,0 +1,35 @@
+-- 监控探测历史（PostgreSQL）
+-- monitor_check保存每次探测结果，按check_time每天一个分区 monitor_check_pYYYYMMDD，
+-- 由MonitorCheckService提前创建未来分区，超过保留期的整天分区直接DROP。
+-- monitor_check_rollup保存1m/1h/1d三种粒度的汇总：1m由明细汇总，1h由1m汇总，1d由1h汇总；
+-- 保存延迟之和与有延迟的次数而不是平均值，粗粒度汇总可以由细粒度精确合并。
+
+CREATE TABLE IF NOT EXISTS monitor_check (
+    monitor_id BIGINT NOT NULL,
+    check_time TIMESTAMP NOT NULL,
+    status VARCHAR(10) NOT NULL,
+    status_code INT NOT NULL DEFAULT 0,
+    latency_ms INT NOT NULL DEFAULT -1,
+    error VARCHAR(255) DEFAULT NULL
+) PARTITION BY RANGE (check_time);
+
+CREATE INDEX IF NOT EXISTS idx_monitor_check_monitor_time ON monitor_check (monitor_id, check_time);
+
+-- 兜底分区，未及时创建分区时写入不会失败；之后创建对应日期的分区时，先把已落入的明细移入新分区再挂载
+CREATE TABLE IF NOT EXISTS monitor_check_default PARTITION OF monitor_check DEFAULT;
+
+CREATE TABLE IF NOT EXISTS monitor_check_rollup (
+    monitor_id BIGINT NOT NULL,
+    resolution VARCHAR(4) NOT NULL,
+    bucket_time TIMESTAMP NOT NULL,
+    check_count INT NOT NULL DEFAULT 0,
+    failure_count INT NOT NULL DEFAULT 0,
+    min_latency_ms INT DEFAULT NULL,
+    max_latency_ms INT DEFAULT NULL,
+    latency_sum BIGINT NOT NULL DEFAULT 0,
+    latency_count INT NOT NULL DEFAULT 0,
+    update_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (monitor_id, resolution, bucket_time)
+);
+
+CREATE INDEX IF NOT EXISTS idx_monitor_check_rollup_resolution_time ON monitor_check_rollup (resolution, bucket_time);
@@ -0,0 +1,5 @@
+-- 监控按目标设置检查间隔（PostgreSQL）
+-- check_interval为两次检查的间隔秒数，check_jitter为每次额外随机延迟的上限秒数
+
+ALTER TABLE monitor ADD COLUMN IF NOT EXISTS check_interval INT NOT NULL DEFAULT 300;
+ALTER TABLE monitor ADD COLUMN IF NOT EXISTS check_jitter INT NOT NULL DEFAULT 0;
@@ -0,0 +1,5 @@
+-- 监控延迟直方图（PostgreSQL，需在 monitor_check.sql 之后执行）
+-- latency_histogram为对数分桶直方图的稀疏编码：(桶序号, 次数)交替排列，只保存非空桶，
+-- 分桶方式见LatencyHistogram；1m由探测线程内存中的直方图写入，1h/1d由细一级逐桶相加得到。
+
+ALTER TABLE monitor_check_rollup ADD COLUMN IF NOT EXISTS latency_histogram BIGINT[] DEFAULT NULL;
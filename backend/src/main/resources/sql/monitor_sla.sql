@@ -0,0 +1,4 @@
+-- 监控SLA目标（PostgreSQL）
+-- sla_target为目标可用率百分比，可用率和错误预算由monitor_check_rollup计算
+
+ALTER TABLE monitor ADD COLUMN IF NOT EXISTS sla_target NUMERIC(6,3) NOT NULL DEFAULT 99.9;
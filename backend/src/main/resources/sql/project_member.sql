@@ -0,0 +1,12 @@
+-- 项目成员表（PostgreSQL）
+-- 监控告警等项目级通知发送给项目成员；项目没有登记成员时发送给monitor.alert.on-call-user-ids配置的值班人员，未配置则丢弃并记录告警日志。
+-- 创建项目时创建人自动登记为成员，也可通过/project/{id}/members接口维护。
+
+CREATE TABLE IF NOT EXISTS project_member (
+    project_id BIGINT NOT NULL REFERENCES project(id) ON DELETE CASCADE,
+    user_id BIGINT NOT NULL REFERENCES sys_user(id) ON DELETE CASCADE,
+    create_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (project_id, user_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_project_member_user ON project_member(user_id);
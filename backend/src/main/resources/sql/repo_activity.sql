@@ -0,0 +1,40 @@
+-- 仓库活动数据表（PostgreSQL）
+-- 同步仓库之后按since游标增量拉取提交、Issue和PR，游标存放在sync_watermark中：
+-- source为"<数据源>-commits"/"<数据源>-issues"，account为"repo:<仓库ID>"
+
+CREATE TABLE IF NOT EXISTS repo_commit (
+    id BIGSERIAL PRIMARY KEY,
+    source VARCHAR(20) NOT NULL,
+    repo_id BIGINT NOT NULL,
+    repo_name VARCHAR(255) NOT NULL,
+    sha VARCHAR(64) NOT NULL,
+    author_name VARCHAR(255) DEFAULT NULL,
+    author_email VARCHAR(255) DEFAULT NULL,
+    author_login VARCHAR(100) DEFAULT NULL,
+    message TEXT DEFAULT NULL,
+    committed_at TIMESTAMP DEFAULT NULL,
+    create_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_repo_commit UNIQUE (source, repo_id, sha)
+);
+
+CREATE INDEX IF NOT EXISTS idx_repo_commit_repo_time ON repo_commit (source, repo_id, committed_at DESC);
+
+CREATE TABLE IF NOT EXISTS repo_issue (
+    id BIGSERIAL PRIMARY KEY,
+    source VARCHAR(20) NOT NULL,
+    repo_id BIGINT NOT NULL,
+    repo_name VARCHAR(255) NOT NULL,
+    number VARCHAR(32) NOT NULL,
+    pull_request BOOLEAN NOT NULL DEFAULT FALSE,
+    title VARCHAR(1024) DEFAULT NULL,
+    state VARCHAR(20) DEFAULT NULL,
+    author_login VARCHAR(100) DEFAULT NULL,
+    created_at TIMESTAMP DEFAULT NULL,
+    updated_at TIMESTAMP DEFAULT NULL,
+    closed_at TIMESTAMP DEFAULT NULL,
+    create_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    update_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_repo_issue UNIQUE (source, repo_id, pull_request, number)
+);
+
+CREATE INDEX IF NOT EXISTS idx_repo_issue_repo_updated ON repo_issue (source, repo_id, updated_at DESC);
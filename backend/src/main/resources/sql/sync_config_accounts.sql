@@ -0,0 +1,25 @@
+-- 同步配置支持多账号（PostgreSQL）
+-- 每行对应一个数据源下的一个账号，由同步编排器按sync_interval并发调度
+
+CREATE TABLE IF NOT EXISTS sync_config (
+    id BIGSERIAL PRIMARY KEY,
+    source VARCHAR(20) NOT NULL,
+    account VARCHAR(100) DEFAULT NULL,
+    access_token VARCHAR(255) DEFAULT NULL,
+    sync_interval INT NOT NULL DEFAULT 60,
+    is_enabled BOOLEAN NOT NULL DEFAULT TRUE,
+    last_sync_time TIMESTAMP DEFAULT NULL,
+    create_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    update_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+ALTER TABLE sync_config ADD COLUMN IF NOT EXISTS account VARCHAR(100) DEFAULT NULL;
+ALTER TABLE sync_config ADD COLUMN IF NOT EXISTS last_sync_time TIMESTAMP DEFAULT NULL;
+
+-- 原来每个数据源只允许一行配置，改为数据源+账号唯一
+ALTER TABLE sync_config DROP CONSTRAINT IF EXISTS uk_source;
+ALTER TABLE sync_config DROP CONSTRAINT IF EXISTS sync_config_source_key;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_sync_config_source_account ON sync_config(source, account);
+CREATE INDEX IF NOT EXISTS idx_sync_config_due ON sync_config(is_enabled, last_sync_time);
+-- Webhook按仓库所有者查找账号，不区分大小写
+CREATE INDEX IF NOT EXISTS idx_sync_config_source_account_lower ON sync_config(source, LOWER(account));
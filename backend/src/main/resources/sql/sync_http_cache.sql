@@ -0,0 +1,19 @@
+-- 同步HTTP条件请求缓存（PostgreSQL）
+-- 按请求URL+令牌摘要保存上次响应的ETag/Last-Modified，供同步时发起条件请求
+
+CREATE TABLE IF NOT EXISTS sync_http_cache (
+    id BIGSERIAL PRIMARY KEY,
+    cache_key VARCHAR(64) NOT NULL,
+    request_url VARCHAR(1000) NOT NULL,
+    etag VARCHAR(255) DEFAULT NULL,
+    last_modified VARCHAR(64) DEFAULT NULL,
+    next_url VARCHAR(1000) DEFAULT NULL,
+    content_length BIGINT DEFAULT 0,
+    update_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE (cache_key)
+);
+
+-- 同步记录增加条件请求统计字段
+ALTER TABLE sync_record ADD COLUMN IF NOT EXISTS cache_hits INT DEFAULT 0;
+ALTER TABLE sync_record ADD COLUMN IF NOT EXISTS not_modified_count INT DEFAULT 0;
+ALTER TABLE sync_record ADD COLUMN IF NOT EXISTS bytes_saved BIGINT DEFAULT 0;
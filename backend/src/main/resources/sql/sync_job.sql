@@ -0,0 +1,32 @@
+-- 同步任务队列表（PostgreSQL）
+-- 状态机：queued -> running -> succeeded / failed，失败未达上限时回到queued并保留检查点
+-- 工作线程通过 SELECT ... FOR UPDATE SKIP LOCKED 认领任务，多节点部署时不会重复执行
+
+CREATE TABLE IF NOT EXISTS sync_job (
+    id BIGSERIAL PRIMARY KEY,
+    source VARCHAR(20) NOT NULL,
+    account VARCHAR(100) NOT NULL DEFAULT '',
+    access_token VARCHAR(255) DEFAULT NULL,
+    config_id BIGINT DEFAULT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'queued',
+    full_sync BOOLEAN DEFAULT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    max_attempts INT NOT NULL DEFAULT 3,
+    next_url VARCHAR(1000) DEFAULT NULL,
+    pages_done INT NOT NULL DEFAULT 0,
+    items_done INT NOT NULL DEFAULT 0,
+    checkpoint_mark TIMESTAMP DEFAULT NULL,
+    error_message TEXT DEFAULT NULL,
+    worker VARCHAR(100) DEFAULT NULL,
+    run_after TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    heartbeat_time TIMESTAMP DEFAULT NULL,
+    start_time TIMESTAMP DEFAULT NULL,
+    finish_time TIMESTAMP DEFAULT NULL,
+    create_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    update_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 同一账号同时只允许一个排队或执行中的任务
+CREATE UNIQUE INDEX IF NOT EXISTS uk_sync_job_active ON sync_job(source, account)
+    WHERE status IN ('queued', 'running');
+CREATE INDEX IF NOT EXISTS idx_sync_job_claim ON sync_job(source, status, run_after);
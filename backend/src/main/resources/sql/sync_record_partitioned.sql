@@ -0,0 +1,82 @@
+-- 同步记录按月分区（PostgreSQL，需在 sync_record_runs.sql 之后执行）
+-- sync_record改为按sync_time范围分区的父表，每月一个分区 sync_record_pYYYYMM，
+-- 由SyncRecordPartitionManager提前创建未来分区，并按保留期整表DROP过期分区，不再执行DELETE。
+-- 分区表的主键和唯一索引必须包含分区键，因此run_id唯一约束改为(run_id, sync_time)，
+-- 同一次运行的sync_time固定为开始时间，upsert仍然命中同一行。
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE relname = 'sync_record' AND relkind = 'r') THEN
+        ALTER TABLE sync_record RENAME TO sync_record_legacy;
+        ALTER INDEX IF EXISTS uk_sync_record_run_id RENAME TO uk_sync_record_legacy_run_id;
+        -- 新表沿用原序列，避免id重复；解除归属后删除旧表不会连带删除序列
+        ALTER SEQUENCE IF EXISTS sync_record_id_seq OWNED BY NONE;
+    END IF;
+END $$;
+
+CREATE SEQUENCE IF NOT EXISTS sync_record_id_seq;
+
+CREATE TABLE IF NOT EXISTS sync_record (
+    id BIGINT NOT NULL DEFAULT nextval('sync_record_id_seq'),
+    run_id VARCHAR(36) NOT NULL,
+    source VARCHAR(20) NOT NULL,
+    repo_name VARCHAR(100) DEFAULT NULL,
+    sync_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sync_status VARCHAR(20) NOT NULL,
+    error_message TEXT DEFAULT NULL,
+    data_count INT DEFAULT 0,
+    cache_hits INT DEFAULT 0,
+    not_modified_count INT DEFAULT 0,
+    bytes_saved BIGINT DEFAULT 0,
+    finish_time TIMESTAMP DEFAULT NULL,
+    duration_ms BIGINT DEFAULT NULL,
+    fetch_ms BIGINT DEFAULT NULL,
+    write_ms BIGINT DEFAULT NULL,
+    create_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, sync_time)
+) PARTITION BY RANGE (sync_time);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_sync_record_run_id ON sync_record (run_id, sync_time);
+-- 记录列表按 (sync_time, id) 做键集分页
+CREATE INDEX IF NOT EXISTS idx_sync_record_time_id ON sync_record (sync_time DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_sync_record_source_time_id ON sync_record (source, sync_time DESC, id DESC);
+
+-- 兜底分区，分区管理器未及时创建分区时写入不会失败
+CREATE TABLE IF NOT EXISTS sync_record_default PARTITION OF sync_record DEFAULT;
+
+-- 迁移历史数据：为历史月份建分区后整体复制，再删除旧表
+DO $$
+DECLARE
+    m DATE;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE relname = 'sync_record_legacy' AND relkind = 'r') THEN
+        FOR m IN SELECT DISTINCT date_trunc('month', sync_time)::date FROM sync_record_legacy LOOP
+            EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF sync_record FOR VALUES FROM (%L) TO (%L)',
+                           'sync_record_p' || to_char(m, 'YYYYMM'), m, (m + INTERVAL '1 month')::date);
+        END LOOP;
+        INSERT INTO sync_record (id, run_id, source, repo_name, sync_time, sync_status, error_message, data_count,
+                                 cache_hits, not_modified_count, bytes_saved, finish_time, duration_ms, fetch_ms,
+                                 write_ms, create_time)
+        SELECT id, COALESCE(run_id, md5(id::text || sync_time::text)), source, repo_name, sync_time, sync_status,
+               error_message, data_count, COALESCE(cache_hits, 0), COALESCE(not_modified_count, 0),
+               COALESCE(bytes_saved, 0), finish_time, duration_ms, fetch_ms, write_ms, create_time
+        FROM sync_record_legacy
+        ON CONFLICT DO NOTHING;
+        PERFORM setval('sync_record_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM sync_record), 1));
+        DROP TABLE sync_record_legacy;
+    END IF;
+END $$;
+
+-- 每日汇总，供历史视图使用；明细分区被删除后汇总仍保留
+CREATE TABLE IF NOT EXISTS sync_record_daily (
+    stat_date DATE NOT NULL,
+    source VARCHAR(20) NOT NULL,
+    run_count INT NOT NULL DEFAULT 0,
+    success_count INT NOT NULL DEFAULT 0,
+    failure_count INT NOT NULL DEFAULT 0,
+    rows_synced BIGINT NOT NULL DEFAULT 0,
+    avg_duration_ms BIGINT DEFAULT NULL,
+    p95_duration_ms BIGINT DEFAULT NULL,
+    update_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (stat_date, source)
+);
@@ -0,0 +1,12 @@
+-- 同步记录按运行原地更新（PostgreSQL）
+-- 每次同步一行，以run_id为键由异步写入器批量upsert，记录开始、进度、结束和各阶段耗时
+
+ALTER TABLE sync_record ADD COLUMN IF NOT EXISTS run_id VARCHAR(36) DEFAULT NULL;
+ALTER TABLE sync_record ADD COLUMN IF NOT EXISTS finish_time TIMESTAMP DEFAULT NULL;
+ALTER TABLE sync_record ADD COLUMN IF NOT EXISTS duration_ms BIGINT DEFAULT NULL;
+ALTER TABLE sync_record ADD COLUMN IF NOT EXISTS fetch_ms BIGINT DEFAULT NULL;
+ALTER TABLE sync_record ADD COLUMN IF NOT EXISTS write_ms BIGINT DEFAULT NULL;
+
+-- 历史记录补齐run_id后建立唯一索引
+UPDATE sync_record SET run_id = md5(id::text || sync_time::text) WHERE run_id IS NULL;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_sync_record_run_id ON sync_record(run_id);
@@ -0,0 +1,5 @@
+-- 仓库内容指纹（PostgreSQL）
+-- 同步时先比较指纹，未变化的仓库不写库；已有数据的指纹在下次同步时补齐
+
+ALTER TABLE github_repo ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64) DEFAULT NULL;
+ALTER TABLE gitee_repo ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64) DEFAULT NULL;
@@ -0,0 +1,12 @@
+-- 增量同步高水位表（PostgreSQL）
+-- 每个数据源+账号一行，记录已同步仓库的最大updated_at和上次全量对账时间
+
+CREATE TABLE IF NOT EXISTS sync_watermark (
+    id BIGSERIAL PRIMARY KEY,
+    source VARCHAR(20) NOT NULL,
+    account VARCHAR(100) NOT NULL DEFAULT '',
+    high_water_mark TIMESTAMP DEFAULT NULL,
+    last_full_sync_time TIMESTAMP DEFAULT NULL,
+    update_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_sync_watermark_source_account UNIQUE (source, account)
+);
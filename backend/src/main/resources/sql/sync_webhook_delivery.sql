@@ -0,0 +1,12 @@
+-- Webhook投递去重表（PostgreSQL）
+-- 平台重试投递时delivery_id不变，通过主键冲突识别重复投递
+-- 超过sync.webhook.delivery-retention-hours的记录由定时任务按received_time清理
+
+CREATE TABLE IF NOT EXISTS sync_webhook_delivery (
+    delivery_id VARCHAR(100) PRIMARY KEY,
+    source VARCHAR(20) NOT NULL,
+    event VARCHAR(50) DEFAULT NULL,
+    received_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_sync_webhook_delivery_time ON sync_webhook_delivery(received_time);
@@ -0,0 +1,44 @@
+package com.ai.dev.platform.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncBatchWriterTest {
+
+    @Test
+    public void testOffer_CoalescesByKeyAndFlushesLatest() throws Exception {
+        List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        try (AsyncBatchWriter<String> writer = new AsyncBatchWriter<>("test", 100, 10, 60_000,
+                s -> s.substring(0, 1), batch -> batches.add(new ArrayList<>(batch)))) {
+            writer.offer("a1");
+            writer.offer("b1");
+            writer.offer("a2");
+            writer.flush(5_000);
+
+            assertEquals(1, batches.size());
+            assertEquals(List.of("a2", "b1"), batches.get(0));
+            assertEquals(2, writer.getWrittenCount());
+        }
+    }
+
+    @Test
+    public void testOffer_DropsWhenFull() throws Exception {
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        try (AsyncBatchWriter<String> writer = new AsyncBatchWriter<>("test", 2, 10, 60_000,
+                s -> s, written::addAll)) {
+            assertTrue(writer.offer("a"));
+            assertTrue(writer.offer("b"));
+            assertFalse(writer.offer("c"));
+            assertTrue(writer.offer("a"));
+            writer.flush(5_000);
+
+            assertEquals(1, writer.getDroppedCount());
+            assertEquals(List.of("a", "b"), written);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.ai.dev.platform.common;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 使用可控时钟验证熔断状态转换和舱壁
+ */
+public class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    private CircuitBreaker breaker(int maxConcurrent) {
+        return new CircuitBreaker("api.example.com",
+                new CircuitBreaker.Settings(4, 4, 50, 100, 1_000, 10_000, 2, maxConcurrent, 0), now::get);
+    }
+
+    private void call(CircuitBreaker breaker, long durationMs, boolean failure) {
+        breaker.acquirePermission();
+        breaker.onComplete(durationMs, failure);
+    }
+
+    @Test
+    public void testFailureRate_OpensAndFailsFast() {
+        CircuitBreaker breaker = breaker(4);
+        call(breaker, 10, false);
+        call(breaker, 10, true);
+        call(breaker, 10, false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        call(breaker, 10, true);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        HostUnavailableException e = assertThrows(HostUnavailableException.class, breaker::acquirePermission);
+        assertEquals(HostUnavailableException.Reason.CIRCUIT_OPEN, e.getReason());
+    }
+
+    @Test
+    public void testSlowCalls_OpenCircuit() {
+        CircuitBreaker breaker = breaker(4);
+        for (int i = 0; i < 4; i++) {
+            call(breaker, 1_500, false);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void testSlowButSuccessfulHost_StaysClosedWhenExempt() {
+        CircuitBreaker.Settings settings = new CircuitBreaker.Settings(4, 4, 50, 100, 1_000, 10_000, 2, 4, 0);
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry(new SimpleMeterRegistry(), settings,
+                Map.of("dashscope.aliyuncs.com", settings.withSlowCallMs(0)), Set.of(), 0, now::get);
+
+        // 大模型补全每次都超过统一的慢调用阈值，但都成功了
+        CircuitBreaker exempt = registry.get("DashScope.aliyuncs.com");
+        CircuitBreaker regular = registry.get("api.example.com");
+        for (int i = 0; i < 4; i++) {
+            call(exempt, 20_000, false);
+            call(regular, 1_500, false);
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, exempt.getState());
+        assertEquals(0.0, exempt.snapshot().slowCallRate());
+        assertEquals(CircuitBreaker.State.OPEN, regular.getState());
+
+        // 关闭慢调用判定后仍按失败率熔断
+        call(exempt, 20_000, true);
+        call(exempt, 20_000, true);
+        assertEquals(CircuitBreaker.State.OPEN, exempt.getState());
+    }
+
+    @Test
+    public void testHalfOpen_ClosesAfterSuccessfulProbes() {
+        CircuitBreaker breaker = breaker(4);
+        for (int i = 0; i < 4; i++) {
+            call(breaker, 10, true);
+        }
+        now.addAndGet(10_000);
+
+        breaker.acquirePermission();
+        breaker.acquirePermission();
+        assertThrows(HostUnavailableException.class, breaker::acquirePermission);
+        breaker.onComplete(10, false);
+        breaker.onComplete(10, false);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void testHalfOpen_ReopensOnFailure() {
+        CircuitBreaker breaker = breaker(4);
+        for (int i = 0; i < 4; i++) {
+            call(breaker, 10, true);
+        }
+        now.addAndGet(10_000);
+
+        call(breaker, 10, true);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void testBulkhead_RejectsWhenFull() {
+        CircuitBreaker breaker = breaker(1);
+        breaker.acquirePermission();
+
+        HostUnavailableException e = assertThrows(HostUnavailableException.class, breaker::acquirePermission);
+
+        assertEquals(HostUnavailableException.Reason.BULKHEAD_FULL, e.getReason());
+        assertEquals(1, breaker.snapshot().inFlight());
+        breaker.release();
+        assertEquals(0, breaker.snapshot().inFlight());
+    }
+}
@@ -0,0 +1,150 @@
+package com.ai.dev.platform.common;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 使用本地HttpServer验证gzip解压、总超时、按主机的指标，以及未登记主机的指标归并和熔断器回收
+ */
+public class OutboundHttpInterceptorTest {
+    HttpServer server;
+    SimpleMeterRegistry meterRegistry;
+    String baseUrl;
+    ServerSocket slowServer;
+    CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    public void setup() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/gzip", exchange -> {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write("hello gzip".getBytes(StandardCharsets.UTF_8));
+            }
+            boolean accepted = "gzip".equals(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            byte[] body = accepted ? compressed.toByteArray() : "plain".getBytes(StandardCharsets.UTF_8);
+            if (accepted) {
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    public void teardown() throws Exception {
+        release.countDown();
+        server.stop(0);
+        if (slowServer != null) {
+            slowServer.close();
+        }
+    }
+
+    /**
+     * 发出响应头和部分响应体后停住，直到测试结束
+     */
+    private String startSlowServer() throws Exception {
+        slowServer = new ServerSocket(0, 0, InetAddress.getLoopbackAddress());
+        Thread thread = new Thread(() -> {
+            try (Socket socket = slowServer.accept()) {
+                socket.getInputStream().read(new byte[8192]);
+                OutputStream out = socket.getOutputStream();
+                out.write(("HTTP/1.1 200 OK\r\nContent-Type: text/plain\r\nContent-Length: 100\r\n\r\npartial")
+                        .getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+                release.await(5, TimeUnit.SECONDS);
+            } catch (Exception ignored) {
+                // 测试结束时关闭
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return "http://127.0.0.1:" + slowServer.getLocalPort() + "/slow";
+    }
+
+    private RestTemplate restTemplate(long totalTimeoutMs) {
+        RestTemplate restTemplate = new RestTemplate(new JdkClientHttpRequestFactory(HttpClient.newHttpClient()));
+        CircuitBreakerRegistry breakers = new CircuitBreakerRegistry(meterRegistry,
+                new CircuitBreaker.Settings(10, 5, 50, 100, 60_000, 30_000, 1, 2, 1000), Set.of("127.0.0.1"), 0);
+        restTemplate.getInterceptors().add(new OutboundHttpInterceptor(meterRegistry, breakers, totalTimeoutMs, true));
+        return restTemplate;
+    }
+
+    @Test
+    public void testGzipResponse_DecompressedAndRecordedPerHost() {
+        String body = restTemplate(0).getForObject(baseUrl + "/gzip", String.class);
+
+        assertEquals("hello gzip", body);
+        assertEquals(1, meterRegistry.get("http.client.host.requests")
+                .tag("host", "127.0.0.1").tag("outcome", "SUCCESS").timer().count());
+        assertEquals(0.0, meterRegistry.get("http.client.host.in-flight").tag("host", "127.0.0.1").gauge().value());
+    }
+
+    @Test
+    public void testSlowBody_FailsAfterTotalTimeoutAndReleasesHost() throws Exception {
+        RestTemplate restTemplate = restTemplate(300);
+        String url = startSlowServer();
+
+        long start = System.nanoTime();
+        RestClientException e = assertThrows(RestClientException.class, () -> restTemplate.getForObject(url, String.class));
+        assertInstanceOf(SocketTimeoutException.class, e.getMostSpecificCause());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 3000);
+        assertEquals(1, meterRegistry.get("http.client.host.requests")
+                .tag("host", "127.0.0.1").tag("outcome", "TIMEOUT").timer().count());
+        assertEquals(0.0, meterRegistry.get("http.client.host.in-flight").tag("host", "127.0.0.1").gauge().value());
+    }
+
+    @Test
+    public void testUnlistedHost_TaggedAsOtherAndEvictedWhenIdle() {
+        long[] now = {0};
+        CircuitBreakerRegistry breakers = new CircuitBreakerRegistry(meterRegistry,
+                new CircuitBreaker.Settings(10, 5, 50, 100, 60_000, 30_000, 1, 2, 1000), Map.of(), Set.of("api.github.com"),
+                60_000, () -> now[0]);
+        RestTemplate restTemplate = new RestTemplate(new JdkClientHttpRequestFactory(HttpClient.newHttpClient()));
+        restTemplate.getInterceptors().add(new OutboundHttpInterceptor(meterRegistry, breakers, 0, true));
+
+        restTemplate.getForObject(baseUrl + "/gzip", String.class);
+
+        assertEquals(1, meterRegistry.get("http.client.host.requests")
+                .tag("host", CircuitBreakerRegistry.OTHER_HOST).timer().count());
+        assertNull(meterRegistry.find("http.client.host.requests").tag("host", "127.0.0.1").timer());
+        assertNull(meterRegistry.find("http.client.host.in-flight").tag("host", "127.0.0.1").gauge());
+        breakers.get("api.github.com");
+        assertEquals(2, breakers.size());
+
+        // 未登记的主机空闲超过回收时间后移除，登记的主机保留
+        now[0] = 30_000;
+        assertEquals(0, breakers.evictIdle());
+        now[0] = 61_000;
+        assertEquals(1, breakers.evictIdle());
+        assertEquals(Set.of("api.github.com"), breakers.snapshot().keySet());
+    }
+}
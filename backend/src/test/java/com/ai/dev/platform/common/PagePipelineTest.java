@@ -0,0 +1,103 @@
+package com.ai.dev.platform.common;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PagePipelineTest {
+    ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testRun_FetchesAheadWhileWritingWithinCapacity() throws Exception {
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        AtomicInteger produced = new AtomicInteger();
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+
+        Thread checker = new Thread(() -> {
+            try {
+                // 写入端卡在第一页时，生产者应继续拉取直到队列满：队列1页 + 阻塞在put的1页
+                long deadline = System.currentTimeMillis() + 5_000;
+                while (produced.get() < 3 && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(10);
+                }
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            releaseWriter.countDown();
+        });
+        checker.start();
+
+        long count = new PagePipeline<Integer>("test", 1).run(executor, sink -> {
+            for (int i = 0; i < 10; i++) {
+                produced.incrementAndGet();
+                if (!sink.test(List.of(i))) {
+                    return;
+                }
+            }
+        }, page -> {
+            try {
+                assertTrue(releaseWriter.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            if (written.isEmpty()) {
+                assertEquals(3, produced.get());
+            }
+            written.addAll(page);
+        });
+
+        assertEquals(10, count);
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), written);
+    }
+
+    @Test
+    public void testRun_WriterFailureStopsProducer() {
+        AtomicInteger produced = new AtomicInteger();
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new PagePipeline<Integer>("test", 2).run(executor, sink -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        produced.incrementAndGet();
+                        if (!sink.test(List.of(i))) {
+                            return;
+                        }
+                    }
+                }, page -> {
+                    throw new IllegalStateException("db down");
+                }));
+
+        assertEquals("db down", e.getMessage());
+        assertTrue(produced.get() < 1_000);
+    }
+
+    @Test
+    public void testRun_ProducerFailureRethrownAfterQueuedPagesWritten() {
+        List<Integer> written = new ArrayList<>();
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new PagePipeline<Integer>("test", 4).run(executor, sink -> {
+                    sink.test(List.of(1));
+                    sink.test(List.of(2));
+                    throw new IllegalArgumentException("http 500");
+                }, written::addAll));
+
+        assertEquals("http 500", e.getMessage());
+        assertEquals(List.of(1, 2), written);
+    }
+}
@@ -0,0 +1,56 @@
+package com.ai.dev.platform.modules.cluster.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 验证哈希环的归属一致、分布均匀且节点变化时迁移最少
+ */
+public class ConsistentHashRingTest {
+
+    private static final int KEYS = 10000;
+
+    @Test
+    public void testOwner_IndependentOfNodeOrder() {
+        ConsistentHashRing a = new ConsistentHashRing(List.of("node-a", "node-b", "node-c"), 128);
+        ConsistentHashRing b = new ConsistentHashRing(List.of("node-c", "node-a", "node-b"), 128);
+        for (int i = 0; i < KEYS; i++) {
+            assertEquals(a.owner("monitor:" + i), b.owner("monitor:" + i));
+        }
+        assertNull(new ConsistentHashRing(List.of(), 128).owner("monitor:1"));
+    }
+
+    @Test
+    public void testOwner_RoughlyBalanced() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node-a", "node-b", "node-c", "node-d"), 128);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.owner("monitor:" + i), 1, Integer::sum);
+        }
+        assertEquals(4, counts.size());
+        counts.values().forEach(count -> assertTrue(count > KEYS / 4 * 0.75 && count < KEYS / 4 * 1.25,
+                "分布不均匀: " + counts));
+    }
+
+    @Test
+    public void testOwner_RemovingNodeOnlyMovesItsKeys() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("node-a", "node-b", "node-c"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("node-a", "node-b"), 128);
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "sync-config:" + i;
+            String owner = before.owner(key);
+            if (!"node-c".equals(owner)) {
+                assertEquals(owner, after.owner(key), key);
+            } else {
+                moved++;
+            }
+        }
+        assertTrue(moved > KEYS / 3 * 0.75 && moved < KEYS / 3 * 1.25, "moved " + moved);
+    }
+}
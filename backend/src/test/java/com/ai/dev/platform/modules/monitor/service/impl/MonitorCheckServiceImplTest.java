@@ -0,0 +1,133 @@
+package com.ai.dev.platform.modules.monitor.service.impl;
+
+import com.ai.dev.platform.common.AsyncBatchWriter;
+import com.ai.dev.platform.modules.monitor.dto.CheckResolution;
+import com.ai.dev.platform.modules.monitor.dto.LatencyHistogramRow;
+import com.ai.dev.platform.modules.monitor.dto.ProbeResult;
+import com.ai.dev.platform.modules.monitor.mapper.MonitorCheckMapper;
+import com.ai.dev.platform.modules.monitor.mapper.MonitorCheckRollupMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 验证探测历史查询的粒度选择、明细分区命名和分区维护
+ */
+public class MonitorCheckServiceImplTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 15, 12, 0);
+
+    private static Map<CheckResolution, Integer> retention() {
+        Map<CheckResolution, Integer> retention = new EnumMap<>(CheckResolution.class);
+        retention.put(CheckResolution.RAW, 3);
+        retention.put(CheckResolution.MINUTE, 14);
+        retention.put(CheckResolution.HOUR, 90);
+        retention.put(CheckResolution.DAY, 730);
+        return retention;
+    }
+
+    private static CheckResolution select(LocalDateTime from, Long step) {
+        return MonitorCheckServiceImpl.selectResolution(from, NOW, step, NOW, retention(), 1000);
+    }
+
+    @Test
+    public void testSelectResolution_ByRangeAndStep() {
+        // 1小时内1000个点，间隔4秒，只能用明细
+        assertEquals(CheckResolution.RAW, select(NOW.minusHours(1), null));
+        // 7天1000个点，间隔约10分钟，使用1m
+        assertEquals(CheckResolution.MINUTE, select(NOW.minusDays(7), null));
+        // 指定1小时间隔时使用1h
+        assertEquals(CheckResolution.HOUR, select(NOW.minusDays(7), 3600L));
+        // 一年使用1d
+        assertEquals(CheckResolution.DAY, select(NOW.minusDays(365), null));
+    }
+
+    @Test
+    public void testSelectResolution_FallsBackWhenExpired() {
+        // 明细只保留3天，5天前的分钟级查询退到1m
+        assertEquals(CheckResolution.MINUTE, select(NOW.minusDays(5), 1L));
+        // 1m只保留14天，30天前的分钟级查询退到1h
+        assertEquals(CheckResolution.HOUR, select(NOW.minusDays(30), 60L));
+        // 超过所有保留期时使用保留最久的1d
+        assertEquals(CheckResolution.DAY, select(NOW.minusDays(1000), 60L));
+    }
+
+    @Test
+    public void testPartitionName_RoundTrip() {
+        LocalDate day = LocalDate.of(2026, 3, 5);
+        assertEquals("monitor_check_p20260305", MonitorCheckServiceImpl.partitionName(day));
+        assertEquals(day, MonitorCheckServiceImpl.parseDay("monitor_check_p20260305"));
+        assertNull(MonitorCheckServiceImpl.parseDay("monitor_check_default"));
+    }
+
+    @Test
+    public void testMaintain_DefaultPartitionAlreadyHasRows() {
+        MonitorCheckServiceImpl service = new MonitorCheckServiceImpl();
+        MonitorCheckMapper checkMapper = Mockito.mock(MonitorCheckMapper.class);
+        MonitorCheckRollupMapper rollupMapper = Mockito.mock(MonitorCheckRollupMapper.class);
+        ReflectionTestUtils.setField(service, "baseMapper", checkMapper);
+        ReflectionTestUtils.setField(service, "rollupMapper", rollupMapper);
+        ReflectionTestUtils.setField(service, "partitionsAheadDays", 2);
+        ReflectionTestUtils.setField(service, "rawRetentionDays", 3);
+        when(checkMapper.listPartitions()).thenReturn(List.of("monitor_check_default", "monitor_check_p20260301"));
+        // 新部署首次维护前，今天的探测明细已写入默认分区
+        when(checkMapper.existsInDefault("2026-03-15", "2026-03-16")).thenReturn(true);
+        doThrow(new IllegalStateException("relation is being used"))
+                .when(checkMapper).createPartition(eq("monitor_check_p20260316"), anyString(), anyString());
+
+        service.maintain(NOW);
+
+        verify(checkMapper).movePartitionFromDefault("monitor_check_p20260315", "2026-03-15", "2026-03-16");
+        verify(checkMapper, never()).createPartition(eq("monitor_check_p20260315"), anyString(), anyString());
+        // 单个分区失败不影响之后的日期和保留期清理
+        verify(checkMapper).createPartition("monitor_check_p20260317", "2026-03-17", "2026-03-18");
+        verify(checkMapper).dropPartition("monitor_check_p20260301");
+        verify(checkMapper, never()).dropPartition("monitor_check_default");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFlushHistograms_KeepsMinutesUntilWritten() {
+        MonitorCheckServiceImpl service = new MonitorCheckServiceImpl();
+        MonitorCheckRollupMapper rollupMapper = Mockito.mock(MonitorCheckRollupMapper.class);
+        ReflectionTestUtils.setField(service, "rollupMapper", rollupMapper);
+        AsyncBatchWriter<Object> checkWriter = Mockito.mock(AsyncBatchWriter.class);
+        ReflectionTestUtils.setField(service, "checkWriter", checkWriter);
+
+        service.record(1L, new ProbeResult(ProbeResult.Status.UP, 200, 40, null));
+        service.record(2L, new ProbeResult(ProbeResult.Status.UP, 200, 80, null));
+
+        List<List<LatencyHistogramRow>> written = new ArrayList<>();
+        when(rollupMapper.upsertHistograms(anyList()))
+                .thenThrow(new RuntimeException("database unavailable"))
+                .thenAnswer(invocation -> {
+                    written.add(List.copyOf(invocation.getArgument(0)));
+                    return 2;
+                });
+
+        LocalDateTime later = LocalDateTime.now().plusMinutes(2);
+        assertThrows(RuntimeException.class, () -> service.flushHistograms(later));
+
+        // 写入失败的分钟保留在内存中，下次刷新重新写出
+        service.flushHistograms(later);
+        assertEquals(1, written.size());
+        assertEquals(2, written.get(0).size());
+
+        // 写入成功后才移除，不会重复写出
+        service.flushHistograms(later);
+        verify(rollupMapper, times(2)).upsertHistograms(anyList());
+    }
+}
@@ -0,0 +1,95 @@
+package com.ai.dev.platform.modules.monitor.service.impl;
+
+import com.ai.dev.platform.modules.monitor.entity.Monitor;
+import com.ai.dev.platform.modules.monitor.entity.MonitorCheck;
+import com.ai.dev.platform.modules.monitor.mapper.MonitorMapper;
+import com.ai.dev.platform.modules.monitor.service.MonitorAlertService;
+import com.ai.dev.platform.modules.monitor.service.MonitorBaselineService;
+import com.ai.dev.platform.modules.monitor.service.MonitorCheckService;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+
+/**
+ * 监控列表：本节点有缓存的监控用缓存状态，没有缓存的监控用最近一次探测的响应时间
+ */
+public class MonitorServiceImplTest {
+
+    MonitorServiceImpl service;
+    MonitorMapper mapper;
+    MonitorCheckService monitorCheckService;
+    List<Monitor> records;
+
+    @BeforeEach
+    public void setup() {
+        service = new MonitorServiceImpl();
+        mapper = Mockito.mock(MonitorMapper.class);
+        monitorCheckService = Mockito.mock(MonitorCheckService.class);
+        MonitorBaselineService baselineService = Mockito.mock(MonitorBaselineService.class);
+        Mockito.when(mapper.selectPage(any(), any())).thenAnswer(inv -> {
+            Page<Monitor> page = inv.getArgument(0);
+            page.setRecords(records);
+            return page;
+        });
+        ReflectionTestUtils.setField(service, "baseMapper", mapper);
+        ReflectionTestUtils.setField(service, "monitorCheckService", monitorCheckService);
+        ReflectionTestUtils.setField(service, "monitorBaselineService", baselineService);
+        ReflectionTestUtils.setField(service, "monitorAlertService", Mockito.mock(MonitorAlertService.class));
+        ReflectionTestUtils.setField(service, "defaultIntervalSeconds", 300);
+    }
+
+    @Test
+    public void testGetMonitorPage_UncachedMonitorUsesLatestCheck() {
+        LocalDateTime stale = LocalDateTime.now().minusHours(2);
+        Monitor local = monitor(1L, stale);
+        Monitor remote = monitor(2L, stale);
+        records = List.of(local, remote);
+        // 监控1由本节点探测，状态在缓存中
+        service.checkMonitorStatus(monitor(1L, stale), 120);
+        MonitorCheck check = new MonitorCheck();
+        check.setMonitorId(2L);
+        check.setCheckTime(LocalDateTime.now().minusSeconds(30));
+        check.setLatencyMs(480);
+        Mockito.when(monitorCheckService.latestChecks(eq(List.of(2L)), any())).thenReturn(Map.of(2L, check));
+
+        IPage<Monitor> page = service.getMonitorPage(1, 10, null, null);
+
+        assertEquals(120, page.getRecords().get(0).getResponseTime());
+        assertEquals(480, page.getRecords().get(1).getResponseTime());
+        assertEquals(check.getCheckTime(), page.getRecords().get(1).getUpdateTime());
+        assertEquals("normal", page.getRecords().get(1).getStatus());
+    }
+
+    @Test
+    public void testGetMonitorPage_KeepsDatabaseValueWithoutRecentCheck() {
+        LocalDateTime updated = LocalDateTime.now().minusMinutes(1);
+        records = List.of(monitor(3L, updated));
+        Mockito.when(monitorCheckService.latestChecks(anyCollection(), any())).thenReturn(Map.of());
+
+        IPage<Monitor> page = service.getMonitorPage(1, 10, null, null);
+
+        assertEquals(50, page.getRecords().get(0).getResponseTime());
+        assertEquals(updated, page.getRecords().get(0).getUpdateTime());
+    }
+
+    private static Monitor monitor(Long id, LocalDateTime updateTime) {
+        Monitor monitor = new Monitor();
+        monitor.setId(id);
+        monitor.setMonitorUrl("http://127.0.0.1/" + id);
+        monitor.setStatus("normal");
+        monitor.setResponseTime(50);
+        monitor.setCheckInterval(60);
+        monitor.setUpdateTime(updateTime);
+        return monitor;
+    }
+}
@@ -0,0 +1,28 @@
+package com.ai.dev.platform.modules.monitor.service.impl;
+
+import com.ai.dev.platform.modules.monitor.dto.MonitorSla;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 验证错误预算和消耗速率的计算
+ */
+public class MonitorSlaServiceImplTest {
+
+    @Test
+    public void testMonitorSla_ErrorBudgetAndBurnRate() {
+        // 30天内宕机43.2分钟，恰好用完99.9%的错误预算
+        double monitored = 30 * 86_400;
+        MonitorSla sla = MonitorSla.of(1L, "https://a", 100, 1, monitored, monitored - 2_592, 99.9);
+
+        assertEquals(99.9, sla.availability(), 1e-9);
+        assertEquals(2_592, sla.errorBudgetSeconds(), 1e-6);
+        assertEquals(1.0, sla.burnRate(), 1e-9);
+        assertEquals(0.0, sla.errorBudgetRemaining(), 1e-9);
+
+        MonitorSla empty = MonitorSla.of(2L, "https://b", 0, 0, 0, 0, 99.9);
+        assertNull(empty.availability());
+        assertNull(empty.burnRate());
+    }
+}
@@ -0,0 +1,111 @@
+package com.ai.dev.platform.modules.monitor.task;
+
+import com.ai.dev.platform.modules.cluster.event.ClusterChangedEvent;
+import com.ai.dev.platform.modules.cluster.service.ClusterService;
+import com.ai.dev.platform.modules.monitor.entity.Monitor;
+import com.ai.dev.platform.modules.monitor.event.MonitorChangedEvent;
+import com.ai.dev.platform.modules.monitor.service.MonitorService;
+import com.ai.dev.platform.modules.monitor.util.ProbeEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * 验证集群归属变化后的调度对账和状态释放，以及归属转移后到期的目标不再探测
+ */
+public class MonitorScheduledTaskTest {
+
+    private MonitorScheduledTask task;
+    private MonitorService monitorService;
+    private ProbeEngine probeEngine;
+    private final Set<String> owned = new HashSet<>();
+
+    @BeforeEach
+    public void setup() {
+        task = new MonitorScheduledTask();
+        monitorService = Mockito.mock(MonitorService.class);
+        ClusterService clusterService = Mockito.mock(ClusterService.class);
+        when(clusterService.owns(anyString())).thenAnswer(invocation -> owned.contains(invocation.getArgument(0)));
+        probeEngine = Mockito.mock(ProbeEngine.class);
+        ReflectionTestUtils.setField(task, "monitorService", monitorService);
+        ReflectionTestUtils.setField(task, "probeEngine", probeEngine);
+        ReflectionTestUtils.setField(task, "clusterService", clusterService);
+        ReflectionTestUtils.setField(task, "tickMs", 1000L);
+        ReflectionTestUtils.setField(task, "wheelSize", 64);
+        ReflectionTestUtils.setField(task, "defaultIntervalSeconds", 300);
+        ReflectionTestUtils.setField(task, "minIntervalSeconds", 5);
+        task.init();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        task.shutdown();
+    }
+
+    @Test
+    public void testClusterChanged_ReleasesMonitorMovedAway() {
+        when(monitorService.list()).thenReturn(List.of(monitor(1L), monitor(2L)));
+        owned.addAll(List.of("monitor:1", "monitor:2"));
+        task.reloadMonitors();
+        assertEquals(2, task.scheduledCount());
+
+        // 监控2迁移到其他节点
+        owned.remove("monitor:2");
+        task.onClusterChanged(new ClusterChangedEvent(Set.of("node-a", "node-b"), true));
+        assertEquals(1, task.scheduledCount());
+        verify(monitorService).releaseMonitor(2L);
+        verify(monitorService, never()).releaseMonitor(1L);
+
+        // 再迁回本节点时重新调度
+        owned.add("monitor:2");
+        task.onClusterChanged(new ClusterChangedEvent(Set.of("node-a"), true));
+        assertEquals(2, task.scheduledCount());
+        verify(monitorService, times(1)).releaseMonitor(2L);
+    }
+
+    @Test
+    public void testReload_DeletedMonitorIsNotReleasedAgain() {
+        when(monitorService.list()).thenReturn(List.of(monitor(1L), monitor(2L)));
+        owned.addAll(List.of("monitor:1", "monitor:2"));
+        task.reloadMonitors();
+
+        // 已删除的监控在删除时已清理状态，对账只取消调度
+        when(monitorService.list()).thenReturn(List.of(monitor(1L)));
+        task.reloadMonitors();
+        assertEquals(1, task.scheduledCount());
+        verify(monitorService, never()).releaseMonitor(anyLong());
+    }
+
+    @Test
+    public void testFire_SkipsMonitorNoLongerOwned() throws Exception {
+        when(probeEngine.submit(anyString())).thenReturn(new CompletableFuture<>());
+        owned.addAll(List.of("monitor:1", "monitor:2"));
+        task.onMonitorChanged(MonitorChangedEvent.saved(monitor(1L)));
+        task.onMonitorChanged(MonitorChangedEvent.saved(monitor(2L)));
+
+        // 到期前监控1已归属其他节点，集群变化事件尚未对账
+        owned.remove("monitor:1");
+        verify(probeEngine, timeout(5000)).submit(monitor(2L).getMonitorUrl());
+        verify(probeEngine, after(500).never()).submit(monitor(1L).getMonitorUrl());
+    }
+
+    private static Monitor monitor(Long id) {
+        Monitor monitor = new Monitor();
+        monitor.setId(id);
+        monitor.setMonitorUrl("http://127.0.0.1:1/" + id);
+        monitor.setCheckInterval(300);
+        return monitor;
+    }
+}
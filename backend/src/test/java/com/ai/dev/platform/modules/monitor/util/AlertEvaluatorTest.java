@@ -0,0 +1,105 @@
+package com.ai.dev.platform.modules.monitor.util;
+
+import com.ai.dev.platform.modules.monitor.dto.MonitorAlert;
+import com.ai.dev.platform.modules.monitor.dto.MonitorOutcome;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 验证告警的N-of-M确认、滞回恢复、抖动抑制和限速
+ */
+public class AlertEvaluatorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private int tick;
+
+    private AlertEvaluator evaluator() {
+        return new AlertEvaluator(5, 3, 3, 11, 0.5, 0.25, Duration.ofMinutes(5));
+    }
+
+    @Test
+    public void testConfirm_ThreeOfFiveThenRecoverAfterThreeGood() {
+        AlertEvaluator evaluator = new AlertEvaluator(5, 3, 3, 11, 0.5, 0.25, Duration.ZERO);
+
+        assertNull(probe(evaluator, "normal"));
+        assertNull(probe(evaluator, "exception"));
+        assertNull(probe(evaluator, "normal"));
+        assertNull(probe(evaluator, "exception"));
+        assertEquals(MonitorAlert.Kind.DOWN, probe(evaluator, "exception").kind());
+        // 已通知过，不重复
+        assertNull(probe(evaluator, "exception"));
+
+        assertNull(probe(evaluator, "normal"));
+        assertNull(probe(evaluator, "normal"));
+        assertEquals(MonitorAlert.Kind.RECOVERED, probe(evaluator, "normal").kind());
+        assertNull(probe(evaluator, "normal"));
+    }
+
+    @Test
+    public void testConfirm_KnownStatusIsNotRenotified() {
+        AlertEvaluator evaluator = evaluator();
+        for (int i = 0; i < 5; i++) {
+            assertNull(evaluator.evaluate(outcome("exception", "exception")));
+        }
+    }
+
+    @Test
+    public void testFlapping_NotifiedOnceThenSuppressed() {
+        AlertEvaluator evaluator = new AlertEvaluator(5, 3, 3, 11, 0.5, 0.25, Duration.ZERO);
+        int flapping = 0;
+        int other = 0;
+        for (int i = 0; i < 40; i++) {
+            MonitorAlert alert = probe(evaluator, i % 4 < 2 ? "exception" : "normal");
+            if (alert != null) {
+                if (alert.kind() == MonitorAlert.Kind.FLAPPING) {
+                    flapping++;
+                } else {
+                    other++;
+                }
+            }
+        }
+        assertEquals(1, flapping);
+        // 抖动确认之前可能已有一次确认告警
+        assertTrue(other <= 1, "other " + other);
+
+        MonitorAlert settled = null;
+        for (int i = 0; i < 20 && settled == null; i++) {
+            settled = probe(evaluator, "normal");
+        }
+        assertNotNull(settled);
+        assertEquals(MonitorAlert.Kind.RECOVERED, settled.kind());
+    }
+
+    @Test
+    public void testRateLimit_SlowRecoveryWaitsButDownEscalates() {
+        AlertEvaluator evaluator = evaluator();
+        for (int i = 0; i < 2; i++) {
+            assertNull(probe(evaluator, "slow"));
+        }
+        assertEquals(MonitorAlert.Kind.SLOW, probe(evaluator, "slow").kind());
+        assertNull(probe(evaluator, "exception"));
+        assertNull(probe(evaluator, "exception"));
+        assertEquals(MonitorAlert.Kind.DOWN, probe(evaluator, "exception").kind());
+
+        // 恢复在5分钟限速期内，等到期后才通知
+        for (int i = 0; i < 3; i++) {
+            assertNull(probe(evaluator, "normal"));
+        }
+        tick += 300;
+        assertEquals(MonitorAlert.Kind.RECOVERED, probe(evaluator, "normal").kind());
+    }
+
+    private MonitorAlert probe(AlertEvaluator evaluator, String status) {
+        return evaluator.evaluate(outcome(status, "normal"));
+    }
+
+    private MonitorOutcome outcome(String status, String persistedStatus) {
+        return new MonitorOutcome(1L, 10L, "https://example.com", status, persistedStatus,
+                "exception".equals(status) ? -1 : 100, START.plusSeconds(tick++));
+    }
+}
@@ -0,0 +1,84 @@
+package com.ai.dev.platform.modules.monitor.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 使用手动时钟验证时间轮的到期、跨圈和取消
+ */
+public class HashedTimingWheelTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    @Test
+    public void testAdvanceTo_FiresOnlyAfterDeadline() {
+        HashedTimingWheel wheel = new HashedTimingWheel(100, 8, now::get);
+        List<String> fired = new ArrayList<>();
+        wheel.schedule(() -> fired.add("a"), 250);
+        wheel.schedule(() -> fired.add("b"), 100);
+
+        assertEquals(0, wheel.advanceTo(now.get() + 99));
+        assertEquals(1, wheel.advanceTo(now.get() + 100));
+        assertEquals(List.of("b"), fired);
+        assertEquals(0, wheel.advanceTo(now.get() + 299));
+        assertEquals(1, wheel.advanceTo(now.get() + 300));
+        assertEquals(List.of("b", "a"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testAdvanceTo_DelayLongerThanOneRotation() {
+        // 一圈800毫秒，2500毫秒的任务要转过3圈
+        HashedTimingWheel wheel = new HashedTimingWheel(100, 8, now::get);
+        List<Long> fired = new ArrayList<>();
+        long start = now.get();
+        wheel.schedule(() -> fired.add(now.get() - start), 2_500);
+
+        for (int i = 1; i <= 30; i++) {
+            now.addAndGet(100);
+            wheel.advanceTo(now.get());
+        }
+
+        assertEquals(List.of(2_500L), fired);
+    }
+
+    @Test
+    public void testCancel_RemovesPendingTask() {
+        HashedTimingWheel wheel = new HashedTimingWheel(100, 8, now::get);
+        List<String> fired = new ArrayList<>();
+        HashedTimingWheel.Timeout timeout = wheel.schedule(() -> fired.add("a"), 200);
+        wheel.schedule(() -> fired.add("b"), 200);
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        wheel.advanceTo(now.get() + 1_000);
+
+        assertEquals(List.of("b"), fired);
+    }
+
+    @Test
+    public void testSchedule_TaskCanRescheduleItself() {
+        HashedTimingWheel wheel = new HashedTimingWheel(100, 8, now::get);
+        List<Long> fired = new ArrayList<>();
+        long start = now.get();
+        Runnable[] task = new Runnable[1];
+        task[0] = () -> {
+            fired.add(now.get() - start);
+            wheel.schedule(task[0], 300);
+        };
+        wheel.schedule(task[0], 300);
+
+        for (int i = 1; i <= 10; i++) {
+            now.addAndGet(100);
+            wheel.advanceTo(now.get());
+        }
+
+        assertEquals(List.of(300L, 600L, 900L), fired);
+        assertEquals(1, wheel.size());
+    }
+}
@@ -0,0 +1,71 @@
+package com.ai.dev.platform.modules.monitor.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 验证响应时间基线按监控自身的量级判断慢响应
+ */
+public class LatencyBaselineTest {
+
+    private static final double ALPHA = 0.05;
+    private static final double Z = 3.0;
+    private static final double MIN_STDDEV = 0.1;
+    private static final long MIN_DEVIATION_MS = 50;
+
+    @Test
+    public void testIsSlow_RelativeToOwnBaseline() {
+        LatencyBaseline cdn = train(30, 0.1);
+        LatencyBaseline report = train(2000, 0.2);
+
+        assertEquals(30, cdn.expectedMs(), 3);
+        assertEquals(2000, report.expectedMs(), 200);
+
+        assertFalse(slow(cdn, 45));
+        assertTrue(slow(cdn, 300));
+        assertFalse(slow(report, 2600));
+        assertTrue(slow(report, 8000));
+        assertFalse(slow(new LatencyBaseline(), 100000));
+    }
+
+    @Test
+    public void testUpdate_SpikeIsClampedButShiftIsAbsorbed() {
+        LatencyBaseline baseline = train(100, 0.1);
+        long before = baseline.expectedMs();
+
+        baseline.update(60000, ALPHA, Z, MIN_STDDEV);
+        assertTrue(baseline.expectedMs() < before * 1.2, "单次尖刺只能小幅推高基线");
+
+        for (int i = 0; i < 500; i++) {
+            baseline.update(400, ALPHA, Z, MIN_STDDEV);
+        }
+        assertEquals(400, baseline.expectedMs(), 20);
+        assertFalse(slow(baseline, 450));
+    }
+
+    @Test
+    public void testRestore_FromCheckpoint() {
+        LatencyBaseline trained = train(200, 0.15);
+        LatencyBaseline restored = new LatencyBaseline(trained.getSamples(), trained.getMean(), trained.getVariance());
+
+        assertEquals(trained.thresholdMs(Z, MIN_STDDEV), restored.thresholdMs(Z, MIN_STDDEV));
+        assertEquals(slow(trained, 500), slow(restored, 500));
+    }
+
+    private static LatencyBaseline train(long typicalMs, double logSpread) {
+        Random random = new Random(7);
+        LatencyBaseline baseline = new LatencyBaseline();
+        for (int i = 0; i < 300; i++) {
+            long latency = Math.round(Math.expm1(Math.log1p(typicalMs) + random.nextGaussian() * logSpread));
+            baseline.update(latency, ALPHA, Z, MIN_STDDEV);
+        }
+        return baseline;
+    }
+
+    private static boolean slow(LatencyBaseline baseline, long latencyMs) {
+        return baseline.isSlow(latencyMs, Z, MIN_STDDEV, MIN_DEVIATION_MS);
+    }
+}
@@ -0,0 +1,67 @@
+package com.ai.dev.platform.modules.monitor.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 验证延迟直方图的分桶精度、分位数和合并
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testIndexOf_BucketsAreContiguousAndBounded() {
+        int previous = -1;
+        for (long value = 0; value <= LatencyHistogram.MAX_VALUE; value += value < 4096 ? 1 : 97) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(index == previous || index == previous + 1, "value " + value);
+            long upper = LatencyHistogram.highestEquivalentValue(index);
+            assertTrue(upper >= value, "value " + value);
+            // 相对误差不超过1/32
+            assertTrue(upper - value <= Math.max(0, value / 32), "value " + value);
+            previous = index;
+        }
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.indexOf(LatencyHistogram.MAX_VALUE));
+    }
+
+    @Test
+    public void testValueAtPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        histogram.record(-1);
+
+        assertEquals(1000, histogram.getTotalCount());
+        assertEquals(500, histogram.valueAtPercentile(50), 500 / 32.0);
+        assertEquals(990, histogram.valueAtPercentile(99), 990 / 32.0);
+        assertEquals(1000, histogram.valueAtPercentile(100));
+        assertEquals(1000, histogram.getMaxValue());
+        assertEquals(0, new LatencyHistogram().valueAtPercentile(99));
+    }
+
+    @Test
+    public void testMerge_SparseRoundTripEqualsSingleRecording() {
+        Random random = new Random(42);
+        LatencyHistogram all = new LatencyHistogram();
+        LatencyHistogram merged = new LatencyHistogram();
+        for (int part = 0; part < 5; part++) {
+            LatencyHistogram minute = new LatencyHistogram();
+            for (int i = 0; i < 200; i++) {
+                long latency = (long) Math.exp(3 + random.nextGaussian() * 1.5);
+                minute.record(latency);
+                all.record(latency);
+            }
+            merged.addSparse(minute.toSparse());
+        }
+
+        assertEquals(all.getTotalCount(), merged.getTotalCount());
+        // 稀疏编码不保存精确最大值，合并后的结果只保证落在同一个桶内
+        for (double p : new double[]{50, 90, 99, 99.9}) {
+            assertEquals(LatencyHistogram.indexOf(all.valueAtPercentile(p)),
+                    LatencyHistogram.indexOf(merged.valueAtPercentile(p)), "p" + p);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.ai.dev.platform.modules.monitor.util;
+
+import com.ai.dev.platform.modules.monitor.dto.MonitorStatus;
+import com.ai.dev.platform.modules.monitor.entity.Monitor;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 验证只有状态变化才进入待写队列，缓存始终保存最新响应时间
+ */
+public class MonitorStatusCacheTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Test
+    public void testUpdate_OnlyStatusChangesArePending() {
+        MonitorStatusCache cache = new MonitorStatusCache();
+
+        assertFalse(cache.update(status(1L, "normal", 30), "normal"));
+        assertFalse(cache.update(status(1L, "normal", 42), "normal"));
+        assertTrue(cache.update(status(1L, "slow", 900), "normal"));
+        assertTrue(cache.update(status(1L, "normal", 35), "slow"));
+        assertTrue(cache.update(status(2L, "exception", -1), "normal"));
+
+        List<MonitorStatus> rows = cache.drain();
+        assertEquals(2, rows.size());
+        MonitorStatus first = rows.stream().filter(r -> r.monitorId() == 1L).findFirst().orElseThrow();
+        assertEquals("normal", first.status());
+        assertEquals(35, first.responseTime());
+        assertEquals(0, cache.pendingCount());
+
+        // 已交给数据库的状态作为新的比较基准
+        assertFalse(cache.update(status(2L, "exception", -1), "normal"));
+    }
+
+    @Test
+    public void testRequeue_NewerStatusWins() {
+        MonitorStatusCache cache = new MonitorStatusCache();
+        cache.update(status(1L, "slow", 900), "normal");
+        List<MonitorStatus> failed = cache.drain();
+
+        cache.update(status(1L, "exception", -1), "normal");
+        cache.requeue(failed);
+
+        List<MonitorStatus> rows = cache.drain();
+        assertEquals(1, rows.size());
+        assertEquals("exception", rows.get(0).status());
+
+        cache.remove(1L);
+        cache.requeue(rows);
+        assertEquals(0, cache.pendingCount());
+    }
+
+    @Test
+    public void testRemove_ReownedMonitorStartsFromDatabase() {
+        MonitorStatusCache cache = new MonitorStatusCache();
+        cache.update(status(1L, "exception", -1), "normal");
+        cache.drain();
+
+        // 迁移到其他节点期间数据库中的状态被改回normal，迁回后不能沿用旧的比较基准
+        cache.remove(1L);
+        assertTrue(cache.update(status(1L, "exception", -1), "normal"));
+        assertEquals(1, cache.drain().size());
+    }
+
+    @Test
+    public void testApply_OverlaysLatestProbe() {
+        MonitorStatusCache cache = new MonitorStatusCache();
+        cache.update(status(1L, "normal", 42), "normal");
+
+        Monitor monitor = new Monitor();
+        monitor.setId(1L);
+        monitor.setStatus("normal");
+        monitor.setResponseTime(0);
+        cache.apply(monitor);
+
+        assertEquals(42, monitor.getResponseTime());
+        assertEquals(NOW, monitor.getUpdateTime());
+    }
+
+    private static MonitorStatus status(Long id, String status, int responseTime) {
+        return new MonitorStatus(id, status, responseTime, NOW);
+    }
+}
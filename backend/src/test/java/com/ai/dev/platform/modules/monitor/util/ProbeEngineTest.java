@@ -0,0 +1,109 @@
+package com.ai.dev.platform.modules.monitor.util;
+
+import com.ai.dev.platform.common.CircuitBreaker;
+import com.ai.dev.platform.common.CircuitBreakerRegistry;
+import com.ai.dev.platform.modules.monitor.dto.ProbeResult;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 使用本地HttpServer验证探测并发、截止时间和状态判定
+ */
+public class ProbeEngineTest {
+    HttpServer server;
+    String baseUrl;
+    CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    public void setup() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ok", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(600);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/error", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.createContext("/hang", exchange -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    public void teardown() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    private ProbeEngine engine(int maxInFlight, long timeoutMs) {
+        CircuitBreakerRegistry breakers = new CircuitBreakerRegistry(new SimpleMeterRegistry(),
+                new CircuitBreaker.Settings(20, 20, 50, 100, 60_000, 30_000, 1, 100, 1000), Set.of(), 0);
+        return new ProbeEngine(HttpClient.newHttpClient(), breakers, maxInFlight, timeoutMs);
+    }
+
+    @Test
+    public void testProbeAll_HungTargetBoundedByDeadline() {
+        long start = System.nanoTime();
+        List<ProbeResult> results = engine(10, 800).probeAll(List.of(
+                baseUrl + "/ok", baseUrl + "/hang", baseUrl + "/error", "not a url"));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(ProbeResult.Status.UP, results.get(0).status());
+        assertEquals(200, results.get(0).statusCode());
+        assertEquals(ProbeResult.Status.DOWN, results.get(1).status());
+        assertEquals("探测超时", results.get(1).error());
+        assertEquals(ProbeResult.Status.DOWN, results.get(2).status());
+        assertEquals(503, results.get(2).statusCode());
+        assertEquals(-1, results.get(2).latencyMs());
+        assertEquals(ProbeResult.Status.DOWN, results.get(3).status());
+        assertTrue(elapsedMs < 3000, "elapsed " + elapsedMs);
+    }
+
+    @Test
+    public void testProbeAll_RunsConcurrentlyUpToCap() {
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            urls.add(baseUrl + "/slow");
+        }
+
+        long start = System.nanoTime();
+        List<ProbeResult> results = engine(8, 5000).probeAll(urls);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(results.stream().allMatch(r -> r.status() == ProbeResult.Status.UP));
+        // 串行需要4.8秒，并发时约等于单个探测的耗时
+        assertTrue(elapsedMs < 3000, "elapsed " + elapsedMs);
+    }
+}
@@ -0,0 +1,58 @@
+package com.ai.dev.platform.modules.monitor.util;
+
+import com.ai.dev.platform.modules.monitor.dto.CheckResolution;
+import com.ai.dev.platform.modules.monitor.dto.RollupSegment;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 验证查询窗口按汇总粒度的拆分
+ */
+public class RollupPlannerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 15, 12, 34, 30);
+
+    private static Map<CheckResolution, Integer> retention() {
+        Map<CheckResolution, Integer> retention = new EnumMap<>(CheckResolution.class);
+        retention.put(CheckResolution.RAW, 3);
+        retention.put(CheckResolution.MINUTE, 14);
+        retention.put(CheckResolution.HOUR, 90);
+        retention.put(CheckResolution.DAY, 730);
+        return retention;
+    }
+
+    @Test
+    public void testPlan_SplitsIntoDaysHoursAndMinutes() {
+        List<RollupSegment> segments = RollupPlanner.plan(NOW.minusDays(7), NOW, NOW, retention());
+
+        assertEquals(List.of(
+                new RollupSegment(CheckResolution.MINUTE, NOW.minusDays(7), LocalDateTime.of(2026, 3, 8, 13, 0)),
+                new RollupSegment(CheckResolution.HOUR, LocalDateTime.of(2026, 3, 8, 13, 0),
+                        LocalDateTime.of(2026, 3, 9, 0, 0)),
+                new RollupSegment(CheckResolution.DAY, LocalDateTime.of(2026, 3, 9, 0, 0),
+                        LocalDateTime.of(2026, 3, 15, 0, 0)),
+                new RollupSegment(CheckResolution.HOUR, LocalDateTime.of(2026, 3, 15, 0, 0),
+                        LocalDateTime.of(2026, 3, 15, 12, 0)),
+                new RollupSegment(CheckResolution.MINUTE, LocalDateTime.of(2026, 3, 15, 12, 0), NOW)
+        ), segments);
+    }
+
+    @Test
+    public void testPlan_ExpiredEdgeUsesCoarserBuckets() {
+        // 90天前的分钟级数据已删除，不足一小时的左边界改读所在的1h时间桶
+        List<RollupSegment> segments = RollupPlanner.plan(NOW.minusDays(90), NOW, NOW, retention());
+
+        assertEquals(new RollupSegment(CheckResolution.HOUR, NOW.minusDays(90),
+                LocalDateTime.of(2025, 12, 15, 13, 0)), segments.get(0));
+        assertEquals(new RollupSegment(CheckResolution.HOUR, LocalDateTime.of(2025, 12, 15, 13, 0),
+                LocalDateTime.of(2025, 12, 16, 0, 0)), segments.get(1));
+        assertEquals(CheckResolution.DAY, segments.get(2).resolution());
+        assertEquals(5, segments.size());
+    }
+}
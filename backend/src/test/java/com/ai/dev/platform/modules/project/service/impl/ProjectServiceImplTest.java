@@ -0,0 +1,45 @@
+package com.ai.dev.platform.modules.project.service.impl;
+
+import com.ai.dev.platform.modules.project.entity.Project;
+import com.ai.dev.platform.modules.project.mapper.ProjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+
+/**
+ * 创建项目时创建人登记为成员，项目级告警才有接收人
+ */
+public class ProjectServiceImplTest {
+
+    ProjectServiceImpl service;
+    ProjectMapper mapper;
+
+    @BeforeEach
+    public void setup() {
+        service = new ProjectServiceImpl();
+        mapper = Mockito.mock(ProjectMapper.class);
+        Mockito.when(mapper.insert(any(Project.class))).thenAnswer(inv -> {
+            inv.<Project>getArgument(0).setId(42L);
+            return 1;
+        });
+        ReflectionTestUtils.setField(service, "baseMapper", mapper);
+    }
+
+    @Test
+    public void testCreateProject_RegistersCreatorAsMember() {
+        assertTrue(service.createProject(new Project(), 7L));
+
+        Mockito.verify(mapper).insertMember(42L, 7L);
+    }
+
+    @Test
+    public void testCreateProject_WithoutCreatorAddsNoMember() {
+        assertTrue(service.createProject(new Project(), null));
+
+        Mockito.verify(mapper, Mockito.never()).insertMember(anyLong(), anyLong());
+    }
+}
@@ -0,0 +1,227 @@
+package com.ai.dev.platform.modules.sync.service.impl;
+
+import com.ai.dev.platform.modules.sync.dto.FetchStats;
+import com.ai.dev.platform.modules.sync.dto.SyncRun;
+import com.ai.dev.platform.modules.sync.dto.UpsertResult;
+import com.ai.dev.platform.modules.sync.entity.GitHubRepo;
+import com.ai.dev.platform.modules.sync.entity.SyncConfig;
+import com.ai.dev.platform.modules.sync.entity.SyncJob;
+import com.ai.dev.platform.modules.sync.mapper.SyncJobMapper;
+import com.ai.dev.platform.modules.sync.service.GitHubRepoService;
+import com.ai.dev.platform.modules.sync.service.RepoActivityService;
+import com.ai.dev.platform.modules.sync.service.SyncJobService;
+import com.ai.dev.platform.modules.sync.service.SyncRecordService;
+import com.ai.dev.platform.modules.sync.service.SyncWatermarkService;
+import com.ai.dev.platform.modules.sync.util.GitHubApiClient;
+import com.ai.dev.platform.modules.sync.util.RepoPageHandler;
+import org.apache.ibatis.annotations.Select;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+
+/**
+ * 同步任务队列：认领语句、执行中租约被接管，从检查点记录的页面地址续传，以及检查点之后提交活动入库
+ */
+public class DataSyncServiceImplTest {
+    private static final String NEXT_URL = "https://api.github.com/user/repos?per_page=100&page=3";
+
+    DataSyncServiceImpl service;
+    GitHubApiClient gitHubApiClient;
+    GitHubRepoService gitHubRepoService;
+    SyncRecordService syncRecordService;
+    SyncWatermarkService syncWatermarkService;
+    SyncJobService syncJobService;
+    RepoActivityService repoActivityService;
+    List<String> startUrls = new ArrayList<>();
+    List<List<GitHubRepo>> writtenPages = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        service = new DataSyncServiceImpl();
+        gitHubApiClient = Mockito.mock(GitHubApiClient.class);
+        gitHubRepoService = Mockito.mock(GitHubRepoService.class);
+        syncRecordService = Mockito.mock(SyncRecordService.class);
+        syncWatermarkService = Mockito.mock(SyncWatermarkService.class);
+        syncJobService = Mockito.mock(SyncJobService.class);
+        Mockito.when(syncRecordService.startRun(anyString(), anyString())).thenReturn(new SyncRun("github", "octocat"));
+        Mockito.when(gitHubRepoService.upsertRepos(anyList())).thenAnswer(inv -> {
+            List<GitHubRepo> repos = inv.getArgument(0);
+            writtenPages.add(repos);
+            return new UpsertResult(repos.size(), 0, 0);
+        });
+        // 模拟三页数据，每页交给handler后推进下一页地址
+        Mockito.when(gitHubApiClient.fetchUserRepos(eq("octocat"), eq("token"), any(), any(), any()))
+                .thenAnswer(inv -> {
+                    startUrls.add(inv.getArgument(2));
+                    FetchStats stats = inv.getArgument(3);
+                    RepoPageHandler<GitHubRepo> handler = inv.getArgument(4);
+                    int total = 0;
+                    for (int page = 1; page <= 3; page++) {
+                        stats.incrementPages();
+                        stats.setNextUrl(page < 3 ? "page-" + (page + 1) : null);
+                        List<GitHubRepo> repos = List.of(repo(page, "octocat/repo-" + page));
+                        total += repos.size();
+                        if (!handler.onPage(repos)) {
+                            break;
+                        }
+                    }
+                    return total;
+                });
+        ReflectionTestUtils.setField(service, "gitHubApiClient", gitHubApiClient);
+        ReflectionTestUtils.setField(service, "gitHubRepoService", gitHubRepoService);
+        ReflectionTestUtils.setField(service, "syncRecordService", syncRecordService);
+        ReflectionTestUtils.setField(service, "syncWatermarkService", syncWatermarkService);
+        ReflectionTestUtils.setField(service, "syncJobService", syncJobService);
+        repoActivityService = Mockito.mock(RepoActivityService.class);
+        ReflectionTestUtils.setField(service, "repoActivityService", repoActivityService);
+        ReflectionTestUtils.setField(service, "activityEnabled", false);
+        ReflectionTestUtils.setField(service, "fullSyncIntervalHours", 24L);
+    }
+
+    @Test
+    public void testClaimNext_SkipsLockedRowsAndReclaimsExpiredLease() throws Exception {
+        SyncJobMapper mapper = Mockito.mock(SyncJobMapper.class);
+        SyncJob claimed = job();
+        Mockito.when(mapper.claimNext(eq("github"), anyString(), eq(120L))).thenReturn(claimed);
+        SyncJobServiceImpl jobService = new SyncJobServiceImpl();
+        ReflectionTestUtils.setField(jobService, "baseMapper", mapper);
+        ReflectionTestUtils.setField(jobService, "leaseSeconds", 120L);
+
+        assertSame(claimed, jobService.claimNext("github"));
+
+        // 认领语句在子查询中加行锁并跳过已被其他节点锁住的行，心跳超过租约的执行中任务也可被认领
+        String sql = String.join(" ", SyncJobMapper.class
+                .getMethod("claimNext", String.class, String.class, long.class)
+                .getAnnotation(Select.class).value());
+        assertTrue(sql.contains("FOR UPDATE SKIP LOCKED"));
+        assertTrue(sql.contains("status = 'running' AND heartbeat_time < CURRENT_TIMESTAMP - #{leaseSeconds}"));
+        assertTrue(sql.contains("attempts = attempts + 1"));
+    }
+
+    @Test
+    public void testCheckpoint_LeaseLostStopsRunMidway() {
+        SyncJobMapper mapper = Mockito.mock(SyncJobMapper.class);
+        // 第一页检查点成功，第二页时租约已过期并被其他节点认领
+        Mockito.when(mapper.checkpoint(any())).thenReturn(1, 0);
+        SyncJobServiceImpl jobService = new SyncJobServiceImpl();
+        ReflectionTestUtils.setField(jobService, "baseMapper", mapper);
+        ReflectionTestUtils.setField(service, "syncJobService", jobService);
+
+        SyncJob job = job();
+        assertThrows(IllegalStateException.class, () -> service.runJob(job));
+
+        assertEquals(2, writtenPages.size());
+        Mockito.verify(mapper, Mockito.times(2)).checkpoint(job);
+        Mockito.verify(syncRecordService).finishRun(any(), eq("failed"), contains("已被其他节点接管"), anyInt(), any());
+        Mockito.verify(syncWatermarkService, Mockito.never()).advance(any(), any(), any(), anyBoolean());
+    }
+
+    @Test
+    public void testRunJob_ResumesFromStoredPageCursor() {
+        SyncJob job = job();
+        job.setFullSync(true);
+        job.setNextUrl(NEXT_URL);
+        job.setPagesDone(2);
+        job.setItemsDone(200);
+
+        service.runJob(job);
+
+        assertEquals(List.of(NEXT_URL), startUrls);
+        assertEquals(5, job.getPagesDone());
+        assertEquals(203, job.getItemsDone());
+        assertNull(job.getNextUrl());
+        Mockito.verify(syncJobService, Mockito.times(3)).checkpoint(job);
+        Mockito.verify(syncWatermarkService).advance(eq("github"), eq("octocat"), any(), eq(true));
+        Mockito.verify(syncRecordService).finishRun(any(), eq("success"), isNull(), eq(3), any());
+    }
+
+    @Test
+    public void testRunJob_CursorWithoutModeStartsOver() {
+        // 旧版本写入的检查点没有记录同步模式，无法判断地址对应全量还是增量，从第一页重新开始
+        SyncJob job = job();
+        job.setNextUrl(NEXT_URL);
+        job.setPagesDone(2);
+
+        service.runJob(job);
+
+        assertEquals(1, startUrls.size());
+        assertNull(startUrls.get(0));
+        assertEquals(3, job.getPagesDone());
+    }
+
+    @Test
+    public void testRunJob_SubmitsChangedReposAfterCheckpoint() {
+        ReflectionTestUtils.setField(service, "activityEnabled", true);
+        // 第二页仓库指纹未变化，只有第一、三页的仓库需要拉取活动
+        Mockito.when(gitHubRepoService.upsertRepos(anyList())).thenAnswer(inv -> {
+            List<GitHubRepo> repos = inv.getArgument(0);
+            GitHubRepo repo = repos.get(0);
+            return repo.getRepoId() == 2L ? new UpsertResult(0, 0, 1) : new UpsertResult(0, 1, 0).addChanged(repo.getRepoId());
+        });
+        SyncJob job = job();
+
+        service.runJob(job);
+
+        InOrder inOrder = Mockito.inOrder(syncJobService, repoActivityService);
+        inOrder.verify(syncJobService).checkpoint(job);
+        inOrder.verify(repoActivityService).submit(eq("github"),
+                argThat(repos -> repos.size() == 1 && repos.get(0).getRepoId() == 1L), eq("token"));
+        inOrder.verify(syncJobService).checkpoint(job);
+        inOrder.verify(repoActivityService).submit(eq("github"), argThat(List::isEmpty), eq("token"));
+        inOrder.verify(syncJobService).checkpoint(job);
+        inOrder.verify(repoActivityService).submit(eq("github"),
+                argThat(repos -> repos.size() == 1 && repos.get(0).getRepoId() == 3L), eq("token"));
+    }
+
+    @Test
+    public void testGroupByToken_UsesOwningAccountToken() {
+        SyncConfig octocat = new SyncConfig();
+        octocat.setSource("github");
+        octocat.setAccount("Octocat");
+        octocat.setAccessToken("octo-token");
+        SyncConfig gitee = new SyncConfig();
+        gitee.setSource("gitee");
+        gitee.setAccount("hubot");
+        gitee.setAccessToken("gitee-token");
+
+        Map<String, List<String>> groups = DataSyncServiceImpl.groupByToken(
+                List.of("octocat/a", "hubot/b", "OCTOCAT/c", "broken"), List.of(octocat, gitee), "caller");
+
+        assertEquals(List.of("octocat/a", "OCTOCAT/c"), groups.get("octo-token"));
+        // 没有对应GitHub账号的仓库和格式不正确的全名使用调用方令牌
+        assertEquals(List.of("hubot/b", "broken"), groups.get("caller"));
+        assertEquals(2, groups.size());
+    }
+
+    private static SyncJob job() {
+        SyncJob job = new SyncJob();
+        job.setId(7L);
+        job.setSource("github");
+        job.setAccount("octocat");
+        job.setAccessToken("token");
+        job.setStatus(SyncJob.STATUS_RUNNING);
+        job.setWorker("worker-1");
+        job.setAttempts(1);
+        job.setPagesDone(0);
+        job.setItemsDone(0);
+        return job;
+    }
+
+    private static GitHubRepo repo(long id, String name) {
+        GitHubRepo repo = new GitHubRepo();
+        repo.setRepoId(id);
+        repo.setRepoName(name);
+        repo.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        return repo;
+    }
+}
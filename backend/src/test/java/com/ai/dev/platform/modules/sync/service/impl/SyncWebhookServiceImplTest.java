@@ -0,0 +1,279 @@
+package com.ai.dev.platform.modules.sync.service.impl;
+
+import com.ai.dev.platform.modules.sync.dto.UpsertResult;
+import com.ai.dev.platform.modules.sync.dto.WebhookResult;
+import com.ai.dev.platform.modules.sync.entity.GitHubRepo;
+import com.ai.dev.platform.modules.sync.entity.GiteeRepo;
+import com.ai.dev.platform.modules.sync.entity.SyncConfig;
+import com.ai.dev.platform.modules.sync.mapper.SyncWebhookDeliveryMapper;
+import com.ai.dev.platform.modules.sync.service.GitHubRepoService;
+import com.ai.dev.platform.modules.sync.service.GiteeRepoService;
+import com.ai.dev.platform.modules.sync.service.SyncConfigService;
+import com.ai.dev.platform.modules.sync.util.GitHubApiClient;
+import com.ai.dev.platform.modules.sync.util.GiteeApiClient;
+import com.ai.dev.platform.modules.sync.util.WebhookSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+
+/**
+ * 回放录制的Webhook请求体，校验签名、去重，以及按仓库全名在后台重新获取仓库后写入
+ */
+public class SyncWebhookServiceImplTest {
+    private static final String SECRET = "webhook-secret";
+
+    SyncWebhookServiceImpl service;
+    GitHubApiClient gitHubApiClient;
+    GiteeApiClient giteeApiClient;
+    GitHubRepoService gitHubRepoService;
+    GiteeRepoService giteeRepoService;
+    SyncConfigService syncConfigService;
+    SyncWebhookDeliveryMapper deliveryMapper;
+    List<SyncConfig> configs = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        service = new SyncWebhookServiceImpl();
+        gitHubApiClient = Mockito.mock(GitHubApiClient.class);
+        giteeApiClient = Mockito.mock(GiteeApiClient.class);
+        gitHubRepoService = Mockito.mock(GitHubRepoService.class);
+        giteeRepoService = Mockito.mock(GiteeRepoService.class);
+        syncConfigService = Mockito.mock(SyncConfigService.class);
+        deliveryMapper = Mockito.mock(SyncWebhookDeliveryMapper.class);
+        Mockito.when(gitHubRepoService.upsertRepos(anyList())).thenReturn(new UpsertResult(0, 1, 0));
+        Mockito.when(giteeRepoService.upsertRepos(anyList())).thenReturn(new UpsertResult(0, 1, 0));
+        configs.add(config("github", "codertocat", "gh-token"));
+        configs.add(config("gitee", "gitee-demo", "gitee-token"));
+        Mockito.when(syncConfigService.findEnabled(anyString(), anyString())).thenAnswer(inv -> configs.stream()
+                .filter(c -> c.getSource().equals(inv.getArgument(0)) && c.getAccount().equalsIgnoreCase(inv.getArgument(1)))
+                .findFirst().orElse(null));
+        Mockito.when(gitHubApiClient.getRepo("Codertocat", "Hello-World", "gh-token"))
+                .thenReturn(gitHubRepo(186853002L, "Codertocat/Hello-World", 13));
+        Mockito.when(giteeApiClient.getRepo("gitee-demo", "webhook-demo", "gitee-token"))
+                .thenReturn(giteeRepo("gitee-demo/webhook-demo"));
+        ReflectionTestUtils.setField(service, "gitHubApiClient", gitHubApiClient);
+        ReflectionTestUtils.setField(service, "giteeApiClient", giteeApiClient);
+        ReflectionTestUtils.setField(service, "gitHubRepoService", gitHubRepoService);
+        ReflectionTestUtils.setField(service, "giteeRepoService", giteeRepoService);
+        ReflectionTestUtils.setField(service, "syncConfigService", syncConfigService);
+        ReflectionTestUtils.setField(service, "syncWebhookDeliveryMapper", deliveryMapper);
+        ReflectionTestUtils.setField(service, "gitHubSecret", SECRET);
+        ReflectionTestUtils.setField(service, "giteeSecret", SECRET);
+        ReflectionTestUtils.setField(service, "deliveryRetentionHours", 72L);
+        // 默认在当前线程执行后台任务，便于断言写入结果
+        ReflectionTestUtils.setField(service, "refetchExecutor", (Executor) Runnable::run);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGitHubPush_RefetchesRepo() throws Exception {
+        byte[] payload = load("webhook/github-push.json");
+        Mockito.when(deliveryMapper.insertIfAbsent(eq("github:d-1"), eq("github"), eq("push"))).thenReturn(1);
+
+        WebhookResult result = service.handleGitHub("push", "d-1", WebhookSignature.signGitHub(SECRET, payload), payload);
+
+        assertEquals(WebhookResult.Outcome.ACCEPTED, result.outcome());
+        ArgumentCaptor<List<GitHubRepo>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(gitHubRepoService).upsertRepos(captor.capture());
+        GitHubRepo repo = captor.getValue().get(0);
+        assertEquals(186853002L, repo.getRepoId());
+        assertEquals("Codertocat/Hello-World", repo.getRepoName());
+        // 写入的是API返回的仓库，而不是请求体中的数据（请求体中为12）
+        assertEquals(13, repo.getStarsCount());
+    }
+
+    @Test
+    public void testGitHubPush_IgnoresRepoOfUnknownAccount() throws Exception {
+        byte[] payload = load("webhook/github-push.json");
+        configs.set(0, config("github", "someone-else", "t"));
+        Mockito.when(deliveryMapper.insertIfAbsent(anyString(), anyString(), anyString())).thenReturn(1);
+
+        WebhookResult result = service.handleGitHub("push", "d-3", WebhookSignature.signGitHub(SECRET, payload), payload);
+
+        assertEquals(WebhookResult.Outcome.IGNORED, result.outcome());
+        Mockito.verifyNoInteractions(gitHubApiClient, gitHubRepoService);
+    }
+
+    @Test
+    public void testGitHubPush_RefetchRunsOffRequestThread() throws Exception {
+        byte[] payload = load("webhook/github-push.json");
+        Mockito.when(deliveryMapper.insertIfAbsent(anyString(), anyString(), anyString())).thenReturn(1);
+        List<Runnable> queued = new ArrayList<>();
+        ReflectionTestUtils.setField(service, "refetchExecutor", (Executor) queued::add);
+
+        WebhookResult result = service.handleGitHub("push", "d-5", WebhookSignature.signGitHub(SECRET, payload), payload);
+
+        // 请求线程上只做校验、去重和查找账号，不调用API
+        assertEquals(WebhookResult.Outcome.ACCEPTED, result.outcome());
+        Mockito.verifyNoInteractions(gitHubApiClient, gitHubRepoService);
+        assertEquals(1, queued.size());
+
+        queued.get(0).run();
+        Mockito.verify(gitHubRepoService).upsertRepos(anyList());
+    }
+
+    @Test
+    public void testGitHubPush_QueueFullReleasesDeliveryForRetry() throws Exception {
+        byte[] payload = load("webhook/github-push.json");
+        Mockito.when(deliveryMapper.insertIfAbsent(anyString(), anyString(), anyString())).thenReturn(1);
+        ReflectionTestUtils.setField(service, "refetchExecutor", (Executor) task -> {
+            throw new RejectedExecutionException("queue full");
+        });
+
+        assertThrows(RejectedExecutionException.class,
+                () -> service.handleGitHub("push", "d-6", WebhookSignature.signGitHub(SECRET, payload), payload));
+        Mockito.verify(deliveryMapper).deleteById("github:d-6");
+        Mockito.verifyNoInteractions(gitHubApiClient);
+    }
+
+    @Test
+    public void testGitHubPush_ReleasesDeliveryWhenRefetchFails() throws Exception {
+        byte[] payload = load("webhook/github-push.json");
+        Mockito.when(deliveryMapper.insertIfAbsent(anyString(), anyString(), anyString())).thenReturn(1);
+        Mockito.when(gitHubApiClient.getRepo(anyString(), anyString(), any())).thenReturn(null);
+
+        WebhookResult result = service.handleGitHub("push", "d-4", WebhookSignature.signGitHub(SECRET, payload), payload);
+
+        assertEquals(WebhookResult.Outcome.ACCEPTED, result.outcome());
+        Mockito.verify(deliveryMapper).deleteById("github:d-4");
+        Mockito.verifyNoInteractions(gitHubRepoService);
+    }
+
+    @Test
+    public void testGitHubPush_RejectsBadSignature() throws Exception {
+        byte[] payload = load("webhook/github-push.json");
+
+        WebhookResult result = service.handleGitHub("push", "d-1", WebhookSignature.signGitHub("other", payload), payload);
+
+        assertEquals(WebhookResult.Outcome.UNAUTHORIZED, result.outcome());
+        Mockito.verifyNoInteractions(deliveryMapper, gitHubRepoService);
+    }
+
+    @Test
+    public void testGitHubPush_SkipsDuplicateDelivery() throws Exception {
+        byte[] payload = load("webhook/github-push.json");
+        Mockito.when(deliveryMapper.insertIfAbsent(anyString(), anyString(), anyString())).thenReturn(0);
+
+        WebhookResult result = service.handleGitHub("push", "d-1", WebhookSignature.signGitHub(SECRET, payload), payload);
+
+        assertEquals(WebhookResult.Outcome.DUPLICATE, result.outcome());
+        Mockito.verify(gitHubRepoService, Mockito.never()).upsertRepos(anyList());
+    }
+
+    @Test
+    public void testGitHubPush_ReleasesDeliveryOnFailure() throws Exception {
+        byte[] payload = load("webhook/github-push.json");
+        Mockito.when(deliveryMapper.insertIfAbsent(anyString(), anyString(), anyString())).thenReturn(1);
+        Mockito.when(gitHubRepoService.upsertRepos(anyList())).thenThrow(new IllegalStateException("db down"));
+
+        service.handleGitHub("push", "d-2", WebhookSignature.signGitHub(SECRET, payload), payload);
+        Mockito.verify(deliveryMapper).deleteById("github:d-2");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGiteePush_SignedToken() throws Exception {
+        byte[] payload = load("webhook/gitee-push.json");
+        String timestamp = String.valueOf(System.currentTimeMillis());
+        Mockito.when(deliveryMapper.insertIfAbsent(startsWith("gitee:" + timestamp + ":"), eq("gitee"), eq("Push Hook")))
+                .thenReturn(1, 0);
+
+        WebhookResult first = service.handleGitee("Push Hook", WebhookSignature.signGitee(SECRET, timestamp), timestamp, payload);
+        WebhookResult replay = service.handleGitee("Push Hook", WebhookSignature.signGitee(SECRET, timestamp), timestamp, payload);
+
+        assertEquals(WebhookResult.Outcome.ACCEPTED, first.outcome());
+        assertEquals(WebhookResult.Outcome.DUPLICATE, replay.outcome());
+        ArgumentCaptor<List<GiteeRepo>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(giteeRepoService).upsertRepos(captor.capture());
+        assertEquals("gitee-demo/webhook-demo", captor.getValue().get(0).getRepoName());
+    }
+
+    @Test
+    public void testGiteePush_RejectsStaleTimestamp() throws Exception {
+        byte[] payload = load("webhook/gitee-push.json");
+        String timestamp = String.valueOf(System.currentTimeMillis() - 2 * 3_600_000L);
+
+        WebhookResult result = service.handleGitee("Push Hook", WebhookSignature.signGitee(SECRET, timestamp), timestamp, payload);
+
+        assertEquals(WebhookResult.Outcome.UNAUTHORIZED, result.outcome());
+        Mockito.verifyNoInteractions(giteeRepoService);
+    }
+
+    @Test
+    public void testGiteePush_RejectsMissingTimestamp() throws Exception {
+        byte[] payload = load("webhook/gitee-push.json");
+
+        WebhookResult result = service.handleGitee("Push Hook", SECRET, null, payload);
+
+        assertEquals(WebhookResult.Outcome.UNAUTHORIZED, result.outcome());
+        Mockito.verifyNoInteractions(deliveryMapper, giteeRepoService);
+    }
+
+    @Test
+    public void testGiteePush_PasswordModeRequiresOptIn() throws Exception {
+        byte[] payload = load("webhook/gitee-push.json");
+        String timestamp = String.valueOf(System.currentTimeMillis());
+        Mockito.when(deliveryMapper.insertIfAbsent(anyString(), anyString(), anyString())).thenReturn(1);
+
+        assertEquals(WebhookResult.Outcome.UNAUTHORIZED,
+                service.handleGitee("Push Hook", SECRET, timestamp, payload).outcome());
+
+        ReflectionTestUtils.setField(service, "giteePasswordMode", true);
+        assertEquals(WebhookResult.Outcome.ACCEPTED,
+                service.handleGitee("Push Hook", SECRET, timestamp, payload).outcome());
+    }
+
+    @Test
+    public void testPruneDeliveries_DeletesOlderThanRetention() {
+        Mockito.when(deliveryMapper.deleteBefore(any())).thenReturn(3);
+
+        assertEquals(3, service.pruneDeliveries());
+        ArgumentCaptor<LocalDateTime> captor = ArgumentCaptor.forClass(LocalDateTime.class);
+        Mockito.verify(deliveryMapper).deleteBefore(captor.capture());
+        LocalDateTime expected = LocalDateTime.now().minusHours(72);
+        assertTrue(Math.abs(Duration.between(expected, captor.getValue()).toSeconds()) < 5);
+    }
+
+    private static SyncConfig config(String source, String account, String accessToken) {
+        SyncConfig config = new SyncConfig();
+        config.setSource(source);
+        config.setAccount(account);
+        config.setAccessToken(accessToken);
+        config.setIsEnabled(true);
+        return config;
+    }
+
+    private static GitHubRepo gitHubRepo(Long repoId, String repoName, int stars) {
+        GitHubRepo repo = new GitHubRepo();
+        repo.setRepoId(repoId);
+        repo.setRepoName(repoName);
+        repo.setStarsCount(stars);
+        return repo;
+    }
+
+    private static GiteeRepo giteeRepo(String repoName) {
+        GiteeRepo repo = new GiteeRepo();
+        repo.setRepoName(repoName);
+        return repo;
+    }
+
+    private byte[] load(String path) throws Exception {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(path)) {
+            assertNotNull(in, path);
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.ai.dev.platform.modules.sync.task;
+
+import com.ai.dev.platform.modules.cluster.service.ClusterService;
+import com.ai.dev.platform.modules.sync.entity.SyncConfig;
+import com.ai.dev.platform.modules.sync.entity.SyncJob;
+import com.ai.dev.platform.modules.sync.service.DataSyncService;
+import com.ai.dev.platform.modules.sync.service.SyncConfigService;
+import com.ai.dev.platform.modules.sync.service.SyncJobService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 验证到期账号的入队筛选，以及按数据源并发上限认领任务
+ */
+public class SyncOrchestratorTest {
+
+    private SyncOrchestrator orchestrator;
+    private DataSyncService dataSyncService;
+    private SyncConfigService syncConfigService;
+    private SyncJobService syncJobService;
+    private final Set<String> owned = new HashSet<>();
+    private final AtomicLong jobIds = new AtomicLong();
+
+    @BeforeEach
+    public void setup() {
+        orchestrator = new SyncOrchestrator();
+        dataSyncService = Mockito.mock(DataSyncService.class);
+        syncConfigService = Mockito.mock(SyncConfigService.class);
+        syncJobService = Mockito.mock(SyncJobService.class);
+        ClusterService clusterService = Mockito.mock(ClusterService.class);
+        when(clusterService.owns(anyString())).thenAnswer(invocation -> owned.contains(invocation.getArgument(0)));
+        ReflectionTestUtils.setField(orchestrator, "dataSyncService", dataSyncService);
+        ReflectionTestUtils.setField(orchestrator, "syncConfigService", syncConfigService);
+        ReflectionTestUtils.setField(orchestrator, "syncJobService", syncJobService);
+        ReflectionTestUtils.setField(orchestrator, "clusterService", clusterService);
+        ReflectionTestUtils.setField(orchestrator, "maxThreads", 4);
+        ReflectionTestUtils.setField(orchestrator, "gitHubConcurrency", 1);
+        ReflectionTestUtils.setField(orchestrator, "giteeConcurrency", 1);
+        orchestrator.init();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        orchestrator.destroy();
+    }
+
+    @Test
+    public void testEnqueueDueAccounts_SkipsOtherNodesAndUnsupportedSources() {
+        when(syncConfigService.listDue()).thenReturn(List.of(
+                config(1L, "GitHub", "octocat"), config(2L, "github", "hubot"), config(3L, "gitlab", "tanuki")));
+        owned.addAll(List.of("sync-config:1", "sync-config:3"));
+
+        assertEquals(1, orchestrator.enqueueDueAccounts());
+
+        verify(syncJobService).enqueue("github", "octocat", "token-1", 1L);
+        verify(syncJobService, times(1)).enqueue(anyString(), anyString(), any(), any());
+        // 入队后立即按数据源尝试认领
+        verify(syncJobService).claimNext("github");
+        verify(syncJobService).claimNext("gitee");
+    }
+
+    @Test
+    public void testEnqueueAllAccounts_OnlyRequestedSource() {
+        when(syncConfigService.listEnabled()).thenReturn(List.of(
+                config(1L, "GitHub", "octocat"), config(2L, "gitee", "demo"), config(3L, "github", "hubot")));
+
+        assertEquals(2, orchestrator.enqueueAllAccounts("github"));
+
+        verify(syncJobService).enqueue("github", "octocat", "token-1", 1L);
+        verify(syncJobService).enqueue("github", "hubot", "token-3", 3L);
+        verify(syncJobService, never()).enqueue(eq("gitee"), anyString(), any(), any());
+    }
+
+    @Test
+    public void testPollJobs_ClaimsWithinLaneLimitAndMarksSynced() throws Exception {
+        when(syncJobService.claimNext("github")).thenAnswer(invocation -> job(1L))
+                .thenAnswer(invocation -> job(1L)).thenReturn(null);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).doThrow(new IllegalStateException("stop")).when(dataSyncService).runJob(any());
+
+        orchestrator.pollJobs();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // 并发上限为1，执行中的任务占用额度时不再认领
+        orchestrator.pollJobs();
+        verify(syncJobService, times(1)).claimNext("github");
+        assertEquals(1, orchestrator.getRunningCount());
+
+        release.countDown();
+        verify(syncJobService, timeout(5000)).succeed(argThat(job -> job.getId() == 1L));
+        verify(syncConfigService, timeout(5000).atLeastOnce()).markSynced(eq(1L), any());
+        // 任务结束释放额度后继续认领下一个任务，执行失败时交给fail决定重试
+        verify(syncJobService, timeout(5000)).fail(argThat(job -> job.getId() == 2L), eq("stop"));
+    }
+
+    private SyncJob job(Long configId) {
+        SyncJob job = new SyncJob();
+        job.setId(jobIds.incrementAndGet());
+        job.setSource("github");
+        job.setAccount("octocat");
+        job.setConfigId(configId);
+        return job;
+    }
+
+    private static SyncConfig config(Long id, String source, String account) {
+        SyncConfig config = new SyncConfig();
+        config.setId(id);
+        config.setSource(source);
+        config.setAccount(account);
+        config.setAccessToken("token-" + id);
+        return config;
+    }
+}
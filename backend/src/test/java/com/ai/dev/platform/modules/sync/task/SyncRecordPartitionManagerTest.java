@@ -0,0 +1,118 @@
+package com.ai.dev.platform.modules.sync.task;
+
+import com.ai.dev.platform.modules.sync.mapper.SyncRecordMapper;
+import com.ai.dev.platform.modules.sync.service.SyncRecordService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+
+/**
+ * 分区创建、过期分区删除与默认分区清理
+ */
+public class SyncRecordPartitionManagerTest {
+
+    SyncRecordPartitionManager manager;
+    SyncRecordMapper syncRecordMapper;
+    SyncRecordService syncRecordService;
+
+    @BeforeEach
+    void setUp() {
+        manager = new SyncRecordPartitionManager();
+        syncRecordMapper = Mockito.mock(SyncRecordMapper.class);
+        syncRecordService = Mockito.mock(SyncRecordService.class);
+        ReflectionTestUtils.setField(manager, "syncRecordMapper", syncRecordMapper);
+        ReflectionTestUtils.setField(manager, "syncRecordService", syncRecordService);
+        ReflectionTestUtils.setField(manager, "retentionMonths", 3);
+        ReflectionTestUtils.setField(manager, "partitionsAhead", 2);
+    }
+
+    @Test
+    void testEnsurePartitions_CreatesCurrentAndAheadMonths() {
+        assertEquals(3, manager.ensurePartitions(YearMonth.of(2024, 11)));
+
+        Mockito.verify(syncRecordMapper).createPartition("sync_record_p202411", "2024-11-01", "2024-12-01");
+        Mockito.verify(syncRecordMapper).createPartition("sync_record_p202412", "2024-12-01", "2025-01-01");
+        Mockito.verify(syncRecordMapper).createPartition("sync_record_p202501", "2025-01-01", "2025-02-01");
+        Mockito.verify(syncRecordMapper, Mockito.never()).movePartitionFromDefault(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void testEnsurePartitions_SkipsExistingAndMovesDefaultRows() {
+        Mockito.when(syncRecordMapper.listPartitions()).thenReturn(List.of("sync_record_default", "sync_record_p202411"));
+        Mockito.when(syncRecordMapper.existsInDefault("2024-12-01", "2025-01-01")).thenReturn(true);
+
+        assertEquals(2, manager.ensurePartitions(YearMonth.of(2024, 11)));
+
+        Mockito.verify(syncRecordMapper, Mockito.never()).createPartition(eq("sync_record_p202411"), anyString(), anyString());
+        // 默认分区已有12月的记录，不能直接CREATE ... PARTITION OF
+        Mockito.verify(syncRecordMapper).movePartitionFromDefault("sync_record_p202412", "2024-12-01", "2025-01-01");
+        Mockito.verify(syncRecordMapper, Mockito.never()).createPartition(eq("sync_record_p202412"), anyString(), anyString());
+        Mockito.verify(syncRecordMapper).createPartition("sync_record_p202501", "2025-01-01", "2025-02-01");
+    }
+
+    @Test
+    void testEnsurePartitions_FailureDoesNotStopOtherMonths() {
+        Mockito.doThrow(new IllegalStateException("updated partition constraint for default partition would be violated"))
+                .when(syncRecordMapper).createPartition(eq("sync_record_p202411"), anyString(), anyString());
+
+        assertEquals(2, manager.ensurePartitions(YearMonth.of(2024, 11)));
+        Mockito.verify(syncRecordMapper).createPartition("sync_record_p202501", "2025-01-01", "2025-02-01");
+    }
+
+    @Test
+    void testDropExpiredPartitions_RollsUpBeforeDrop() {
+        Mockito.when(syncRecordMapper.listPartitions()).thenReturn(List.of(
+                "sync_record_default", "sync_record_p202406", "sync_record_p202407", "sync_record_p202408"));
+
+        int dropped = manager.dropExpiredPartitions(YearMonth.of(2024, 10));
+
+        assertEquals(1, dropped);
+        InOrder order = Mockito.inOrder(syncRecordService, syncRecordMapper);
+        order.verify(syncRecordService).rollupDaily(LocalDate.of(2024, 6, 1), LocalDate.of(2024, 7, 1));
+        order.verify(syncRecordMapper).dropPartition("sync_record_p202406");
+        Mockito.verify(syncRecordMapper, Mockito.never()).dropPartition(eq("sync_record_default"));
+        Mockito.verify(syncRecordMapper, Mockito.never()).dropPartition(eq("sync_record_p202407"));
+    }
+
+    @Test
+    void testDropExpiredPartitions_DisabledWhenRetentionNotPositive() {
+        ReflectionTestUtils.setField(manager, "retentionMonths", 0);
+
+        assertEquals(0, manager.dropExpiredPartitions(YearMonth.of(2024, 10)));
+        Mockito.verifyNoInteractions(syncRecordMapper, syncRecordService);
+    }
+
+    @Test
+    void testPurgeDefaultPartition_RollsUpAndDeletesExpiredRows() {
+        Mockito.when(syncRecordMapper.minDefaultSyncTime()).thenReturn(LocalDateTime.of(2024, 5, 20, 8, 0));
+        Mockito.when(syncRecordMapper.deleteDefaultBefore(any())).thenReturn(4);
+        Mockito.when(syncRecordMapper.countDefault()).thenReturn(1L);
+
+        assertEquals(4, manager.purgeDefaultPartition(YearMonth.of(2024, 10)));
+
+        InOrder order = Mockito.inOrder(syncRecordService, syncRecordMapper);
+        order.verify(syncRecordService).rollupDaily(LocalDate.of(2024, 5, 20), LocalDate.of(2024, 7, 1));
+        order.verify(syncRecordMapper).deleteDefaultBefore(LocalDateTime.of(2024, 7, 1, 0, 0));
+    }
+
+    @Test
+    void testPurgeDefaultPartition_KeepsRowsWithinRetention() {
+        Mockito.when(syncRecordMapper.minDefaultSyncTime()).thenReturn(LocalDateTime.of(2024, 9, 3, 8, 0));
+        Mockito.when(syncRecordMapper.countDefault()).thenReturn(2L);
+
+        assertEquals(0, manager.purgeDefaultPartition(YearMonth.of(2024, 10)));
+
+        Mockito.verify(syncRecordMapper, Mockito.never()).deleteDefaultBefore(any());
+        Mockito.verifyNoInteractions(syncRecordService);
+    }
+}
@@ -0,0 +1,239 @@
+package com.ai.dev.platform.modules.sync.util;
+
+import com.ai.dev.platform.modules.sync.dto.FetchStats;
+import com.ai.dev.platform.modules.sync.entity.GitHubRepo;
+import com.ai.dev.platform.modules.sync.entity.SyncHttpCache;
+import com.ai.dev.platform.modules.sync.service.SyncHttpCacheService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class GitHubApiClientTest {
+    GitHubApiClient client;
+    MockRestServiceServer server;
+    RateLimitScheduler rateLimitScheduler;
+    RepoFetchPipeline pipeline;
+    SyncHttpCacheService httpCacheService;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        client = new GitHubApiClient();
+        rateLimitScheduler = new RateLimitScheduler(new SimpleMeterRegistry(), 10, 5000, 2, 0.1);
+        httpCacheService = Mockito.mock(SyncHttpCacheService.class);
+        pipeline = new RepoFetchPipeline(restTemplate, httpCacheService, rateLimitScheduler, 1);
+        Field f = GitHubApiClient.class.getDeclaredField("repoFetchPipeline");
+        f.setAccessible(true);
+        f.set(client, pipeline);
+    }
+
+    @Test
+    public void testFetchUserRepos_FollowsLinkHeader() {
+        HttpHeaders firstHeaders = new HttpHeaders();
+        firstHeaders.set(HttpHeaders.LINK,
+                "<https://api.github.com/user/1/repos?per_page=100&page=2>; rel=\"next\", "
+                        + "<https://api.github.com/user/1/repos?per_page=100&page=2>; rel=\"last\"");
+        server.expect(requestTo("https://api.github.com/users/octo/repos?per_page=100"))
+                .andRespond(withSuccess("[" + repoJson(1, "octo/a") + "," + repoJson(2, "octo/b") + "]",
+                        MediaType.APPLICATION_JSON).headers(firstHeaders));
+        server.expect(requestTo("https://api.github.com/user/1/repos?per_page=100&page=2"))
+                .andRespond(withSuccess("[" + repoJson(3, "octo/c") + "]", MediaType.APPLICATION_JSON));
+
+        List<Integer> pageSizes = new ArrayList<>();
+        List<GitHubRepo> all = new ArrayList<>();
+        int total = client.fetchUserRepos("octo", "tok", repos -> {
+            pageSizes.add(repos.size());
+            all.addAll(repos);
+            return true;
+        });
+
+        server.verify();
+        assertEquals(3, total);
+        assertEquals(List.of(2, 1), pageSizes);
+        GitHubRepo first = all.get(0);
+        assertEquals(1L, first.getRepoId());
+        assertEquals("octo/a", first.getRepoName());
+        assertEquals("https://github.com/octo/a", first.getRepoUrl());
+        assertNull(first.getDescription());
+        assertEquals(7, first.getStarsCount());
+        assertNotNull(first.getUpdatedAt());
+    }
+
+    @Test
+    public void testFetchUserRepos_StopsWhenHandlerReturnsFalse() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.LINK, "<https://api.github.com/user/1/repos?page=2>; rel=\"next\"");
+        server.expect(requestTo("https://api.github.com/users/octo/repos?per_page=100"))
+                .andRespond(withSuccess("[" + repoJson(1, "octo/a") + "]", MediaType.APPLICATION_JSON).headers(headers));
+
+        int total = client.fetchUserRepos("octo", null, repos -> false);
+
+        server.verify();
+        assertEquals(1, total);
+    }
+
+    @Test
+    public void testFetchUserReposUpdatedSince_NotModifiedPageEndsFetch() {
+        String firstUrl = "https://api.github.com/users/octo/repos?per_page=100&sort=updated&direction=desc";
+        String secondUrl = "https://api.github.com/user/1/repos?per_page=100&sort=updated&direction=desc&page=2";
+        Mockito.when(httpCacheService.findEntry(firstUrl, "tok")).thenReturn(cacheEntry("\"v1\"", secondUrl, 2048L));
+        server.expect(requestTo(firstUrl))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        FetchStats stats = new FetchStats();
+        List<GitHubRepo> changed = new ArrayList<>();
+        int total = client.fetchUserReposUpdatedSince("octo", "tok", LocalDateTime.of(2024, 5, 1, 0, 0), null,
+                stats, repos -> changed.addAll(repos));
+
+        // 按更新时间倒序的页面未变化，说明之后没有仓库更新，不再跟进缓存记录的下一页
+        server.verify();
+        assertEquals(0, total);
+        assertTrue(changed.isEmpty());
+        assertEquals(1, stats.getPages());
+        assertEquals(1, stats.getCacheHits());
+        assertEquals(1, stats.getNotModified());
+        assertEquals(2048L, stats.getBytesSaved());
+        Mockito.verify(httpCacheService, Mockito.never()).saveEntry(any(), any(), any(), any(), any(), anyLong());
+    }
+
+    @Test
+    public void testFetchUserReposUpdatedSince_ModifiedPageReplacesCachedEtag() {
+        String url = "https://api.github.com/users/octo/repos?per_page=100&sort=updated&direction=desc";
+        Mockito.when(httpCacheService.findEntry(url, "tok")).thenReturn(cacheEntry("\"v1\"", null, 2048L));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"v2\"");
+        headers.set(HttpHeaders.LAST_MODIFIED, "Wed, 01 May 2024 10:00:00 GMT");
+        server.expect(requestTo(url))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andRespond(withSuccess("[" + repoJson(1, "octo/a", "2024-06-01T00:00:00Z") + "]",
+                        MediaType.APPLICATION_JSON).headers(headers));
+
+        FetchStats stats = new FetchStats();
+        List<GitHubRepo> changed = new ArrayList<>();
+        int total = client.fetchUserReposUpdatedSince("octo", "tok", LocalDateTime.of(2024, 5, 1, 0, 0), null,
+                stats, repos -> changed.addAll(repos));
+
+        server.verify();
+        assertEquals(1, total);
+        assertEquals(List.of("octo/a"), changed.stream().map(GitHubRepo::getRepoName).toList());
+        assertEquals(0, stats.getNotModified());
+        Mockito.verify(httpCacheService).saveEntry(eq(url), eq("tok"), eq("\"v2\""),
+                eq("Wed, 01 May 2024 10:00:00 GMT"), isNull(), eq(stats.getBytesReceived()));
+    }
+
+    @Test
+    public void testFetchUserReposUpdatedSince_StopsAtWatermark() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.LINK, "<https://api.github.com/user/1/repos?page=2>; rel=\"next\"");
+        server.expect(requestTo("https://api.github.com/users/octo/repos?per_page=100&sort=updated&direction=desc"))
+                .andRespond(withSuccess("[" + repoJson(2, "octo/b", "2024-06-01T00:00:00Z") + ","
+                        + repoJson(1, "octo/a", "2024-04-01T00:00:00Z") + "]", MediaType.APPLICATION_JSON).headers(headers));
+
+        List<GitHubRepo> changed = new ArrayList<>();
+        client.fetchUserReposUpdatedSince("octo", "tok", LocalDateTime.of(2024, 5, 1, 0, 0), null,
+                new FetchStats(), repos -> changed.addAll(repos));
+
+        server.verify();
+        assertEquals(1, changed.size());
+        assertEquals("octo/b", changed.get(0).getRepoName());
+    }
+
+    @Test
+    public void testFetchCommits_EmptyRepoConflictIsEmpty() throws Exception {
+        RepoActivityClient activityClient = new RepoActivityClient();
+        Field registry = RepoActivityClient.class.getDeclaredField("repoProviderRegistry");
+        registry.setAccessible(true);
+        registry.set(activityClient, new RepoProviderRegistry(List.of(client)));
+        Field fetchPipeline = RepoActivityClient.class.getDeclaredField("repoFetchPipeline");
+        fetchPipeline.setAccessible(true);
+        fetchPipeline.set(activityClient, pipeline);
+        server.expect(requestTo("https://api.github.com/repos/octo/empty/commits?per_page=100"))
+                .andRespond(withStatus(HttpStatus.CONFLICT));
+
+        List<Object> commits = new ArrayList<>();
+        int total = activityClient.fetchCommits("github", 1L, "octo/empty", "tok", null, commits::addAll);
+
+        server.verify();
+        assertEquals(0, total);
+        assertTrue(commits.isEmpty());
+    }
+
+    @Test
+    public void testFetchUserRepos_RetriesAfterRateLimit() {
+        HttpHeaders limited = new HttpHeaders();
+        limited.set(HttpHeaders.RETRY_AFTER, "0");
+        HttpHeaders quota = new HttpHeaders();
+        quota.set("X-RateLimit-Remaining", "4999");
+        quota.set("X-RateLimit-Reset", String.valueOf(System.currentTimeMillis() / 1000 + 3600));
+        server.expect(requestTo("https://api.github.com/users/octo/repos?per_page=100"))
+                .andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS).headers(limited));
+        server.expect(requestTo("https://api.github.com/users/octo/repos?per_page=100"))
+                .andRespond(withSuccess("[" + repoJson(1, "octo/a") + "]", MediaType.APPLICATION_JSON).headers(quota));
+
+        int total = client.fetchUserRepos("octo", "tok", repos -> true);
+
+        server.verify();
+        assertEquals(1, total);
+        assertEquals(4999, rateLimitScheduler.getRemaining("github", "tok"));
+    }
+
+    @Test
+    public void testFetchUserRepos_RetriesTransientServerError() {
+        server.expect(requestTo("https://api.github.com/users/octo/repos?per_page=100"))
+                .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+        server.expect(requestTo("https://api.github.com/users/octo/repos?per_page=100"))
+                .andRespond(withSuccess("[" + repoJson(1, "octo/a") + "]", MediaType.APPLICATION_JSON));
+
+        int total = client.fetchUserRepos("octo", "tok", repos -> true);
+
+        server.verify();
+        assertEquals(1, total);
+    }
+
+    @Test
+    public void testParseNextLink() {
+        assertNull(GitHubApiClient.parseNextLink(null));
+        assertNull(GitHubApiClient.parseNextLink("<https://x/repos?page=1>; rel=\"prev\""));
+        assertEquals("https://x/repos?page=3",
+                GitHubApiClient.parseNextLink("<https://x/repos?page=1>; rel=\"prev\", <https://x/repos?page=3>; rel=\"next\""));
+    }
+
+    private static SyncHttpCache cacheEntry(String etag, String nextUrl, Long contentLength) {
+        SyncHttpCache entry = new SyncHttpCache();
+        entry.setEtag(etag);
+        entry.setNextUrl(nextUrl);
+        entry.setContentLength(contentLength);
+        return entry;
+    }
+
+    private static String repoJson(long id, String fullName) {
+        return repoJson(id, fullName, "2024-05-01T10:00:00Z");
+    }
+
+    private static String repoJson(long id, String fullName, String updatedAt) {
+        return "{\"id\":" + id + ",\"full_name\":\"" + fullName + "\",\"html_url\":\"https://github.com/" + fullName + "\","
+                + "\"owner\":{\"id\":99,\"login\":\"octo\"},\"topics\":[\"a\",\"b\"],\"description\":null,"
+                + "\"language\":\"Java\",\"stargazers_count\":7,\"forks_count\":2,\"open_issues_count\":1,"
+                + "\"updated_at\":\"" + updatedAt + "\"}";
+    }
+}
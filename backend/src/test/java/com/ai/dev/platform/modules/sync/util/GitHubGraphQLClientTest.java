@@ -0,0 +1,130 @@
+package com.ai.dev.platform.modules.sync.util;
+
+import com.ai.dev.platform.modules.sync.entity.GitHubRepo;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+
+/**
+ * 使用本地HttpServer回放预置的GraphQL响应
+ */
+public class GitHubGraphQLClientTest {
+    HttpServer server;
+    GitHubGraphQLClient client;
+    GitHubApiClient restClient;
+    List<JsonNode> requests = new ArrayList<>();
+    int status = 200;
+    byte[] responseBody;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("graphql/repos-response.json")) {
+            responseBody = in.readAllBytes();
+        }
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/graphql", exchange -> {
+            requests.add(new ObjectMapper().readTree(exchange.getRequestBody()));
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, responseBody.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(responseBody);
+            }
+        });
+        server.start();
+
+        restClient = Mockito.mock(GitHubApiClient.class);
+        client = new GitHubGraphQLClient();
+        ReflectionTestUtils.setField(client, "restTemplate", new RestTemplate());
+        ReflectionTestUtils.setField(client, "rateLimitScheduler", new RateLimitScheduler(new SimpleMeterRegistry(), 10, 5000, 0, 0.1));
+        ReflectionTestUtils.setField(client, "gitHubApiClient", restClient);
+        ReflectionTestUtils.setField(client, "graphqlUrl", "http://127.0.0.1:" + server.getAddress().getPort() + "/graphql");
+        ReflectionTestUtils.setField(client, "batchSize", 100);
+    }
+
+    @AfterEach
+    public void teardown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testFetchRepos_SkipsMalformedNames() {
+        List<GitHubRepo> repos = client.fetchRepos(
+                List.of("octocat/Hello-World", "broken", "octocat/missing", "trailing/", "octocat/Spoon-Knife"), "token");
+
+        // 格式不正确的全名跳过，其余仓库照常批量查询
+        assertEquals(1, requests.size());
+        assertEquals(6, requests.get(0).get("variables").size());
+        assertEquals(2, repos.size());
+        Mockito.verifyNoInteractions(restClient);
+    }
+
+    @Test
+    public void testFetchRepos_BatchesAliasedQueries() {
+        List<GitHubRepo> repos = client.fetchRepos(
+                List.of("octocat/Hello-World", "octocat/missing", "octocat/Spoon-Knife"), "token");
+
+        assertEquals(1, requests.size());
+        JsonNode request = requests.get(0);
+        assertTrue(request.get("query").asText().contains("r2: repository(owner: $o2, name: $n2)"));
+        assertEquals("octocat", request.get("variables").get("o1").asText());
+        assertEquals("missing", request.get("variables").get("n1").asText());
+
+        assertEquals(2, repos.size());
+        GitHubRepo hello = repos.get(0);
+        assertEquals(1296269L, hello.getRepoId());
+        assertEquals("octocat/Hello-World", hello.getRepoName());
+        assertNull(hello.getLanguage());
+        assertEquals(1550, hello.getOpenIssuesCount());
+        assertEquals("HTML", repos.get(1).getLanguage());
+        Mockito.verifyNoInteractions(restClient);
+    }
+
+    @Test
+    public void testFetchRepos_SplitsIntoBatchesOfBatchSize() {
+        ReflectionTestUtils.setField(client, "batchSize", 2);
+
+        client.fetchRepos(List.of("a/1", "a/2", "a/3"), "token");
+
+        assertEquals(2, requests.size());
+        assertEquals(2, requests.get(0).get("variables").size() / 2);
+        assertEquals(1, requests.get(1).get("variables").size() / 2);
+    }
+
+    @Test
+    public void testFetchRepos_FallsBackToRestWhenGraphQLUnavailable() {
+        status = 502;
+        GitHubRepo repo = new GitHubRepo();
+        repo.setRepoId(1L);
+        repo.setRepoName("octocat/Hello-World");
+        Mockito.when(restClient.getRepo(eq("octocat"), eq("Hello-World"), any())).thenReturn(repo);
+
+        List<GitHubRepo> repos = client.fetchRepos(List.of("octocat/Hello-World", "octocat/missing"), "token");
+
+        assertEquals(1, repos.size());
+        Mockito.verify(restClient).getRepo("octocat", "missing", "token");
+    }
+
+    @Test
+    public void testFetchRepos_UsesRestWithoutToken() {
+        client.fetchRepos(List.of("octocat/Hello-World"), null);
+
+        assertTrue(requests.isEmpty());
+        Mockito.verify(restClient).getRepo("octocat", "Hello-World", null);
+    }
+}
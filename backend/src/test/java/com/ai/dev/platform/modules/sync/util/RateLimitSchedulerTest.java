@@ -0,0 +1,47 @@
+package com.ai.dev.platform.modules.sync.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 验证剩余额度高于低水位时不节流，降到低水位以下才按重置时间分摊
+ */
+public class RateLimitSchedulerTest {
+
+    @Test
+    public void testExecute_NoPacingAboveLowWater() {
+        RateLimitScheduler scheduler = new RateLimitScheduler(new SimpleMeterRegistry(), 10, 5000, 0, 0.1);
+        // 剩余800/5000，高于10%；若按剩余额度分摊到一小时，50次请求需要数十秒
+        scheduler.update("github", "tok", quota(800, 5000, 3600));
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 50; i++) {
+            scheduler.execute("github", "tok", () -> null);
+        }
+        assertTrue(System.currentTimeMillis() - start < 1_000);
+    }
+
+    @Test
+    public void testExecute_PacesBelowLowWater() {
+        RateLimitScheduler scheduler = new RateLimitScheduler(new SimpleMeterRegistry(), 10, 5000, 0, 0.1);
+        // 剩余100/5000，低于10%，10秒内分摊100次即每秒10次；突发10次之后每次约等待100ms
+        scheduler.update("github", "tok", quota(100, 5000, 10));
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 15; i++) {
+            scheduler.execute("github", "tok", () -> null);
+        }
+        assertTrue(System.currentTimeMillis() - start >= 300);
+    }
+
+    private static HttpHeaders quota(long remaining, long limit, long resetInSeconds) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-RateLimit-Remaining", String.valueOf(remaining));
+        headers.set("X-RateLimit-Limit", String.valueOf(limit));
+        headers.set("X-RateLimit-Reset", String.valueOf(System.currentTimeMillis() / 1000 + resetInSeconds));
+        return headers;
+    }
+}
@@ -0,0 +1,97 @@
+package com.ai.dev.platform.modules.sync.util;
+
+import com.ai.dev.platform.modules.sync.dto.UpsertResult;
+import com.ai.dev.platform.modules.sync.entity.GitHubRepo;
+import com.ai.dev.platform.modules.sync.event.RepoChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 指纹未变化的仓库不写库、不发事件，有变化的仓库写库后发布字段变化事件
+ */
+public class RepoChangeWriterTest {
+
+    List<List<GitHubRepo>> writes = new ArrayList<>();
+    List<RepoChangedEvent> events = new ArrayList<>();
+
+    @Test
+    public void testUpsert_UnchangedFingerprintSkipsWriteAndEvent() {
+        GitHubRepo stored = withHash(repo(1L, 10));
+
+        UpsertResult result = upsert(List.of(stored), repo(1L, 10));
+
+        assertEquals(0, result.getInserted());
+        assertEquals(0, result.getUpdated());
+        assertEquals(1, result.getUnchanged());
+        assertTrue(writes.isEmpty());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void testUpsert_ChangedFingerprintWritesAndPublishes() {
+        GitHubRepo stored = withHash(repo(1L, 10));
+
+        UpsertResult result = upsert(List.of(stored), repo(1L, 12), repo(2L, 3));
+
+        assertEquals(1, result.getInserted());
+        assertEquals(1, result.getUpdated());
+        assertEquals(1, writes.size());
+        assertEquals(2, writes.get(0).size());
+        assertEquals(2, events.size());
+        assertEquals(List.of(1L, 2L), result.getChangedRepoIds());
+        RepoChangedEvent updated = events.get(0);
+        assertEquals("github", updated.getSource());
+        assertFalse(updated.isCreated());
+        assertEquals(2, updated.getStarsDelta());
+        assertEquals(1, updated.getChanges().size());
+        assertTrue(events.get(1).isCreated());
+    }
+
+    @Test
+    public void testUpsert_CountsAddUpAfterInBatchDedup() {
+        GitHubRepo stored = withHash(repo(1L, 12));
+
+        // repo 1出现两次，保留最后一条，与库中指纹相同
+        UpsertResult result = upsert(List.of(stored), repo(1L, 10), repo(2L, 3), repo(1L, 12));
+
+        assertEquals(1, result.getInserted());
+        assertEquals(0, result.getUpdated());
+        assertEquals(1, result.getUnchanged());
+        assertEquals(1, result.getDeduped());
+        assertEquals(3, result.getTotal());
+        assertEquals(List.of(2L), writes.get(0).stream().map(GitHubRepo::getRepoId).toList());
+        assertEquals(List.of(2L), result.getChangedRepoIds());
+        assertEquals(1, events.size());
+    }
+
+    private UpsertResult upsert(List<GitHubRepo> existing, GitHubRepo... repos) {
+        return RepoChangeWriter.upsert("github", List.of(repos), RepoChangeWriter.DEFAULT_BATCH_SIZE,
+                repoIds -> existing.stream().filter(r -> repoIds.contains(r.getRepoId())).toList(),
+                rows -> {
+                    writes.add(new ArrayList<>(rows));
+                    return rows.stream().map(r -> existing.stream().noneMatch(e -> e.getRepoId().equals(r.getRepoId())))
+                            .toList();
+                },
+                events::add);
+    }
+
+    private static GitHubRepo withHash(GitHubRepo repo) {
+        repo.setContentHash(RepoFingerprint.of(repo));
+        return repo;
+    }
+
+    private static GitHubRepo repo(Long id, int stars) {
+        GitHubRepo repo = new GitHubRepo();
+        repo.setRepoId(id);
+        repo.setRepoName("octocat/repo-" + id);
+        repo.setRepoUrl("https://github.com/octocat/repo-" + id);
+        repo.setStarsCount(stars);
+        repo.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        return repo;
+    }
+}
@@ -47,6 +47,13 @@ export interface PageRequest {
   source?: string
 }
 
+export interface SyncRecordCursorRequest {
+  pageSize?: number
+  source?: string
+  beforeTime?: string
+  beforeId?: number
+}
+
 export const syncApi = {
   syncGitHub: (username: string, accessToken?: string) => {
     return api.post('/sync/github', null, { params: { username, accessToken } })
@@ -68,7 +75,7 @@ export const syncApi = {
     return api.get<GiteeRepo[]>('/sync/gitee/repos', { params })
   },
 
-  getSyncRecords: (params: PageRequest) => {
+  getSyncRecords: (params: SyncRecordCursorRequest) => {
     return api.get<SyncRecord[]>('/sync/records', { params })
   },
 